@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor;
+
+/**
+ * A functor that takes two <code>double</code> arguments and returns a <code>double</code> value.
+ * This is the primitive specialization of {@link BinaryFunction}.
+ * <p>
+ * Implementors are encouraged but not required to make their functors
+ * {@link java.io.Serializable Serializable}.
+ * </p>
+ *
+ * @since 1.0
+ */
+public interface DoubleBinaryFunction extends Functor {
+    /**
+     * Evaluate this function.
+     *
+     * @param left the left double argument
+     * @param right the right double argument
+     * @return the double result of this function for the given arguments
+     */
+    double evaluateAsDouble(double left, double right);
+}
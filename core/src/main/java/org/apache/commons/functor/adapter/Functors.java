@@ -0,0 +1,1490 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.adapter;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.functor.BinaryPredicate;
+import org.apache.commons.functor.BinaryProcedure;
+import org.apache.commons.functor.Function;
+import org.apache.commons.functor.IntBinaryFunction;
+import org.apache.commons.functor.IntPredicate;
+import org.apache.commons.functor.IntProcedure;
+import org.apache.commons.functor.IntUnaryFunction;
+import org.apache.commons.functor.NullaryFunction;
+import org.apache.commons.functor.NullaryPredicate;
+import org.apache.commons.functor.NullaryProcedure;
+import org.apache.commons.functor.Predicate;
+import org.apache.commons.functor.Procedure;
+import org.apache.commons.functor.ToIntFunction;
+import org.apache.commons.functor.core.Constant;
+import org.apache.commons.functor.core.Identity;
+import org.apache.commons.functor.core.IsEqual;
+import org.apache.commons.functor.core.IsNotEqual;
+import org.apache.commons.functor.core.IsNotNull;
+import org.apache.commons.functor.core.IsNotSame;
+import org.apache.commons.functor.core.IsNull;
+import org.apache.commons.functor.core.IsSame;
+import org.apache.commons.functor.core.NoOp;
+
+/**
+ * Bridges between the functor interfaces and their {@link java.util.function}
+ * counterparts.
+ * <p>
+ * Each conversion costs at most one extra call: converting an adapter back to
+ * the interface it was created from returns the original object rather than
+ * a wrapper around a wrapper, so
+ * <code>asFunction(asJavaFunction(f)) == f</code>.
+ * Conversions of the stateless singletons in
+ * {@link org.apache.commons.functor.core} (such as {@link Identity} and
+ * {@link NoOp}) and of {@link Constant#TRUE} and {@link Constant#FALSE} are
+ * created once and shared; {@link Identity} converts to
+ * {@link java.util.function.Function#identity()} and back.
+ * </p>
+ */
+public final class Functors {
+    // static attributes
+    // ------------------------------------------------------------------------
+    /**
+     * Shared conversions, by target interface. Each inner map is keyed either
+     * by a functor instance or, for stateless functors, by its class.
+     */
+    private static final Map<Class<?>, Map<Object, Object>> SINGLETONS = new HashMap<Class<?>, Map<Object, Object>>();
+
+    static {
+        for (Object functor : new Object[] {Identity.INSTANCE, IsNull.INSTANCE, IsNotNull.INSTANCE, NoOp.INSTANCE,
+            IsEqual.INSTANCE, IsNotEqual.INSTANCE, IsSame.INSTANCE, IsNotSame.INSTANCE}) {
+            register(functor.getClass(), functor);
+        }
+        register(Constant.TRUE, Constant.TRUE);
+        register(Constant.FALSE, Constant.FALSE);
+        conversions(java.util.function.Function.class).put(Identity.class, java.util.function.Function.identity());
+        conversions(Function.class).put(java.util.function.Function.identity(), Identity.INSTANCE);
+    }
+
+    // constructor
+    // ------------------------------------------------------------------------
+    /**
+     * Hidden constructor as this only is a helper class with static methods.
+     */
+    private Functors() {
+    }
+
+    // conversions
+    // ------------------------------------------------------------------------
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link Function} to the
+     * {@link java.util.function.Function} interface. An adapter obtained from
+     * {@link #asFunction} is unwrapped rather than wrapped again.
+     *
+     * @param <A> the argument type.
+     * @param <T> the returned value type.
+     * @param function the possibly-<code>null</code> {@link Function} to adapt
+     * @return a {@link java.util.function.Function} evaluating <code>function</code>, or <code>null</code>
+     *         if the given <code>Function</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, T> java.util.function.Function<A, T> asJavaFunction(Function<? super A, ? extends T> function) {
+        if (function == null) {
+            return null;
+        }
+        if (function instanceof JavaFunctionFunction) {
+            return (java.util.function.Function<A, T>) ((JavaFunctionFunction<?, ?>) function).delegate;
+        }
+        final java.util.function.Function<A, T> singleton = singleton(java.util.function.Function.class, function);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new FunctionJavaFunction<A, T>(function);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link java.util.function.Function} to the
+     * {@link Function} interface. An adapter obtained from
+     * {@link #asJavaFunction} is unwrapped rather than wrapped again.
+     *
+     * @param <A> the argument type.
+     * @param <T> the returned value type.
+     * @param function the possibly-<code>null</code> {@link java.util.function.Function} to adapt
+     * @return a {@link Function} evaluating <code>function</code>, or <code>null</code>
+     *         if the given <code>Function</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, T> Function<A, T> asFunction(java.util.function.Function<? super A, ? extends T> function) {
+        if (function == null) {
+            return null;
+        }
+        if (function instanceof FunctionJavaFunction) {
+            return (Function<A, T>) ((FunctionJavaFunction<?, ?>) function).delegate;
+        }
+        final Function<A, T> singleton = singleton(Function.class, function);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new JavaFunctionFunction<A, T>(function);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link Predicate} to the
+     * {@link java.util.function.Predicate} interface. An adapter obtained from
+     * {@link #asPredicate} is unwrapped rather than wrapped again.
+     *
+     * @param <A> the argument type.
+     * @param predicate the possibly-<code>null</code> {@link Predicate} to adapt
+     * @return a {@link java.util.function.Predicate} evaluating <code>predicate</code>, or <code>null</code>
+     *         if the given <code>Predicate</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <A> java.util.function.Predicate<A> asJavaPredicate(Predicate<? super A> predicate) {
+        if (predicate == null) {
+            return null;
+        }
+        if (predicate instanceof JavaPredicatePredicate) {
+            return (java.util.function.Predicate<A>) ((JavaPredicatePredicate<?>) predicate).delegate;
+        }
+        final java.util.function.Predicate<A> singleton = singleton(java.util.function.Predicate.class, predicate);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new PredicateJavaPredicate<A>(predicate);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link java.util.function.Predicate} to the
+     * {@link Predicate} interface. An adapter obtained from
+     * {@link #asJavaPredicate} is unwrapped rather than wrapped again.
+     *
+     * @param <A> the argument type.
+     * @param predicate the possibly-<code>null</code> {@link java.util.function.Predicate} to adapt
+     * @return a {@link Predicate} evaluating <code>predicate</code>, or <code>null</code>
+     *         if the given <code>Predicate</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <A> Predicate<A> asPredicate(java.util.function.Predicate<? super A> predicate) {
+        if (predicate == null) {
+            return null;
+        }
+        if (predicate instanceof PredicateJavaPredicate) {
+            return (Predicate<A>) ((PredicateJavaPredicate<?>) predicate).delegate;
+        }
+        final Predicate<A> singleton = singleton(Predicate.class, predicate);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new JavaPredicatePredicate<A>(predicate);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link NullaryFunction} to the
+     * {@link Supplier} interface. An adapter obtained from
+     * {@link #asNullaryFunction} is unwrapped rather than wrapped again.
+     *
+     * @param <T> the returned value type.
+     * @param function the possibly-<code>null</code> {@link NullaryFunction} to adapt
+     * @return a {@link Supplier} evaluating <code>function</code>, or <code>null</code>
+     *         if the given <code>NullaryFunction</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> asSupplier(NullaryFunction<? extends T> function) {
+        if (function == null) {
+            return null;
+        }
+        if (function instanceof SupplierNullaryFunction) {
+            return (Supplier<T>) ((SupplierNullaryFunction<?>) function).delegate;
+        }
+        final Supplier<T> singleton = singleton(Supplier.class, function);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new NullaryFunctionSupplier<T>(function);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link Supplier} to the
+     * {@link NullaryFunction} interface. An adapter obtained from
+     * {@link #asSupplier} is unwrapped rather than wrapped again.
+     *
+     * @param <T> the returned value type.
+     * @param function the possibly-<code>null</code> {@link Supplier} to adapt
+     * @return a {@link NullaryFunction} evaluating <code>function</code>, or <code>null</code>
+     *         if the given <code>Supplier</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> NullaryFunction<T> asNullaryFunction(Supplier<? extends T> function) {
+        if (function == null) {
+            return null;
+        }
+        if (function instanceof NullaryFunctionSupplier) {
+            return (NullaryFunction<T>) ((NullaryFunctionSupplier<?>) function).delegate;
+        }
+        final NullaryFunction<T> singleton = singleton(NullaryFunction.class, function);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new SupplierNullaryFunction<T>(function);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link NullaryPredicate} to the
+     * {@link BooleanSupplier} interface. An adapter obtained from
+     * {@link #asNullaryPredicate} is unwrapped rather than wrapped again.
+     *
+     * @param predicate the possibly-<code>null</code> {@link NullaryPredicate} to adapt
+     * @return a {@link BooleanSupplier} evaluating <code>predicate</code>, or <code>null</code>
+     *         if the given <code>NullaryPredicate</code> is <code>null</code>
+     */
+    public static BooleanSupplier asBooleanSupplier(NullaryPredicate predicate) {
+        if (predicate == null) {
+            return null;
+        }
+        if (predicate instanceof BooleanSupplierNullaryPredicate) {
+            return ((BooleanSupplierNullaryPredicate) predicate).delegate;
+        }
+        final BooleanSupplier singleton = singleton(BooleanSupplier.class, predicate);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new NullaryPredicateBooleanSupplier(predicate);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link BooleanSupplier} to the
+     * {@link NullaryPredicate} interface. An adapter obtained from
+     * {@link #asBooleanSupplier} is unwrapped rather than wrapped again.
+     *
+     * @param predicate the possibly-<code>null</code> {@link BooleanSupplier} to adapt
+     * @return a {@link NullaryPredicate} evaluating <code>predicate</code>, or <code>null</code>
+     *         if the given <code>BooleanSupplier</code> is <code>null</code>
+     */
+    public static NullaryPredicate asNullaryPredicate(BooleanSupplier predicate) {
+        if (predicate == null) {
+            return null;
+        }
+        if (predicate instanceof NullaryPredicateBooleanSupplier) {
+            return ((NullaryPredicateBooleanSupplier) predicate).delegate;
+        }
+        final NullaryPredicate singleton = singleton(NullaryPredicate.class, predicate);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new BooleanSupplierNullaryPredicate(predicate);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link NullaryProcedure} to the
+     * {@link Runnable} interface. An adapter obtained from
+     * {@link #asNullaryProcedure} is unwrapped rather than wrapped again.
+     *
+     * @param procedure the possibly-<code>null</code> {@link NullaryProcedure} to adapt
+     * @return a {@link Runnable} evaluating <code>procedure</code>, or <code>null</code>
+     *         if the given <code>NullaryProcedure</code> is <code>null</code>
+     */
+    public static Runnable asRunnable(NullaryProcedure procedure) {
+        if (procedure == null) {
+            return null;
+        }
+        if (procedure instanceof RunnableNullaryProcedure) {
+            return ((RunnableNullaryProcedure) procedure).delegate;
+        }
+        final Runnable singleton = singleton(Runnable.class, procedure);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new NullaryProcedureRunnable(procedure);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link Runnable} to the
+     * {@link NullaryProcedure} interface. An adapter obtained from
+     * {@link #asRunnable} is unwrapped rather than wrapped again.
+     *
+     * @param procedure the possibly-<code>null</code> {@link Runnable} to adapt
+     * @return a {@link NullaryProcedure} evaluating <code>procedure</code>, or <code>null</code>
+     *         if the given <code>Runnable</code> is <code>null</code>
+     */
+    public static NullaryProcedure asNullaryProcedure(Runnable procedure) {
+        if (procedure == null) {
+            return null;
+        }
+        if (procedure instanceof NullaryProcedureRunnable) {
+            return ((NullaryProcedureRunnable) procedure).delegate;
+        }
+        final NullaryProcedure singleton = singleton(NullaryProcedure.class, procedure);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new RunnableNullaryProcedure(procedure);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link Procedure} to the
+     * {@link Consumer} interface. An adapter obtained from
+     * {@link #asProcedure} is unwrapped rather than wrapped again.
+     *
+     * @param <A> the argument type.
+     * @param procedure the possibly-<code>null</code> {@link Procedure} to adapt
+     * @return a {@link Consumer} evaluating <code>procedure</code>, or <code>null</code>
+     *         if the given <code>Procedure</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <A> Consumer<A> asConsumer(Procedure<? super A> procedure) {
+        if (procedure == null) {
+            return null;
+        }
+        if (procedure instanceof ConsumerProcedure) {
+            return (Consumer<A>) ((ConsumerProcedure<?>) procedure).delegate;
+        }
+        final Consumer<A> singleton = singleton(Consumer.class, procedure);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new ProcedureConsumer<A>(procedure);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link Consumer} to the
+     * {@link Procedure} interface. An adapter obtained from
+     * {@link #asConsumer} is unwrapped rather than wrapped again.
+     *
+     * @param <A> the argument type.
+     * @param procedure the possibly-<code>null</code> {@link Consumer} to adapt
+     * @return a {@link Procedure} evaluating <code>procedure</code>, or <code>null</code>
+     *         if the given <code>Consumer</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <A> Procedure<A> asProcedure(Consumer<? super A> procedure) {
+        if (procedure == null) {
+            return null;
+        }
+        if (procedure instanceof ProcedureConsumer) {
+            return (Procedure<A>) ((ProcedureConsumer<?>) procedure).delegate;
+        }
+        final Procedure<A> singleton = singleton(Procedure.class, procedure);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new ConsumerProcedure<A>(procedure);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link BinaryFunction} to the
+     * {@link BiFunction} interface. An adapter obtained from
+     * {@link #asBinaryFunction} is unwrapped rather than wrapped again.
+     *
+     * @param <L> the left argument type.
+     * @param <R> the right argument type.
+     * @param <T> the returned value type.
+     * @param function the possibly-<code>null</code> {@link BinaryFunction} to adapt
+     * @return a {@link BiFunction} evaluating <code>function</code>, or <code>null</code>
+     *         if the given <code>BinaryFunction</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <L, R, T> BiFunction<L, R, T> asBiFunction(
+            BinaryFunction<? super L, ? super R, ? extends T> function) {
+        if (function == null) {
+            return null;
+        }
+        if (function instanceof BiFunctionBinaryFunction) {
+            return (BiFunction<L, R, T>) ((BiFunctionBinaryFunction<?, ?, ?>) function).delegate;
+        }
+        final BiFunction<L, R, T> singleton = singleton(BiFunction.class, function);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new BinaryFunctionBiFunction<L, R, T>(function);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link BiFunction} to the
+     * {@link BinaryFunction} interface. An adapter obtained from
+     * {@link #asBiFunction} is unwrapped rather than wrapped again.
+     *
+     * @param <L> the left argument type.
+     * @param <R> the right argument type.
+     * @param <T> the returned value type.
+     * @param function the possibly-<code>null</code> {@link BiFunction} to adapt
+     * @return a {@link BinaryFunction} evaluating <code>function</code>, or <code>null</code>
+     *         if the given <code>BiFunction</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <L, R, T> BinaryFunction<L, R, T> asBinaryFunction(
+            BiFunction<? super L, ? super R, ? extends T> function) {
+        if (function == null) {
+            return null;
+        }
+        if (function instanceof BinaryFunctionBiFunction) {
+            return (BinaryFunction<L, R, T>) ((BinaryFunctionBiFunction<?, ?, ?>) function).delegate;
+        }
+        final BinaryFunction<L, R, T> singleton = singleton(BinaryFunction.class, function);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new BiFunctionBinaryFunction<L, R, T>(function);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link BinaryPredicate} to the
+     * {@link BiPredicate} interface. An adapter obtained from
+     * {@link #asBinaryPredicate} is unwrapped rather than wrapped again.
+     *
+     * @param <L> the left argument type.
+     * @param <R> the right argument type.
+     * @param predicate the possibly-<code>null</code> {@link BinaryPredicate} to adapt
+     * @return a {@link BiPredicate} evaluating <code>predicate</code>, or <code>null</code>
+     *         if the given <code>BinaryPredicate</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <L, R> BiPredicate<L, R> asBiPredicate(BinaryPredicate<? super L, ? super R> predicate) {
+        if (predicate == null) {
+            return null;
+        }
+        if (predicate instanceof BiPredicateBinaryPredicate) {
+            return (BiPredicate<L, R>) ((BiPredicateBinaryPredicate<?, ?>) predicate).delegate;
+        }
+        final BiPredicate<L, R> singleton = singleton(BiPredicate.class, predicate);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new BinaryPredicateBiPredicate<L, R>(predicate);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link BiPredicate} to the
+     * {@link BinaryPredicate} interface. An adapter obtained from
+     * {@link #asBiPredicate} is unwrapped rather than wrapped again.
+     *
+     * @param <L> the left argument type.
+     * @param <R> the right argument type.
+     * @param predicate the possibly-<code>null</code> {@link BiPredicate} to adapt
+     * @return a {@link BinaryPredicate} evaluating <code>predicate</code>, or <code>null</code>
+     *         if the given <code>BiPredicate</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <L, R> BinaryPredicate<L, R> asBinaryPredicate(BiPredicate<? super L, ? super R> predicate) {
+        if (predicate == null) {
+            return null;
+        }
+        if (predicate instanceof BinaryPredicateBiPredicate) {
+            return (BinaryPredicate<L, R>) ((BinaryPredicateBiPredicate<?, ?>) predicate).delegate;
+        }
+        final BinaryPredicate<L, R> singleton = singleton(BinaryPredicate.class, predicate);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new BiPredicateBinaryPredicate<L, R>(predicate);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link BinaryProcedure} to the
+     * {@link BiConsumer} interface. An adapter obtained from
+     * {@link #asBinaryProcedure} is unwrapped rather than wrapped again.
+     *
+     * @param <L> the left argument type.
+     * @param <R> the right argument type.
+     * @param procedure the possibly-<code>null</code> {@link BinaryProcedure} to adapt
+     * @return a {@link BiConsumer} evaluating <code>procedure</code>, or <code>null</code>
+     *         if the given <code>BinaryProcedure</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <L, R> BiConsumer<L, R> asBiConsumer(BinaryProcedure<? super L, ? super R> procedure) {
+        if (procedure == null) {
+            return null;
+        }
+        if (procedure instanceof BiConsumerBinaryProcedure) {
+            return (BiConsumer<L, R>) ((BiConsumerBinaryProcedure<?, ?>) procedure).delegate;
+        }
+        final BiConsumer<L, R> singleton = singleton(BiConsumer.class, procedure);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new BinaryProcedureBiConsumer<L, R>(procedure);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link BiConsumer} to the
+     * {@link BinaryProcedure} interface. An adapter obtained from
+     * {@link #asBiConsumer} is unwrapped rather than wrapped again.
+     *
+     * @param <L> the left argument type.
+     * @param <R> the right argument type.
+     * @param procedure the possibly-<code>null</code> {@link BiConsumer} to adapt
+     * @return a {@link BinaryProcedure} evaluating <code>procedure</code>, or <code>null</code>
+     *         if the given <code>BiConsumer</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <L, R> BinaryProcedure<L, R> asBinaryProcedure(BiConsumer<? super L, ? super R> procedure) {
+        if (procedure == null) {
+            return null;
+        }
+        if (procedure instanceof BinaryProcedureBiConsumer) {
+            return (BinaryProcedure<L, R>) ((BinaryProcedureBiConsumer<?, ?>) procedure).delegate;
+        }
+        final BinaryProcedure<L, R> singleton = singleton(BinaryProcedure.class, procedure);
+        if (singleton != null) {
+            return singleton;
+        }
+        return new BiConsumerBinaryProcedure<L, R>(procedure);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link IntPredicate} to the
+     * {@link java.util.function.IntPredicate} interface. An adapter obtained from
+     * {@link #asIntPredicate} is unwrapped rather than wrapped again.
+     *
+     * @param predicate the possibly-<code>null</code> {@link IntPredicate} to adapt
+     * @return a {@link java.util.function.IntPredicate} evaluating <code>predicate</code>, or <code>null</code>
+     *         if the given <code>IntPredicate</code> is <code>null</code>
+     */
+    public static java.util.function.IntPredicate asJavaIntPredicate(IntPredicate predicate) {
+        if (predicate == null) {
+            return null;
+        }
+        if (predicate instanceof JavaIntPredicateIntPredicate) {
+            return ((JavaIntPredicateIntPredicate) predicate).delegate;
+        }
+        return new IntPredicateJavaIntPredicate(predicate);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link java.util.function.IntPredicate} to the
+     * {@link IntPredicate} interface. An adapter obtained from
+     * {@link #asJavaIntPredicate} is unwrapped rather than wrapped again.
+     *
+     * @param predicate the possibly-<code>null</code> {@link java.util.function.IntPredicate} to adapt
+     * @return a {@link IntPredicate} evaluating <code>predicate</code>, or <code>null</code>
+     *         if the given <code>IntPredicate</code> is <code>null</code>
+     */
+    public static IntPredicate asIntPredicate(java.util.function.IntPredicate predicate) {
+        if (predicate == null) {
+            return null;
+        }
+        if (predicate instanceof IntPredicateJavaIntPredicate) {
+            return ((IntPredicateJavaIntPredicate) predicate).delegate;
+        }
+        return new JavaIntPredicateIntPredicate(predicate);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link IntUnaryFunction} to the
+     * {@link IntUnaryOperator} interface. An adapter obtained from
+     * {@link #asIntUnaryFunction} is unwrapped rather than wrapped again.
+     *
+     * @param function the possibly-<code>null</code> {@link IntUnaryFunction} to adapt
+     * @return a {@link IntUnaryOperator} evaluating <code>function</code>, or <code>null</code>
+     *         if the given <code>IntUnaryFunction</code> is <code>null</code>
+     */
+    public static IntUnaryOperator asIntUnaryOperator(IntUnaryFunction function) {
+        if (function == null) {
+            return null;
+        }
+        if (function instanceof IntUnaryOperatorIntUnaryFunction) {
+            return ((IntUnaryOperatorIntUnaryFunction) function).delegate;
+        }
+        return new IntUnaryFunctionIntUnaryOperator(function);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link IntUnaryOperator} to the
+     * {@link IntUnaryFunction} interface. An adapter obtained from
+     * {@link #asIntUnaryOperator} is unwrapped rather than wrapped again.
+     *
+     * @param function the possibly-<code>null</code> {@link IntUnaryOperator} to adapt
+     * @return a {@link IntUnaryFunction} evaluating <code>function</code>, or <code>null</code>
+     *         if the given <code>IntUnaryOperator</code> is <code>null</code>
+     */
+    public static IntUnaryFunction asIntUnaryFunction(IntUnaryOperator function) {
+        if (function == null) {
+            return null;
+        }
+        if (function instanceof IntUnaryFunctionIntUnaryOperator) {
+            return ((IntUnaryFunctionIntUnaryOperator) function).delegate;
+        }
+        return new IntUnaryOperatorIntUnaryFunction(function);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link IntBinaryFunction} to the
+     * {@link IntBinaryOperator} interface. An adapter obtained from
+     * {@link #asIntBinaryFunction} is unwrapped rather than wrapped again.
+     *
+     * @param function the possibly-<code>null</code> {@link IntBinaryFunction} to adapt
+     * @return a {@link IntBinaryOperator} evaluating <code>function</code>, or <code>null</code>
+     *         if the given <code>IntBinaryFunction</code> is <code>null</code>
+     */
+    public static IntBinaryOperator asIntBinaryOperator(IntBinaryFunction function) {
+        if (function == null) {
+            return null;
+        }
+        if (function instanceof IntBinaryOperatorIntBinaryFunction) {
+            return ((IntBinaryOperatorIntBinaryFunction) function).delegate;
+        }
+        return new IntBinaryFunctionIntBinaryOperator(function);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link IntBinaryOperator} to the
+     * {@link IntBinaryFunction} interface. An adapter obtained from
+     * {@link #asIntBinaryOperator} is unwrapped rather than wrapped again.
+     *
+     * @param function the possibly-<code>null</code> {@link IntBinaryOperator} to adapt
+     * @return a {@link IntBinaryFunction} evaluating <code>function</code>, or <code>null</code>
+     *         if the given <code>IntBinaryOperator</code> is <code>null</code>
+     */
+    public static IntBinaryFunction asIntBinaryFunction(IntBinaryOperator function) {
+        if (function == null) {
+            return null;
+        }
+        if (function instanceof IntBinaryFunctionIntBinaryOperator) {
+            return ((IntBinaryFunctionIntBinaryOperator) function).delegate;
+        }
+        return new IntBinaryOperatorIntBinaryFunction(function);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link IntProcedure} to the
+     * {@link IntConsumer} interface. An adapter obtained from
+     * {@link #asIntProcedure} is unwrapped rather than wrapped again.
+     *
+     * @param procedure the possibly-<code>null</code> {@link IntProcedure} to adapt
+     * @return a {@link IntConsumer} evaluating <code>procedure</code>, or <code>null</code>
+     *         if the given <code>IntProcedure</code> is <code>null</code>
+     */
+    public static IntConsumer asIntConsumer(IntProcedure procedure) {
+        if (procedure == null) {
+            return null;
+        }
+        if (procedure instanceof IntConsumerIntProcedure) {
+            return ((IntConsumerIntProcedure) procedure).delegate;
+        }
+        return new IntProcedureIntConsumer(procedure);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link IntConsumer} to the
+     * {@link IntProcedure} interface. An adapter obtained from
+     * {@link #asIntConsumer} is unwrapped rather than wrapped again.
+     *
+     * @param procedure the possibly-<code>null</code> {@link IntConsumer} to adapt
+     * @return a {@link IntProcedure} evaluating <code>procedure</code>, or <code>null</code>
+     *         if the given <code>IntConsumer</code> is <code>null</code>
+     */
+    public static IntProcedure asIntProcedure(IntConsumer procedure) {
+        if (procedure == null) {
+            return null;
+        }
+        if (procedure instanceof IntProcedureIntConsumer) {
+            return ((IntProcedureIntConsumer) procedure).delegate;
+        }
+        return new IntConsumerIntProcedure(procedure);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link ToIntFunction} to the
+     * {@link java.util.function.ToIntFunction} interface. An adapter obtained from
+     * {@link #asToIntFunction} is unwrapped rather than wrapped again.
+     *
+     * @param <A> the argument type.
+     * @param function the possibly-<code>null</code> {@link ToIntFunction} to adapt
+     * @return a {@link java.util.function.ToIntFunction} evaluating <code>function</code>, or <code>null</code>
+     *         if the given <code>ToIntFunction</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <A> java.util.function.ToIntFunction<A> asJavaToIntFunction(ToIntFunction<? super A> function) {
+        if (function == null) {
+            return null;
+        }
+        if (function instanceof JavaToIntFunctionToIntFunction) {
+            return (java.util.function.ToIntFunction<A>) ((JavaToIntFunctionToIntFunction<?>) function).delegate;
+        }
+        return new ToIntFunctionJavaToIntFunction<A>(function);
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>, {@link java.util.function.ToIntFunction} to the
+     * {@link ToIntFunction} interface. An adapter obtained from
+     * {@link #asJavaToIntFunction} is unwrapped rather than wrapped again.
+     *
+     * @param <A> the argument type.
+     * @param function the possibly-<code>null</code> {@link java.util.function.ToIntFunction} to adapt
+     * @return a {@link ToIntFunction} evaluating <code>function</code>, or <code>null</code>
+     *         if the given <code>ToIntFunction</code> is <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public static <A> ToIntFunction<A> asToIntFunction(java.util.function.ToIntFunction<? super A> function) {
+        if (function == null) {
+            return null;
+        }
+        if (function instanceof ToIntFunctionJavaToIntFunction) {
+            return (ToIntFunction<A>) ((ToIntFunctionJavaToIntFunction<?>) function).delegate;
+        }
+        return new JavaToIntFunctionToIntFunction<A>(function);
+    }
+
+    // helpers
+    // ------------------------------------------------------------------------
+    /**
+     * Get the shared conversions to <code>target</code>, creating the map if needed.
+     * Only called during class initialization.
+     * @param target target interface
+     * @return Map
+     */
+    private static Map<Object, Object> conversions(Class<?> target) {
+        Map<Object, Object> result = SINGLETONS.get(target);
+        if (result == null) {
+            result = new IdentityHashMap<Object, Object>();
+            SINGLETONS.put(target, result);
+        }
+        return result;
+    }
+
+    /**
+     * Create and share a conversion of <code>functor</code> to each JDK interface it can be adapted to.
+     * @param key the key to share the conversions under
+     * @param functor to convert
+     */
+    @SuppressWarnings("unchecked")
+    private static void register(Object key, Object functor) {
+        if (functor instanceof Function<?, ?>) {
+            conversions(java.util.function.Function.class).put(key,
+                new FunctionJavaFunction<Object, Object>((Function<Object, Object>) functor));
+        }
+        if (functor instanceof Predicate<?>) {
+            conversions(java.util.function.Predicate.class).put(key,
+                new PredicateJavaPredicate<Object>((Predicate<Object>) functor));
+        }
+        if (functor instanceof NullaryFunction<?>) {
+            conversions(Supplier.class).put(key,
+                new NullaryFunctionSupplier<Object>((NullaryFunction<Object>) functor));
+        }
+        if (functor instanceof NullaryPredicate) {
+            conversions(BooleanSupplier.class).put(key,
+                new NullaryPredicateBooleanSupplier((NullaryPredicate) functor));
+        }
+        if (functor instanceof NullaryProcedure) {
+            conversions(Runnable.class).put(key, new NullaryProcedureRunnable((NullaryProcedure) functor));
+        }
+        if (functor instanceof Procedure<?>) {
+            conversions(Consumer.class).put(key, new ProcedureConsumer<Object>((Procedure<Object>) functor));
+        }
+        if (functor instanceof BinaryFunction<?, ?, ?>) {
+            conversions(BiFunction.class).put(key,
+                new BinaryFunctionBiFunction<Object, Object, Object>((BinaryFunction<Object, Object, Object>) functor));
+        }
+        if (functor instanceof BinaryPredicate<?, ?>) {
+            conversions(BiPredicate.class).put(key,
+                new BinaryPredicateBiPredicate<Object, Object>((BinaryPredicate<Object, Object>) functor));
+        }
+        if (functor instanceof BinaryProcedure<?, ?>) {
+            conversions(BiConsumer.class).put(key,
+                new BinaryProcedureBiConsumer<Object, Object>((BinaryProcedure<Object, Object>) functor));
+        }
+    }
+
+    /**
+     * Look up a shared conversion of <code>source</code> to <code>target</code>.
+     * @param <T> the target type.
+     * @param target target interface
+     * @param source object to convert
+     * @return T, or <code>null</code> if no conversion is shared
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T singleton(Class<?> target, Object source) {
+        final Map<Object, Object> conversions = SINGLETONS.get(target);
+        if (conversions == null) {
+            return null;
+        }
+        final Object result = conversions.get(source);
+        return (T) (result == null ? conversions.get(source.getClass()) : result);
+    }
+
+    // adapters
+    // ------------------------------------------------------------------------
+    /**
+     * Base class for the adapters, which are equal when they adapt equal delegates.
+     * @param <D> the delegate type.
+     */
+    private abstract static class Adapter<D> {
+        /**
+         * The adapted object.
+         */
+        final D delegate;
+
+        /**
+         * Create a new Adapter.
+         * @param delegate adapted object
+         */
+        Adapter(D delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (obj == null || obj.getClass() != getClass()) {
+                return false;
+            }
+            return delegate.equals(((Adapter<?>) obj).delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final int hashCode() {
+            int hash = getClass().getSimpleName().hashCode();
+            hash ^= delegate.hashCode();
+            return hash;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final String toString() {
+            return getClass().getSimpleName() + "<" + delegate + ">";
+        }
+    }
+
+    /**
+     * Adapts a {@link java.util.function.Function} to the {@link Function} interface.
+     * @param <A> the argument type.
+     * @param <T> the returned value type.
+     */
+    private static final class JavaFunctionFunction<A, T>
+            extends Adapter<java.util.function.Function<? super A, ? extends T>>
+            implements Function<A, T> {
+        /**
+         * Create a new JavaFunctionFunction.
+         * @param delegate adapted Function
+         */
+        JavaFunctionFunction(java.util.function.Function<? super A, ? extends T> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public T evaluate(A obj) {
+            return delegate.apply(obj);
+        }
+    }
+
+    /**
+     * Adapts a {@link Function} to the {@link java.util.function.Function} interface.
+     * @param <A> the argument type.
+     * @param <T> the returned value type.
+     */
+    private static final class FunctionJavaFunction<A, T> extends Adapter<Function<? super A, ? extends T>>
+            implements java.util.function.Function<A, T> {
+        /**
+         * Create a new FunctionJavaFunction.
+         * @param delegate adapted Function
+         */
+        FunctionJavaFunction(Function<? super A, ? extends T> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public T apply(A t) {
+            return delegate.evaluate(t);
+        }
+    }
+
+    /**
+     * Adapts a {@link java.util.function.Predicate} to the {@link Predicate} interface.
+     * @param <A> the argument type.
+     */
+    private static final class JavaPredicatePredicate<A> extends Adapter<java.util.function.Predicate<? super A>>
+            implements Predicate<A> {
+        /**
+         * Create a new JavaPredicatePredicate.
+         * @param delegate adapted Predicate
+         */
+        JavaPredicatePredicate(java.util.function.Predicate<? super A> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean test(A obj) {
+            return delegate.test(obj);
+        }
+    }
+
+    /**
+     * Adapts a {@link Predicate} to the {@link java.util.function.Predicate} interface.
+     * @param <A> the argument type.
+     */
+    private static final class PredicateJavaPredicate<A> extends Adapter<Predicate<? super A>>
+            implements java.util.function.Predicate<A> {
+        /**
+         * Create a new PredicateJavaPredicate.
+         * @param delegate adapted Predicate
+         */
+        PredicateJavaPredicate(Predicate<? super A> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean test(A t) {
+            return delegate.test(t);
+        }
+    }
+
+    /**
+     * Adapts a {@link Supplier} to the {@link NullaryFunction} interface.
+     * @param <T> the returned value type.
+     */
+    private static final class SupplierNullaryFunction<T> extends Adapter<Supplier<? extends T>>
+            implements NullaryFunction<T> {
+        /**
+         * Create a new SupplierNullaryFunction.
+         * @param delegate adapted Supplier
+         */
+        SupplierNullaryFunction(Supplier<? extends T> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public T evaluate() {
+            return delegate.get();
+        }
+    }
+
+    /**
+     * Adapts a {@link NullaryFunction} to the {@link Supplier} interface.
+     * @param <T> the returned value type.
+     */
+    private static final class NullaryFunctionSupplier<T> extends Adapter<NullaryFunction<? extends T>>
+            implements Supplier<T> {
+        /**
+         * Create a new NullaryFunctionSupplier.
+         * @param delegate adapted NullaryFunction
+         */
+        NullaryFunctionSupplier(NullaryFunction<? extends T> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public T get() {
+            return delegate.evaluate();
+        }
+    }
+
+    /**
+     * Adapts a {@link BooleanSupplier} to the {@link NullaryPredicate} interface.
+     */
+    private static final class BooleanSupplierNullaryPredicate extends Adapter<BooleanSupplier>
+            implements NullaryPredicate {
+        /**
+         * Create a new BooleanSupplierNullaryPredicate.
+         * @param delegate adapted BooleanSupplier
+         */
+        BooleanSupplierNullaryPredicate(BooleanSupplier delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean test() {
+            return delegate.getAsBoolean();
+        }
+    }
+
+    /**
+     * Adapts a {@link NullaryPredicate} to the {@link BooleanSupplier} interface.
+     */
+    private static final class NullaryPredicateBooleanSupplier extends Adapter<NullaryPredicate>
+            implements BooleanSupplier {
+        /**
+         * Create a new NullaryPredicateBooleanSupplier.
+         * @param delegate adapted NullaryPredicate
+         */
+        NullaryPredicateBooleanSupplier(NullaryPredicate delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean getAsBoolean() {
+            return delegate.test();
+        }
+    }
+
+    /**
+     * Adapts a {@link Runnable} to the {@link NullaryProcedure} interface.
+     */
+    private static final class RunnableNullaryProcedure extends Adapter<Runnable> implements NullaryProcedure {
+        /**
+         * Create a new RunnableNullaryProcedure.
+         * @param delegate adapted Runnable
+         */
+        RunnableNullaryProcedure(Runnable delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void run() {
+            delegate.run();
+        }
+    }
+
+    /**
+     * Adapts a {@link NullaryProcedure} to the {@link Runnable} interface.
+     */
+    private static final class NullaryProcedureRunnable extends Adapter<NullaryProcedure> implements Runnable {
+        /**
+         * Create a new NullaryProcedureRunnable.
+         * @param delegate adapted NullaryProcedure
+         */
+        NullaryProcedureRunnable(NullaryProcedure delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void run() {
+            delegate.run();
+        }
+    }
+
+    /**
+     * Adapts a {@link Consumer} to the {@link Procedure} interface.
+     * @param <A> the argument type.
+     */
+    private static final class ConsumerProcedure<A> extends Adapter<Consumer<? super A>> implements Procedure<A> {
+        /**
+         * Create a new ConsumerProcedure.
+         * @param delegate adapted Consumer
+         */
+        ConsumerProcedure(Consumer<? super A> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void run(A obj) {
+            delegate.accept(obj);
+        }
+    }
+
+    /**
+     * Adapts a {@link Procedure} to the {@link Consumer} interface.
+     * @param <A> the argument type.
+     */
+    private static final class ProcedureConsumer<A> extends Adapter<Procedure<? super A>> implements Consumer<A> {
+        /**
+         * Create a new ProcedureConsumer.
+         * @param delegate adapted Procedure
+         */
+        ProcedureConsumer(Procedure<? super A> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void accept(A t) {
+            delegate.run(t);
+        }
+    }
+
+    /**
+     * Adapts a {@link BiFunction} to the {@link BinaryFunction} interface.
+     * @param <L> the left argument type.
+     * @param <R> the right argument type.
+     * @param <T> the returned value type.
+     */
+    private static final class BiFunctionBinaryFunction<L, R, T>
+            extends Adapter<BiFunction<? super L, ? super R, ? extends T>>
+            implements BinaryFunction<L, R, T> {
+        /**
+         * Create a new BiFunctionBinaryFunction.
+         * @param delegate adapted BiFunction
+         */
+        BiFunctionBinaryFunction(BiFunction<? super L, ? super R, ? extends T> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public T evaluate(L left, R right) {
+            return delegate.apply(left, right);
+        }
+    }
+
+    /**
+     * Adapts a {@link BinaryFunction} to the {@link BiFunction} interface.
+     * @param <L> the left argument type.
+     * @param <R> the right argument type.
+     * @param <T> the returned value type.
+     */
+    private static final class BinaryFunctionBiFunction<L, R, T>
+            extends Adapter<BinaryFunction<? super L, ? super R, ? extends T>>
+            implements BiFunction<L, R, T> {
+        /**
+         * Create a new BinaryFunctionBiFunction.
+         * @param delegate adapted BinaryFunction
+         */
+        BinaryFunctionBiFunction(BinaryFunction<? super L, ? super R, ? extends T> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public T apply(L t, R u) {
+            return delegate.evaluate(t, u);
+        }
+    }
+
+    /**
+     * Adapts a {@link BiPredicate} to the {@link BinaryPredicate} interface.
+     * @param <L> the left argument type.
+     * @param <R> the right argument type.
+     */
+    private static final class BiPredicateBinaryPredicate<L, R> extends Adapter<BiPredicate<? super L, ? super R>>
+            implements BinaryPredicate<L, R> {
+        /**
+         * Create a new BiPredicateBinaryPredicate.
+         * @param delegate adapted BiPredicate
+         */
+        BiPredicateBinaryPredicate(BiPredicate<? super L, ? super R> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean test(L left, R right) {
+            return delegate.test(left, right);
+        }
+    }
+
+    /**
+     * Adapts a {@link BinaryPredicate} to the {@link BiPredicate} interface.
+     * @param <L> the left argument type.
+     * @param <R> the right argument type.
+     */
+    private static final class BinaryPredicateBiPredicate<L, R> extends Adapter<BinaryPredicate<? super L, ? super R>>
+            implements BiPredicate<L, R> {
+        /**
+         * Create a new BinaryPredicateBiPredicate.
+         * @param delegate adapted BinaryPredicate
+         */
+        BinaryPredicateBiPredicate(BinaryPredicate<? super L, ? super R> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean test(L t, R u) {
+            return delegate.test(t, u);
+        }
+    }
+
+    /**
+     * Adapts a {@link BiConsumer} to the {@link BinaryProcedure} interface.
+     * @param <L> the left argument type.
+     * @param <R> the right argument type.
+     */
+    private static final class BiConsumerBinaryProcedure<L, R> extends Adapter<BiConsumer<? super L, ? super R>>
+            implements BinaryProcedure<L, R> {
+        /**
+         * Create a new BiConsumerBinaryProcedure.
+         * @param delegate adapted BiConsumer
+         */
+        BiConsumerBinaryProcedure(BiConsumer<? super L, ? super R> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void run(L left, R right) {
+            delegate.accept(left, right);
+        }
+    }
+
+    /**
+     * Adapts a {@link BinaryProcedure} to the {@link BiConsumer} interface.
+     * @param <L> the left argument type.
+     * @param <R> the right argument type.
+     */
+    private static final class BinaryProcedureBiConsumer<L, R> extends Adapter<BinaryProcedure<? super L, ? super R>>
+            implements BiConsumer<L, R> {
+        /**
+         * Create a new BinaryProcedureBiConsumer.
+         * @param delegate adapted BinaryProcedure
+         */
+        BinaryProcedureBiConsumer(BinaryProcedure<? super L, ? super R> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void accept(L t, R u) {
+            delegate.run(t, u);
+        }
+    }
+
+    /**
+     * Adapts a {@link java.util.function.IntPredicate} to the {@link IntPredicate} interface.
+     */
+    private static final class JavaIntPredicateIntPredicate extends Adapter<java.util.function.IntPredicate>
+            implements IntPredicate {
+        /**
+         * Create a new JavaIntPredicateIntPredicate.
+         * @param delegate adapted IntPredicate
+         */
+        JavaIntPredicateIntPredicate(java.util.function.IntPredicate delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean test(int value) {
+            return delegate.test(value);
+        }
+    }
+
+    /**
+     * Adapts a {@link IntPredicate} to the {@link java.util.function.IntPredicate} interface.
+     */
+    private static final class IntPredicateJavaIntPredicate extends Adapter<IntPredicate>
+            implements java.util.function.IntPredicate {
+        /**
+         * Create a new IntPredicateJavaIntPredicate.
+         * @param delegate adapted IntPredicate
+         */
+        IntPredicateJavaIntPredicate(IntPredicate delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean test(int value) {
+            return delegate.test(value);
+        }
+    }
+
+    /**
+     * Adapts a {@link IntUnaryOperator} to the {@link IntUnaryFunction} interface.
+     */
+    private static final class IntUnaryOperatorIntUnaryFunction extends Adapter<IntUnaryOperator>
+            implements IntUnaryFunction {
+        /**
+         * Create a new IntUnaryOperatorIntUnaryFunction.
+         * @param delegate adapted IntUnaryOperator
+         */
+        IntUnaryOperatorIntUnaryFunction(IntUnaryOperator delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int evaluateAsInt(int value) {
+            return delegate.applyAsInt(value);
+        }
+    }
+
+    /**
+     * Adapts a {@link IntUnaryFunction} to the {@link IntUnaryOperator} interface.
+     */
+    private static final class IntUnaryFunctionIntUnaryOperator extends Adapter<IntUnaryFunction>
+            implements IntUnaryOperator {
+        /**
+         * Create a new IntUnaryFunctionIntUnaryOperator.
+         * @param delegate adapted IntUnaryFunction
+         */
+        IntUnaryFunctionIntUnaryOperator(IntUnaryFunction delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int applyAsInt(int operand) {
+            return delegate.evaluateAsInt(operand);
+        }
+    }
+
+    /**
+     * Adapts a {@link IntBinaryOperator} to the {@link IntBinaryFunction} interface.
+     */
+    private static final class IntBinaryOperatorIntBinaryFunction extends Adapter<IntBinaryOperator>
+            implements IntBinaryFunction {
+        /**
+         * Create a new IntBinaryOperatorIntBinaryFunction.
+         * @param delegate adapted IntBinaryOperator
+         */
+        IntBinaryOperatorIntBinaryFunction(IntBinaryOperator delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int evaluateAsInt(int left, int right) {
+            return delegate.applyAsInt(left, right);
+        }
+    }
+
+    /**
+     * Adapts a {@link IntBinaryFunction} to the {@link IntBinaryOperator} interface.
+     */
+    private static final class IntBinaryFunctionIntBinaryOperator extends Adapter<IntBinaryFunction>
+            implements IntBinaryOperator {
+        /**
+         * Create a new IntBinaryFunctionIntBinaryOperator.
+         * @param delegate adapted IntBinaryFunction
+         */
+        IntBinaryFunctionIntBinaryOperator(IntBinaryFunction delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int applyAsInt(int left, int right) {
+            return delegate.evaluateAsInt(left, right);
+        }
+    }
+
+    /**
+     * Adapts a {@link IntConsumer} to the {@link IntProcedure} interface.
+     */
+    private static final class IntConsumerIntProcedure extends Adapter<IntConsumer> implements IntProcedure {
+        /**
+         * Create a new IntConsumerIntProcedure.
+         * @param delegate adapted IntConsumer
+         */
+        IntConsumerIntProcedure(IntConsumer delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void run(int value) {
+            delegate.accept(value);
+        }
+    }
+
+    /**
+     * Adapts a {@link IntProcedure} to the {@link IntConsumer} interface.
+     */
+    private static final class IntProcedureIntConsumer extends Adapter<IntProcedure> implements IntConsumer {
+        /**
+         * Create a new IntProcedureIntConsumer.
+         * @param delegate adapted IntProcedure
+         */
+        IntProcedureIntConsumer(IntProcedure delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void accept(int value) {
+            delegate.run(value);
+        }
+    }
+
+    /**
+     * Adapts a {@link java.util.function.ToIntFunction} to the {@link ToIntFunction} interface.
+     * @param <A> the argument type.
+     */
+    private static final class JavaToIntFunctionToIntFunction<A>
+            extends Adapter<java.util.function.ToIntFunction<? super A>>
+            implements ToIntFunction<A> {
+        /**
+         * Create a new JavaToIntFunctionToIntFunction.
+         * @param delegate adapted ToIntFunction
+         */
+        JavaToIntFunctionToIntFunction(java.util.function.ToIntFunction<? super A> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int evaluateAsInt(A obj) {
+            return delegate.applyAsInt(obj);
+        }
+    }
+
+    /**
+     * Adapts a {@link ToIntFunction} to the {@link java.util.function.ToIntFunction} interface.
+     * @param <A> the argument type.
+     */
+    private static final class ToIntFunctionJavaToIntFunction<A> extends Adapter<ToIntFunction<? super A>>
+            implements java.util.function.ToIntFunction<A> {
+        /**
+         * Create a new ToIntFunctionJavaToIntFunction.
+         * @param delegate adapted ToIntFunction
+         */
+        ToIntFunctionJavaToIntFunction(ToIntFunction<? super A> delegate) {
+            super(delegate);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int applyAsInt(A value) {
+            return delegate.evaluateAsInt(value);
+        }
+    }
+}
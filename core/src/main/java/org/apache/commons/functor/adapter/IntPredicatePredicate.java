@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.adapter;
+
+import org.apache.commons.functor.IntPredicate;
+import org.apache.commons.functor.Predicate;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Adapts an
+ * {@link IntPredicate IntPredicate}
+ * to the {@link Predicate Predicate}
+ * interface, unboxing each argument.
+ */
+public final class IntPredicatePredicate implements Predicate<Integer> {
+    /** The {@link IntPredicate IntPredicate} I'm wrapping. */
+    private final IntPredicate predicate;
+
+    /**
+     * Create an {@link Predicate Predicate} wrapping
+     * the given {@link IntPredicate IntPredicate}.
+     * @param predicate the {@link IntPredicate IntPredicate} to wrap
+     */
+    public IntPredicatePredicate(IntPredicate predicate) {
+        this.predicate = Validate.notNull(predicate, "IntPredicate argument was null");
+    }
+
+    /**
+     * {@inheritDoc}
+     * Returns the result of the {@link IntPredicate#test test} method
+     * of my underlying predicate for the non-<code>null</code> argument.
+     */
+    public boolean test(Integer obj) {
+        return predicate.test(obj.intValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof IntPredicatePredicate)) {
+            return false;
+        }
+        IntPredicatePredicate that = (IntPredicatePredicate) obj;
+        return this.predicate.equals(that.predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = "IntPredicatePredicate".hashCode();
+        hash ^= predicate.hashCode();
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "IntPredicatePredicate<" + predicate + ">";
+    }
+
+    /**
+     * Adapt the given, possibly-<code>null</code>,
+     * {@link IntPredicate IntPredicate} to the
+     * {@link Predicate Predicate} interface.
+     * When the given <code>IntPredicate</code> is <code>null</code>,
+     * returns <code>null</code>.
+     *
+     * @param predicate the possibly-<code>null</code>
+     *        {@link IntPredicate IntPredicate} to adapt
+     * @return a {@link Predicate Predicate} wrapping the given
+     *         {@link IntPredicate IntPredicate}, or <code>null</code>
+     *         if the given <code>IntPredicate</code> is <code>null</code>
+     */
+    public static IntPredicatePredicate adapt(IntPredicate predicate) {
+        return null == predicate ? null : new IntPredicatePredicate(predicate);
+    }
+
+}
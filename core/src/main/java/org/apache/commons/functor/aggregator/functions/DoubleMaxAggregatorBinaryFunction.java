@@ -17,13 +17,15 @@
 package org.apache.commons.functor.aggregator.functions;
 
 import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.functor.DoubleBinaryFunction;
 
 /**
  * Aggregation function to be used with subclasses of
  * {@link org.apache.commons.functor.aggregator.AbstractNoStoreAggregator} which
  * finds the maximum of 2 double(s).
  */
-public final class DoubleMaxAggregatorBinaryFunction implements BinaryFunction<Double, Double, Double> {
+public final class DoubleMaxAggregatorBinaryFunction implements BinaryFunction<Double, Double, Double>,
+        DoubleBinaryFunction {
     /**
      * Computes the maximum of the 2 given numbers and returns the result.
      *
@@ -48,6 +50,19 @@ public final class DoubleMaxAggregatorBinaryFunction implements BinaryFunction<D
         return left;
     }
 
+    /**
+     * Computes the maximum of the 2 given numbers without boxing.
+     *
+     * @param left
+     *            first number to compare
+     * @param right
+     *            second number to compare
+     * @return max of the 2 double's
+     */
+    public double evaluateAsDouble(double left, double right) {
+        return left < right ? right : left;
+    }
+
     @Override
     public String toString() {
         return DoubleMaxAggregatorBinaryFunction.class.getName();
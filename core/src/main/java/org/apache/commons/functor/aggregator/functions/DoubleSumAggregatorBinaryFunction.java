@@ -17,6 +17,7 @@
 package org.apache.commons.functor.aggregator.functions;
 
 import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.functor.DoubleBinaryFunction;
 
 /**
  * Aggregator function to be used with subclasses of
@@ -24,7 +25,8 @@ import org.apache.commons.functor.BinaryFunction;
  * sums up the 2 given numbers (hence the "Binary" in the name!). Counterpart of
  * {@link DoubleSumAggregatorFunction}.
  */
-public final class DoubleSumAggregatorBinaryFunction implements BinaryFunction<Double, Double, Double> {
+public final class DoubleSumAggregatorBinaryFunction implements BinaryFunction<Double, Double, Double>,
+        DoubleBinaryFunction {
     /**
      * Adds the 2 numbers together and returns the result.
      *
@@ -46,6 +48,19 @@ public final class DoubleSumAggregatorBinaryFunction implements BinaryFunction<D
         return left + right;
     }
 
+    /**
+     * Adds the 2 numbers together and returns the result without boxing.
+     *
+     * @param left
+     *            first number to add
+     * @param right
+     *            second number to add
+     * @return sum of the 2 double's
+     */
+    public double evaluateAsDouble(double left, double right) {
+        return left + right;
+    }
+
     @Override
     public String toString() {
         return DoubleSumAggregatorBinaryFunction.class.getName();
@@ -17,6 +17,7 @@
 package org.apache.commons.functor.aggregator.functions;
 
 import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.functor.IntBinaryFunction;
 
 /**
  * Aggregator function to be used with subclasses of
@@ -34,7 +35,8 @@ import org.apache.commons.functor.BinaryFunction;
  * supplying the second parameter as 1 (one). However, using this might make the
  * code clearer.
  */
-public final class IntegerCountAggregatorBinaryFunction implements BinaryFunction<Integer, Integer, Integer> {
+public final class IntegerCountAggregatorBinaryFunction implements BinaryFunction<Integer, Integer, Integer>,
+        IntBinaryFunction {
     /**
      * Increments <code>left</code> by one and returns it.
      *
@@ -53,6 +55,19 @@ public final class IntegerCountAggregatorBinaryFunction implements BinaryFunctio
         return left + 1;
     }
 
+    /**
+     * Increments <code>left</code> by one without boxing.
+     *
+     * @param left
+     *            value to be incremented by 1 and returned
+     * @param right
+     *            ignored
+     * @return <code>left + 1</code>
+     */
+    public int evaluateAsInt(int left, int right) {
+        return left + 1;
+    }
+
     @Override
     public String toString() {
         return IntegerCountAggregatorBinaryFunction.class.getName();
@@ -17,13 +17,15 @@
 package org.apache.commons.functor.aggregator.functions;
 
 import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.functor.IntBinaryFunction;
 
 /**
  * Aggregation function to be used with subclasses of
  * {@link org.apache.commons.functor.aggregator.AbstractNoStoreAggregator} which
  * finds the maximum of 2 ints.
  */
-public class IntegerMaxAggregatorBinaryFunction implements BinaryFunction<Integer, Integer, Integer> {
+public class IntegerMaxAggregatorBinaryFunction implements BinaryFunction<Integer, Integer, Integer>,
+        IntBinaryFunction {
     /**
      * Computes the maximum of the 2 given numbers and returns the result.
      *
@@ -48,6 +50,19 @@ public class IntegerMaxAggregatorBinaryFunction implements BinaryFunction<Intege
         return left;
     }
 
+    /**
+     * Computes the maximum of the 2 given numbers without boxing.
+     *
+     * @param left
+     *            first number to compare
+     * @param right
+     *            second number to compare
+     * @return max of the 2 integers
+     */
+    public int evaluateAsInt(int left, int right) {
+        return left < right ? right : left;
+    }
+
     @Override
     public String toString() {
         return IntegerMaxAggregatorBinaryFunction.class.getName();
@@ -16,33 +16,46 @@
  */
 package org.apache.commons.functor.core.algorithm;
 
-import java.util.Stack;
+import java.util.Arrays;
 
 import org.apache.commons.functor.BinaryFunction;
 import org.apache.commons.functor.Function;
 import org.apache.commons.functor.Procedure;
 import org.apache.commons.functor.generator.Generator;
+import org.apache.commons.functor.generator.ReversibleGenerator;
 
 /**
  * Functional right-fold algorithm against the elements of a {@link Generator}.
  * Uses the seed object (if supplied) as the initial right-side argument to the {@link BinaryFunction},
  * then uses the result of that evaluation as the next right-side argument, until the {@link Generator}'s
  * elements have been expended.
+ * <p>
+ * A {@link ReversibleGenerator} is run in reverse and folded as its elements come;
+ * the elements of any other generator are buffered in an array first.
+ * </p>
  *
  * @param <T> the returned evaluation type.
  */
 public class FoldRight<T> implements Function<Generator<T>, T>, BinaryFunction<Generator<T>, T, T> {
 
     /**
-     * Helper class.
+     * Helper class buffering the elements, to fold them once all have been generated.
      *
      * @param <T> the returned evaluation type.
      */
     private static class FoldRightHelper<T> implements Procedure<T> {
         /**
-         * The stack where storing the wrapped function evaluations.
+         * Initial buffer capacity.
          */
-        private final Stack<T> stk = new Stack<T>();
+        private static final int INITIAL_CAPACITY = 16;
+        /**
+         * The buffered elements.
+         */
+        private Object[] buffer = new Object[INITIAL_CAPACITY];
+        /**
+         * The number of buffered elements.
+         */
+        private int size;
         /**
          * The wrapped function.
          */
@@ -81,7 +94,10 @@ public class FoldRight<T> implements Function<Generator<T>, T>, BinaryFunction<G
          * {@inheritDoc}
          */
         public void run(T obj) {
-            stk.push(obj);
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, size + (size >> 1));
+            }
+            buffer[size++] = obj;
         }
 
         /**
@@ -89,22 +105,76 @@ public class FoldRight<T> implements Function<Generator<T>, T>, BinaryFunction<G
          * Get current result.
          * @return Object
          */
+        @SuppressWarnings("unchecked")
         T getResult() {
+            int i = size;
             T right = seed;
             if (!hasSeed) {
-                if (stk.isEmpty()) {
+                if (i == 0) {
                     return null;
                 }
-                right = stk.pop();
+                right = (T) buffer[--i];
             }
-            while (!stk.isEmpty()) {
-                right = function.evaluate(stk.pop(), right);
+            while (i > 0) {
+                right = function.evaluate((T) buffer[--i], right);
             }
             return right;
         }
 
     }
 
+    /**
+     * Helper class folding elements generated in reverse order as they come.
+     *
+     * @param <T> the returned evaluation type.
+     */
+    private static class ReverseFoldRightHelper<T> implements Procedure<T> {
+        /**
+         * The wrapped function.
+         */
+        private final BinaryFunction<? super T, ? super T, ? extends T> function;
+        /**
+         * The right-side argument folded so far.
+         */
+        private T right;
+        /**
+         * Flag to check the helper started or not.
+         */
+        private boolean started;
+
+        /**
+         * Create a new ReverseFoldRightHelper.
+         *
+         * @param seed initial right-side argument, or <code>null</code>
+         * @param function The wrapped function
+         */
+        ReverseFoldRightHelper(T seed, BinaryFunction<? super T, ? super T, ? extends T> function) {
+            this.right = seed;
+            started = seed != null;
+            this.function = function;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void run(T obj) {
+            if (!started) {
+                right = obj;
+                started = true;
+            } else {
+                right = function.evaluate(obj, right);
+            }
+        }
+
+        /**
+         * Get current result.
+         * @return Object
+         */
+        T getResult() {
+            return started ? right : null;
+        }
+    }
+
     /**
      * {@link BinaryFunction} to apply to each (seed, next).
      */
@@ -123,6 +193,9 @@ public class FoldRight<T> implements Function<Generator<T>, T>, BinaryFunction<G
      * @param obj {@link Generator} to transform
      */
     public final T evaluate(Generator<T> obj) {
+        if (obj instanceof ReversibleGenerator<?>) {
+            return evaluateReverse((ReversibleGenerator<T>) obj, null);
+        }
         FoldRightHelper<T> helper = new FoldRightHelper<T>(function);
         obj.run(helper);
         return helper.getResult();
@@ -134,11 +207,26 @@ public class FoldRight<T> implements Function<Generator<T>, T>, BinaryFunction<G
      * @param right initial right-side seed object
      */
     public final T evaluate(Generator<T> left, T right) {
+        if (left instanceof ReversibleGenerator<?>) {
+            return evaluateReverse((ReversibleGenerator<T>) left, right);
+        }
         FoldRightHelper<T> helper = new FoldRightHelper<T>(right, function);
         left.run(helper);
         return helper.getResult();
     }
 
+    /**
+     * Fold a generator that can run in reverse, leaving any buffering of its elements to the generator.
+     * @param generator to fold
+     * @param seed initial right-side seed object, or <code>null</code>
+     * @return result
+     */
+    private T evaluateReverse(ReversibleGenerator<T> generator, T seed) {
+        ReverseFoldRightHelper<T> helper = new ReverseFoldRightHelper<T>(seed, function);
+        generator.runReverse(helper);
+        return helper.getResult();
+    }
+
     /**
      * {@inheritDoc}
      */
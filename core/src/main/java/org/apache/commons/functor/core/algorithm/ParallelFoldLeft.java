@@ -0,0 +1,292 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.algorithm;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.functor.Function;
+import org.apache.commons.functor.Procedure;
+import org.apache.commons.functor.generator.Generator;
+import org.apache.commons.functor.generator.SplittableGenerator;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Parallel left-fold algorithm against the elements of a {@link Generator}.
+ * <p>
+ * By using a ParallelFoldLeft the caller declares that its {@link BinaryFunction}
+ * is <em>associative</em>, i.e. that <code>f(f(a, b), c)</code> equals
+ * <code>f(a, f(b, c))</code>. A {@link SplittableGenerator} is then split into
+ * parts that are folded on a {@link ForkJoinPool}, and the partial results are
+ * combined, in order, with the same function. Other generators are folded
+ * sequentially, exactly as {@link FoldLeft} would.
+ * </p>
+ * <p>
+ * The result is that of a {@link FoldLeft} over the same function: a seed,
+ * if supplied, is the left-most argument; an empty generator yields the seed,
+ * or the identity given at construction (<code>null</code> by default).
+ * </p>
+ *
+ * @param <T> the returned evaluation type.
+ */
+public class ParallelFoldLeft<T> implements Function<Generator<T>, T>, BinaryFunction<Generator<T>, T, T> {
+
+    /**
+     * Number of parts per worker thread a generator is split into, so that
+     * uneven parts can be balanced by work stealing.
+     */
+    private static final int PARTS_PER_THREAD = 4;
+
+    /**
+     * Helper procedure folding one part.
+     *
+     * @param <T> the returned evaluation type.
+     */
+    private static final class FoldHelper<T> implements Procedure<T> {
+        /**
+         * The associative function.
+         */
+        private final BinaryFunction<? super T, ? super T, ? extends T> function;
+        /**
+         * The folded value.
+         */
+        private T value;
+        /**
+         * Flag to check the helper received an element or not.
+         */
+        private boolean started;
+
+        /**
+         * Create a new FoldHelper.
+         * @param function associative function
+         */
+        FoldHelper(BinaryFunction<? super T, ? super T, ? extends T> function) {
+            this.function = function;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void run(T obj) {
+            if (!started) {
+                value = obj;
+                started = true;
+            } else {
+                value = function.evaluate(value, obj);
+            }
+        }
+
+        /**
+         * Fold the elements of <code>right</code> (which follow those of this helper) into this helper.
+         * @param right helper
+         * @return this
+         */
+        FoldHelper<T> combine(FoldHelper<T> right) {
+            if (right.started) {
+                run(right.value);
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Folds a range of parts, splitting it in halves.
+     *
+     * @param <T> the returned evaluation type.
+     */
+    private static final class FoldTask<T> extends RecursiveTask<FoldHelper<T>> {
+        /**
+         * serialVersionUID declaration.
+         */
+        private static final long serialVersionUID = 1L;
+        /**
+         * The associative function.
+         */
+        private final transient BinaryFunction<? super T, ? super T, ? extends T> function;
+        /**
+         * The parts.
+         */
+        private final transient List<? extends Generator<T>> parts;
+        /**
+         * First part (inclusive).
+         */
+        private final int from;
+        /**
+         * Last part (exclusive).
+         */
+        private final int to;
+
+        /**
+         * Create a new FoldTask.
+         * @param function associative function
+         * @param parts to fold
+         * @param from first part
+         * @param to last part, exclusive
+         */
+        FoldTask(BinaryFunction<? super T, ? super T, ? extends T> function, List<? extends Generator<T>> parts,
+                int from, int to) {
+            this.function = function;
+            this.parts = parts;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected FoldHelper<T> compute() {
+            if (to - from == 1) {
+                final FoldHelper<T> helper = new FoldHelper<T>(function);
+                parts.get(from).run(helper);
+                return helper;
+            }
+            final int mid = (from + to) >>> 1;
+            final FoldTask<T> right = new FoldTask<T>(function, parts, mid, to);
+            right.fork();
+            final FoldHelper<T> left = new FoldTask<T>(function, parts, from, mid).compute();
+            return left.combine(right.join());
+        }
+    }
+
+    /**
+     * Associative {@link BinaryFunction} to apply to each (seed, next).
+     */
+    private final BinaryFunction<? super T, ? super T, ? extends T> function;
+
+    /**
+     * Result of folding an empty generator without a seed.
+     */
+    private final T identity;
+
+    /**
+     * The pool to fold on.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a new ParallelFoldLeft running on the common {@link ForkJoinPool}.
+     * @param func associative {@link BinaryFunction} to apply to each (seed, next)
+     */
+    public ParallelFoldLeft(BinaryFunction<? super T, ? super T, ? extends T> func) {
+        this(func, null);
+    }
+
+    /**
+     * Create a new ParallelFoldLeft running on the common {@link ForkJoinPool}.
+     * @param func associative {@link BinaryFunction} to apply to each (seed, next)
+     * @param identity result for an empty generator, the identity of <code>func</code>
+     */
+    public ParallelFoldLeft(BinaryFunction<? super T, ? super T, ? extends T> func, T identity) {
+        this(func, identity, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new ParallelFoldLeft.
+     * @param func associative {@link BinaryFunction} to apply to each (seed, next)
+     * @param identity result for an empty generator, the identity of <code>func</code>
+     * @param pool ForkJoinPool to fold on
+     */
+    public ParallelFoldLeft(BinaryFunction<? super T, ? super T, ? extends T> func, T identity, ForkJoinPool pool) {
+        this.function = Validate.notNull(func, "BinaryFunction argument was null");
+        this.identity = identity;
+        this.pool = Validate.notNull(pool, "ForkJoinPool argument was null");
+    }
+
+    /**
+     * {@inheritDoc}
+     * @param obj {@link Generator} to transform
+     */
+    public final T evaluate(Generator<T> obj) {
+        final FoldHelper<T> result = fold(obj);
+        return result.started ? result.value : identity;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @param left {@link Generator} to transform
+     * @param right initial left-side seed object
+     */
+    public final T evaluate(Generator<T> left, T right) {
+        if (right == null) {
+            // like FoldLeft, treat a null seed as no seed
+            return evaluate(left);
+        }
+        final FoldHelper<T> result = new FoldHelper<T>(function);
+        result.run(right);
+        return result.combine(fold(left)).value;
+    }
+
+    /**
+     * Fold <code>generator</code>, in parallel if it is splittable.
+     * @param generator to fold
+     * @return FoldHelper
+     */
+    @SuppressWarnings("unchecked")
+    private FoldHelper<T> fold(Generator<T> generator) {
+        if (generator instanceof SplittableGenerator<?> && pool.getParallelism() > 1) {
+            final List<? extends Generator<T>> parts =
+                ((SplittableGenerator<T>) generator).split(pool.getParallelism() * PARTS_PER_THREAD);
+            if (parts.size() > 1) {
+                return pool.invoke(new FoldTask<T>(function, parts, 0, parts.size()));
+            }
+        }
+        final FoldHelper<T> helper = new FoldHelper<T>(function);
+        generator.run(helper);
+        return helper;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof ParallelFoldLeft<?>)) {
+            return false;
+        }
+        ParallelFoldLeft<?> that = (ParallelFoldLeft<?>) obj;
+        return that.function.equals(function) && (that.identity == null ? identity == null
+            : that.identity.equals(identity)) && that.pool == pool;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = "ParallelFoldLeft".hashCode() << 2 ^ function.hashCode();
+        if (identity != null) {
+            hash <<= 2;
+            hash ^= identity.hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ParallelFoldLeft<" + function + ", " + identity + ">";
+    }
+
+}
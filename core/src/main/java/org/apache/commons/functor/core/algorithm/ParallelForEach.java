@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.algorithm;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.apache.commons.functor.Procedure;
+import org.apache.commons.functor.generator.Generator;
+import org.apache.commons.functor.generator.SplittableGenerator;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Runs a {@link Procedure} on each element of a {@link Generator}, in parallel.
+ * <p>
+ * A {@link SplittableGenerator} is split into parts that are run on a
+ * {@link ForkJoinPool}, so the procedure must be safe to run concurrently and
+ * elements of different parts are visited in no particular order. Other
+ * generators are run sequentially, exactly as {@link Generator#run(Procedure)}
+ * would. Either way this returns once every element has been visited.
+ * </p>
+ *
+ * @param <T> the type of elements visited.
+ */
+public class ParallelForEach<T> implements Procedure<Generator<T>> {
+
+    /**
+     * Number of parts per worker thread a generator is split into, so that
+     * uneven parts can be balanced by work stealing.
+     */
+    private static final int PARTS_PER_THREAD = 4;
+
+    /**
+     * Runs a range of parts, splitting it in halves.
+     *
+     * @param <T> the type of elements visited.
+     */
+    private static final class RunTask<T> extends RecursiveAction {
+        /**
+         * serialVersionUID declaration.
+         */
+        private static final long serialVersionUID = 1L;
+        /**
+         * The procedure to run.
+         */
+        private final transient Procedure<? super T> procedure;
+        /**
+         * The parts.
+         */
+        private final transient List<? extends Generator<T>> parts;
+        /**
+         * First part (inclusive).
+         */
+        private final int from;
+        /**
+         * Last part (exclusive).
+         */
+        private final int to;
+
+        /**
+         * Create a new RunTask.
+         * @param procedure to run
+         * @param parts to run on
+         * @param from first part
+         * @param to last part, exclusive
+         */
+        RunTask(Procedure<? super T> procedure, List<? extends Generator<T>> parts, int from, int to) {
+            this.procedure = procedure;
+            this.parts = parts;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                parts.get(from).run(procedure);
+                return;
+            }
+            final int mid = (from + to) >>> 1;
+            invokeAll(new RunTask<T>(procedure, parts, from, mid), new RunTask<T>(procedure, parts, mid, to));
+        }
+    }
+
+    /**
+     * The procedure to run on each element.
+     */
+    private final Procedure<? super T> procedure;
+
+    /**
+     * The pool to run on.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a new ParallelForEach running on the common {@link ForkJoinPool}.
+     * @param procedure thread-safe {@link Procedure} to run on each element
+     */
+    public ParallelForEach(Procedure<? super T> procedure) {
+        this(procedure, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new ParallelForEach.
+     * @param procedure thread-safe {@link Procedure} to run on each element
+     * @param pool ForkJoinPool to run on
+     */
+    public ParallelForEach(Procedure<? super T> procedure, ForkJoinPool pool) {
+        this.procedure = Validate.notNull(procedure, "Procedure argument was null");
+        this.pool = Validate.notNull(pool, "ForkJoinPool argument was null");
+    }
+
+    /**
+     * {@inheritDoc}
+     * @param obj {@link Generator} to run on
+     */
+    @SuppressWarnings("unchecked")
+    public final void run(Generator<T> obj) {
+        if (obj instanceof SplittableGenerator<?> && pool.getParallelism() > 1) {
+            final List<? extends Generator<T>> parts =
+                ((SplittableGenerator<T>) obj).split(pool.getParallelism() * PARTS_PER_THREAD);
+            if (parts.size() > 1) {
+                pool.invoke(new RunTask<T>(procedure, parts, 0, parts.size()));
+                return;
+            }
+        }
+        obj.run(procedure);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof ParallelForEach<?>)) {
+            return false;
+        }
+        ParallelForEach<?> that = (ParallelForEach<?>) obj;
+        return that.procedure.equals(procedure) && that.pool == pool;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = "ParallelForEach".hashCode();
+        hash <<= 2;
+        hash ^= procedure.hashCode();
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ParallelForEach<" + procedure + ">";
+    }
+
+}
@@ -0,0 +1,505 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.algorithm;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.functor.IntProcedure;
+import org.apache.commons.functor.LongProcedure;
+import org.apache.commons.functor.range.IntegerRange;
+import org.apache.commons.functor.range.LongRange;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Runs a primitive procedure on each element of an {@link IntegerRange} or
+ * {@link LongRange}, in parallel, without boxing.
+ * <p>
+ * Elements are addressed by index and computed from the first element and the
+ * step, so the range is never iterated or materialized. On a
+ * {@link ForkJoinPool} the indices are split in halves only while other
+ * workers are short of tasks to steal, so chunks are as large as the load
+ * allows. On any other {@link Executor}, meant for bodies that block (such as
+ * a thread-per-task executor), a fixed number of workers claim chunks that
+ * shrink as the remaining work does.
+ * </p>
+ * <p>
+ * The procedure must be safe to run concurrently, and elements are visited in
+ * no particular order. Each loop can be followed and cancelled through its
+ * {@link Execution}.
+ * </p>
+ */
+public final class ParallelRangeLoop {
+
+    /**
+     * Number of elements run between checks for cancellation and progress updates.
+     */
+    private static final int BATCH = 1024;
+
+    /**
+     * Number of chunks per worker below which a ForkJoinPool loop stops splitting.
+     */
+    private static final int CHUNKS_PER_THREAD = 16;
+
+    /**
+     * Number of queued tasks per worker above which a ForkJoinPool loop stops splitting.
+     */
+    private static final int SURPLUS = 3;
+
+    /**
+     * Runs the elements from one index to another.
+     */
+    private interface Body {
+        /**
+         * Run the elements from <code>from</code> (inclusive) to <code>to</code> (exclusive).
+         * @param from first index
+         * @param to last index, exclusive
+         */
+        void run(long from, long to);
+    }
+
+    /**
+     * The progress and outcome of a loop, which completes once every element has
+     * been run, the loop has been cancelled, or the procedure has failed. A
+     * failure stops the loop and completes it with the exception thrown.
+     * Cancelling stops the loop once the chunks in progress have run their
+     * current batch of elements.
+     */
+    public static final class Execution implements Future<Void> {
+        /**
+         * The number of elements of the range.
+         */
+        private final long size;
+        /**
+         * The number of elements run so far.
+         */
+        private final AtomicLong completed = new AtomicLong();
+        /**
+         * The outcome.
+         */
+        private final CompletableFuture<Void> result = new CompletableFuture<Void>();
+        /**
+         * The first exception thrown by the procedure.
+         */
+        private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        /**
+         * Whether workers should stop claiming elements.
+         */
+        private volatile boolean stopped;
+
+        /**
+         * Create a new Execution.
+         * @param size number of elements
+         */
+        private Execution(long size) {
+            this.size = size;
+        }
+
+        /**
+         * Get the number of elements of the range.
+         * @return long
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * Get the number of elements run so far.
+         * @return long
+         */
+        public long getCompletedCount() {
+            return completed.get();
+        }
+
+        /**
+         * {@inheritDoc}
+         * Elements already running are not interrupted.
+         */
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            stopped = true;
+            return result.cancel(false);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isCancelled() {
+            return result.isCancelled();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isDone() {
+            return result.isDone();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Void get() throws InterruptedException, ExecutionException {
+            return result.get();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Void get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException,
+            TimeoutException {
+            return result.get(timeout, unit);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "Execution<" + completed.get() + "/" + size + ">";
+        }
+
+        /**
+         * Run the elements from <code>from</code> to <code>to</code> in batches, until stopped.
+         * @param body to run
+         * @param from first index
+         * @param to last index, exclusive
+         */
+        void runChunk(Body body, long from, long to) {
+            try {
+                for (long start = from; start < to && !stopped; start += BATCH) {
+                    final long end = Math.min(to, start + BATCH);
+                    body.run(start, end);
+                    completed.addAndGet(end - start);
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+            } catch (Error e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * Record a failure and stop the loop.
+         * @param throwable thrown by the procedure
+         */
+        void fail(Throwable throwable) {
+            stopped = true;
+            failure.compareAndSet(null, throwable);
+        }
+
+        /**
+         * Complete this Execution once its workers have returned.
+         */
+        void finish() {
+            final Throwable throwable = failure.get();
+            if (throwable == null) {
+                result.complete(null);
+            } else {
+                result.completeExceptionally(throwable);
+            }
+        }
+
+        /**
+         * Wait for this Execution to complete, rethrowing the failure of the procedure.
+         */
+        void await() {
+            try {
+                result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw (RuntimeException) e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Runs a range of indices on a ForkJoinPool, splitting off halves for idle workers to steal.
+     */
+    private static final class LoopTask extends RecursiveAction {
+        /**
+         * serialVersionUID declaration.
+         */
+        private static final long serialVersionUID = 1L;
+        /**
+         * The execution.
+         */
+        private final transient Execution execution;
+        /**
+         * The body.
+         */
+        private final transient Body body;
+        /**
+         * First index (inclusive).
+         */
+        private final long from;
+        /**
+         * Last index (exclusive).
+         */
+        private final long to;
+        /**
+         * Number of indices below which this task is not split.
+         */
+        private final long grain;
+        /**
+         * The task split off before this one, to join after it.
+         */
+        private final LoopTask next;
+
+        /**
+         * Create a new LoopTask.
+         * @param execution to report to
+         * @param body to run
+         * @param from first index
+         * @param to last index, exclusive
+         * @param grain number of indices below which this task is not split
+         * @param next task split off before this one
+         */
+        LoopTask(Execution execution, Body body, long from, long to, long grain, LoopTask next) {
+            this.execution = execution;
+            this.body = body;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.next = next;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void compute() {
+            long end = to;
+            LoopTask forked = null;
+            while (end - from > grain && !execution.stopped && getSurplusQueuedTaskCount() <= SURPLUS) {
+                final long mid = from + (end - from) / 2;
+                forked = new LoopTask(execution, body, mid, end, grain, forked);
+                forked.fork();
+                end = mid;
+            }
+            execution.runChunk(body, from, end);
+            for (; forked != null; forked = forked.next) {
+                forked.join();
+            }
+        }
+    }
+
+    /**
+     * The pool to run on, or <code>null</code> to run on {@link #executor}.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The executor to run on, if not a ForkJoinPool.
+     */
+    private final Executor executor;
+
+    /**
+     * The number of workers.
+     */
+    private final int parallelism;
+
+    /**
+     * Create a new ParallelRangeLoop running on the common {@link ForkJoinPool}.
+     */
+    public ParallelRangeLoop() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new ParallelRangeLoop running on a {@link ForkJoinPool}, by work stealing.
+     * @param pool ForkJoinPool to run on
+     */
+    public ParallelRangeLoop(ForkJoinPool pool) {
+        this.pool = Validate.notNull(pool, "ForkJoinPool argument was null");
+        this.executor = pool;
+        this.parallelism = pool.getParallelism();
+    }
+
+    /**
+     * Create a new ParallelRangeLoop running <code>parallelism</code> workers on
+     * <code>executor</code>, for procedures that block. A thread-per-task executor
+     * lets the number of workers exceed the number of processors.
+     * @param executor Executor to run on
+     * @param parallelism number of workers, positive
+     */
+    public ParallelRangeLoop(Executor executor, int parallelism) {
+        Validate.notNull(executor, "Executor argument was null");
+        Validate.isTrue(parallelism > 0, "Parallelism must be positive");
+        this.pool = null;
+        this.executor = executor;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Run <code>procedure</code> on each element of <code>range</code>, returning once
+     * every element has been run.
+     * @param range to run on
+     * @param procedure thread-safe {@link LongProcedure} to run on each element
+     */
+    public void run(LongRange range, LongProcedure procedure) {
+        start(range, procedure).await();
+    }
+
+    /**
+     * Run <code>procedure</code> on each element of <code>range</code>, returning once
+     * every element has been run.
+     * @param range to run on
+     * @param procedure thread-safe {@link IntProcedure} to run on each element
+     */
+    public void run(IntegerRange range, IntProcedure procedure) {
+        start(range, procedure).await();
+    }
+
+    /**
+     * Start running <code>procedure</code> on each element of <code>range</code>.
+     * @param range to run on
+     * @param procedure thread-safe {@link LongProcedure} to run on each element
+     * @return Execution to follow or cancel the loop
+     * @throws IllegalArgumentException if <code>range</code> has <code>Long.MAX_VALUE</code> elements or more
+     */
+    public Execution start(final LongRange range, final LongProcedure procedure) {
+        Validate.notNull(range, "LongRange argument was null");
+        Validate.notNull(procedure, "LongProcedure argument was null");
+        final long step = range.getStep();
+        return start(range.size(), new Body() {
+            public void run(long from, long to) {
+                long value = range.get(from);
+                for (long index = from; index < to; index++) {
+                    procedure.run(value);
+                    value += step;
+                }
+            }
+        });
+    }
+
+    /**
+     * Start running <code>procedure</code> on each element of <code>range</code>.
+     * @param range to run on
+     * @param procedure thread-safe {@link IntProcedure} to run on each element
+     * @return Execution to follow or cancel the loop
+     */
+    public Execution start(final IntegerRange range, final IntProcedure procedure) {
+        Validate.notNull(range, "IntegerRange argument was null");
+        Validate.notNull(procedure, "IntProcedure argument was null");
+        final int step = range.getStep();
+        return start(range.size(), new Body() {
+            public void run(long from, long to) {
+                int value = range.get(from);
+                for (long index = from; index < to; index++) {
+                    procedure.run(value);
+                    value += step;
+                }
+            }
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ParallelRangeLoop<" + executor + ", " + parallelism + ">";
+    }
+
+    /**
+     * Start running <code>body</code> on the indices from <code>0</code> to <code>size</code>.
+     * @param size number of elements
+     * @param body to run
+     * @return Execution
+     */
+    private Execution start(final long size, final Body body) {
+        Validate.isTrue(size < Long.MAX_VALUE, "Range has too many elements");
+        final Execution execution = new Execution(size);
+        if (size == 0L) {
+            execution.finish();
+        } else if (pool != null) {
+            final long grain = Math.max(1L, size / ((long) parallelism * CHUNKS_PER_THREAD));
+            try {
+                pool.execute(new Runnable() {
+                    public void run() {
+                        try {
+                            new LoopTask(execution, body, 0L, size, grain, null).invoke();
+                        } finally {
+                            execution.finish();
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                execution.fail(e);
+                execution.finish();
+            }
+        } else {
+            final AtomicLong cursor = new AtomicLong();
+            final AtomicInteger running = new AtomicInteger(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                try {
+                    executor.execute(new Runnable() {
+                        public void run() {
+                            try {
+                                claimChunks(execution, body, cursor);
+                            } finally {
+                                if (running.decrementAndGet() == 0) {
+                                    execution.finish();
+                                }
+                            }
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    execution.fail(e);
+                    if (running.addAndGet(i - parallelism) == 0) {
+                        execution.finish();
+                    }
+                    break;
+                }
+            }
+        }
+        return execution;
+    }
+
+    /**
+     * Run chunks claimed from <code>cursor</code>, each a share of the indices left, until none are.
+     * @param execution to report to
+     * @param body to run
+     * @param cursor next unclaimed index
+     */
+    private void claimChunks(Execution execution, Body body, AtomicLong cursor) {
+        final long size = execution.size;
+        while (!execution.stopped) {
+            final long from = cursor.get();
+            if (from >= size) {
+                return;
+            }
+            final long to = from + Math.max(1L, (size - from) / (2L * parallelism));
+            if (cursor.compareAndSet(from, to)) {
+                execution.runChunk(body, from, to);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.cache;
+
+/**
+ * An immutable snapshot of the statistics of a caching functor.
+ *
+ * @see CachingFunction#getStats()
+ * @see CachingBinaryFunction#getStats()
+ */
+public final class CacheStats {
+    // instance variables
+    //---------------------------------------------------------------
+    /**
+     * Number of evaluations answered from the cache.
+     */
+    private final long hitCount;
+    /**
+     * Number of evaluations that had to compute a value.
+     */
+    private final long missCount;
+    /**
+     * Number of entries removed to respect the maximum size.
+     */
+    private final long evictionCount;
+
+    // constructors
+    //---------------------------------------------------------------
+    /**
+     * Create a new CacheStats.
+     * @param hitCount number of hits
+     * @param missCount number of misses
+     * @param evictionCount number of evictions
+     */
+    public CacheStats(long hitCount, long missCount, long evictionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    // methods
+    //---------------------------------------------------------------
+    /**
+     * Get the number of evaluations answered from the cache.
+     * @return long
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Get the number of evaluations that had to compute a value.
+     * @return long
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Get the number of entries removed to respect the maximum size.
+     * Entries dropped because they expired are not counted.
+     * @return long
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Get the total number of evaluations.
+     * @return <code>hitCount + missCount</code>
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Get the ratio of hits to evaluations, or <code>1.0</code> when
+     * nothing has been evaluated yet.
+     * @return double
+     */
+    public double getHitRate() {
+        long requests = getRequestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof CacheStats)) {
+            return false;
+        }
+        CacheStats that = (CacheStats) obj;
+        return this.hitCount == that.hitCount && this.missCount == that.missCount
+            && this.evictionCount == that.evictionCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = "CacheStats".hashCode();
+        hash <<= 2;
+        hash ^= (int) (hitCount ^ (hitCount >>> 32));
+        hash <<= 2;
+        hash ^= (int) (missCount ^ (missCount >>> 32));
+        hash <<= 2;
+        hash ^= (int) (evictionCount ^ (evictionCount >>> 32));
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "CacheStats<hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + ">";
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.functor.Function;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A {@link BinaryFunction BinaryFunction} that remembers the results of
+ * another BinaryFunction, keyed by the pair of arguments.
+ * See {@link CachingFunction} for the concurrency, eviction and expiry rules.
+ *
+ * @param <L> the left argument type.
+ * @param <R> the right argument type.
+ * @param <T> the returned value type.
+ */
+public final class CachingBinaryFunction<L, R, T> implements BinaryFunction<L, R, T> {
+    // instance variables
+    //---------------------------------------------------------------
+    /**
+     * The wrapped function.
+     */
+    private final BinaryFunction<? super L, ? super R, ? extends T> function;
+    /**
+     * Maximum number of results, {@link Long#MAX_VALUE} when unbounded.
+     */
+    private final long maximumSize;
+    /**
+     * Time to live of a result in nanoseconds, <code>0</code> when results never expire.
+     */
+    private final long expireAfterNanos;
+    /**
+     * The results.
+     */
+    private final FunctorCache<Arguments, T> cache;
+
+    // constructors
+    //---------------------------------------------------------------
+    /**
+     * Create a new CachingBinaryFunction remembering every result.
+     * @param function to wrap
+     */
+    public CachingBinaryFunction(BinaryFunction<? super L, ? super R, ? extends T> function) {
+        this(function, Long.MAX_VALUE);
+    }
+
+    /**
+     * Create a new CachingBinaryFunction remembering at most <code>maximumSize</code> results.
+     * @param function to wrap
+     * @param maximumSize positive bound, {@link Long#MAX_VALUE} for none
+     */
+    public CachingBinaryFunction(BinaryFunction<? super L, ? super R, ? extends T> function, long maximumSize) {
+        this(function, maximumSize, 0L, FunctorCache.SYSTEM_CLOCK);
+    }
+
+    /**
+     * Create a new CachingBinaryFunction remembering at most <code>maximumSize</code> results,
+     * each for <code>expireAfter</code> <code>unit</code>s.
+     * @param function to wrap
+     * @param maximumSize positive bound, {@link Long#MAX_VALUE} for none
+     * @param expireAfter positive time to live
+     * @param unit of <code>expireAfter</code>
+     */
+    public CachingBinaryFunction(BinaryFunction<? super L, ? super R, ? extends T> function, long maximumSize,
+            long expireAfter, TimeUnit unit) {
+        this(function, maximumSize, CachingFunction.toNanos(expireAfter, unit), FunctorCache.SYSTEM_CLOCK);
+    }
+
+    /**
+     * Create a new CachingBinaryFunction.
+     * @param function to wrap
+     * @param maximumSize positive bound, {@link Long#MAX_VALUE} for none
+     * @param expireAfterNanos time to live in nanoseconds, <code>0</code> for none
+     * @param clock nanosecond time source
+     */
+    CachingBinaryFunction(final BinaryFunction<? super L, ? super R, ? extends T> function, long maximumSize,
+            long expireAfterNanos, LongSupplier clock) {
+        this.function = Validate.notNull(function, "BinaryFunction argument was null");
+        Validate.isTrue(maximumSize > 0, "Maximum size must be positive: %s", maximumSize);
+        this.maximumSize = maximumSize;
+        this.expireAfterNanos = expireAfterNanos;
+        this.cache = new FunctorCache<Arguments, T>(new Function<Arguments, T>() {
+            @SuppressWarnings("unchecked")
+            public T evaluate(Arguments obj) {
+                return function.evaluate((L) obj.left, (R) obj.right);
+            }
+        }, maximumSize, expireAfterNanos, clock);
+    }
+
+    // methods
+    //---------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    public T evaluate(L left, R right) {
+        return cache.get(new Arguments(left, right));
+    }
+
+    /**
+     * Forget the result for <code>(left, right)</code>, if any.
+     * @param left argument
+     * @param right argument
+     */
+    public void invalidate(L left, R right) {
+        cache.invalidate(new Arguments(left, right));
+    }
+
+    /**
+     * Forget every result.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Get the number of remembered results, including those being computed.
+     * @return long
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Get a snapshot of the hit, miss and eviction counts.
+     * @return CacheStats
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof CachingBinaryFunction<?, ?, ?>)) {
+            return false;
+        }
+        CachingBinaryFunction<?, ?, ?> that = (CachingBinaryFunction<?, ?, ?>) obj;
+        return this.function.equals(that.function) && this.maximumSize == that.maximumSize
+            && this.expireAfterNanos == that.expireAfterNanos;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = "CachingBinaryFunction".hashCode();
+        hash <<= 2;
+        hash ^= function.hashCode();
+        hash <<= 2;
+        hash ^= (int) (maximumSize ^ (maximumSize >>> 32));
+        hash <<= 2;
+        hash ^= (int) (expireAfterNanos ^ (expireAfterNanos >>> 32));
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "CachingBinaryFunction<" + function + FunctorCache.describe(maximumSize, expireAfterNanos) + ">";
+    }
+
+    // static methods
+    //---------------------------------------------------------------
+    /**
+     * Memoize <code>function</code>, remembering every result.
+     * @param <L> the left argument type.
+     * @param <R> the right argument type.
+     * @param <T> the returned value type.
+     * @param function to wrap
+     * @return CachingBinaryFunction, or <code>null</code> if <code>function</code> was <code>null</code>
+     */
+    public static <L, R, T> CachingBinaryFunction<L, R, T> memoize(
+            BinaryFunction<? super L, ? super R, ? extends T> function) {
+        return null == function ? null : new CachingBinaryFunction<L, R, T>(function);
+    }
+
+    // inner classes
+    //---------------------------------------------------------------
+    /**
+     * Cache key for a pair of arguments.
+     */
+    private static final class Arguments {
+        /**
+         * Left argument.
+         */
+        private final Object left;
+        /**
+         * Right argument.
+         */
+        private final Object right;
+
+        /**
+         * Create a new Arguments.
+         * @param left argument
+         * @param right argument
+         */
+        Arguments(Object left, Object right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Arguments)) {
+                return false;
+            }
+            Arguments that = (Arguments) obj;
+            return (left == null ? that.left == null : left.equals(that.left))
+                && (right == null ? that.right == null : right.equals(that.right));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return 31 * (left == null ? 0 : left.hashCode()) + (right == null ? 0 : right.hashCode());
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "(" + left + ", " + right + ")";
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.functor.Function;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A {@link Function Function} that remembers the results of another
+ * Function, keyed by argument.
+ * <p>
+ * Safe for concurrent use. Concurrent evaluations of the same argument
+ * compute the wrapped function once; evaluations of other arguments are not
+ * held up meanwhile. Optionally, the number of remembered results is bounded
+ * (least recently used results are evicted first, approximately) and results
+ * expire a fixed time after they were computed. A computation that throws is
+ * not remembered.
+ * </p>
+ * <p>
+ * The wrapped function should not evaluate this one with the same argument:
+ * doing so throws {@link IllegalStateException} rather than deadlock.
+ * </p>
+ *
+ * @param <A> the argument type.
+ * @param <T> the returned value type.
+ */
+public final class CachingFunction<A, T> implements Function<A, T> {
+    // instance variables
+    //---------------------------------------------------------------
+    /**
+     * The wrapped function.
+     */
+    private final Function<? super A, ? extends T> function;
+    /**
+     * Maximum number of results, {@link Long#MAX_VALUE} when unbounded.
+     */
+    private final long maximumSize;
+    /**
+     * Time to live of a result in nanoseconds, <code>0</code> when results never expire.
+     */
+    private final long expireAfterNanos;
+    /**
+     * The results.
+     */
+    private final FunctorCache<A, T> cache;
+
+    // constructors
+    //---------------------------------------------------------------
+    /**
+     * Create a new CachingFunction remembering every result.
+     * @param function to wrap
+     */
+    public CachingFunction(Function<? super A, ? extends T> function) {
+        this(function, Long.MAX_VALUE);
+    }
+
+    /**
+     * Create a new CachingFunction remembering at most <code>maximumSize</code> results.
+     * @param function to wrap
+     * @param maximumSize positive bound, {@link Long#MAX_VALUE} for none
+     */
+    public CachingFunction(Function<? super A, ? extends T> function, long maximumSize) {
+        this(function, maximumSize, 0L, FunctorCache.SYSTEM_CLOCK);
+    }
+
+    /**
+     * Create a new CachingFunction remembering at most <code>maximumSize</code> results,
+     * each for <code>expireAfter</code> <code>unit</code>s.
+     * @param function to wrap
+     * @param maximumSize positive bound, {@link Long#MAX_VALUE} for none
+     * @param expireAfter positive time to live
+     * @param unit of <code>expireAfter</code>
+     */
+    public CachingFunction(Function<? super A, ? extends T> function, long maximumSize, long expireAfter,
+            TimeUnit unit) {
+        this(function, maximumSize, toNanos(expireAfter, unit), FunctorCache.SYSTEM_CLOCK);
+    }
+
+    /**
+     * Create a new CachingFunction.
+     * @param function to wrap
+     * @param maximumSize positive bound, {@link Long#MAX_VALUE} for none
+     * @param expireAfterNanos time to live in nanoseconds, <code>0</code> for none
+     * @param clock nanosecond time source
+     */
+    CachingFunction(Function<? super A, ? extends T> function, long maximumSize, long expireAfterNanos,
+            LongSupplier clock) {
+        this.function = Validate.notNull(function, "Function argument was null");
+        Validate.isTrue(maximumSize > 0, "Maximum size must be positive: %s", maximumSize);
+        this.maximumSize = maximumSize;
+        this.expireAfterNanos = expireAfterNanos;
+        this.cache = new FunctorCache<A, T>(function, maximumSize, expireAfterNanos, clock);
+    }
+
+    // methods
+    //---------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    public T evaluate(A obj) {
+        return cache.get(obj);
+    }
+
+    /**
+     * Forget the result for <code>obj</code>, if any.
+     * @param obj argument
+     */
+    public void invalidate(A obj) {
+        cache.invalidate(obj);
+    }
+
+    /**
+     * Forget every result.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Get the number of remembered results, including those being computed.
+     * @return long
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Get a snapshot of the hit, miss and eviction counts.
+     * @return CacheStats
+     */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof CachingFunction<?, ?>)) {
+            return false;
+        }
+        CachingFunction<?, ?> that = (CachingFunction<?, ?>) obj;
+        return this.function.equals(that.function) && this.maximumSize == that.maximumSize
+            && this.expireAfterNanos == that.expireAfterNanos;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = "CachingFunction".hashCode();
+        hash <<= 2;
+        hash ^= function.hashCode();
+        hash <<= 2;
+        hash ^= (int) (maximumSize ^ (maximumSize >>> 32));
+        hash <<= 2;
+        hash ^= (int) (expireAfterNanos ^ (expireAfterNanos >>> 32));
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "CachingFunction<" + function + FunctorCache.describe(maximumSize, expireAfterNanos) + ">";
+    }
+
+    // static methods
+    //---------------------------------------------------------------
+    /**
+     * Memoize <code>function</code>, remembering every result.
+     * @param <A> the argument type.
+     * @param <T> the returned value type.
+     * @param function to wrap
+     * @return CachingFunction, or <code>null</code> if <code>function</code> was <code>null</code>
+     */
+    public static <A, T> CachingFunction<A, T> memoize(Function<? super A, ? extends T> function) {
+        return null == function ? null : new CachingFunction<A, T>(function);
+    }
+
+    /**
+     * Convert a positive duration to nanoseconds.
+     * @param duration to convert
+     * @param unit of <code>duration</code>
+     * @return long
+     */
+    static long toNanos(long duration, TimeUnit unit) {
+        Validate.notNull(unit, "TimeUnit argument was null");
+        Validate.isTrue(duration > 0, "Expiry duration must be positive: %s", duration);
+        return unit.toNanos(duration);
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.functor.Function;
+
+/**
+ * The concurrent store behind the caching functors of this package.
+ * <p>
+ * Each key maps to an {@link Entry} that is published <em>before</em> its
+ * value is computed. The thread that publishes the entry computes the value
+ * outside of any map lock; threads asking for the same key meanwhile wait on
+ * that entry alone, so every key is computed once and a slow computation
+ * never blocks callers of other keys.
+ * </p>
+ * <p>
+ * When bounded, entries are evicted with the CLOCK (second chance)
+ * approximation of LRU: a hit only sets a flag on its entry, and the thread
+ * that overflows the cache sweeps the insertion queue, sparing and clearing
+ * flagged entries and evicting the first unflagged one. Hits therefore never
+ * take a lock. Expired entries are dropped lazily, when next looked up.
+ * </p>
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+final class FunctorCache<K, V> {
+    /**
+     * Stands for the <code>null</code> key, which ConcurrentHashMap does not accept.
+     */
+    private static final Object NULL_KEY = new Object();
+
+    /**
+     * The clock used outside of tests, read without boxing.
+     */
+    static final LongSupplier SYSTEM_CLOCK = new LongSupplier() {
+        public long getAsLong() {
+            return System.nanoTime();
+        }
+    };
+
+    // instance variables
+    //---------------------------------------------------------------
+    /**
+     * Computes missing values.
+     */
+    private final Function<? super K, ? extends V> loader;
+    /**
+     * Maximum number of entries, {@link Long#MAX_VALUE} when unbounded.
+     */
+    private final long maximumSize;
+    /**
+     * Time to live of a computed value in nanoseconds, <code>0</code> when values never expire.
+     */
+    private final long expireAfterNanos;
+    /**
+     * Nanosecond time source.
+     */
+    private final LongSupplier clock;
+    /**
+     * The entries.
+     */
+    private final ConcurrentMap<Object, Entry<V>> map = new ConcurrentHashMap<Object, Entry<V>>();
+    /**
+     * Entries in CLOCK order, <code>null</code> when unbounded. May hold stale entries.
+     */
+    private final ConcurrentLinkedQueue<Entry<V>> queue;
+    /**
+     * Length of {@link #queue}.
+     */
+    private final AtomicLong queued = new AtomicLong();
+    /**
+     * Held by the single thread sweeping {@link #queue}.
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    /**
+     * Hit counter.
+     */
+    private final LongAdder hits = new LongAdder();
+    /**
+     * Miss counter.
+     */
+    private final LongAdder misses = new LongAdder();
+    /**
+     * Eviction counter.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    // constructors
+    //---------------------------------------------------------------
+    /**
+     * Create a new FunctorCache.
+     * @param loader computes missing values
+     * @param maximumSize maximum number of entries, {@link Long#MAX_VALUE} for no bound
+     * @param expireAfterNanos time to live of a value, <code>0</code> for no expiry
+     * @param clock nanosecond time source
+     */
+    FunctorCache(Function<? super K, ? extends V> loader, long maximumSize, long expireAfterNanos,
+            LongSupplier clock) {
+        this.loader = loader;
+        this.maximumSize = maximumSize;
+        this.expireAfterNanos = expireAfterNanos;
+        this.clock = clock;
+        this.queue = maximumSize == Long.MAX_VALUE ? null : new ConcurrentLinkedQueue<Entry<V>>();
+    }
+
+    // methods
+    //---------------------------------------------------------------
+    /**
+     * Get the value for <code>key</code>, computing it if needed.
+     * @param key the key
+     * @return the cached or computed value
+     */
+    V get(K key) {
+        final Object mapKey = key == null ? NULL_KEY : key;
+        while (true) {
+            Entry<V> entry = map.get(mapKey);
+            if (entry != null) {
+                if (!isExpired(entry)) {
+                    entry.referenced = true;
+                    return join(entry);
+                }
+                map.remove(mapKey, entry);
+                continue;
+            }
+            Entry<V> created = new Entry<V>(mapKey);
+            if (map.putIfAbsent(mapKey, created) != null) {
+                continue;
+            }
+            misses.increment();
+            if (queue != null) {
+                queue.offer(created);
+                queued.incrementAndGet();
+                evictIfNeeded();
+            }
+            return load(key, created);
+        }
+    }
+
+    /**
+     * Get the value of an entry published by another call, counting a hit
+     * unless the computation joined fails.
+     * @param entry the entry
+     * @return the value
+     */
+    private V join(Entry<V> entry) {
+        boolean hit = false;
+        try {
+            final V value = entry.await();
+            hit = true;
+            return value;
+        } finally {
+            if (hit) {
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+        }
+    }
+
+    /**
+     * Compute the value of a freshly published entry.
+     * @param key the key
+     * @param entry the entry
+     * @return the computed value
+     */
+    private V load(K key, Entry<V> entry) {
+        final V value;
+        try {
+            value = loader.evaluate(key);
+        } catch (RuntimeException e) {
+            map.remove(entry.key, entry);
+            entry.fail(e);
+            throw e;
+        } catch (Error e) {
+            map.remove(entry.key, entry);
+            entry.fail(e);
+            throw e;
+        }
+        entry.complete(value, expireAfterNanos == 0L ? 0L : clock.getAsLong());
+        return value;
+    }
+
+    /**
+     * Learn whether <code>entry</code> has outlived its time to live.
+     * @param entry to test
+     * @return boolean
+     */
+    private boolean isExpired(Entry<V> entry) {
+        return expireAfterNanos != 0L && entry.state == Entry.DONE
+            && clock.getAsLong() - entry.writeTime >= expireAfterNanos;
+    }
+
+    /**
+     * Sweep the CLOCK queue if the cache overflows or the queue is mostly stale.
+     * Gives up at once if another thread is already sweeping.
+     */
+    private void evictIfNeeded() {
+        if (map.size() <= maximumSize && queued.get() - maximumSize <= maximumSize) {
+            return;
+        }
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            // two full turns clear every flag, so this budget suffices unless hits race the sweep
+            for (long budget = 2 * queued.get() + 1; budget > 0 && map.size() > maximumSize; budget--) {
+                Entry<V> entry = queue.poll();
+                if (entry == null) {
+                    break;
+                }
+                queued.decrementAndGet();
+                if (map.get(entry.key) != entry) {
+                    continue;
+                }
+                if (entry.referenced) {
+                    entry.referenced = false;
+                    queue.offer(entry);
+                    queued.incrementAndGet();
+                } else if (map.remove(entry.key, entry)) {
+                    evictions.increment();
+                }
+            }
+            if (queued.get() - maximumSize > maximumSize) {
+                // drop entries left behind by expiry and invalidation
+                for (long n = queued.get(); n > 0; n--) {
+                    Entry<V> entry = queue.poll();
+                    if (entry == null) {
+                        break;
+                    }
+                    queued.decrementAndGet();
+                    if (map.get(entry.key) == entry) {
+                        queue.offer(entry);
+                        queued.incrementAndGet();
+                    }
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Discard the value for <code>key</code>, if any.
+     * @param key the key
+     */
+    void invalidate(K key) {
+        map.remove(key == null ? NULL_KEY : key);
+    }
+
+    /**
+     * Discard every value.
+     */
+    void invalidateAll() {
+        map.clear();
+    }
+
+    /**
+     * Get the number of entries, including those still being computed.
+     * @return long
+     */
+    long size() {
+        return map.size();
+    }
+
+    /**
+     * Get a snapshot of the statistics.
+     * @return CacheStats
+     */
+    CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * Describe the non-default settings of a caching functor, for its <code>toString</code>.
+     * @param maximumSize maximum number of entries, {@link Long#MAX_VALUE} when unbounded
+     * @param expireAfterNanos time to live in nanoseconds, <code>0</code> when values never expire
+     * @return String
+     */
+    static String describe(long maximumSize, long expireAfterNanos) {
+        StringBuilder buf = new StringBuilder();
+        if (maximumSize != Long.MAX_VALUE) {
+            buf.append(", maximumSize=").append(maximumSize);
+        }
+        if (expireAfterNanos != 0L) {
+            buf.append(", expireAfterNanos=").append(expireAfterNanos);
+        }
+        return buf.toString();
+    }
+
+    // inner classes
+    //---------------------------------------------------------------
+    /**
+     * A value, possibly not computed yet.
+     * @param <V> the value type.
+     */
+    private static final class Entry<V> {
+        /** Value being computed. */
+        static final int PENDING = 0;
+        /** Value computed. */
+        static final int DONE = 1;
+        /** Computation threw. */
+        static final int FAILED = 2;
+
+        /**
+         * The map key.
+         */
+        private final Object key;
+        /**
+         * The computing thread, cleared once done.
+         */
+        private Thread owner = Thread.currentThread();
+        /**
+         * One of {@link #PENDING}, {@link #DONE} or {@link #FAILED}.
+         */
+        private volatile int state = PENDING;
+        /**
+         * The value, published by the write to {@link #state}.
+         */
+        private V value;
+        /**
+         * The failure, published by the write to {@link #state}.
+         */
+        private Throwable failure;
+        /**
+         * Clock reading when the value was computed.
+         */
+        private long writeTime;
+        /**
+         * CLOCK reference flag.
+         */
+        private volatile boolean referenced;
+
+        /**
+         * Create a new Entry.
+         * @param key the map key
+         */
+        Entry(Object key) {
+            this.key = key;
+        }
+
+        /**
+         * Publish the value.
+         * @param value computed value
+         * @param writeTime clock reading
+         */
+        synchronized void complete(V value, long writeTime) {
+            this.value = value;
+            this.writeTime = writeTime;
+            this.owner = null;
+            this.state = DONE;
+            notifyAll();
+        }
+
+        /**
+         * Publish a failure.
+         * @param failure a RuntimeException or an Error
+         */
+        synchronized void fail(Throwable failure) {
+            this.failure = failure;
+            this.owner = null;
+            this.state = FAILED;
+            notifyAll();
+        }
+
+        /**
+         * Wait for the value.
+         * @return the value
+         */
+        V await() {
+            if (state == DONE) {
+                return value;
+            }
+            boolean interrupted = false;
+            synchronized (this) {
+                if (owner == Thread.currentThread()) {
+                    throw new IllegalStateException("Recursive evaluation for key " + key);
+                }
+                while (state == PENDING) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (state == FAILED) {
+                if (failure instanceof Error) {
+                    throw (Error) failure;
+                }
+                throw (RuntimeException) failure;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.cache;
+
+import org.apache.commons.functor.NullaryFunction;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A {@link NullaryFunction NullaryFunction} that evaluates another
+ * NullaryFunction once, on first use, and returns that result thereafter.
+ * <p>
+ * Safe for concurrent use: concurrent first evaluations compute the result
+ * once, and later evaluations read it without locking. If the wrapped
+ * function throws, nothing is remembered and the next evaluation tries again.
+ * </p>
+ *
+ * @param <T> the returned value type.
+ */
+public final class MemoizedNullaryFunction<T> implements NullaryFunction<T> {
+    // instance variables
+    //---------------------------------------------------------------
+    /**
+     * The wrapped function.
+     */
+    private final NullaryFunction<? extends T> function;
+    /**
+     * Whether {@link #value} has been computed.
+     */
+    private volatile boolean evaluated;
+    /**
+     * The result, published by the write to {@link #evaluated}.
+     */
+    private T value;
+
+    // constructors
+    //---------------------------------------------------------------
+    /**
+     * Create a new MemoizedNullaryFunction.
+     * @param function to wrap
+     */
+    public MemoizedNullaryFunction(NullaryFunction<? extends T> function) {
+        this.function = Validate.notNull(function, "NullaryFunction argument was null");
+    }
+
+    // methods
+    //---------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    public T evaluate() {
+        if (!evaluated) {
+            synchronized (this) {
+                if (!evaluated) {
+                    value = function.evaluate();
+                    evaluated = true;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Learn whether the result has been computed.
+     * @return boolean
+     */
+    public boolean isEvaluated() {
+        return evaluated;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof MemoizedNullaryFunction<?>)) {
+            return false;
+        }
+        MemoizedNullaryFunction<?> that = (MemoizedNullaryFunction<?>) obj;
+        return this.function.equals(that.function);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = "MemoizedNullaryFunction".hashCode();
+        hash <<= 2;
+        hash ^= function.hashCode();
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "MemoizedNullaryFunction<" + function + ">";
+    }
+
+    // static methods
+    //---------------------------------------------------------------
+    /**
+     * Memoize <code>function</code>.
+     * @param <T> the returned value type.
+     * @param function to wrap
+     * @return MemoizedNullaryFunction, or <code>null</code> if <code>function</code> was <code>null</code>
+     */
+    public static <T> MemoizedNullaryFunction<T> memoize(NullaryFunction<? extends T> function) {
+        return null == function ? null : new MemoizedNullaryFunction<T>(function);
+    }
+}
@@ -16,17 +16,40 @@
  */
 package org.apache.commons.functor.core.collection;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
+import org.apache.commons.functor.BinaryFunction;
 import org.apache.commons.functor.Function;
 import org.apache.commons.functor.Predicate;
 import org.apache.commons.functor.core.IsInstance;
 import org.apache.commons.functor.core.composite.And;
+import org.apache.commons.lang3.Validate;
 
 /**
- * Adds a fluent filtering API to any {@link Iterable}.
+ * Adds a fluent, lazy collection pipeline to any {@link Iterable}.
+ * <p>
+ * A FilteredIterable holds its source and an immutable list of stages;
+ * {@link #retain(Predicate) retaining} elements replaces that list with a
+ * copy in which the new predicate is fused with any filter ending the
+ * pipeline, while the other operations return a new FilteredIterable and
+ * leave this one untouched. {@link #retain(Class) Retaining a type} is the
+ * exception: its result follows this FilteredIterable, taking up on each
+ * iteration the stages retained here by then. Each {@link #iterator() iterator}
+ * works on the stages current when it was created, those of any FilteredIterable
+ * it follows included, and runs them all itself rather than stacking one
+ * iterator per stage. {@link #sorted() Sorting} is the only operation that
+ * buffers: it drains the pipeline before it upon iteration.
+ * </p>
  *
  * @param <T> the Iterable generic type
  */
@@ -62,33 +85,52 @@ public class FilteredIterable<T> implements Iterable<T> {
         }
     };
 
+    /**
+     * Updates {@link #stages} without locking.
+     */
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<FilteredIterable, Stage[]> STAGES =
+        AtomicReferenceFieldUpdater.newUpdater(FilteredIterable.class, Stage[].class, "stages");
+
     /**
      * The {@link Iterable} has to be filtered.
      */
-    private final Iterable<? extends T> iterable;
+    private final Iterable<?> iterable;
     /**
-     * The predicate used to test input {@link Iterable} elements.
+     * The FilteredIterable whose current stages run before {@link #stages}, or <code>null</code>.
      */
-    private And<T> predicate;
+    private final FilteredIterable<?> parent;
+    /**
+     * The stages applied to input {@link Iterable} elements, never modified once published.
+     */
+    private volatile Stage[] stages;
 
     /**
      * Create a new FilteredIterable.
      * @param iterable wrapped
      */
     protected FilteredIterable(Iterable<? extends T> iterable) {
+        this(iterable, null, new Stage[0]);
+    }
+
+    /**
+     * Create a new FilteredIterable.
+     * @param iterable wrapped
+     * @param parent whose current stages run first, or <code>null</code>
+     * @param stages applied to the elements of <code>iterable</code>, not copied
+     */
+    private FilteredIterable(Iterable<?> iterable, FilteredIterable<?> parent, Stage[] stages) {
         super();
         this.iterable = iterable;
+        this.parent = parent;
+        this.stages = stages;
     }
 
     /**
      * {@inheritDoc}
      */
     public Iterator<T> iterator() {
-        Predicate<T> predicateReference;
-        synchronized (this) {
-            predicateReference = predicate;
-        }
-        return FilteredIterator.filter(iterable.iterator(), predicateReference);
+        return new PipelineIterator<T>(iterable.iterator(), pipeline());
     }
 
     /**
@@ -99,6 +141,8 @@ public class FilteredIterable<T> implements Iterable<T> {
         return "FilteredIterable<" + iterable + ">";
     }
 
+    // filters
+    // ------------------------------------------------------------------------
     /**
      * Retain only elements matching <code>predicate</code>.
      * @param filter filter predicate, non-<code>null</code>
@@ -106,12 +150,10 @@ public class FilteredIterable<T> implements Iterable<T> {
      */
     public FilteredIterable<T> retain(Predicate<? super T> filter) {
         Objects.requireNonNull(filter, "filtering predicate was null");
-        synchronized (this) {
-            if (this.predicate == null) {
-                this.predicate = new And<T>();
-            }
-            this.predicate.and(filter);
-        }
+        Stage[] current;
+        do {
+            current = stages;
+        } while (!STAGES.compareAndSet(this, current, Stage.retain(current, filter)));
         return this;
     }
 
@@ -120,28 +162,15 @@ public class FilteredIterable<T> implements Iterable<T> {
      *
      * @param <U> the input Class generic type.
      * @param type filter, non-<code>null</code>
-     * @return new FilteredIterable instance that delegates to <code>this</code>
+     * @return new FilteredIterable instance following <code>this</code>, so that later retains on
+     *         <code>this</code> still apply
      */
     public <U> FilteredIterable<U> retain(final Class<U> type) {
         if (type == null) {
             throw new NullPointerException("filtered type was null");
         }
-        return new FilteredIterable<U>(new Iterable<U>() {
-
-            public Iterator<U> iterator() {
-                return TransformedIterator.transform(
-                        FilteredIterator.filter(FilteredIterable.this.iterator(), IsInstance.of(type)),
-                        new Function<T, U>() {
-
-                            @SuppressWarnings("unchecked")
-                            // this is okay because of the isinstance check
-                            public U evaluate(T obj) {
-                                return (U) obj;
-                            }
-                        });
-            }
-
-        });
+        // no cast stage is needed: the instance check makes the erased element a U
+        return new FilteredIterable<U>(iterable, this, Stage.retain(new Stage[0], IsInstance.of(type)));
     }
 
     /**
@@ -166,6 +195,97 @@ public class FilteredIterable<T> implements Iterable<T> {
         });
     }
 
+    // transformations
+    // ------------------------------------------------------------------------
+    /**
+     * Transform each element with <code>function</code>.
+     * @param <U> the output element type.
+     * @param function transformation, non-<code>null</code>
+     * @return new FilteredIterable instance over the stages of <code>this</code>
+     */
+    public <U> FilteredIterable<U> map(Function<? super T, ? extends U> function) {
+        Objects.requireNonNull(function, "mapping function was null");
+        return then(new Stage(Stage.MAP, function, 0L));
+    }
+
+    /**
+     * Replace each element with the elements of the {@link Iterable} <code>function</code> returns for it.
+     * @param <U> the output element type.
+     * @param function transformation, non-<code>null</code>
+     * @return new FilteredIterable instance over the stages of <code>this</code>
+     */
+    public <U> FilteredIterable<U> flatMap(Function<? super T, ? extends Iterable<? extends U>> function) {
+        Objects.requireNonNull(function, "mapping function was null");
+        return then(new Stage(Stage.FLAT_MAP, function, 0L));
+    }
+
+    /**
+     * Keep at most the first <code>maxSize</code> elements.
+     * @param maxSize number of elements to keep
+     * @return new FilteredIterable instance over the stages of <code>this</code>
+     * @throws IllegalArgumentException if <code>maxSize</code> is negative
+     */
+    public FilteredIterable<T> limit(long maxSize) {
+        Validate.isTrue(maxSize >= 0L, "Size must not be negative: %s", maxSize);
+        return then(new Stage(Stage.LIMIT, null, maxSize));
+    }
+
+    /**
+     * Drop the first <code>count</code> elements.
+     * @param count number of elements to drop
+     * @return new FilteredIterable instance over the stages of <code>this</code>
+     * @throws IllegalArgumentException if <code>count</code> is negative
+     */
+    public FilteredIterable<T> skip(long count) {
+        Validate.isTrue(count >= 0L, "Count must not be negative: %s", count);
+        return then(new Stage(Stage.SKIP, null, count));
+    }
+
+    /**
+     * Drop each element {@link Object#equals(Object) equal} to an earlier one.
+     * @return new FilteredIterable instance over the stages of <code>this</code>
+     */
+    public FilteredIterable<T> distinct() {
+        return then(new Stage(Stage.DISTINCT, null, 0L));
+    }
+
+    /**
+     * Sort the elements by their natural order.
+     * @return new FilteredIterable instance over the sorted elements of <code>this</code>
+     */
+    public FilteredIterable<T> sorted() {
+        return new FilteredIterable<T>(new SortedIterable<T>(snapshot(), null));
+    }
+
+    /**
+     * Sort the elements by <code>comparator</code>.
+     * @param comparator ordering, non-<code>null</code>
+     * @return new FilteredIterable instance over the sorted elements of <code>this</code>
+     */
+    public FilteredIterable<T> sorted(Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator, "comparator was null");
+        return new FilteredIterable<T>(new SortedIterable<T>(snapshot(), comparator));
+    }
+
+    // terminal operations
+    // ------------------------------------------------------------------------
+    /**
+     * Fold the elements from left to right into <code>seed</code>.
+     * @param <R> the result type.
+     * @param seed initial result
+     * @param function combining the result so far with the next element, non-<code>null</code>
+     * @return the result of the last evaluation of <code>function</code>, or <code>seed</code> if there are
+     *         no elements
+     */
+    public <R> R reduce(R seed, BinaryFunction<? super R, ? super T, ? extends R> function) {
+        Objects.requireNonNull(function, "reducing function was null");
+        R result = seed;
+        for (Iterator<T> iterator = iterator(); iterator.hasNext();) {
+            result = function.evaluate(result, iterator.next());
+        }
+        return result;
+    }
+
     /**
      * Get a {@link FilteredIterable} of <code>iterable</code>.  If <code>wrapped</code> is <code>null</code>,
      * result will also be <code>null</code>.  A {@link FilteredIterable} argument will be passed back
@@ -193,4 +313,361 @@ public class FilteredIterable<T> implements Iterable<T> {
     public static <T> FilteredIterable<T> empty() {
         return EMPTY;
     }
+
+    // private
+    // ------------------------------------------------------------------------
+    /**
+     * Get a FilteredIterable over the stages of <code>this</code> followed by <code>stage</code>.
+     * @param <U> the output element type.
+     * @param stage to append
+     * @return FilteredIterable
+     */
+    private <U> FilteredIterable<U> then(Stage stage) {
+        final Stage[] current = stages;
+        final Stage[] result = Arrays.copyOf(current, current.length + 1);
+        result[current.length] = stage;
+        return new FilteredIterable<U>(iterable, parent, result);
+    }
+
+    /**
+     * Get a FilteredIterable over the current stages of <code>this</code>, unaffected by later retains on it.
+     * @return FilteredIterable
+     */
+    private FilteredIterable<T> snapshot() {
+        return new FilteredIterable<T>(iterable, parent, stages);
+    }
+
+    /**
+     * Get the stages to run now: those of the FilteredIterables followed, then those of <code>this</code>.
+     * @return Stage[], not to be modified
+     */
+    private Stage[] pipeline() {
+        final Stage[] own = stages;
+        if (parent == null) {
+            return own;
+        }
+        final Stage[] upstream = parent.pipeline();
+        final Stage[] result = Arrays.copyOf(upstream, upstream.length + own.length);
+        System.arraycopy(own, 0, result, upstream.length, own.length);
+        return result;
+    }
+
+    /**
+     * A step of the pipeline.
+     */
+    private static final class Stage {
+        /**
+         * Drops elements failing a predicate.
+         */
+        static final int FILTER = 0;
+        /**
+         * Transforms elements.
+         */
+        static final int MAP = 1;
+        /**
+         * Replaces elements by the elements of an Iterable.
+         */
+        static final int FLAT_MAP = 2;
+        /**
+         * Drops leading elements.
+         */
+        static final int SKIP = 3;
+        /**
+         * Ends the pipeline after a number of elements.
+         */
+        static final int LIMIT = 4;
+        /**
+         * Drops repeated elements.
+         */
+        static final int DISTINCT = 5;
+
+        /**
+         * The kind of this stage.
+         */
+        private final int kind;
+        /**
+         * The predicate or function of this stage, if any.
+         */
+        private final Object functor;
+        /**
+         * The element count of a skip or limit stage.
+         */
+        private final long count;
+        /**
+         * The predicates fused into a filter stage.
+         */
+        private final Predicate<?>[] predicates;
+
+        /**
+         * Create a new Stage.
+         * @param kind of stage
+         * @param functor of the stage, if any
+         * @param count of a skip or limit stage
+         */
+        Stage(int kind, Object functor, long count) {
+            this.kind = kind;
+            this.functor = functor;
+            this.count = count;
+            this.predicates = null;
+        }
+
+        /**
+         * Create a new filter Stage.
+         * @param predicates fused into the stage, not copied
+         */
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        Stage(Predicate<?>[] predicates) {
+            this.kind = FILTER;
+            this.functor = predicates.length == 1 ? predicates[0] : new And(predicates).freeze();
+            this.count = 0L;
+            this.predicates = predicates;
+        }
+
+        /**
+         * Get a copy of <code>stages</code> retaining only elements matching <code>filter</code>.
+         * @param stages to copy
+         * @param filter to add
+         * @return Stage[]
+         */
+        static Stage[] retain(Stage[] stages, Predicate<?> filter) {
+            final int last = stages.length - 1;
+            if (last >= 0 && stages[last].kind == FILTER) {
+                final Predicate<?>[] fused = Arrays.copyOf(stages[last].predicates, stages[last].predicates.length + 1);
+                fused[fused.length - 1] = filter;
+                final Stage[] result = stages.clone();
+                result[last] = new Stage(fused);
+                return result;
+            }
+            final Stage[] result = Arrays.copyOf(stages, stages.length + 1);
+            result[stages.length] = new Stage(new Predicate<?>[] {filter});
+            return result;
+        }
+    }
+
+    /**
+     * Runs every stage of a pipeline over a source Iterator.
+     * @param <T> the output element type.
+     */
+    private static final class PipelineIterator<T> implements Iterator<T> {
+        /**
+         * The stages to run.
+         */
+        private final Stage[] stages;
+        /**
+         * The source iterator.
+         */
+        private final Iterator<?> source;
+        /**
+         * The iterator of each active flatMap stage and the seen elements of each distinct stage,
+         * by stage index; <code>null</code> if the pipeline has neither.
+         */
+        private final Object[] state;
+        /**
+         * The elements each skip or limit stage has yet to drop or pass, by stage index;
+         * <code>null</code> if the pipeline has neither.
+         */
+        private final long[] counts;
+        /**
+         * The index of the innermost active flatMap stage, or <code>-1</code> when reading the source.
+         */
+        private int active = -1;
+        /**
+         * The index of the last exhausted limit stage, or <code>-1</code>; elements read
+         * before it can no longer pass.
+         */
+        private int stop;
+        /**
+         * The iterator the last returned element was read from.
+         */
+        private Iterator<?> removeFrom = null;
+        /**
+         * The next element.
+         */
+        private Object next = null;
+        /**
+         * Whether {@link #next} is set.
+         */
+        private boolean nextSet = false;
+
+        /**
+         * Create a new PipelineIterator.
+         * @param source to read
+         * @param stages to run
+         */
+        PipelineIterator(Iterator<?> source, Stage[] stages) {
+            this.source = source;
+            this.stages = stages;
+            this.stop = -1;
+            Object[] state = null;
+            long[] counts = null;
+            for (int i = 0; i < stages.length; i++) {
+                switch (stages[i].kind) {
+                case Stage.FLAT_MAP:
+                case Stage.DISTINCT:
+                    if (state == null) {
+                        state = new Object[stages.length];
+                    }
+                    break;
+                case Stage.LIMIT:
+                case Stage.SKIP:
+                    if (counts == null) {
+                        counts = new long[stages.length];
+                    }
+                    counts[i] = stages[i].count;
+                    break;
+                default:
+                    break;
+                }
+                if (stages[i].kind == Stage.LIMIT && stages[i].count == 0L) {
+                    stop = i;
+                }
+            }
+            this.state = state;
+            this.counts = counts;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean hasNext() {
+            return nextSet || setNext();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Object result = next;
+            next = null;
+            nextSet = false;
+            return (T) result;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public void remove() {
+            if (removeFrom == null || nextSet) {
+                throw new IllegalStateException();
+            }
+            final Iterator<?> iterator = removeFrom;
+            removeFrom = null;
+            iterator.remove();
+        }
+
+        /**
+         * Run the stages until an element passes them all.
+         * @return whether an element did
+         */
+        @SuppressWarnings("unchecked")
+        private boolean setNext() {
+            elements: while (active >= stop) {
+                final Iterator<?> iterator = active < 0 ? source : (Iterator<?>) state[active];
+                if (!iterator.hasNext()) {
+                    if (active < 0) {
+                        break;
+                    }
+                    state[active] = null;
+                    do {
+                        active--;
+                    } while (active >= 0 && (stages[active].kind != Stage.FLAT_MAP || state[active] == null));
+                    continue;
+                }
+                removeFrom = null;
+                Object obj = iterator.next();
+                for (int i = active + 1; i < stages.length; i++) {
+                    final Stage stage = stages[i];
+                    switch (stage.kind) {
+                    case Stage.FILTER:
+                        if (!((Predicate<Object>) stage.functor).test(obj)) {
+                            continue elements;
+                        }
+                        break;
+                    case Stage.MAP:
+                        obj = ((Function<Object, ?>) stage.functor).evaluate(obj);
+                        break;
+                    case Stage.FLAT_MAP:
+                        state[i] = ((Function<Object, Iterable<?>>) stage.functor).evaluate(obj).iterator();
+                        active = i;
+                        continue elements;
+                    case Stage.SKIP:
+                        if (counts[i] > 0L) {
+                            counts[i]--;
+                            continue elements;
+                        }
+                        break;
+                    case Stage.LIMIT:
+                        if (--counts[i] == 0L) {
+                            stop = Math.max(stop, i);
+                        }
+                        break;
+                    default:
+                        if (state[i] == null) {
+                            state[i] = new HashSet<Object>();
+                        }
+                        if (!((Set<Object>) state[i]).add(obj)) {
+                            continue elements;
+                        }
+                        break;
+                    }
+                }
+                next = obj;
+                nextSet = true;
+                removeFrom = iterator;
+                return true;
+            }
+            next = null;
+            nextSet = false;
+            return false;
+        }
+    }
+
+    /**
+     * Iterates over the sorted elements of a pipeline.
+     * @param <T> the element type.
+     */
+    private static final class SortedIterable<T> implements Iterable<T> {
+        /**
+         * The pipeline to sort.
+         */
+        private final Iterable<T> upstream;
+        /**
+         * The ordering, or <code>null</code> for natural order.
+         */
+        private final Comparator<? super T> comparator;
+
+        /**
+         * Create a new SortedIterable.
+         * @param upstream pipeline to sort
+         * @param comparator ordering, or <code>null</code> for natural order
+         */
+        SortedIterable(Iterable<T> upstream, Comparator<? super T> comparator) {
+            this.upstream = upstream;
+            this.comparator = comparator;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Iterator<T> iterator() {
+            final List<T> result = new ArrayList<T>();
+            for (T obj : upstream) {
+                result.add(obj);
+            }
+            Collections.sort(result, comparator);
+            return Collections.unmodifiableList(result).iterator();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "SortedIterable<" + upstream + ">";
+        }
+    }
 }
@@ -17,11 +17,15 @@
 package org.apache.commons.functor.core.collection;
 
 import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.apache.commons.functor.BinaryPredicate;
 import org.apache.commons.functor.Predicate;
-import org.apache.commons.functor.adapter.RightBoundPredicate;
+import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.Validate;
 
 /**
@@ -42,6 +46,216 @@ public final class IsElementOf<L, R> implements BinaryPredicate<L, R> {
      */
     private static final IsElementOf<Object, Object> INSTANCE = new IsElementOf<Object, Object>();
 
+    /**
+     * Bits per distinct key below which primitive keys are held in a {@link BitSet}
+     * rather than a sorted array, which takes 64 bits per key.
+     */
+    private static final int DENSITY = 64;
+
+    /**
+     * Tests membership in a {@link Set}.
+     *
+     * @param <A> the argument type.
+     */
+    private static final class HashedElements<A> implements Predicate<A> {
+        /**
+         * The elements.
+         */
+        private final Set<?> elements;
+
+        /**
+         * Create a new HashedElements.
+         * @param elements to test against
+         */
+        HashedElements(Set<?> elements) {
+            this.elements = elements;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean test(A obj) {
+            return elements.contains(obj);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            return obj == this || obj instanceof HashedElements<?>
+                && ((HashedElements<?>) obj).elements.equals(elements);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            return "HashedElements".hashCode() ^ elements.hashCode();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "IsElementOf<" + elements + ">";
+        }
+    }
+
+    /**
+     * Tests membership among the distinct keys of a primitive array by binary search.
+     *
+     * @param <A> the argument type.
+     */
+    private static final class SortedKeys<A> implements Predicate<A> {
+        /**
+         * The wrapper type of the elements.
+         */
+        private final Class<?> type;
+        /**
+         * The distinct keys of the elements, in ascending order.
+         */
+        private final long[] keys;
+
+        /**
+         * Create a new SortedKeys.
+         * @param type wrapper type of the elements
+         * @param keys distinct keys, ascending
+         */
+        SortedKeys(Class<?> type, long[] keys) {
+            this.type = type;
+            this.keys = keys;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean test(A obj) {
+            return type.isInstance(obj) && Arrays.binarySearch(keys, key(obj)) >= 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof SortedKeys<?>)) {
+                return false;
+            }
+            SortedKeys<?> that = (SortedKeys<?>) obj;
+            return that.type.equals(type) && Arrays.equals(that.keys, keys);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            int hash = "SortedKeys".hashCode();
+            hash <<= 2;
+            hash ^= type.hashCode();
+            hash <<= 2;
+            hash ^= Arrays.hashCode(keys);
+            return hash;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "IsElementOf<" + keys.length + " sorted " + type.getSimpleName() + " keys>";
+        }
+    }
+
+    /**
+     * Tests membership among the keys of a primitive array held as bits of a {@link BitSet}.
+     *
+     * @param <A> the argument type.
+     */
+    private static final class DenseKeys<A> implements Predicate<A> {
+        /**
+         * The wrapper type of the elements.
+         */
+        private final Class<?> type;
+        /**
+         * The least key, held by bit <code>0</code>.
+         */
+        private final long offset;
+        /**
+         * The keys, less <code>offset</code>.
+         */
+        private final BitSet bits;
+
+        /**
+         * Create a new DenseKeys.
+         * @param type wrapper type of the elements
+         * @param keys distinct keys, ascending, spanning fewer than <code>Integer.MAX_VALUE</code> values
+         */
+        DenseKeys(Class<?> type, long[] keys) {
+            this.type = type;
+            this.offset = keys[0];
+            this.bits = new BitSet((int) (keys[keys.length - 1] - offset + 1L));
+            for (long key : keys) {
+                bits.set((int) (key - offset));
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean test(A obj) {
+            if (!type.isInstance(obj)) {
+                return false;
+            }
+            final long index = key(obj) - offset;
+            return index >= 0L && index < bits.length() && bits.get((int) index);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof DenseKeys<?>)) {
+                return false;
+            }
+            DenseKeys<?> that = (DenseKeys<?>) obj;
+            return that.type.equals(type) && that.offset == offset && that.bits.equals(bits);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            int hash = "DenseKeys".hashCode();
+            hash <<= 2;
+            hash ^= type.hashCode();
+            hash <<= 2;
+            hash ^= (int) (offset ^ (offset >>> 32));
+            hash <<= 2;
+            hash ^= bits.hashCode();
+            return hash;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "IsElementOf<" + bits.cardinality() + " " + type.getSimpleName() + " keys from " + offset + ">";
+        }
+    }
+
     // constructors
     //---------------------------------------------------------------
     /**
@@ -130,7 +344,19 @@ public final class IsElementOf<L, R> implements BinaryPredicate<L, R> {
     }
 
     /**
-     * Get an IsElementOf(collection|array) Predicate.
+     * Get an IsElementOf(collection|array) Predicate. The elements are indexed
+     * once, here, so that each test is a hash lookup, a binary search or a bit
+     * lookup rather than a scan:
+     * <ul>
+     * <li>a {@link Set} is used as it is, since it already tests membership
+     * efficiently and by its own rules, such as those of a comparator;</li>
+     * <li>the elements of any other collection, or of an object array, are
+     * copied into a {@link HashSet};</li>
+     * <li>the elements of a primitive array are kept as primitive keys, sorted
+     * for binary search, or as bits if their values are dense.</li>
+     * </ul>
+     * As the elements are copied, the Predicate does not see later changes to
+     * <code>obj</code> unless it is a Set.
      *
      * @param <A> the Predicate argument generic type
      * @param obj collection/array to search
@@ -139,13 +365,70 @@ public final class IsElementOf<L, R> implements BinaryPredicate<L, R> {
     public static <A> Predicate<A> instance(Object obj) {
         if (null == obj) {
             throw new NullPointerException("Argument must not be null");
+        } else if (obj instanceof Set<?>) {
+            return new HashedElements<A>((Set<?>) obj);
         } else if (obj instanceof Collection<?>) {
-            return new RightBoundPredicate<A>(new IsElementOf<A, Object>(), obj);
+            return new HashedElements<A>(new HashSet<Object>((Collection<?>) obj));
+        } else if (obj instanceof Object[]) {
+            return new HashedElements<A>(new HashSet<Object>(Arrays.asList((Object[]) obj)));
         } else if (obj.getClass().isArray()) {
-            return new RightBoundPredicate<A>(new IsElementOf<A, Object>(), obj);
+            return indexKeys(obj);
         } else {
             throw new IllegalArgumentException("Expected Collection or Array, found " + obj.getClass());
         }
     }
 
+    /**
+     * Index the elements of a primitive array by key.
+     * @param <A> the Predicate argument generic type
+     * @param array primitive array
+     * @return Predicate
+     */
+    private static <A> Predicate<A> indexKeys(Object array) {
+        final Class<?> type = ClassUtils.primitiveToWrapper(array.getClass().getComponentType());
+        final int length = Array.getLength(array);
+        long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = key(Array.get(array, i));
+        }
+        Arrays.sort(keys);
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            if (size == 0 || keys[i] != keys[size - 1]) {
+                keys[size++] = keys[i];
+            }
+        }
+        keys = Arrays.copyOf(keys, size);
+        if (size > 0) {
+            final long span = keys[size - 1] - keys[0];
+            if (span >= 0L && span < Integer.MAX_VALUE && span < (long) size * DENSITY) {
+                return new DenseKeys<A>(type, keys);
+            }
+        }
+        return new SortedKeys<A>(type, keys);
+    }
+
+    /**
+     * Get the key of a boxed primitive: its value for integral types and
+     * booleans, or its bits for floating point types, so that keys are equal
+     * exactly when the boxed values are.
+     * @param value boxed primitive
+     * @return long
+     */
+    private static long key(Object value) {
+        if (value instanceof Double) {
+            return Double.doubleToLongBits(((Double) value).doubleValue());
+        }
+        if (value instanceof Float) {
+            return Float.floatToIntBits(((Float) value).floatValue());
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Character) {
+            return ((Character) value).charValue();
+        }
+        return ((Boolean) value).booleanValue() ? 1L : 0L;
+    }
+
 }
@@ -20,15 +20,25 @@ import java.lang.reflect.Array;
 import java.util.Collection;
 
 import org.apache.commons.functor.Function;
+import org.apache.commons.functor.IntPredicate;
+import org.apache.commons.functor.ToIntFunction;
+import org.apache.commons.functor.core.composite.IntCompositePredicate;
 import org.apache.commons.lang3.Validate;
 
 /**
  * Returns the size of the specified Collection, or the length
- * of the specified array or String.
+ * of the specified array or CharSequence.
+ * <p>
+ * A {@code Size} inspects the type of each argument it is given. Where the
+ * argument type is known up front, {@link #of(Class)} returns a
+ * {@link ToIntFunction} specialized for it, which neither dispatches nor
+ * boxes, and {@link #between(Class, int, int)} tests such sizes against
+ * bounds.
+ * </p>
  *
  * @param <A> the function argument type.
  */
-public final class Size<A> implements Function<A, Integer> {
+public final class Size<A> implements Function<A, Integer>, ToIntFunction<A> {
 
     /**
      * A static {@code Size} instance reference.
@@ -46,17 +56,24 @@ public final class Size<A> implements Function<A, Integer> {
      * {@inheritDoc}
      */
     public Integer evaluate(Object obj) {
+        return Integer.valueOf(evaluateAsInt(obj));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int evaluateAsInt(Object obj) {
         Validate.notNull(obj, "Argument must not be null");
         if (obj instanceof Collection<?>) {
-            return evaluate((Collection<?>) obj);
+            return ((Collection<?>) obj).size();
         }
-        if (obj instanceof String) {
-            return evaluate((String) obj);
+        if (obj instanceof CharSequence) {
+            return ((CharSequence) obj).length();
         }
         if (obj.getClass().isArray()) {
-            return evaluateArray(obj);
+            return Array.getLength(obj);
         }
-        throw new IllegalArgumentException("Expected Collection, String or Array, found " + obj);
+        throw new IllegalArgumentException("Expected Collection, CharSequence or Array, found " + obj);
     }
 
     /**
@@ -92,30 +109,275 @@ public final class Size<A> implements Function<A, Integer> {
     }
 
     /**
-     * Evaluate a Collection.
-     * @param col to evaluate
-     * @return Integer
+     * Get a size function specialized for arguments of type <code>type</code>:
+     * a {@link Collection}, a {@link CharSequence} or an array. An
+     * <code>Object</code> type gets the general {@link #instance()}.
+     * @param <T> the argument type.
+     * @param type of the arguments to be evaluated
+     * @return ToIntFunction
+     * @throws IllegalArgumentException if <code>type</code> has no size
      */
-    private Integer evaluate(Collection<?> col) {
-        return Integer.valueOf(col.size());
+    @SuppressWarnings("unchecked")
+    public static <T> ToIntFunction<T> of(Class<T> type) {
+        Validate.notNull(type, "Class argument was null");
+        if (type == Object.class) {
+            return (ToIntFunction<T>) INSTANCE;
+        }
+        return (ToIntFunction<T>) Typed.forType(type);
     }
 
     /**
-     * Evaluate a String.
-     * @param str to evaluate
-     * @return Integer
+     * Get a predicate testing whether the size of an argument of type
+     * <code>type</code> lies between <code>min</code> and <code>max</code>,
+     * inclusive. The size is passed on as an <code>int</code>, without boxing.
+     * @param <T> the argument type.
+     * @param type of the arguments to be tested
+     * @param min least size (inclusive)
+     * @param max greatest size (inclusive)
+     * @return IntCompositePredicate
+     * @throws IllegalArgumentException if <code>type</code> has no size or <code>min &gt; max</code>
      */
-    private Integer evaluate(String str) {
-        return Integer.valueOf(str.length());
+    public static <T> IntCompositePredicate<T> between(Class<T> type, int min, int max) {
+        return new IntCompositePredicate<T>(new Between(min, max), of(type));
     }
 
     /**
-     * Evaluate an array.
-     * @param array to evaluate
-     * @return Integer
+     * Size functions specialized by argument type.
      */
-    private Integer evaluateArray(Object array) {
-        return Integer.valueOf(Array.getLength(array));
+    private enum Typed implements ToIntFunction<Object> {
+        /**
+         * Size of a Collection.
+         */
+        COLLECTION("Collection") {
+            @Override
+            public int evaluateAsInt(Object obj) {
+                return ((Collection<?>) obj).size();
+            }
+        },
+        /**
+         * Length of a CharSequence.
+         */
+        CHAR_SEQUENCE("CharSequence") {
+            @Override
+            public int evaluateAsInt(Object obj) {
+                return ((CharSequence) obj).length();
+            }
+        },
+        /**
+         * Length of an Object array.
+         */
+        OBJECT_ARRAY("Object[]") {
+            @Override
+            public int evaluateAsInt(Object obj) {
+                return ((Object[]) obj).length;
+            }
+        },
+        /**
+         * Length of a boolean array.
+         */
+        BOOLEAN_ARRAY("boolean[]") {
+            @Override
+            public int evaluateAsInt(Object obj) {
+                return ((boolean[]) obj).length;
+            }
+        },
+        /**
+         * Length of a byte array.
+         */
+        BYTE_ARRAY("byte[]") {
+            @Override
+            public int evaluateAsInt(Object obj) {
+                return ((byte[]) obj).length;
+            }
+        },
+        /**
+         * Length of a char array.
+         */
+        CHAR_ARRAY("char[]") {
+            @Override
+            public int evaluateAsInt(Object obj) {
+                return ((char[]) obj).length;
+            }
+        },
+        /**
+         * Length of a short array.
+         */
+        SHORT_ARRAY("short[]") {
+            @Override
+            public int evaluateAsInt(Object obj) {
+                return ((short[]) obj).length;
+            }
+        },
+        /**
+         * Length of an int array.
+         */
+        INT_ARRAY("int[]") {
+            @Override
+            public int evaluateAsInt(Object obj) {
+                return ((int[]) obj).length;
+            }
+        },
+        /**
+         * Length of a long array.
+         */
+        LONG_ARRAY("long[]") {
+            @Override
+            public int evaluateAsInt(Object obj) {
+                return ((long[]) obj).length;
+            }
+        },
+        /**
+         * Length of a float array.
+         */
+        FLOAT_ARRAY("float[]") {
+            @Override
+            public int evaluateAsInt(Object obj) {
+                return ((float[]) obj).length;
+            }
+        },
+        /**
+         * Length of a double array.
+         */
+        DOUBLE_ARRAY("double[]") {
+            @Override
+            public int evaluateAsInt(Object obj) {
+                return ((double[]) obj).length;
+            }
+        };
+
+        /**
+         * Name of the argument type, used by toString.
+         */
+        private final String typeName;
+
+        /**
+         * Create a new Typed.
+         * @param typeName name of the argument type
+         */
+        Typed(String typeName) {
+            this.typeName = typeName;
+        }
+
+        /**
+         * Get the size function for arguments of type <code>type</code>.
+         * @param type argument type
+         * @return Typed
+         */
+        static Typed forType(Class<?> type) {
+            if (Collection.class.isAssignableFrom(type)) {
+                return COLLECTION;
+            }
+            if (CharSequence.class.isAssignableFrom(type)) {
+                return CHAR_SEQUENCE;
+            }
+            if (type.isArray()) {
+                final Class<?> component = type.getComponentType();
+                if (!component.isPrimitive()) {
+                    return OBJECT_ARRAY;
+                }
+                if (component == boolean.class) {
+                    return BOOLEAN_ARRAY;
+                }
+                if (component == byte.class) {
+                    return BYTE_ARRAY;
+                }
+                if (component == char.class) {
+                    return CHAR_ARRAY;
+                }
+                if (component == short.class) {
+                    return SHORT_ARRAY;
+                }
+                if (component == int.class) {
+                    return INT_ARRAY;
+                }
+                if (component == long.class) {
+                    return LONG_ARRAY;
+                }
+                if (component == float.class) {
+                    return FLOAT_ARRAY;
+                }
+                if (component == double.class) {
+                    return DOUBLE_ARRAY;
+                }
+            }
+            throw new IllegalArgumentException("Expected Collection, CharSequence or Array type, found " + type);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "Size<" + typeName + ">";
+        }
+    }
+
+    /**
+     * Tests whether an <code>int</code> lies between two bounds, inclusive.
+     */
+    private static final class Between implements IntPredicate {
+        /**
+         * Least value (inclusive).
+         */
+        private final int min;
+        /**
+         * Greatest value (inclusive).
+         */
+        private final int max;
+
+        /**
+         * Create a new Between.
+         * @param min least value (inclusive)
+         * @param max greatest value (inclusive)
+         */
+        Between(int min, int max) {
+            Validate.isTrue(min <= max, "Invalid bounds: [%s, %s]", min, max);
+            this.min = min;
+            this.max = max;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean test(int value) {
+            return value >= min && value <= max;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof Between)) {
+                return false;
+            }
+            Between that = (Between) obj;
+            return this.min == that.min && this.max == that.max;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode() {
+            int hash = "Between".hashCode();
+            hash <<= 2;
+            hash ^= min;
+            hash <<= 2;
+            hash ^= max;
+            return hash;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "Between<" + min + ", " + max + ">";
+        }
     }
 
 }
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import java.util.Arrays;
+
+import org.apache.commons.functor.Predicate;
+
+/**
+ * {@link #test Tests} <code>true</code> iff
+ * none of its children test <code>false</code>.
+ * Note that by this definition, the "and" of
+ * an empty collection of predicates tests <code>true</code>.
+ * <p>
+ * Unlike {@link And}, evaluates its children in an order learnt from
+ * sampled tests, the cheapest and most often deciding first. Children should
+ * therefore be free of side effects.
+ * </p>
+ * @param <A> the predicate argument type.
+ */
+public final class AdaptiveAnd<A> extends BaseAdaptivePredicateList<A> {
+
+    // constructor
+    // ------------------------------------------------------------------------
+    /**
+     * Create a new AdaptiveAnd.
+     */
+    public AdaptiveAnd() {
+        this((Iterable<Predicate<? super A>>) null);
+    }
+
+    /**
+     * Create a new AdaptiveAnd instance.
+     *
+     * @param predicates the predicates to put in and.
+     */
+    public AdaptiveAnd(Iterable<Predicate<? super A>> predicates) {
+        this(DEFAULT_SAMPLE_RATE, DEFAULT_REORDER_PERIOD, predicates);
+    }
+
+    /**
+     * Create a new AdaptiveAnd instance.
+     *
+     * @param predicates the predicates to put in and.
+     */
+    public AdaptiveAnd(Predicate<? super A>... predicates) {
+        this(null == predicates ? null : Arrays.asList(predicates));
+    }
+
+    /**
+     * Create a new AdaptiveAnd instance.
+     *
+     * @param sampleRate one test in this many is sampled
+     * @param reorderPeriod samples between reorderings
+     * @param predicates the predicates to put in and.
+     */
+    public AdaptiveAnd(int sampleRate, int reorderPeriod, Iterable<Predicate<? super A>> predicates) {
+        super(false, sampleRate, reorderPeriod, predicates);
+    }
+
+    // modifiers
+    // ------------------------------------------------------------------------
+    /**
+     * Fluently add a Predicate.
+     * @param p Predicate to add
+     * @return this
+     */
+    public AdaptiveAnd<A> and(Predicate<? super A> p) {
+        super.addPredicate(p);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof AdaptiveAnd<?>)) {
+            return false;
+        }
+        AdaptiveAnd<?> that = (AdaptiveAnd<?>) obj;
+        return getPredicateListEquals(that);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return "AdaptiveAnd".hashCode() ^ getPredicateListHashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "AdaptiveAnd<" + getPredicateListToString() + ">";
+    }
+
+}
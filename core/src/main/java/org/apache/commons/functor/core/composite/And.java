@@ -16,6 +16,8 @@
  */
 package org.apache.commons.functor.core.composite;
 
+import java.util.List;
+
 import org.apache.commons.functor.Predicate;
 
 /**
@@ -66,14 +68,31 @@ public final class And<A> extends BasePredicateList<A> {
         return this;
     }
 
+    /**
+     * Get an immutable copy of this And, of fixed arity when it has two or three children.
+     * @return {@link And2}, {@link And3} or {@link FrozenAnd}
+     */
+    public Predicate<A> freeze() {
+        final List<Predicate<? super A>> list = getPredicateList();
+        switch (list.size()) {
+        case 2:
+            return new And2<A>(list.get(0), list.get(1));
+        case 3:
+            return new And3<A>(list.get(0), list.get(1), list.get(2));
+        default:
+            return new FrozenAnd<A>(list);
+        }
+    }
+
     // predicate interface
     // ------------------------------------------------------------------------
     /**
      * {@inheritDoc}
      */
     public boolean test(A obj) {
-        for (Predicate<? super A> p : getPredicateList()) {
-            if (!p.test(obj)) {
+        final List<Predicate<? super A>> list = getPredicateList();
+        for (int i = 0, size = list.size(); i < size; i++) {
+            if (!list.get(i).test(obj)) {
                 return false;
             }
         }
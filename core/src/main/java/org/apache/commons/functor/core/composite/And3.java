@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import org.apache.commons.functor.Predicate;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * {@link #test Tests} <code>true</code> iff
+ * none of its three children test <code>false</code>: an immutable {@link And}
+ * of fixed arity, small enough to be inlined.
+ * @param <A> the predicate argument type.
+ */
+public final class And3<A> implements Predicate<A> {
+
+    // attributes
+    // ------------------------------------------------------------------------
+    /**
+     * The first child.
+     */
+    private final Predicate<? super A> first;
+    /**
+     * The second child.
+     */
+    private final Predicate<? super A> second;
+    /**
+     * The third child.
+     */
+    private final Predicate<? super A> third;
+    /**
+     * The precomputed hash code.
+     */
+    private final int hashCode;
+
+    // constructor
+    // ------------------------------------------------------------------------
+    /**
+     * Create a new And3.
+     * @param first the first child
+     * @param second the second child
+     * @param third the third child
+     */
+    public And3(Predicate<? super A> first, Predicate<? super A> second, Predicate<? super A> third) {
+        this.first = Validate.notNull(first, "First Predicate argument was null");
+        this.second = Validate.notNull(second, "Second Predicate argument was null");
+        this.third = Validate.notNull(third, "Third Predicate argument was null");
+        this.hashCode = "And3".hashCode()
+            ^ (31 * (31 * (31 + first.hashCode()) + second.hashCode()) + third.hashCode());
+    }
+
+    // predicate interface
+    // ------------------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    public boolean test(A obj) {
+        return first.test(obj) && second.test(obj) && third.test(obj);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof And3<?>)) {
+            return false;
+        }
+        And3<?> that = (And3<?>) obj;
+        return first.equals(that.first) && second.equals(that.second) && third.equals(that.third);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "And3<[" + first + ", " + second + ", " + third + "]>";
+    }
+
+}
@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.functor.Predicate;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Abstract base class for short-circuiting {@link Predicate Predicate} lists
+ * that reorder their children to minimize the expected cost of a test.
+ * <p>
+ * A test stops at the first child returning the <em>deciding</em> value
+ * (<code>false</code> for "and", <code>true</code> for "or"). About one test
+ * in {@link #DEFAULT_SAMPLE_RATE} is sampled: the time taken by each child
+ * and whether it decided are recorded. Every {@link #DEFAULT_REORDER_PERIOD}
+ * samples, the children are sorted by their mean cost per decision, the
+ * cheapest first, and the samples are halved so that the order keeps up
+ * with changing data. Unsampled tests pay for one random number only.
+ * </p>
+ * <p>
+ * The result of a test does not depend on the order, but which children are
+ * evaluated does, so children should be free of side effects.
+ * </p>
+ * @param <A> the predicate argument type.
+ */
+abstract class BaseAdaptivePredicateList<A> extends BasePredicateList<A> {
+    /**
+     * One test in this many is sampled by default.
+     */
+    public static final int DEFAULT_SAMPLE_RATE = 64;
+
+    /**
+     * The children are reordered after this many samples by default.
+     */
+    public static final int DEFAULT_REORDER_PERIOD = 32;
+
+    // attributes
+    // ------------------------------------------------------------------------
+    /**
+     * The value that ends a test.
+     */
+    private final boolean decidingValue;
+    /**
+     * One test in this many is sampled.
+     */
+    private final int sampleRate;
+    /**
+     * Samples between reorderings.
+     */
+    private final int reorderPeriod;
+    /**
+     * Samples since the last reordering.
+     */
+    private final AtomicInteger samples = new AtomicInteger();
+    /**
+     * Held while reordering.
+     */
+    private final ReentrantLock reorderLock = new ReentrantLock();
+    /**
+     * The current evaluation order and statistics, <code>null</code> after a modification.
+     */
+    private volatile Plan<A> plan;
+
+    // constructor
+    // ------------------------------------------------------------------------
+    /**
+     * Create a new BaseAdaptivePredicateList.
+     * @param decidingValue the value that ends a test
+     * @param sampleRate one test in this many is sampled
+     * @param reorderPeriod samples between reorderings
+     * @param predicates to add
+     */
+    protected BaseAdaptivePredicateList(boolean decidingValue, int sampleRate, int reorderPeriod,
+            Iterable<Predicate<? super A>> predicates) {
+        super(predicates);
+        Validate.isTrue(sampleRate > 0, "Sample rate must be positive: %s", sampleRate);
+        Validate.isTrue(reorderPeriod > 0, "Reorder period must be positive: %s", reorderPeriod);
+        this.decidingValue = decidingValue;
+        this.sampleRate = sampleRate;
+        this.reorderPeriod = reorderPeriod;
+    }
+
+    // modifiers
+    // ------------------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     * Forgets the current order and statistics.
+     */
+    @Override
+    protected void addPredicate(Predicate<? super A> p) {
+        super.addPredicate(p);
+        plan = null;
+    }
+
+    // predicate interface
+    // ------------------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    public final boolean test(A obj) {
+        Plan<A> current = plan;
+        if (current == null) {
+            current = initPlan();
+        }
+        if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            for (Predicate<? super A> p : current.predicates) {
+                if (p.test(obj) == decidingValue) {
+                    return decidingValue;
+                }
+            }
+            return !decidingValue;
+        }
+        boolean result = sampledTest(current, obj);
+        if (samples.incrementAndGet() >= reorderPeriod && reorderLock.tryLock()) {
+            try {
+                if (samples.get() >= reorderPeriod) {
+                    samples.set(0);
+                    reorder();
+                }
+            } finally {
+                reorderLock.unlock();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the children in their current evaluation order.
+     * @return unmodifiable List
+     */
+    public List<Predicate<? super A>> getEvaluationOrder() {
+        Plan<A> current = plan;
+        if (current == null) {
+            current = initPlan();
+        }
+        return Collections.unmodifiableList(Arrays.asList(current.predicates));
+    }
+
+    // private
+    // ------------------------------------------------------------------------
+    /**
+     * Test <code>obj</code>, recording the cost and outcome of each child evaluated.
+     * @param current plan
+     * @param obj to test
+     * @return boolean
+     */
+    private boolean sampledTest(Plan<A> current, A obj) {
+        final Predicate<? super A>[] predicates = current.predicates;
+        for (int i = 0; i < predicates.length; i++) {
+            final int id = current.ids[i];
+            final long start = System.nanoTime();
+            final boolean value = predicates[i].test(obj);
+            current.nanos.addAndGet(id, System.nanoTime() - start);
+            current.evaluations.incrementAndGet(id);
+            if (value == decidingValue) {
+                current.decisions.incrementAndGet(id);
+                return decidingValue;
+            }
+        }
+        return !decidingValue;
+    }
+
+    /**
+     * Build the plan for the children in insertion order.
+     * @return Plan
+     */
+    private Plan<A> initPlan() {
+        reorderLock.lock();
+        try {
+            Plan<A> current = plan;
+            if (current == null) {
+                List<Predicate<? super A>> list = getPredicateList();
+                int[] ids = new int[list.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = i;
+                }
+                current = new Plan<A>(list, ids, new AtomicLongArray(ids.length), new AtomicLongArray(ids.length),
+                    new AtomicLongArray(ids.length));
+                plan = current;
+            }
+            return current;
+        } finally {
+            reorderLock.unlock();
+        }
+    }
+
+    /**
+     * Sort the children by mean cost per decision and halve the statistics.
+     * Children never sampled go first so that they get measured. Called with
+     * {@link #reorderLock} held.
+     */
+    private void reorder() {
+        final Plan<A> current = plan;
+        if (current == null) {
+            return;
+        }
+        final int size = current.ids.length;
+        final double[] rank = new double[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            int id = current.ids[i];
+            order[i] = id;
+            long evaluations = current.evaluations.get(id);
+            long decisions = current.decisions.get(id);
+            if (evaluations == 0) {
+                rank[id] = Double.NEGATIVE_INFINITY;
+            } else if (decisions == 0) {
+                rank[id] = Double.POSITIVE_INFINITY;
+            } else {
+                rank[id] = (double) current.nanos.get(id) / decisions;
+            }
+            current.evaluations.set(id, (evaluations + 1) / 2);
+            current.decisions.set(id, (decisions + 1) / 2);
+            current.nanos.set(id, current.nanos.get(id) / 2);
+        }
+        // stable, so ties keep their current order
+        Arrays.sort(order, new Comparator<Integer>() {
+            public int compare(Integer left, Integer right) {
+                return Double.compare(rank[left.intValue()], rank[right.intValue()]);
+            }
+        });
+        List<Predicate<? super A>> list = getPredicateList();
+        List<Predicate<? super A>> predicates = new ArrayList<Predicate<? super A>>(size);
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = order[i].intValue();
+            predicates.add(list.get(ids[i]));
+        }
+        plan = new Plan<A>(predicates, ids, current.evaluations, current.decisions, current.nanos);
+    }
+
+    // inner classes
+    // ------------------------------------------------------------------------
+    /**
+     * An evaluation order together with the statistics of each child, indexed by insertion position.
+     * @param <A> the predicate argument type.
+     */
+    private static final class Plan<A> {
+        /**
+         * Children in evaluation order.
+         */
+        private final Predicate<? super A>[] predicates;
+        /**
+         * Insertion position of each child in evaluation order.
+         */
+        private final int[] ids;
+        /**
+         * Sampled evaluations per child.
+         */
+        private final AtomicLongArray evaluations;
+        /**
+         * Sampled evaluations returning the deciding value, per child.
+         */
+        private final AtomicLongArray decisions;
+        /**
+         * Sampled nanoseconds per child.
+         */
+        private final AtomicLongArray nanos;
+
+        /**
+         * Create a new Plan.
+         * @param predicates children in evaluation order
+         * @param ids insertion position of each child
+         * @param evaluations statistics
+         * @param decisions statistics
+         * @param nanos statistics
+         */
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        // type irrelevant for the array: its elements are the Predicate<? super A> children
+        Plan(List<Predicate<? super A>> predicates, int[] ids, AtomicLongArray evaluations,
+                AtomicLongArray decisions, AtomicLongArray nanos) {
+            this.predicates = predicates.toArray(new Predicate[predicates.size()]);
+            this.ids = ids;
+            this.evaluations = evaluations;
+            this.decisions = decisions;
+            this.nanos = nanos;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Abstract base class for immutable composites of a list of functors.
+ * The functors are held in a final array, and the hash code is computed once.
+ * @param <F> the functor type.
+ */
+abstract class BaseFrozenFunctorList<F> {
+
+    // attributes
+    // ------------------------------------------------------------------------
+    /**
+     * The functors; never modified.
+     */
+    private final F[] functors;
+    /**
+     * The precomputed hash code.
+     */
+    private final int hashCode;
+
+    // constructor
+    // ------------------------------------------------------------------------
+    /**
+     * Create a new BaseFrozenFunctorList.
+     * @param name class name, seeding the hash code
+     * @param type functor type, for the array
+     * @param functors to hold; <code>null</code> elements are skipped, and a <code>null</code> iterable
+     * holds nothing
+     */
+    protected BaseFrozenFunctorList(String name, Class<?> type, Iterable<? extends F> functors) {
+        List<F> list = new ArrayList<F>();
+        if (functors != null) {
+            for (F f : functors) {
+                if (f != null) {
+                    list.add(f);
+                }
+            }
+        }
+        @SuppressWarnings("unchecked")
+        F[] array = list.toArray((F[]) Array.newInstance(type, list.size()));
+        this.functors = array;
+        this.hashCode = name.hashCode() ^ list.hashCode();
+    }
+
+    // abstract
+    // ------------------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public abstract boolean equals(Object that);
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public abstract String toString();
+
+    // protected
+    // ------------------------------------------------------------------------
+    /**
+     * Get the array of functors. Callers must not modify it.
+     * @return F[]
+     */
+    protected final F[] getFunctors() {
+        return functors;
+    }
+
+    /**
+     * Learn whether another BaseFrozenFunctorList has content equal to this.
+     * @param that the BaseFrozenFunctorList to test
+     * @return boolean
+     */
+    protected final boolean getFunctorsEquals(BaseFrozenFunctorList<?> that) {
+        return null != that && this.hashCode == that.hashCode && Arrays.equals(this.functors, that.functors);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public final int hashCode() {
+        return hashCode;
+    }
+
+    /**
+     * Get a toString for the functors.
+     * @return String
+     */
+    protected final String getFunctorsToString() {
+        return Arrays.toString(functors);
+    }
+
+    /**
+     * Wrap a possibly <code>null</code> array as an Iterable.
+     * @param <F> the functor type.
+     * @param functors the array
+     * @return Iterable, <code>null</code> if <code>functors</code> was
+     */
+    static <F> Iterable<F> asIterable(F[] functors) {
+        return null == functors ? null : Arrays.asList(functors);
+    }
+}
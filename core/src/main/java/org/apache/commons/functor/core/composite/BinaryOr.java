@@ -16,6 +16,8 @@
  */
 package org.apache.commons.functor.core.composite;
 
+import java.util.List;
+
 import org.apache.commons.functor.BinaryPredicate;
 
 /**
@@ -67,14 +69,23 @@ public final class BinaryOr<L, R> extends BaseBinaryPredicateList<L, R> {
         return this;
     }
 
+    /**
+     * Get an immutable copy of this BinaryOr.
+     * @return FrozenBinaryOr
+     */
+    public FrozenBinaryOr<L, R> freeze() {
+        return new FrozenBinaryOr<L, R>(getBinaryPredicateList());
+    }
+
     // predicate interface
     // ------------------------------------------------------------------------
     /**
      * {@inheritDoc}
      */
     public boolean test(L a, R b) {
-        for (BinaryPredicate<? super L, ? super R> p : getBinaryPredicateList()) {
-            if (p.test(a, b)) {
+        final List<BinaryPredicate<? super L, ? super R>> list = getBinaryPredicateList();
+        for (int i = 0, size = list.size(); i < size; i++) {
+            if (list.get(i).test(a, b)) {
                 return true;
             }
         }
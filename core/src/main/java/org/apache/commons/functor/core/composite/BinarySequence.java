@@ -17,7 +17,6 @@
 package org.apache.commons.functor.core.composite;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import org.apache.commons.functor.BinaryProcedure;
@@ -94,8 +93,8 @@ public class BinarySequence<L, R> implements BinaryProcedure<L, R> {
      * {@inheritDoc}
      */
     public final void run(L left, R right) {
-        for (Iterator<BinaryProcedure<? super L, ? super R>> iter = list.iterator(); iter.hasNext();) {
-            iter.next().run(left, right);
+        for (int i = 0, size = list.size(); i < size; i++) {
+            list.get(i).run(left, right);
         }
     }
 
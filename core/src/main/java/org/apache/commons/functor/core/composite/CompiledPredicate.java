@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.functor.Function;
+import org.apache.commons.functor.Predicate;
+import org.apache.commons.functor.core.Constant;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A {@link Predicate Predicate} equivalent to another, with its
+ * composite structure compiled into a single {@link MethodHandle}.
+ * <p>
+ * {@link And}, {@link Or}, {@link FrozenAnd}, {@link FrozenOr}, {@link Not},
+ * {@link ConditionalPredicate} and {@link CompositePredicate} nodes, and
+ * boolean {@link Constant} leaves, are translated
+ * into <code>java.lang.invoke</code> combinators. Once hot, the
+ * JVM specializes the combinator tree into straight-line code, so the
+ * composite layers no longer cost a virtual call and an inlining level each.
+ * Any other predicate is a leaf, called through its <code>test</code> method.
+ * </p>
+ * <p>
+ * The tree is read once, when compiled: later changes to mutable composites
+ * such as {@link And} are not seen by the compiled predicate.
+ * </p>
+ * @param <A> the predicate argument type.
+ */
+public final class CompiledPredicate<A> implements Predicate<A> {
+    /**
+     * <code>Predicate.test</code>.
+     */
+    private static final MethodHandle TEST;
+    /**
+     * <code>Function.evaluate</code>.
+     */
+    private static final MethodHandle EVALUATE;
+    /**
+     * Boolean negation.
+     */
+    private static final MethodHandle NOT;
+    /**
+     * Ignores its argument and returns <code>true</code>.
+     */
+    private static final MethodHandle TRUE = constant(true);
+    /**
+     * Ignores its argument and returns <code>false</code>.
+     */
+    private static final MethodHandle FALSE = constant(false);
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            TEST = lookup.findVirtual(Predicate.class, "test",
+                MethodType.methodType(boolean.class, Object.class));
+            EVALUATE = lookup.findVirtual(Function.class, "evaluate",
+                MethodType.methodType(Object.class, Object.class));
+            NOT = lookup.findStatic(CompiledPredicate.class, "not",
+                MethodType.methodType(boolean.class, boolean.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // attributes
+    // ------------------------------------------------------------------------
+    /**
+     * The compiled predicate.
+     */
+    private final Predicate<? super A> predicate;
+    /**
+     * The compiled form, of type <code>(Object)boolean</code>.
+     */
+    private final MethodHandle handle;
+
+    // constructor
+    // ------------------------------------------------------------------------
+    /**
+     * Create a new CompiledPredicate.
+     * @param predicate to compile
+     */
+    public CompiledPredicate(Predicate<? super A> predicate) {
+        this.predicate = Validate.notNull(predicate, "Predicate argument was null");
+        this.handle = compile(predicate);
+    }
+
+    // predicate interface
+    // ------------------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    public boolean test(A obj) {
+        try {
+            return (boolean) handle.invokeExact((Object) obj);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new UndeclaredThrowableException(t);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof CompiledPredicate<?>)) {
+            return false;
+        }
+        CompiledPredicate<?> that = (CompiledPredicate<?>) obj;
+        return this.predicate.equals(that.predicate);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = "CompiledPredicate".hashCode();
+        hash <<= 2;
+        hash ^= predicate.hashCode();
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "CompiledPredicate<" + predicate + ">";
+    }
+
+    // static
+    // ------------------------------------------------------------------------
+    /**
+     * Compile <code>predicate</code>.
+     * @param <A> the predicate argument type.
+     * @param predicate to compile
+     * @return CompiledPredicate, or <code>null</code> if <code>predicate</code> was <code>null</code>
+     */
+    public static <A> CompiledPredicate<A> of(Predicate<? super A> predicate) {
+        return null == predicate ? null : new CompiledPredicate<A>(predicate);
+    }
+
+    /**
+     * Translate a predicate tree into an <code>(Object)boolean</code> handle.
+     * @param p the tree
+     * @return MethodHandle
+     */
+    private static MethodHandle compile(Predicate<?> p) {
+        if (p instanceof CompiledPredicate<?>) {
+            return ((CompiledPredicate<?>) p).handle;
+        }
+        if (p instanceof And<?>) {
+            return compileList(((And<?>) p).getPredicateList(), false);
+        }
+        if (p instanceof Or<?>) {
+            return compileList(((Or<?>) p).getPredicateList(), true);
+        }
+        if (p instanceof FrozenAnd<?>) {
+            return compileList(Arrays.asList(((FrozenAnd<?>) p).getFunctors()), false);
+        }
+        if (p instanceof FrozenOr<?>) {
+            return compileList(Arrays.asList(((FrozenOr<?>) p).getFunctors()), true);
+        }
+        if (p instanceof Not<?>) {
+            return MethodHandles.filterReturnValue(compile(((Not<?>) p).getPredicate()), NOT);
+        }
+        if (p instanceof ConditionalPredicate<?>) {
+            ConditionalPredicate<?> conditional = (ConditionalPredicate<?>) p;
+            return MethodHandles.guardWithTest(compile(conditional.getIfPredicate()),
+                compile(conditional.getThenPredicate()), compile(conditional.getElsePredicate()));
+        }
+        if (p instanceof CompositePredicate<?>) {
+            return compileComposite(((CompositePredicate<?>) p).getFunction().getFunctions());
+        }
+        if (p instanceof Constant<?> && ((Constant<?>) p).evaluate() instanceof Boolean) {
+            return ((Boolean) ((Constant<?>) p).evaluate()).booleanValue() ? TRUE : FALSE;
+        }
+        return TEST.bindTo(p);
+    }
+
+    /**
+     * Translate the children of an {@link And} or an {@link Or}.
+     * @param list the children
+     * @param decidingValue the value that ends the evaluation
+     * @return MethodHandle
+     */
+    private static MethodHandle compileList(List<? extends Predicate<?>> list, boolean decidingValue) {
+        final MethodHandle decided = decidingValue ? TRUE : FALSE;
+        MethodHandle result = decidingValue ? FALSE : TRUE;
+        for (int i = list.size() - 1; i >= 0; i--) {
+            MethodHandle child = compile(list.get(i));
+            result = decidingValue ? MethodHandles.guardWithTest(child, decided, result)
+                : MethodHandles.guardWithTest(child, result, decided);
+        }
+        return result;
+    }
+
+    /**
+     * Translate the functions of a {@link CompositePredicate}, the adapted predicate first.
+     * @param functions the functions
+     * @return MethodHandle
+     */
+    private static MethodHandle compileComposite(List<Function<?, ?>> functions) {
+        MethodHandle result = EVALUATE.bindTo(functions.get(0))
+            .asType(MethodType.methodType(boolean.class, Object.class));
+        for (int i = 1; i < functions.size(); i++) {
+            result = MethodHandles.filterArguments(result, 0, EVALUATE.bindTo(functions.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Create a handle ignoring its argument and returning <code>value</code>.
+     * @param value to return
+     * @return MethodHandle
+     */
+    private static MethodHandle constant(boolean value) {
+        return MethodHandles.dropArguments(MethodHandles.constant(boolean.class, value), 0, Object.class);
+    }
+
+    /**
+     * Negate <code>value</code>; target of {@link #NOT}.
+     * @param value to negate
+     * @return boolean
+     */
+    private static boolean not(boolean value) {
+        return !value;
+    }
+}
@@ -19,8 +19,10 @@ package org.apache.commons.functor.core.composite;
 import org.apache.commons.functor.BinaryFunction;
 import org.apache.commons.functor.BinaryPredicate;
 import org.apache.commons.functor.Function;
+import org.apache.commons.functor.IntPredicate;
 import org.apache.commons.functor.Predicate;
 import org.apache.commons.functor.Procedure;
+import org.apache.commons.functor.ToIntFunction;
 
 /**
  * Utility/fluent methods for creating composite functors.
@@ -79,6 +81,19 @@ public final class Composite {
         return new CompositePredicate<T>(predicate).of(function);
     }
 
+    /**
+     * Create a composite Predicate that passes the <code>int</code> output of
+     * <code>function</code> to <code>predicate</code> without boxing.
+     * @param <A> the function argument type.
+     * @param predicate IntPredicate to test the output of <code>function</code>
+     * @param function ToIntFunction to apply
+     * @return IntCompositePredicate<A>
+     */
+    public static <A> IntCompositePredicate<A> intPredicate(IntPredicate predicate,
+            ToIntFunction<? super A> function) {
+        return new IntCompositePredicate<A>(predicate, function);
+    }
+
     /**
      * Create a composite BinaryPredicate.
      * @param <L> the output predicate left argument type.
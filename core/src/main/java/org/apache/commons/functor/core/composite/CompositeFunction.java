@@ -16,6 +16,9 @@
  */
 package org.apache.commons.functor.core.composite;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.commons.functor.Function;
 import org.apache.commons.lang3.Validate;
 
@@ -35,6 +38,13 @@ import org.apache.commons.lang3.Validate;
  * When the collection is empty, this function is
  * an identity function.
  * </p>
+ * <p>
+ * The composed functions are kept in a flat array, in the order they are
+ * applied, and evaluated in a loop; nested CompositeFunctions are expanded.
+ * {@link #of of} and {@link #andThen andThen} extend that array in place
+ * when it has room and no other composition has claimed the slot, so building
+ * an N-stage chain one stage at a time takes O(N) amortized time.
+ * </p>
  * @param <A> the argument type.
  * @param <T> the returned value type.
  */
@@ -43,110 +53,134 @@ public class CompositeFunction<A, T> implements Function<A, T> {
     /** Base hash integer used to shift hash. */
     private static final int HASH_SHIFT = 4;
 
+    /** Capacity of a new stage buffer. */
+    private static final int INITIAL_CAPACITY = 8;
+
     /**
-     * Encapsulates a double function evaluation.
-     * @param <A> argument type
-     * @param <X> intermediate type
-     * @param <T> return type
+     * A buffer of functions shared by the compositions extending one another.
+     * Each composition owns a range of the buffer; the slots outside
+     * <code>[lo, hi)</code> are free for the first composition to claim them.
      */
-    private static class Helper<X, A, T> implements Function<A, T> {
+    private static final class Stages {
         /**
-         * The last evaluator function.
+         * The functions, in application order.
          */
-        private Function<? super X, ? extends T> following;
+        private final Function<Object, Object>[] array;
         /**
-         * The first evaluator function.
+         * First claimed slot.
          */
-        private Function<? super A, ? extends X> preceding;
-
+        private int lo;
         /**
-         * Create a new Helper.
-         * @param following Function<X, Y>
-         * @param preceding Function<Y, Z>
+         * One past the last claimed slot.
          */
-        public Helper(Function<? super X, ? extends T> following,
-                Function<? super A, ? extends X> preceding) {
-            this.following = Validate.notNull(following, "Function argument must not be null");
-            this.preceding = Validate.notNull(preceding, "Function argument must not be null");
-        }
+        private int hi;
 
         /**
-         * {@inheritDoc}
+         * Create a new Stages.
+         * @param capacity of the buffer
+         * @param lo first claimed slot
+         * @param hi one past the last claimed slot
          */
-        public T evaluate(A obj) {
-            return following.evaluate(preceding.evaluate(obj));
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        // type irrelevant for the buffer: each slot holds a Function of the chain
+        Stages(int capacity, int lo, int hi) {
+            this.array = new Function[capacity];
+            this.lo = lo;
+            this.hi = hi;
         }
 
         /**
-         * {@inheritDoc}
+         * Claim the <code>count</code> slots before <code>from</code>, if free.
+         * @param from start of the caller's range
+         * @param count slots wanted
+         * @return whether the slots were claimed
          */
-        @Override
-        public boolean equals(Object obj) {
-            return obj == this || obj instanceof Helper<?, ?, ?> && equals((Helper<?, ?, ?>) obj);
-        }
-
-        /**
-         * Checks if input helper is equals to this instance.
-         *
-         * @param helper the helper to check
-         * @return true, if helpers are equals, false otherwise
-         */
-        private boolean equals(Helper<?, ?, ?> helper) {
-            return helper.following.equals(following) && helper.preceding.equals(preceding);
-        }
-
-        /**
-         * {@inheritDoc}
-         */
-        @Override
-        public int hashCode() {
-            int result = "CompositeFunction$Helper".hashCode();
-            result <<= 2;
-            result ^= following.hashCode();
-            result <<= 2;
-            result ^= preceding.hashCode();
-            return result;
+        synchronized boolean claimBefore(int from, int count) {
+            if (lo != from || from < count) {
+                return false;
+            }
+            lo -= count;
+            return true;
         }
 
         /**
-         * {@inheritDoc}
+         * Claim the <code>count</code> slots from <code>to</code>, if free.
+         * @param to end of the caller's range
+         * @param count slots wanted
+         * @return whether the slots were claimed
          */
-        @Override
-        public String toString() {
-            return following.toString() + " of " + preceding.toString();
+        synchronized boolean claimAfter(int to, int count) {
+            if (hi != to || array.length - to < count) {
+                return false;
+            }
+            hi += count;
+            return true;
         }
     }
 
     /**
-     * The adapted function.
+     * The stage buffer.
+     */
+    private final Stages stages;
+    /**
+     * First stage of this composition, the first applied.
+     */
+    private final int from;
+    /**
+     * One past the last stage of this composition, the last applied.
+     */
+    private final int to;
+    /**
+     * Cached hash code, <code>0</code> until computed.
      */
-    private final Function<? super A, ? extends T> function;
+    private int hashCode;
 
     /**
      * Create a new CompositeFunction.
      * @param function Function to call
      */
+    @SuppressWarnings("unchecked")
     public CompositeFunction(Function<? super A, ? extends T> function) {
-        this.function = Validate.notNull(function, "function must not be null");
+        Validate.notNull(function, "function must not be null");
+        if (function instanceof CompositeFunction<?, ?>) {
+            CompositeFunction<?, ?> that = (CompositeFunction<?, ?>) function;
+            this.stages = that.stages;
+            this.from = that.from;
+            this.to = that.to;
+        } else {
+            this.from = INITIAL_CAPACITY / 2;
+            this.to = from + 1;
+            this.stages = new Stages(INITIAL_CAPACITY, from, to);
+            this.stages.array[from] = (Function<Object, Object>) function;
+        }
     }
 
     /**
-     * Creates a new {@link CompositeFunction} instance given the input functions.
-     *
-     * @param <X> the argument type.
-     * @param following The first evaluator function.
-     * @param preceding The last evaluator function.
+     * Create a new CompositeFunction over a range of a stage buffer.
+     * @param stages buffer
+     * @param from first stage
+     * @param to one past the last stage
      */
-    private <X> CompositeFunction(Function<? super X, ? extends T> following,
-            Function<? super A, ? extends X> preceding) {
-        this.function = new Helper<X, A, T>(following, preceding);
+    private CompositeFunction(Stages stages, int from, int to) {
+        this.stages = stages;
+        this.from = from;
+        this.to = to;
     }
 
     /**
      * {@inheritDoc}
      */
+    @SuppressWarnings("unchecked")
     public final T evaluate(A obj) {
-        return function.evaluate(obj);
+        final Function<Object, Object>[] array = stages.array;
+        if (to - from == 1) {
+            return (T) array[from].evaluate(obj);
+        }
+        Object result = obj;
+        for (int i = from; i < to; i++) {
+            result = array[i].evaluate(result);
+        }
+        return (T) result;
     }
 
     /**
@@ -157,7 +191,71 @@ public class CompositeFunction<A, T> implements Function<A, T> {
      */
     public final <P> CompositeFunction<P, T> of(Function<? super P, ? extends A> preceding) {
         Validate.notNull(preceding, "preceding function was null");
-        return new CompositeFunction<P, T>(function, preceding);
+        return compose(new CompositeFunction<P, A>(preceding), this);
+    }
+
+    /**
+     * Fluently obtain a CompositeFunction that applies the specified following function to
+     * the result of "this function".
+     * @param <U> returned value type of the resulting function.
+     * @param following Function
+     * @return CompositeFunction<A, U>
+     */
+    public final <U> CompositeFunction<A, U> andThen(Function<? super T, ? extends U> following) {
+        Validate.notNull(following, "following function was null");
+        return compose(this, new CompositeFunction<T, U>(following));
+    }
+
+    /**
+     * Get the number of composed functions.
+     * @return int
+     */
+    public final int size() {
+        return to - from;
+    }
+
+    /**
+     * Get the composed functions, the last applied first, with nested
+     * compositions expanded.
+     * @return List
+     */
+    List<Function<?, ?>> getFunctions() {
+        List<Function<?, ?>> result = new ArrayList<Function<?, ?>>(to - from);
+        for (int i = to - 1; i >= from; i--) {
+            result.add(stages.array[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Compose two functions, extending the buffer of either when possible.
+     * @param <X> argument type
+     * @param <Y> intermediate type
+     * @param <Z> returned value type
+     * @param first applied first
+     * @param second applied second
+     * @return CompositeFunction
+     */
+    private static <X, Y, Z> CompositeFunction<X, Z> compose(CompositeFunction<X, ? extends Y> first,
+            CompositeFunction<? super Y, Z> second) {
+        final int firstSize = first.size();
+        final int secondSize = second.size();
+        if (second.stages.claimBefore(second.from, firstSize)) {
+            System.arraycopy(first.stages.array, first.from, second.stages.array, second.from - firstSize,
+                firstSize);
+            return new CompositeFunction<X, Z>(second.stages, second.from - firstSize, second.to);
+        }
+        if (first.stages.claimAfter(first.to, secondSize)) {
+            System.arraycopy(second.stages.array, second.from, first.stages.array, first.to, secondSize);
+            return new CompositeFunction<X, Z>(first.stages, first.from, first.to + secondSize);
+        }
+        final int size = firstSize + secondSize;
+        final int capacity = Math.max(INITIAL_CAPACITY, 2 * size);
+        final int start = (capacity - size) / 2;
+        Stages stages = new Stages(capacity, start, start + size);
+        System.arraycopy(first.stages.array, first.from, stages.array, start, firstSize);
+        System.arraycopy(second.stages.array, second.from, stages.array, start + firstSize, secondSize);
+        return new CompositeFunction<X, Z>(stages, start, start + size);
     }
 
     /**
@@ -172,7 +270,15 @@ public class CompositeFunction<A, T> implements Function<A, T> {
             return false;
         }
         CompositeFunction<?, ?> that = (CompositeFunction<?, ?>) obj;
-        return this.function.equals(that.function);
+        if (this.size() != that.size()) {
+            return false;
+        }
+        for (int i = this.from, j = that.from; i < this.to; i++, j++) {
+            if (!this.stages.array[i].equals(that.stages.array[j])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -180,8 +286,16 @@ public class CompositeFunction<A, T> implements Function<A, T> {
      */
     @Override
     public int hashCode() {
-        // by construction, list is never null
-        return ("CompositeFunction".hashCode() << HASH_SHIFT) ^ function.hashCode();
+        int hash = hashCode;
+        if (hash == 0) {
+            hash = 1;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + stages.array[i].hashCode();
+            }
+            hash ^= "CompositeFunction".hashCode() << HASH_SHIFT;
+            hashCode = hash;
+        }
+        return hash;
     }
 
     /**
@@ -189,7 +303,14 @@ public class CompositeFunction<A, T> implements Function<A, T> {
      */
     @Override
     public String toString() {
-        return "CompositeFunction<" + function + ">";
+        StringBuilder buf = new StringBuilder("CompositeFunction<");
+        for (int i = to - 1; i >= from; i--) {
+            buf.append(stages.array[i]);
+            if (i > from) {
+                buf.append(" of ");
+            }
+        }
+        return buf.append('>').toString();
     }
 
 }
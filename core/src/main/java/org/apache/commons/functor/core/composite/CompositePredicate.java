@@ -76,6 +76,26 @@ public final class CompositePredicate<A> implements Predicate<A> {
         return new CompositePredicate<P>(function.of(preceding));
     }
 
+    /**
+     * Create a new CompositePredicate testing the result of <code>function</code>.
+     * @param <A> the predicate argument type.
+     * @param function delegate
+     * @return CompositePredicate
+     */
+    static <A> CompositePredicate<A> fromFunction(CompositeFunction<? super A, Boolean> function) {
+        return new CompositePredicate<A>(function);
+    }
+
+    // accessors
+    // ------------------------------------------------------------------------
+    /**
+     * Get the adapted composite function.
+     * @return CompositeFunction
+     */
+    CompositeFunction<? super A, Boolean> getFunction() {
+        return function;
+    }
+
     // predicate interface
     // ------------------------------------------------------------------------
     /**
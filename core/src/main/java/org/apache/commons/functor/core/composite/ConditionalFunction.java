@@ -66,6 +66,32 @@ public final class ConditionalFunction<A, T> implements Function<A, T> {
         this.elseFunc = Validate.notNull(elseFunc, "'else' Function argument was null");
     }
 
+    // accessors
+    // ------------------------------------------------------------------------
+    /**
+     * Get the condition.
+     * @return Predicate
+     */
+    Predicate<? super A> getIfPredicate() {
+        return ifPred;
+    }
+
+    /**
+     * Get the function applied if the condition is satisfied.
+     * @return Function
+     */
+    Function<? super A, ? extends T> getThenFunction() {
+        return thenFunc;
+    }
+
+    /**
+     * Get the function applied if the condition is not satisfied.
+     * @return Function
+     */
+    Function<? super A, ? extends T> getElseFunction() {
+        return elseFunc;
+    }
+
     // predicate interface
     // ------------------------------------------------------------------------
     /**
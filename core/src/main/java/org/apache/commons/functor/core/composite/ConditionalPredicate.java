@@ -64,6 +64,32 @@ public final class ConditionalPredicate<A> implements Predicate<A> {
         this.elsePred = Validate.notNull(elsePred, "'else' Predicate argument was null");
     }
 
+    // accessors
+    // ------------------------------------------------------------------------
+    /**
+     * Get the condition.
+     * @return Predicate
+     */
+    Predicate<? super A> getIfPredicate() {
+        return ifPred;
+    }
+
+    /**
+     * Get the predicate tested if the condition is satisfied.
+     * @return Predicate
+     */
+    Predicate<? super A> getThenPredicate() {
+        return thenPred;
+    }
+
+    /**
+     * Get the predicate tested if the condition is not satisfied.
+     * @return Predicate
+     */
+    Predicate<? super A> getElsePredicate() {
+        return elsePred;
+    }
+
     // predicate interface
     // ------------------------------------------------------------------------
     /**
@@ -74,6 +74,32 @@ public final class ConditionalProcedure<A> implements Procedure<A> {
         this.elseProc = Validate.notNull(elseProc, "'else' Procedure argument was null");
     }
 
+    // accessors
+    // ------------------------------------------------------------------------
+    /**
+     * Get the condition.
+     * @return Predicate
+     */
+    Predicate<? super A> getIfPredicate() {
+        return ifPred;
+    }
+
+    /**
+     * Get the procedure run if the condition is satisfied.
+     * @return Procedure
+     */
+    Procedure<? super A> getThenProcedure() {
+        return thenProc;
+    }
+
+    /**
+     * Get the procedure run if the condition is not satisfied.
+     * @return Procedure
+     */
+    Procedure<? super A> getElseProcedure() {
+        return elseProc;
+    }
+
     // predicate interface
     // ------------------------------------------------------------------------
     /**
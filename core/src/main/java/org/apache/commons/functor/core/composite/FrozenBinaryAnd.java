@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import org.apache.commons.functor.BinaryPredicate;
+
+/**
+ * An immutable {@link BinaryAnd}: {@link #test Tests} <code>true</code> iff
+ * none of its children test <code>false</code>, holding the children in an array.
+ * Note that by this definition, the "and" of
+ * an empty collection of predicates tests <code>true</code>.
+ * @param <L> the left argument type.
+ * @param <R> the right argument type.
+ */
+public final class FrozenBinaryAnd<L, R> extends BaseFrozenFunctorList<BinaryPredicate<? super L, ? super R>>
+        implements BinaryPredicate<L, R> {
+
+    // constructor
+    // ------------------------------------------------------------------------
+    /**
+     * Create a new FrozenBinaryAnd.
+     *
+     * @param predicates the predicates to hold; <code>null</code> elements are skipped.
+     */
+    public FrozenBinaryAnd(BinaryPredicate<? super L, ? super R>... predicates) {
+        this(asIterable(predicates));
+    }
+
+    /**
+     * Create a new FrozenBinaryAnd.
+     *
+     * @param predicates the predicates to hold; <code>null</code> elements are skipped.
+     */
+    public FrozenBinaryAnd(Iterable<? extends BinaryPredicate<? super L, ? super R>> predicates) {
+        super("FrozenBinaryAnd", BinaryPredicate.class, predicates);
+    }
+
+    // predicate interface
+    // ------------------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    public boolean test(L left, R right) {
+        final BinaryPredicate<? super L, ? super R>[] predicates = getFunctors();
+        for (int i = 0; i < predicates.length; i++) {
+            if (!predicates[i].test(left, right)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof FrozenBinaryAnd<?, ?>)) {
+            return false;
+        }
+        FrozenBinaryAnd<?, ?> that = (FrozenBinaryAnd<?, ?>) obj;
+        return getFunctorsEquals(that);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "FrozenBinaryAnd<" + getFunctorsToString() + ">";
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import org.apache.commons.functor.BinaryPredicate;
+
+/**
+ * An immutable {@link BinaryOr}: {@link #test Tests} <code>true</code> iff
+ * at least one of its children tests <code>true</code>, holding the children in an array.
+ * Note that by this definition, the "or" of
+ * an empty collection of predicates tests <code>false</code>.
+ * @param <L> the left argument type.
+ * @param <R> the right argument type.
+ */
+public final class FrozenBinaryOr<L, R> extends BaseFrozenFunctorList<BinaryPredicate<? super L, ? super R>>
+        implements BinaryPredicate<L, R> {
+
+    // constructor
+    // ------------------------------------------------------------------------
+    /**
+     * Create a new FrozenBinaryOr.
+     *
+     * @param predicates the predicates to hold; <code>null</code> elements are skipped.
+     */
+    public FrozenBinaryOr(BinaryPredicate<? super L, ? super R>... predicates) {
+        this(asIterable(predicates));
+    }
+
+    /**
+     * Create a new FrozenBinaryOr.
+     *
+     * @param predicates the predicates to hold; <code>null</code> elements are skipped.
+     */
+    public FrozenBinaryOr(Iterable<? extends BinaryPredicate<? super L, ? super R>> predicates) {
+        super("FrozenBinaryOr", BinaryPredicate.class, predicates);
+    }
+
+    // predicate interface
+    // ------------------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    public boolean test(L left, R right) {
+        final BinaryPredicate<? super L, ? super R>[] predicates = getFunctors();
+        for (int i = 0; i < predicates.length; i++) {
+            if (predicates[i].test(left, right)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof FrozenBinaryOr<?, ?>)) {
+            return false;
+        }
+        FrozenBinaryOr<?, ?> that = (FrozenBinaryOr<?, ?>) obj;
+        return getFunctorsEquals(that);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "FrozenBinaryOr<" + getFunctorsToString() + ">";
+    }
+
+}
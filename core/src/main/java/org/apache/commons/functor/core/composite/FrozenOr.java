@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import org.apache.commons.functor.Predicate;
+
+/**
+ * An immutable {@link Or}: {@link #test Tests} <code>true</code> iff
+ * at least one of its children tests <code>true</code>, holding the children in an array.
+ * Note that by this definition, the "or" of
+ * an empty collection of predicates tests <code>false</code>.
+ * @param <A> the predicate argument type.
+ */
+public final class FrozenOr<A> extends BaseFrozenFunctorList<Predicate<? super A>> implements Predicate<A> {
+
+    // constructor
+    // ------------------------------------------------------------------------
+    /**
+     * Create a new FrozenOr.
+     *
+     * @param predicates the predicates to hold; <code>null</code> elements are skipped.
+     */
+    public FrozenOr(Predicate<? super A>... predicates) {
+        this(asIterable(predicates));
+    }
+
+    /**
+     * Create a new FrozenOr.
+     *
+     * @param predicates the predicates to hold; <code>null</code> elements are skipped.
+     */
+    public FrozenOr(Iterable<? extends Predicate<? super A>> predicates) {
+        super("FrozenOr", Predicate.class, predicates);
+    }
+
+    // predicate interface
+    // ------------------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    public boolean test(A obj) {
+        final Predicate<? super A>[] predicates = getFunctors();
+        for (int i = 0; i < predicates.length; i++) {
+            if (predicates[i].test(obj)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof FrozenOr<?>)) {
+            return false;
+        }
+        FrozenOr<?> that = (FrozenOr<?>) obj;
+        return getFunctorsEquals(that);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "FrozenOr<" + getFunctorsToString() + ">";
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import org.apache.commons.functor.Procedure;
+
+/**
+ * An immutable {@link Sequence}: {@link #run runs} a list of procedures
+ * in order, holding them in an array.
+ * @param <A> the procedure argument type.
+ */
+public final class FrozenSequence<A> extends BaseFrozenFunctorList<Procedure<? super A>> implements Procedure<A> {
+
+    // constructor
+    // ------------------------------------------------------------------------
+    /**
+     * Create a new FrozenSequence.
+     *
+     * @param procedures the procedures to hold; <code>null</code> elements are skipped.
+     */
+    public FrozenSequence(Procedure<? super A>... procedures) {
+        this(asIterable(procedures));
+    }
+
+    /**
+     * Create a new FrozenSequence.
+     *
+     * @param procedures the procedures to hold; <code>null</code> elements are skipped.
+     */
+    public FrozenSequence(Iterable<? extends Procedure<? super A>> procedures) {
+        super("FrozenSequence", Procedure.class, procedures);
+    }
+
+    // procedure interface
+    // ------------------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    public void run(A obj) {
+        final Procedure<? super A>[] procedures = getFunctors();
+        for (int i = 0; i < procedures.length; i++) {
+            procedures[i].run(obj);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof FrozenSequence<?>)) {
+            return false;
+        }
+        FrozenSequence<?> that = (FrozenSequence<?>) obj;
+        return getFunctorsEquals(that);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "FrozenSequence<" + getFunctorsToString() + ">";
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import org.apache.commons.functor.IntPredicate;
+import org.apache.commons.functor.Predicate;
+import org.apache.commons.functor.ToIntFunction;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A {@link Predicate Predicate}
+ * representing the composition of an
+ * {@link IntPredicate IntPredicate} with a
+ * {@link ToIntFunction ToIntFunction}, passing the
+ * <code>int</code> result of one to the other without boxing.
+ * For example,
+ * <pre>new IntCompositePredicate(p, f)</pre>
+ * {@link #test tests} to
+ * <code>p.test(f.evaluateAsInt(obj))</code>.
+ * @param <A> the predicate argument type.
+ */
+public final class IntCompositePredicate<A> implements Predicate<A> {
+    // attributes
+    // ------------------------------------------------------------------------
+    /**
+     * The predicate tested against the function's output.
+     */
+    private final IntPredicate predicate;
+    /**
+     * The function applied first.
+     */
+    private final ToIntFunction<? super A> function;
+
+    // constructor
+    // ------------------------------------------------------------------------
+    /**
+     * Create a new IntCompositePredicate.
+     * @param predicate IntPredicate against which the function's output will be tested
+     * @param function ToIntFunction to apply first
+     */
+    public IntCompositePredicate(IntPredicate predicate, ToIntFunction<? super A> function) {
+        this.predicate = Validate.notNull(predicate, "IntPredicate argument was null");
+        this.function = Validate.notNull(function, "ToIntFunction argument was null");
+    }
+
+    // predicate interface
+    // ------------------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    public boolean test(A obj) {
+        return predicate.test(function.evaluateAsInt(obj));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof IntCompositePredicate<?>)) {
+            return false;
+        }
+        IntCompositePredicate<?> that = (IntCompositePredicate<?>) obj;
+        return this.predicate.equals(that.predicate) && this.function.equals(that.function);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = "IntCompositePredicate".hashCode();
+        hash <<= 2;
+        hash ^= predicate.hashCode();
+        hash <<= 2;
+        hash ^= function.hashCode();
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "IntCompositePredicate<" + predicate + " of " + function + ">";
+    }
+
+}
@@ -42,6 +42,16 @@ public final class Not<A> implements Predicate<A> {
         this.predicate = Validate.notNull(predicate, "Predicate argument was null");
     }
 
+    // accessors
+    // ------------------------------------------------------------------------
+    /**
+     * Get the negated predicate.
+     * @return Predicate
+     */
+    Predicate<? super A> getPredicate() {
+        return predicate;
+    }
+
     // predicate interface
     // ------------------------------------------------------------------------
     /**
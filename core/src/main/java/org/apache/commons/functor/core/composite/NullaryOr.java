@@ -16,6 +16,8 @@
  */
 package org.apache.commons.functor.core.composite;
 
+import java.util.List;
+
 import org.apache.commons.functor.NullaryPredicate;
 
 /**
@@ -69,8 +71,9 @@ public final class NullaryOr extends BaseNullaryPredicateList {
      * {@inheritDoc}
      */
     public boolean test() {
-        for (NullaryPredicate p : getNullaryPredicateList()) {
-            if (p.test()) {
+        final List<NullaryPredicate> list = getNullaryPredicateList();
+        for (int i = 0, size = list.size(); i < size; i++) {
+            if (list.get(i).test()) {
                 return true;
             }
         }
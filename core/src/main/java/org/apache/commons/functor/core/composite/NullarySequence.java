@@ -17,7 +17,6 @@
 package org.apache.commons.functor.core.composite;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import org.apache.commons.functor.NullaryProcedure;
@@ -95,8 +94,8 @@ public class NullarySequence implements NullaryProcedure {
      * {@inheritDoc}
      */
     public final void run() {
-        for (Iterator<NullaryProcedure> iter = list.iterator(); iter.hasNext();) {
-            iter.next().run();
+        for (int i = 0, size = list.size(); i < size; i++) {
+            list.get(i).run();
         }
     }
 
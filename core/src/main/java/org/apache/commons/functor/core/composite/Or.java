@@ -16,6 +16,8 @@
  */
 package org.apache.commons.functor.core.composite;
 
+import java.util.List;
+
 import org.apache.commons.functor.Predicate;
 
 /**
@@ -66,14 +68,31 @@ public final class Or<A> extends BasePredicateList<A> {
         return this;
     }
 
+    /**
+     * Get an immutable copy of this Or, of fixed arity when it has two or three children.
+     * @return {@link Or2}, {@link Or3} or {@link FrozenOr}
+     */
+    public Predicate<A> freeze() {
+        final List<Predicate<? super A>> list = getPredicateList();
+        switch (list.size()) {
+        case 2:
+            return new Or2<A>(list.get(0), list.get(1));
+        case 3:
+            return new Or3<A>(list.get(0), list.get(1), list.get(2));
+        default:
+            return new FrozenOr<A>(list);
+        }
+    }
+
     // predicate interface
     // ------------------------------------------------------------------------
     /**
      * {@inheritDoc}
      */
     public boolean test(A a) {
-        for (Predicate<? super A> p : getPredicateList()) {
-            if (p.test(a)) {
+        final List<Predicate<? super A>> list = getPredicateList();
+        for (int i = 0, size = list.size(); i < size; i++) {
+            if (list.get(i).test(a)) {
                 return true;
             }
         }
@@ -17,7 +17,6 @@
 package org.apache.commons.functor.core.composite;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import org.apache.commons.functor.Procedure;
@@ -90,14 +89,32 @@ public class Sequence<A> implements Procedure<A> {
         return this;
     }
 
+    /**
+     * Get an immutable copy of this Sequence.
+     * @return FrozenSequence
+     */
+    public FrozenSequence<A> freeze() {
+        return new FrozenSequence<A>(list);
+    }
+
+    // accessors
+    // ------------------------------------------------------------------------
+    /**
+     * Get the "live" list of contained {@link Procedure}s.
+     * @return List
+     */
+    List<Procedure<? super A>> getProcedureList() {
+        return list;
+    }
+
     // predicate interface
     // ------------------------------------------------------------------------
     /**
      * {@inheritDoc}
      */
     public void run(A obj) {
-        for (Iterator<Procedure<? super A>> iter = list.iterator(); iter.hasNext();) {
-            iter.next().run(obj);
+        for (int i = 0, size = list.size(); i < size; i++) {
+            list.get(i).run(obj);
         }
     }
 
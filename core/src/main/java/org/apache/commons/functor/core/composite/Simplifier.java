@@ -0,0 +1,359 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.functor.Function;
+import org.apache.commons.functor.Predicate;
+import org.apache.commons.functor.Procedure;
+import org.apache.commons.functor.core.Constant;
+import org.apache.commons.functor.core.Identity;
+import org.apache.commons.functor.core.NoOp;
+
+/**
+ * Rewrites composite functors into smaller equivalent ones.
+ * <p>
+ * The rewrite assumes that the functors of the tree are free of side
+ * effects, apart from the procedures of a {@link Sequence}, which are kept
+ * in order and never deduplicated. It:
+ * </p>
+ * <ul>
+ * <li>flattens nested {@link And}, {@link Or}, {@link Sequence} and
+ * {@link CompositeFunction} nodes;</li>
+ * <li>folds boolean {@link Constant} children of {@link And}, {@link Or},
+ * {@link Not} and of the conditional functors, and drops the functions
+ * a constant function hides;</li>
+ * <li>removes {@link Identity} functions and {@link NoOp} procedures;</li>
+ * <li>rewrites <code>Not(Not(p))</code> as <code>p</code>;</li>
+ * <li>removes repeated children of {@link And} and {@link Or};</li>
+ * <li>rewrites conditionals whose branches are equal as that branch;</li>
+ * <li>replaces empty and single-child lists by a constant or that child.</li>
+ * </ul>
+ * <p>
+ * Functors of other types are left as they are. The input is never modified.
+ * </p>
+ */
+public final class Simplifier {
+
+    /**
+     * Hidden constructor as this only is a helper class with static methods.
+     */
+    private Simplifier() {
+    }
+
+    // public
+    // ------------------------------------------------------------------------
+    /**
+     * Simplify a Predicate.
+     * @param <A> the predicate argument type.
+     * @param predicate to simplify
+     * @return an equivalent Predicate, possibly <code>predicate</code> itself
+     */
+    @SuppressWarnings("unchecked")
+    public static <A> Predicate<A> simplifyPredicate(Predicate<A> predicate) {
+        return null == predicate ? null : (Predicate<A>) predicate(predicate);
+    }
+
+    /**
+     * Simplify a Function.
+     * @param <A> the function argument type.
+     * @param <T> the returned value type.
+     * @param function to simplify
+     * @return an equivalent Function, possibly <code>function</code> itself
+     */
+    @SuppressWarnings("unchecked")
+    public static <A, T> Function<A, T> simplifyFunction(Function<A, T> function) {
+        return null == function ? null : (Function<A, T>) function(function);
+    }
+
+    /**
+     * Simplify a Procedure.
+     * @param <A> the procedure argument type.
+     * @param procedure to simplify
+     * @return an equivalent Procedure, possibly <code>procedure</code> itself
+     */
+    @SuppressWarnings("unchecked")
+    public static <A> Procedure<A> simplifyProcedure(Procedure<A> procedure) {
+        return null == procedure ? null : (Procedure<A>) procedure(procedure);
+    }
+
+    // predicates
+    // ------------------------------------------------------------------------
+    /**
+     * Simplify a Predicate.
+     * @param p to simplify
+     * @return Predicate
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate<?> predicate(Predicate<?> p) {
+        if (p instanceof And<?>) {
+            return list(((And<?>) p).getPredicateList(), false);
+        }
+        if (p instanceof Or<?>) {
+            return list(((Or<?>) p).getPredicateList(), true);
+        }
+        if (p instanceof Not<?>) {
+            Predicate<?> child = predicate(((Not<?>) p).getPredicate());
+            if (child instanceof Not<?>) {
+                return ((Not<?>) child).getPredicate();
+            }
+            Boolean value = booleanConstant(child);
+            if (value != null) {
+                return Constant.predicate(!value.booleanValue());
+            }
+            return child == ((Not<?>) p).getPredicate() ? p : new Not(child);
+        }
+        if (p instanceof ConditionalPredicate<?>) {
+            ConditionalPredicate<?> conditional = (ConditionalPredicate<?>) p;
+            Predicate<?> ifPred = predicate(conditional.getIfPredicate());
+            Predicate<?> thenPred = predicate(conditional.getThenPredicate());
+            Predicate<?> elsePred = predicate(conditional.getElsePredicate());
+            Boolean value = booleanConstant(ifPred);
+            if (value != null) {
+                return value.booleanValue() ? thenPred : elsePred;
+            }
+            if (thenPred.equals(elsePred)) {
+                return thenPred;
+            }
+            if (Boolean.TRUE.equals(booleanConstant(thenPred)) && Boolean.FALSE.equals(booleanConstant(elsePred))) {
+                return ifPred;
+            }
+            if (Boolean.FALSE.equals(booleanConstant(thenPred)) && Boolean.TRUE.equals(booleanConstant(elsePred))) {
+                return predicate(new Not(ifPred));
+            }
+            if (ifPred == conditional.getIfPredicate() && thenPred == conditional.getThenPredicate()
+                && elsePred == conditional.getElsePredicate()) {
+                return p;
+            }
+            return new ConditionalPredicate(ifPred, thenPred, elsePred);
+        }
+        if (p instanceof CompositePredicate<?>) {
+            List<Function<?, ?>> functions = ((CompositePredicate<?>) p).getFunction().getFunctions();
+            List<Function<?, ?>> simplified = chain(functions);
+            return simplified.equals(functions) ? p
+                : CompositePredicate.fromFunction((CompositeFunction) compose(simplified));
+        }
+        return p;
+    }
+
+    /**
+     * Simplify the children of an {@link And} or an {@link Or}.
+     * @param children to simplify
+     * @param decidingValue <code>false</code> for "and", <code>true</code> for "or"
+     * @return Predicate
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate<?> list(List<? extends Predicate<?>> children, boolean decidingValue) {
+        Set<Predicate<?>> result = new LinkedHashSet<Predicate<?>>();
+        if (addChildren(children, decidingValue, result)) {
+            return Constant.predicate(decidingValue);
+        }
+        if (result.isEmpty()) {
+            return Constant.predicate(!decidingValue);
+        }
+        if (result.size() == 1) {
+            return result.iterator().next();
+        }
+        return decidingValue ? new Or(new ArrayList(result)) : new And(new ArrayList(result));
+    }
+
+    /**
+     * Add the simplified children of an {@link And} or an {@link Or} to <code>result</code>,
+     * expanding children of the same kind.
+     * @param children to add
+     * @param decidingValue <code>false</code> for "and", <code>true</code> for "or"
+     * @param result to add to
+     * @return <code>true</code> if a child is the constant <code>decidingValue</code>
+     */
+    private static boolean addChildren(List<? extends Predicate<?>> children, boolean decidingValue,
+            Set<Predicate<?>> result) {
+        for (Predicate<?> child : children) {
+            Predicate<?> simplified = predicate(child);
+            Boolean value = booleanConstant(simplified);
+            if (value != null) {
+                if (value.booleanValue() == decidingValue) {
+                    return true;
+                }
+            } else if (!decidingValue && simplified instanceof And<?>) {
+                if (addChildren(((And<?>) simplified).getPredicateList(), decidingValue, result)) {
+                    return true;
+                }
+            } else if (decidingValue && simplified instanceof Or<?>) {
+                if (addChildren(((Or<?>) simplified).getPredicateList(), decidingValue, result)) {
+                    return true;
+                }
+            } else {
+                result.add(simplified);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the value of a boolean {@link Constant}.
+     * @param p to inspect
+     * @return Boolean, or <code>null</code> if <code>p</code> is not a boolean Constant
+     */
+    private static Boolean booleanConstant(Predicate<?> p) {
+        if (p instanceof Constant<?>) {
+            Object value = ((Constant<?>) p).evaluate();
+            if (value instanceof Boolean) {
+                return (Boolean) value;
+            }
+        }
+        return null;
+    }
+
+    // functions
+    // ------------------------------------------------------------------------
+    /**
+     * Simplify a Function.
+     * @param f to simplify
+     * @return Function
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Function<?, ?> function(Function<?, ?> f) {
+        if (f instanceof CompositeFunction<?, ?>) {
+            List<Function<?, ?>> functions = ((CompositeFunction<?, ?>) f).getFunctions();
+            List<Function<?, ?>> simplified = chain(functions);
+            if (simplified.isEmpty()) {
+                return Identity.instance();
+            }
+            if (simplified.size() == 1) {
+                return simplified.get(0);
+            }
+            return simplified.equals(functions) ? f : compose(simplified);
+        }
+        if (f instanceof ConditionalFunction<?, ?>) {
+            ConditionalFunction<?, ?> conditional = (ConditionalFunction<?, ?>) f;
+            Predicate<?> ifPred = predicate(conditional.getIfPredicate());
+            Function<?, ?> thenFunc = function(conditional.getThenFunction());
+            Function<?, ?> elseFunc = function(conditional.getElseFunction());
+            Boolean value = booleanConstant(ifPred);
+            if (value != null) {
+                return value.booleanValue() ? thenFunc : elseFunc;
+            }
+            if (thenFunc.equals(elseFunc)) {
+                return thenFunc;
+            }
+            if (ifPred == conditional.getIfPredicate() && thenFunc == conditional.getThenFunction()
+                && elseFunc == conditional.getElseFunction()) {
+                return f;
+            }
+            return new ConditionalFunction(ifPred, thenFunc, elseFunc);
+        }
+        return f;
+    }
+
+    /**
+     * Simplify a chain of composed functions, the last applied first.
+     * @param functions to simplify
+     * @return List
+     */
+    private static List<Function<?, ?>> chain(List<Function<?, ?>> functions) {
+        List<Function<?, ?>> result = new ArrayList<Function<?, ?>>(functions.size());
+        for (Function<?, ?> f : functions) {
+            Function<?, ?> simplified = function(f);
+            if (simplified instanceof CompositeFunction<?, ?>) {
+                result.addAll(((CompositeFunction<?, ?>) simplified).getFunctions());
+            } else if (!(simplified instanceof Identity<?>)) {
+                result.add(simplified);
+            }
+            if (simplified instanceof Constant<?>) {
+                // the functions applied before a constant cannot change the result
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Compose a non-empty chain of functions, the last applied first.
+     * @param functions to compose
+     * @return CompositeFunction
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static CompositeFunction<?, ?> compose(List<Function<?, ?>> functions) {
+        CompositeFunction result = new CompositeFunction(functions.get(0));
+        for (int i = 1; i < functions.size(); i++) {
+            result = result.of(functions.get(i));
+        }
+        return result;
+    }
+
+    // procedures
+    // ------------------------------------------------------------------------
+    /**
+     * Simplify a Procedure.
+     * @param p to simplify
+     * @return Procedure
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Procedure<?> procedure(Procedure<?> p) {
+        if (p != null && p.getClass() == Sequence.class) {
+            List<Procedure<?>> result = new ArrayList<Procedure<?>>();
+            addSteps(((Sequence<?>) p).getProcedureList(), result);
+            if (result.isEmpty()) {
+                return NoOp.instance();
+            }
+            if (result.size() == 1) {
+                return result.get(0);
+            }
+            return new Sequence(result);
+        }
+        if (p instanceof ConditionalProcedure<?>) {
+            ConditionalProcedure<?> conditional = (ConditionalProcedure<?>) p;
+            Predicate<?> ifPred = predicate(conditional.getIfPredicate());
+            Procedure<?> thenProc = procedure(conditional.getThenProcedure());
+            Procedure<?> elseProc = procedure(conditional.getElseProcedure());
+            Boolean value = booleanConstant(ifPred);
+            if (value != null) {
+                return value.booleanValue() ? thenProc : elseProc;
+            }
+            if (thenProc.equals(elseProc)) {
+                return thenProc;
+            }
+            if (ifPred == conditional.getIfPredicate() && thenProc == conditional.getThenProcedure()
+                && elseProc == conditional.getElseProcedure()) {
+                return p;
+            }
+            return new ConditionalProcedure(ifPred, thenProc, elseProc);
+        }
+        return p;
+    }
+
+    /**
+     * Add the simplified steps of a {@link Sequence} to <code>result</code>,
+     * expanding nested sequences and dropping {@link NoOp}s.
+     * @param steps to add
+     * @param result to add to
+     */
+    private static void addSteps(List<? extends Procedure<?>> steps, List<Procedure<?>> result) {
+        for (Procedure<?> step : steps) {
+            Procedure<?> simplified = procedure(step);
+            if (simplified.getClass() == Sequence.class) {
+                result.addAll(((Sequence<?>) simplified).getProcedureList());
+            } else if (!(simplified instanceof NoOp)) {
+                result.add(simplified);
+            }
+        }
+    }
+}
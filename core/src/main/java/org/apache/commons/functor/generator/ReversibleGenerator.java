@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.generator;
+
+import org.apache.commons.functor.Procedure;
+
+/**
+ * A {@link Generator} that can also generate its elements in reverse order.
+ * Generators with random access to their source do so without buffering;
+ * any other implementation may buffer every element, taking memory in
+ * proportion to their number, and documents when it does.
+ *
+ * @param <E> the type of elements held in this generator.
+ * @since 1.0
+ */
+public interface ReversibleGenerator<E> extends Generator<E> {
+
+    /**
+     * Run <code>proc</code> on each element of this generator, last to first.
+     * @param proc Procedure to run
+     */
+    void runReverse(Procedure<? super E> proc);
+}
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.generator;
+
+import java.util.List;
+
+/**
+ * A {@link Generator} that can divide its elements among several generators,
+ * so that they may be run in parallel.
+ *
+ * @param <E> the type of elements held in this generator.
+ * @since 1.0
+ */
+public interface SplittableGenerator<E> extends Generator<E> {
+
+    /**
+     * Split this generator into at most <code>count</code> generators of
+     * roughly equal size which, run one after the other, generate exactly the
+     * elements of this generator in the same order.
+     * @param count the maximum number of parts, positive
+     * @return List of parts, never empty
+     * @throws IllegalArgumentException if <code>count</code> is not positive
+     */
+    List<? extends SplittableGenerator<E>> split(int count);
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.functor.generator.loop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.apache.commons.functor.Procedure;
+import org.apache.commons.functor.generator.ReversibleGenerator;
+import org.apache.commons.functor.generator.SplittableGenerator;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Generates the elements of a {@link RandomAccess} {@link List} (or an array)
+ * by index. Unlike an iterator based generator it can be run repeatedly, run
+ * {@link #runReverse in reverse}, and {@link #split split} into index ranges
+ * for parallel processing.
+ *
+ * @param <E> the type of elements held in this generator.
+ * @since 1.0
+ */
+public final class ListGenerator<E> extends LoopGenerator<E>
+    implements SplittableGenerator<E>, ReversibleGenerator<E> {
+
+    // instance variables
+    //-----------------------------------------------------
+
+    /**
+     * The list to generate.
+     */
+    private final List<? extends E> list;
+
+    /**
+     * First index (inclusive).
+     */
+    private final int fromIndex;
+
+    /**
+     * Last index (exclusive).
+     */
+    private final int toIndex;
+
+    // constructors
+    //-----------------------------------------------------
+    /**
+     * Create a new ListGenerator over all of <code>list</code>.
+     * @param list RandomAccess List to generate
+     */
+    public ListGenerator(List<? extends E> list) {
+        this(list, 0, Validate.notNull(list, "List argument was null").size());
+    }
+
+    /**
+     * Create a new ListGenerator over the elements of <code>list</code> from
+     * <code>fromIndex</code> (inclusive) to <code>toIndex</code> (exclusive).
+     * @param list RandomAccess List to generate
+     * @param fromIndex first index
+     * @param toIndex last index, exclusive
+     */
+    public ListGenerator(List<? extends E> list, int fromIndex, int toIndex) {
+        this.list = Validate.notNull(list, "List argument was null");
+        Validate.isTrue(list instanceof RandomAccess, "List must implement RandomAccess");
+        Validate.isTrue(fromIndex >= 0 && fromIndex <= toIndex && toIndex <= list.size(),
+            "Illegal index range [%s, %s) for size %s", fromIndex, toIndex, list.size());
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+    }
+
+    // instance methods
+    //-----------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    public void run(Procedure<? super E> proc) {
+        for (int i = fromIndex; i < toIndex && !isStopped(); i++) {
+            proc.run(list.get(i));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void runReverse(Procedure<? super E> proc) {
+        for (int i = toIndex - 1; i >= fromIndex && !isStopped(); i--) {
+            proc.run(list.get(i));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The parts cover consecutive index ranges whose sizes differ by at most one.
+     */
+    public List<ListGenerator<E>> split(int count) {
+        Validate.isTrue(count > 0, "Count must be positive");
+        final int size = toIndex - fromIndex;
+        final int n = Math.max(1, Math.min(count, size));
+        final List<ListGenerator<E>> result = new ArrayList<ListGenerator<E>>(n);
+        int start = fromIndex;
+        for (int i = 0; i < n; i++) {
+            final int stop = start + size / n + (i < size % n ? 1 : 0);
+            result.add(new ListGenerator<E>(list, start, stop));
+            start = stop;
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of elements generated.
+     * @return int
+     */
+    public int size() {
+        return toIndex - fromIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof ListGenerator<?>)) {
+            return false;
+        }
+        ListGenerator<?> that = (ListGenerator<?>) obj;
+        return this.list.equals(that.list) && this.fromIndex == that.fromIndex && this.toIndex == that.toIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = "ListGenerator".hashCode();
+        hash <<= 2;
+        hash ^= list.hashCode();
+        hash <<= 2;
+        hash ^= fromIndex;
+        hash <<= 2;
+        hash ^= toIndex;
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ListGenerator<" + list + ", [" + fromIndex + ", " + toIndex + ")>";
+    }
+
+    // static methods
+    //-----------------------------------------------------
+    /**
+     * Generate the elements of a RandomAccess List.
+     *
+     * @param <E> the type of elements held in this generator.
+     * @param list to generate
+     * @return ListGenerator
+     */
+    public static <E> ListGenerator<E> of(List<? extends E> list) {
+        return null == list ? null : new ListGenerator<E>(list);
+    }
+
+    /**
+     * Generate the elements of an array.
+     *
+     * @param <E> the type of elements held in this generator.
+     * @param array to generate
+     * @return ListGenerator
+     */
+    public static <E> ListGenerator<E> of(E... array) {
+        return null == array ? null : new ListGenerator<E>(Arrays.asList(array));
+    }
+}
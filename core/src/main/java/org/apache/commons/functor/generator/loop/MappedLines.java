@@ -0,0 +1,511 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.functor.generator.loop;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.functor.Procedure;
+import org.apache.commons.functor.generator.SplittableGenerator;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Generates the lines of a file by memory-mapping it with
+ * {@link FileChannel#map(FileChannel.MapMode, long, long)} and splitting the
+ * mapped bytes on <code>'\n'</code> (a trailing <code>'\r'</code> is dropped).
+ * <p>
+ * No <code>String</code> is created per line. For single-byte charsets
+ * (<code>ISO-8859-1</code>, <code>US-ASCII</code>), and for pure ASCII lines in
+ * <code>UTF-8</code>, each line is handed out as a {@link CharSequence} view over
+ * the mapped bytes; other lines are decoded into a reusable {@link CharBuffer}.
+ * In both cases the <code>CharSequence</code> passed to the procedure is only
+ * valid for the duration of that call: use <code>toString()</code> to retain a
+ * line.
+ * </p>
+ * <p>
+ * A <code>MappedLines</code> may be {@link #split split} into byte ranges that
+ * can be run in parallel. A range generates exactly those lines that
+ * <em>start</em> within it, so the lines of the split ranges partition the
+ * lines of the original. All per-run state is created by {@link #run}, so one
+ * instance may be run several times or from several threads.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class MappedLines extends LoopGenerator<CharSequence> implements SplittableGenerator<CharSequence> {
+
+    /**
+     * Default maximum number of bytes mapped at once.
+     */
+    static final int DEFAULT_WINDOW = 1 << 30;
+
+    /**
+     * Line feed.
+     */
+    private static final byte LF = '\n';
+
+    /**
+     * Carriage return.
+     */
+    private static final byte CR = '\r';
+
+    // instance variables
+    //-----------------------------------------------------
+
+    /**
+     * The file to read.
+     */
+    private final File file;
+
+    /**
+     * The charset of the file.
+     */
+    private final Charset charset;
+
+    /**
+     * First byte (inclusive) of the range owned by this generator.
+     */
+    private final long from;
+
+    /**
+     * Last byte (exclusive) of the range owned by this generator.
+     */
+    private final long to;
+
+    /**
+     * Maximum number of bytes mapped at once.
+     */
+    private final int window;
+
+    // constructors
+    //-----------------------------------------------------
+    /**
+     * Create a new MappedLines over the whole of <code>file</code>.
+     * @param file File to read
+     * @param charset Charset of the file; must encode <code>'\n'</code> as a single byte
+     */
+    public MappedLines(File file, Charset charset) {
+        this(file, charset, 0L, Long.MAX_VALUE);
+    }
+
+    /**
+     * Create a new MappedLines over the lines starting within the byte range
+     * <code>[from, to)</code> of <code>file</code>.
+     * @param file File to read
+     * @param charset Charset of the file; must encode <code>'\n'</code> as a single byte
+     * @param from first byte offset (inclusive)
+     * @param to last byte offset (exclusive)
+     */
+    public MappedLines(File file, Charset charset, long from, long to) {
+        this(file, charset, from, to, DEFAULT_WINDOW);
+    }
+
+    /**
+     * Create a new MappedLines.
+     * @param file File to read
+     * @param charset Charset of the file
+     * @param from first byte offset (inclusive)
+     * @param to last byte offset (exclusive)
+     * @param window maximum number of bytes mapped at once
+     */
+    MappedLines(File file, Charset charset, long from, long to, int window) {
+        this.file = Validate.notNull(file, "File argument was null");
+        this.charset = Validate.notNull(charset, "Charset argument was null");
+        Validate.isTrue(Arrays.equals("\n".getBytes(charset), new byte[] {LF}),
+            "Charset %s does not encode '\\n' as a single byte", charset);
+        Validate.isTrue(from >= 0 && from <= to, "Illegal byte range [%s, %s)", from, to);
+        Validate.isTrue(window > 0, "Window must be positive");
+        this.from = from;
+        this.to = to;
+        this.window = window;
+    }
+
+    // instance methods
+    //-----------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    public void run(Procedure<? super CharSequence> proc) {
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            run(raf.getChannel(), proc);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (raf != null) {
+                try {
+                    raf.close();
+                } catch (IOException e) {
+                    // ignore, the lines have been generated
+                }
+            }
+        }
+    }
+
+    /**
+     * Generate the lines owned by this range from <code>channel</code>.
+     * @param channel to map
+     * @param proc Procedure to run
+     * @throws IOException on failure
+     */
+    private void run(FileChannel channel, Procedure<? super CharSequence> proc) throws IOException {
+        final long size = channel.size();
+        final long end = Math.min(to, size);
+        long lineStart = from;
+        if (lineStart > 0 && lineStart < end) {
+            lineStart = ownedLineStart(channel, lineStart, size);
+        }
+        final LineDecoder decoder = isSingleByte() ? new ByteLine() : new DecodedLine(charset);
+        while (lineStart < end && !isStopped()) {
+            final MappedByteBuffer buffer =
+                channel.map(FileChannel.MapMode.READ_ONLY, lineStart, Math.min(window, size - lineStart));
+            final boolean last = lineStart + buffer.limit() == size;
+            int pos = 0;
+            while (lineStart + pos < end && !isStopped()) {
+                final int lf = indexOf(buffer, LF, pos);
+                if (lf < 0 && !last) {
+                    // the line runs past the mapped window
+                    break;
+                }
+                int lineEnd = lf < 0 ? buffer.limit() : lf;
+                if (lineEnd > pos && buffer.get(lineEnd - 1) == CR) {
+                    lineEnd--;
+                }
+                proc.run(decoder.decode(buffer, pos, lineEnd - pos));
+                pos = lf < 0 ? buffer.limit() : lf + 1;
+            }
+            if (pos == 0 && lineStart < end && !isStopped()) {
+                throw new IllegalStateException("Line at byte " + lineStart + " of " + file
+                    + " is longer than the mapping window of " + window + " bytes");
+            }
+            lineStart += pos;
+        }
+    }
+
+    /**
+     * Find the first line starting at or after <code>offset</code>.
+     * @param channel to map
+     * @param offset byte offset, greater than zero
+     * @param size of the file
+     * @return byte offset of the line start, or <code>size</code>
+     * @throws IOException on failure
+     */
+    private long ownedLineStart(FileChannel channel, long offset, long size) throws IOException {
+        long start = offset - 1;
+        while (start < size) {
+            final MappedByteBuffer buffer =
+                channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(window, size - start));
+            final int lf = indexOf(buffer, LF, 0);
+            if (lf >= 0) {
+                return start + lf + 1;
+            }
+            start += buffer.limit();
+        }
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The parts cover consecutive byte ranges of roughly equal size.
+     */
+    public List<MappedLines> split(int count) {
+        Validate.isTrue(count > 0, "Count must be positive");
+        final long end = Math.min(to, Math.max(from, file.length()));
+        final long length = end - from;
+        final int n = (int) Math.max(1L, Math.min(count, length));
+        final List<MappedLines> result = new ArrayList<MappedLines>(n);
+        long start = from;
+        for (int i = 1; i <= n; i++) {
+            final long stop = i == n ? to : from + length / n * i + length % n * i / n;
+            result.add(new MappedLines(file, charset, start, stop, window));
+            start = stop;
+        }
+        return result;
+    }
+
+    /**
+     * Get the file read by this generator.
+     * @return File
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Get the charset of the file.
+     * @return Charset
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Learn whether each byte of the charset maps to exactly one char.
+     * @return boolean
+     */
+    private boolean isSingleByte() {
+        return StandardCharsets.ISO_8859_1.equals(charset) || StandardCharsets.US_ASCII.equals(charset);
+    }
+
+    /**
+     * Find <code>b</code> in <code>buffer</code>.
+     * @param buffer to search
+     * @param b byte to find
+     * @param fromIndex to start at
+     * @return index or -1
+     */
+    private static int indexOf(ByteBuffer buffer, byte b, int fromIndex) {
+        for (int i = fromIndex, limit = buffer.limit(); i < limit; i++) {
+            if (buffer.get(i) == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof MappedLines)) {
+            return false;
+        }
+        MappedLines that = (MappedLines) obj;
+        return this.file.equals(that.file) && this.charset.equals(that.charset) && this.from == that.from
+            && this.to == that.to;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = "MappedLines".hashCode();
+        hash <<= 2;
+        hash ^= file.hashCode();
+        hash <<= 2;
+        hash ^= charset.hashCode();
+        hash <<= 2;
+        hash ^= (int) (from ^ (from >>> 32));
+        hash <<= 2;
+        hash ^= (int) (to ^ (to >>> 32));
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "MappedLines<" + file + ", " + charset + ", [" + from + ", " + (to == Long.MAX_VALUE ? "EOF" : to)
+            + ")>";
+    }
+
+    // static methods
+    //-----------------------------------------------------
+    /**
+     * Generate the lines of <code>file</code> in the platform default charset.
+     * @param file to read
+     * @return MappedLines
+     */
+    public static MappedLines from(File file) {
+        return new MappedLines(file, Charset.defaultCharset());
+    }
+
+    /**
+     * Generate the lines of <code>file</code>.
+     * @param file to read
+     * @param charset of the file
+     * @return MappedLines
+     */
+    public static MappedLines from(File file, Charset charset) {
+        return new MappedLines(file, charset);
+    }
+
+    // line views
+    //-----------------------------------------------------
+    /**
+     * Turns a slice of mapped bytes into a (reused) CharSequence.
+     */
+    private interface LineDecoder {
+        /**
+         * Decode a line.
+         * @param buffer mapped bytes
+         * @param offset of the line
+         * @param length of the line
+         * @return CharSequence valid until the next call
+         */
+        CharSequence decode(ByteBuffer buffer, int offset, int length);
+    }
+
+    /**
+     * Zero-copy CharSequence view over single-byte encoded bytes.
+     */
+    private static final class ByteLine implements LineDecoder, CharSequence {
+        /**
+         * Mapped bytes.
+         */
+        private ByteBuffer buffer;
+        /**
+         * Offset of the line in the buffer.
+         */
+        private int offset;
+        /**
+         * Length of the line.
+         */
+        private int length;
+
+        /**
+         * {@inheritDoc}
+         */
+        public CharSequence decode(ByteBuffer buf, int off, int len) {
+            this.buffer = buf;
+            this.offset = off;
+            this.length = len;
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public int length() {
+            return length;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException(String.valueOf(index));
+            }
+            return (char) (buffer.get(offset + index) & 0xFF);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("[" + start + ", " + end + ")");
+            }
+            return new ByteLine().decode(buffer, offset + start, end - start);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            final char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = (char) (buffer.get(offset + i) & 0xFF);
+            }
+            return new String(chars);
+        }
+    }
+
+    /**
+     * Decodes each line into a reusable CharBuffer.
+     */
+    private static final class DecodedLine implements LineDecoder {
+        /**
+         * Decoder, replacing malformed input like {@link java.io.InputStreamReader}.
+         */
+        private final CharsetDecoder decoder;
+        /**
+         * View used for pure ASCII lines when the charset is UTF-8, or <code>null</code>.
+         */
+        private final ByteLine ascii;
+        /**
+         * Reused output buffer.
+         */
+        private CharBuffer chars = CharBuffer.allocate(256);
+
+        /**
+         * Create a new DecodedLine.
+         * @param charset to decode
+         */
+        DecodedLine(Charset charset) {
+            this.decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.ascii = StandardCharsets.UTF_8.equals(charset) ? new ByteLine() : null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public CharSequence decode(ByteBuffer buffer, int offset, int length) {
+            if (ascii != null && isAscii(buffer, offset, length)) {
+                return ascii.decode(buffer, offset, length);
+            }
+            final ByteBuffer in = buffer.duplicate();
+            in.limit(offset + length).position(offset);
+            final int needed = (int) Math.ceil(length * (double) decoder.maxCharsPerByte());
+            if (chars.capacity() < needed) {
+                chars = CharBuffer.allocate(needed);
+            }
+            chars.clear();
+            decoder.reset();
+            CoderResult result = decoder.decode(in, chars, true);
+            if (!result.isOverflow()) {
+                result = decoder.flush(chars);
+            }
+            if (result.isOverflow()) {
+                throw new IllegalStateException("Decoded line overflowed " + chars.capacity() + " chars");
+            }
+            chars.flip();
+            return chars;
+        }
+
+        /**
+         * Learn whether a slice of bytes is pure ASCII.
+         * @param buffer bytes
+         * @param offset of the slice
+         * @param length of the slice
+         * @return boolean
+         */
+        private static boolean isAscii(ByteBuffer buffer, int offset, int length) {
+            for (int i = offset, end = offset + length; i < end; i++) {
+                if (buffer.get(i) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
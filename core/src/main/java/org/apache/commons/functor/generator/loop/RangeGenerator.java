@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.commons.functor.generator.loop;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.functor.Procedure;
+import org.apache.commons.functor.generator.ReversibleGenerator;
+import org.apache.commons.functor.generator.SplittableGenerator;
+import org.apache.commons.functor.range.IndexedRange;
+import org.apache.commons.functor.range.Range;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Generates the elements of a {@link Range range}. Unlike an
+ * iterator based generator it can be run repeatedly, and an
+ * {@link IndexedRange} is {@link #runReverse run in reverse} without
+ * buffering its elements and can be {@link #split(int) split} for parallel
+ * processing.
+ *
+ * @param <E> the type of elements held in this generator.
+ * @since 1.0
+ */
+public final class RangeGenerator<E extends Comparable<? super E>> extends LoopGenerator<E>
+    implements ReversibleGenerator<E>, SplittableGenerator<E> {
+
+    // instance variables
+    //-----------------------------------------------------
+
+    /**
+     * The range to generate.
+     */
+    private final Range<E, ?> range;
+
+    // constructors
+    //-----------------------------------------------------
+    /**
+     * Create a new RangeGenerator.
+     * @param range to generate
+     */
+    public RangeGenerator(Range<E, ?> range) {
+        this.range = Validate.notNull(range, "Range argument was null");
+    }
+
+    // instance methods
+    //-----------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    public void run(Procedure<? super E> proc) {
+        run(range, proc);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Ranges that cannot be {@link IndexedRange#reversed() reversed} are
+     * buffered and replayed backwards, which takes memory in proportion to
+     * their size: avoid it for very large ranges.
+     */
+    public void runReverse(Procedure<? super E> proc) {
+        if (range instanceof IndexedRange<?, ?> && ((IndexedRange<E, ?>) range).isReversible()) {
+            run(((IndexedRange<E, ?>) range).reversed(), proc);
+            return;
+        }
+        final List<E> buffer = new ArrayList<E>();
+        for (E e : range) {
+            buffer.add(e);
+        }
+        for (int i = buffer.size() - 1; i >= 0 && !isStopped(); i--) {
+            proc.run(buffer.get(i));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Ranges other than an {@link IndexedRange} are not divided.
+     */
+    public List<RangeGenerator<E>> split(int count) {
+        Validate.isTrue(count > 0, "Count must be positive");
+        if (!(range instanceof IndexedRange<?, ?>)) {
+            return Collections.singletonList(this);
+        }
+        final List<? extends IndexedRange<E, ?>> parts = ((IndexedRange<E, ?>) range).split(count);
+        final List<RangeGenerator<E>> result = new ArrayList<RangeGenerator<E>>(parts.size());
+        for (Range<E, ?> part : parts) {
+            result.add(new RangeGenerator<E>(part));
+        }
+        return result;
+    }
+
+    /**
+     * Run <code>proc</code> on each element of <code>elements</code>.
+     * @param elements to generate
+     * @param proc Procedure to run
+     */
+    private void run(Iterable<E> elements, Procedure<? super E> proc) {
+        for (E e : elements) {
+            proc.run(e);
+            if (isStopped()) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Get the range generated.
+     * @return Range
+     */
+    public Range<E, ?> getRange() {
+        return range;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof RangeGenerator<?>)) {
+            return false;
+        }
+        return ((RangeGenerator<?>) obj).range.equals(range);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = "RangeGenerator".hashCode();
+        hash <<= 2;
+        hash ^= range.hashCode();
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "RangeGenerator<" + range + ">";
+    }
+
+    // static methods
+    //-----------------------------------------------------
+    /**
+     * Generate the elements of a range.
+     *
+     * @param <E> the type of elements held in this generator.
+     * @param range to generate
+     * @return RangeGenerator
+     */
+    public static <E extends Comparable<? super E>> RangeGenerator<E> of(Range<E, ?> range) {
+        return null == range ? null : new RangeGenerator<E>(range);
+    }
+}
@@ -20,6 +20,9 @@ import java.util.Map;
 
 import org.apache.commons.functor.generator.Generator;
 import org.apache.commons.functor.generator.loop.IteratorToGeneratorAdapter;
+import org.apache.commons.functor.generator.loop.ListGenerator;
+import org.apache.commons.functor.generator.loop.RangeGenerator;
+import org.apache.commons.functor.range.AbstractRange;
 
 /**
  * Generator factory for each element of a "collection".
@@ -44,6 +47,17 @@ public final class EachElement {
         return iterable == null ? null : EachElement.from(iterable.iterator());
     }
 
+    /**
+     * Get a Generator for each element of a range. The returned generator is
+     * a {@link RangeGenerator}, so it can be run repeatedly and in reverse.
+     * @param <E> the type of elements held in the input range.
+     * @param range to iterate
+     * @return Generator<E>
+     */
+    public static <E extends Comparable<? super E>> Generator<E> from(AbstractRange<E, ?> range) {
+        return range == null ? null : new RangeGenerator<E>(range);
+    }
+
     /**
      * Get a Generator for each entry of a Map.
      * @param <K> the type of keys maintained by the input map.
@@ -57,13 +71,14 @@ public final class EachElement {
     }
 
     /**
-     * Get a Generator for each element of an Object[].
+     * Get a Generator for each element of an Object[]. The returned
+     * generator is a {@link ListGenerator}, so it can be split.
      * @param <E> the type of elements held in the input array.
      * @param array to iterate
      * @return Generator
      */
     public static <E> Generator<E> from(E... array) {
-        return array == null ? null : EachElement.from(Arrays.asList(array).iterator());
+        return array == null ? null : new ListGenerator<E>(Arrays.asList(array));
     }
 
     /**
@@ -31,7 +31,7 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
  * @param <T> type of element
  * @param <S> type of step
  */
-public abstract class AbstractRange<T extends Comparable<T>, S> implements Range<T, S> {
+public abstract class AbstractRange<T extends Comparable<? super T>, S> implements Range<T, S> {
 
     /**
      * Left limit.
@@ -176,7 +176,7 @@ public abstract class AbstractRange<T extends Comparable<T>, S> implements Range
     /**
      * {@inheritDoc}
      */
-    public final boolean isEmpty() {
+    public boolean isEmpty() {
         final T leftValue = leftEndpoint.getValue();
         final T rightValue = rightEndpoint.getValue();
 
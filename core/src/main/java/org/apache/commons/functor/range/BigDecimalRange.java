@@ -0,0 +1,335 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A range of <code>BigDecimal</code>s. Membership, size and indexing are
+ * computed by division, so they take the same time however many elements the
+ * range has. Elements are compared by value, so that <code>1.5</code> and
+ * <code>1.50</code> are the same element, and are returned with the larger
+ * scale of the left endpoint and the step.
+ */
+public final class BigDecimalRange extends NumericRange<BigDecimal>
+    implements IndexedRange<BigDecimal, BigDecimal> {
+    // attributes
+    //---------------------------------------------------------------
+
+    /**
+     * The elements of this range, or <code>null</code> if it is empty.
+     */
+    private final BigIntegerSpan span;
+
+    /**
+     * The scale of the elements of this range.
+     */
+    private final int scale;
+
+    // constructors
+    // ---------------------------------------------------------------
+    /**
+     * Create a new BigDecimalRange.
+     *
+     * @param from start
+     * @param to end
+     */
+    public BigDecimalRange(BigDecimal from, BigDecimal to) {
+        this(from, DEFAULT_LEFT_BOUND_TYPE, to, DEFAULT_RIGHT_BOUND_TYPE);
+    }
+
+    /**
+     * Create a new BigDecimalRange.
+     *
+     * @param from start
+     * @param to end
+     * @param step increment
+     */
+    public BigDecimalRange(BigDecimal from, BigDecimal to, BigDecimal step) {
+        this(from, DEFAULT_LEFT_BOUND_TYPE, to, DEFAULT_RIGHT_BOUND_TYPE, step);
+    }
+
+    /**
+     * Create a new BigDecimalRange.
+     *
+     * @param from start
+     * @param leftBoundType type of left bound
+     * @param to end
+     * @param rightBoundType type of right bound
+     * @throws NullPointerException if either {@link BoundType} is {@code null}
+     */
+    public BigDecimalRange(BigDecimal from, BoundType leftBoundType, BigDecimal to, BoundType rightBoundType) {
+        this(from, leftBoundType, to, rightBoundType, from.compareTo(to) > 0 ? BigDecimal.ONE.negate()
+            : BigDecimal.ONE);
+    }
+
+    /**
+     * Create a new BigDecimalRange.
+     *
+     * @param from start
+     * @param leftBoundType type of left bound
+     * @param to end
+     * @param rightBoundType type of right bound
+     * @param step increment
+     * @throws NullPointerException if either {@link BoundType} is {@code null}
+     */
+    public BigDecimalRange(BigDecimal from, BoundType leftBoundType, BigDecimal to, BoundType rightBoundType,
+        BigDecimal step) {
+        this(new Endpoint<BigDecimal>(from, leftBoundType), new Endpoint<BigDecimal>(to, rightBoundType), step);
+    }
+
+    /**
+     * Create a new BigDecimalRange.
+     *
+     * @param from start
+     * @param to end
+     * @param step increment, not zero
+     * @throws NullPointerException if either {@link Endpoint} is {@code null}
+     */
+    public BigDecimalRange(Endpoint<BigDecimal> from, Endpoint<BigDecimal> to, BigDecimal step) {
+        super(from, to, step, new BinaryFunction<BigDecimal, BigDecimal, BigDecimal>() {
+
+            public BigDecimal evaluate(BigDecimal left, BigDecimal right) {
+                return left.add(right);
+            }
+        });
+
+        final BigDecimal f = from.getValue();
+        final BigDecimal t = to.getValue();
+
+        Validate.isTrue(step.signum() != 0, "Step must not be zero");
+        Validate.isTrue(f.compareTo(t) == 0 || step.signum() == t.compareTo(f),
+            "Will never reach '%s' from '%s' using step %s", t, f, step);
+        this.scale = Math.max(f.scale(), step.scale());
+        this.span = BigIntegerSpan.of(f.setScale(scale).unscaledValue(), from.getBoundType(),
+            t.movePointRight(scale), to.getBoundType(), step.setScale(scale).unscaledValue());
+    }
+
+    // range methods
+    // ---------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     * Membership is computed exactly by division.
+     */
+    @Override
+    public boolean contains(BigDecimal obj) {
+        return obj != null && indexOf(obj).signum() >= 0;
+    }
+
+    /**
+     * Get the number of elements of this range, computed from its endpoints and step.
+     *
+     * @return BigInteger
+     */
+    public BigInteger size() {
+        return span == null ? BigInteger.ZERO : span.size();
+    }
+
+    /**
+     * Get the element at <code>index</code>, in iteration order.
+     *
+     * @param index from <code>0</code>
+     * @return BigDecimal
+     * @throws IndexOutOfBoundsException if <code>index</code> is negative or not below {@link #size()}
+     */
+    public BigDecimal get(BigInteger index) {
+        Validate.notNull(index, "Index argument was null");
+        if (span == null) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: 0");
+        }
+        return new BigDecimal(span.get(index), scale);
+    }
+
+    /**
+     * Get the position of <code>value</code> in iteration order.
+     *
+     * @param value to look up
+     * @return index, or <code>-1</code> if no element has the value of <code>value</code>
+     */
+    public BigInteger indexOf(BigDecimal value) {
+        Validate.notNull(value, "BigDecimal argument was null");
+        if (span == null) {
+            return BigIntegerSpan.NOT_FOUND;
+        }
+        final BigDecimal exact = value.scale() > scale ? value.stripTrailingZeros() : value;
+        if (exact.scale() > scale) {
+            return BigIntegerSpan.NOT_FOUND;
+        }
+        return span.indexOf(exact.setScale(scale).unscaledValue());
+    }
+
+    /**
+     * Get the first element of this range.
+     *
+     * @return BigDecimal
+     * @throws NoSuchElementException if this range is empty
+     */
+    public BigDecimal first() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return new BigDecimal(span.first, scale);
+    }
+
+    /**
+     * Get the last element of this range.
+     *
+     * @return BigDecimal
+     * @throws NoSuchElementException if this range is empty
+     */
+    public BigDecimal last() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return new BigDecimal(span.last(), scale);
+    }
+
+    // views
+    // ---------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isReversible() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The reversed range is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public BigDecimalRange reversed() {
+        return create(span == null ? null : span.reversed());
+    }
+
+    /**
+     * {@inheritDoc}
+     * The parts are closed ranges with the step of this range, whose sizes differ by at most one.
+     */
+    @Override
+    public List<BigDecimalRange> split(int count) {
+        Validate.isTrue(count > 0, "Count must be positive");
+        if (span == null) {
+            return Collections.singletonList(this);
+        }
+        final List<BigDecimalRange> result = new ArrayList<BigDecimalRange>();
+        for (BigIntegerSpan part : span.split(count)) {
+            result.add(create(part));
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public BigDecimalRange stride(long k) {
+        return create(BigIntegerSpan.stride(span, k));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public BigDecimalRange skip(long n) {
+        return create(BigIntegerSpan.skip(span, n));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public BigDecimalRange limit(long n) {
+        return create(BigIntegerSpan.limit(span, n));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public BigDecimalRange subRange(long fromIndex, long toIndex) {
+        return create(BigIntegerSpan.subRange(span, fromIndex, toIndex));
+    }
+
+    /**
+     * Create a range holding the elements described by <code>elements</code>, in their order.
+     *
+     * @param elements span, <code>null</code> if there are none
+     * @return BigDecimalRange, closed at both ends, or open at both ends at the right endpoint of this range if empty
+     */
+    private BigDecimalRange create(BigIntegerSpan elements) {
+        if (elements == null) {
+            return new BigDecimalRange(rightEndpoint.getValue(), BoundType.OPEN, rightEndpoint.getValue(),
+                BoundType.OPEN, step);
+        }
+        // a single element keeps the step of this range
+        final BigDecimal s = elements.lastIndex.signum() == 0 ? step : new BigDecimal(elements.step, scale);
+        return new BigDecimalRange(new BigDecimal(elements.first, scale), BoundType.CLOSED,
+            new BigDecimal(elements.last(), scale), BoundType.CLOSED, s);
+    }
+
+    // iterable
+    // ---------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<BigDecimal> createIterator() {
+        if (span == null) {
+            return Collections.<BigDecimal>emptySet().iterator();
+        }
+        return new Iterator<BigDecimal>() {
+            private BigInteger remaining = span.size();
+            private BigDecimal next = first();
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+
+            public BigDecimal next() {
+                if (remaining.signum() == 0) {
+                    throw new NoSuchElementException();
+                }
+                final BigDecimal result = next;
+                next = next.add(step);
+                remaining = remaining.subtract(BigInteger.ONE);
+                return result;
+            }
+
+            public boolean hasNext() {
+                return remaining.signum() > 0;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A range of <code>BigInteger</code>s. Membership, size and indexing are
+ * computed by division, so they take the same time however many elements the
+ * range has.
+ */
+public final class BigIntegerRange extends NumericRange<BigInteger>
+    implements IndexedRange<BigInteger, BigInteger> {
+    // attributes
+    //---------------------------------------------------------------
+
+    /**
+     * The elements of this range, or <code>null</code> if it is empty.
+     */
+    private final BigIntegerSpan span;
+
+    // constructors
+    // ---------------------------------------------------------------
+    /**
+     * Create a new BigIntegerRange.
+     *
+     * @param from start
+     * @param to end
+     */
+    public BigIntegerRange(BigInteger from, BigInteger to) {
+        this(from, DEFAULT_LEFT_BOUND_TYPE, to, DEFAULT_RIGHT_BOUND_TYPE);
+    }
+
+    /**
+     * Create a new BigIntegerRange.
+     *
+     * @param from start
+     * @param to end
+     * @param step increment
+     */
+    public BigIntegerRange(BigInteger from, BigInteger to, BigInteger step) {
+        this(from, DEFAULT_LEFT_BOUND_TYPE, to, DEFAULT_RIGHT_BOUND_TYPE, step);
+    }
+
+    /**
+     * Create a new BigIntegerRange.
+     *
+     * @param from start
+     * @param leftBoundType type of left bound
+     * @param to end
+     * @param rightBoundType type of right bound
+     * @throws NullPointerException if either {@link BoundType} is {@code null}
+     */
+    public BigIntegerRange(BigInteger from, BoundType leftBoundType, BigInteger to, BoundType rightBoundType) {
+        this(from, leftBoundType, to, rightBoundType, from.compareTo(to) > 0 ? BigInteger.ONE.negate()
+            : BigInteger.ONE);
+    }
+
+    /**
+     * Create a new BigIntegerRange.
+     *
+     * @param from start
+     * @param leftBoundType type of left bound
+     * @param to end
+     * @param rightBoundType type of right bound
+     * @param step increment
+     * @throws NullPointerException if either {@link BoundType} is {@code null}
+     */
+    public BigIntegerRange(BigInteger from, BoundType leftBoundType, BigInteger to, BoundType rightBoundType,
+        BigInteger step) {
+        this(new Endpoint<BigInteger>(from, leftBoundType), new Endpoint<BigInteger>(to, rightBoundType), step);
+    }
+
+    /**
+     * Create a new BigIntegerRange.
+     *
+     * @param from start
+     * @param to end
+     * @param step increment, not zero
+     * @throws NullPointerException if either {@link Endpoint} is {@code null}
+     */
+    public BigIntegerRange(Endpoint<BigInteger> from, Endpoint<BigInteger> to, BigInteger step) {
+        super(from, to, step, new BinaryFunction<BigInteger, BigInteger, BigInteger>() {
+
+            public BigInteger evaluate(BigInteger left, BigInteger right) {
+                return left.add(right);
+            }
+        });
+
+        final BigInteger f = from.getValue();
+        final BigInteger t = to.getValue();
+
+        Validate.isTrue(step.signum() != 0, "Step must not be zero");
+        Validate.isTrue(f.equals(t) || step.signum() == t.compareTo(f),
+            "Will never reach '%s' from '%s' using step %s", t, f, step);
+        this.span = BigIntegerSpan.of(f, from.getBoundType(), new BigDecimal(t),
+            to.getBoundType(), step);
+    }
+
+    // range methods
+    // ---------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     * Membership is computed exactly by division.
+     */
+    @Override
+    public boolean contains(BigInteger obj) {
+        return obj != null && span != null && span.indexOf(obj).signum() >= 0;
+    }
+
+    /**
+     * Get the number of elements of this range, computed from its endpoints and step.
+     *
+     * @return BigInteger
+     */
+    public BigInteger size() {
+        return span == null ? BigInteger.ZERO : span.size();
+    }
+
+    /**
+     * Get the element at <code>index</code>, in iteration order.
+     *
+     * @param index from <code>0</code>
+     * @return BigInteger
+     * @throws IndexOutOfBoundsException if <code>index</code> is negative or not below {@link #size()}
+     */
+    public BigInteger get(BigInteger index) {
+        Validate.notNull(index, "Index argument was null");
+        if (span == null) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: 0");
+        }
+        return span.get(index);
+    }
+
+    /**
+     * Get the position of <code>value</code> in iteration order.
+     *
+     * @param value to look up
+     * @return index, or <code>-1</code> if <code>value</code> is not an element
+     */
+    public BigInteger indexOf(BigInteger value) {
+        Validate.notNull(value, "BigInteger argument was null");
+        return span == null ? BigIntegerSpan.NOT_FOUND : span.indexOf(value);
+    }
+
+    /**
+     * Get the first element of this range.
+     *
+     * @return BigInteger
+     * @throws NoSuchElementException if this range is empty
+     */
+    public BigInteger first() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return span.first;
+    }
+
+    /**
+     * Get the last element of this range.
+     *
+     * @return BigInteger
+     * @throws NoSuchElementException if this range is empty
+     */
+    public BigInteger last() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return span.last();
+    }
+
+    // views
+    // ---------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isReversible() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The reversed range is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public BigIntegerRange reversed() {
+        return create(span == null ? null : span.reversed());
+    }
+
+    /**
+     * {@inheritDoc}
+     * The parts are closed ranges with the step of this range, whose sizes differ by at most one.
+     */
+    @Override
+    public List<BigIntegerRange> split(int count) {
+        Validate.isTrue(count > 0, "Count must be positive");
+        if (span == null) {
+            return Collections.singletonList(this);
+        }
+        final List<BigIntegerRange> result = new ArrayList<BigIntegerRange>();
+        for (BigIntegerSpan part : span.split(count)) {
+            result.add(create(part));
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public BigIntegerRange stride(long k) {
+        return create(BigIntegerSpan.stride(span, k));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public BigIntegerRange skip(long n) {
+        return create(BigIntegerSpan.skip(span, n));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public BigIntegerRange limit(long n) {
+        return create(BigIntegerSpan.limit(span, n));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public BigIntegerRange subRange(long fromIndex, long toIndex) {
+        return create(BigIntegerSpan.subRange(span, fromIndex, toIndex));
+    }
+
+    /**
+     * Create a range holding the elements described by <code>elements</code>, in their order.
+     *
+     * @param elements span, <code>null</code> if there are none
+     * @return BigIntegerRange, closed at both ends, or open at both ends at the right endpoint of this range if empty
+     */
+    private BigIntegerRange create(BigIntegerSpan elements) {
+        if (elements == null) {
+            return new BigIntegerRange(rightEndpoint.getValue(), BoundType.OPEN, rightEndpoint.getValue(),
+                BoundType.OPEN, step);
+        }
+        // a single element keeps the step of this range
+        final BigInteger s = elements.lastIndex.signum() == 0 ? step : elements.step;
+        return new BigIntegerRange(elements.first, BoundType.CLOSED, elements.last(), BoundType.CLOSED, s);
+    }
+
+    // iterable
+    // ---------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<BigInteger> createIterator() {
+        if (span == null) {
+            return Collections.<BigInteger>emptySet().iterator();
+        }
+        return new Iterator<BigInteger>() {
+            private BigInteger remaining = span.size();
+            private BigInteger next = span.first;
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+
+            public BigInteger next() {
+                if (remaining.signum() == 0) {
+                    throw new NoSuchElementException();
+                }
+                final BigInteger result = next;
+                next = next.add(step);
+                remaining = remaining.subtract(BigInteger.ONE);
+                return result;
+            }
+
+            public boolean hasNext() {
+                return remaining.signum() > 0;
+            }
+        };
+    }
+
+}
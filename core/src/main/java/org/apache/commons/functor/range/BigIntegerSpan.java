@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * The elements of a range mapped to exact <code>BigInteger</code> positions, as
+ * <code>first + i * step</code>, so that membership, size and indexing are
+ * computed by division rather than by iteration, whatever the number of
+ * elements.
+ */
+final class BigIntegerSpan {
+    // static attributes
+    // ---------------------------------------------------------------
+    /**
+     * The index returned for positions that are not elements.
+     */
+    static final BigInteger NOT_FOUND = BigInteger.ONE.negate();
+
+    /**
+     * <code>Long.MAX_VALUE</code> as a <code>BigInteger</code>.
+     */
+    private static final BigInteger MAX_LONG = BigInteger.valueOf(Long.MAX_VALUE);
+
+    // attributes
+    // ---------------------------------------------------------------
+    /**
+     * The position of the first element.
+     */
+    final BigInteger first;
+    /**
+     * The distance between consecutive positions, not zero.
+     */
+    final BigInteger step;
+    /**
+     * The index of the last element.
+     */
+    final BigInteger lastIndex;
+
+    // constructor
+    // ---------------------------------------------------------------
+    /**
+     * Create a new BigIntegerSpan.
+     * @param first position of the first element
+     * @param step distance between consecutive positions
+     * @param lastIndex index of the last element, not negative
+     */
+    private BigIntegerSpan(BigInteger first, BigInteger step, BigInteger lastIndex) {
+        this.first = first;
+        this.step = step;
+        this.lastIndex = lastIndex;
+    }
+
+    /**
+     * Describe the elements from <code>left</code> towards <code>right</code>.
+     * @param left position of the left endpoint
+     * @param leftBoundType type of left bound
+     * @param right position of the right endpoint, which need not be a whole number
+     * @param rightBoundType type of right bound
+     * @param step distance between consecutive positions, not zero
+     * @return BigIntegerSpan, or <code>null</code> if there are no elements
+     */
+    static BigIntegerSpan of(BigInteger left, BoundType leftBoundType, BigDecimal right, BoundType rightBoundType,
+        BigInteger step) {
+        final BigInteger first = leftBoundType == BoundType.CLOSED ? left : left.add(step);
+        final BigDecimal distance = right.subtract(new BigDecimal(first));
+        if (distance.signum() == -step.signum()) {
+            return null;
+        }
+        final BigDecimal[] division = distance.divideAndRemainder(new BigDecimal(step));
+        BigInteger lastIndex = division[0].toBigIntegerExact();
+        if (division[1].signum() == 0 && rightBoundType == BoundType.OPEN) {
+            lastIndex = lastIndex.subtract(BigInteger.ONE);
+        }
+        return lastIndex.signum() < 0 ? null : new BigIntegerSpan(first, step, lastIndex);
+    }
+
+    // methods
+    // ---------------------------------------------------------------
+    /**
+     * Get the number of elements.
+     * @return BigInteger
+     */
+    BigInteger size() {
+        return lastIndex.add(BigInteger.ONE);
+    }
+
+    /**
+     * Get the number of elements, saturating at <code>Long.MAX_VALUE</code>.
+     * @return long
+     */
+    long longSize() {
+        return lastIndex.compareTo(MAX_LONG) < 0 ? lastIndex.longValue() + 1L : Long.MAX_VALUE;
+    }
+
+    /**
+     * Get the position of the element at <code>index</code>.
+     * @param index from <code>0</code>
+     * @return BigInteger
+     * @throws IndexOutOfBoundsException if <code>index</code> is negative or beyond the last element
+     */
+    BigInteger get(BigInteger index) {
+        if (index.signum() < 0 || index.compareTo(lastIndex) > 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return first.add(index.multiply(step));
+    }
+
+    /**
+     * Get the index of the element at <code>position</code>.
+     * @param position to look up
+     * @return index, or {@link #NOT_FOUND} if there is no element at <code>position</code>
+     */
+    BigInteger indexOf(BigInteger position) {
+        final BigInteger[] division = position.subtract(first).divideAndRemainder(step);
+        if (division[1].signum() != 0 || division[0].signum() < 0 || division[0].compareTo(lastIndex) > 0) {
+            return NOT_FOUND;
+        }
+        return division[0];
+    }
+
+    /**
+     * Get the index of the element at <code>position</code> as a <code>long</code>.
+     * @param position to look up
+     * @return index, or <code>-1</code> if there is no element at <code>position</code>
+     * @throws ArithmeticException if the index does not fit in a long
+     */
+    long longIndexOf(BigInteger position) {
+        return indexOf(position).longValueExact();
+    }
+
+    /**
+     * Get the position of the last element.
+     * @return BigInteger
+     */
+    BigInteger last() {
+        return first.add(lastIndex.multiply(step));
+    }
+
+    // views
+    // ---------------------------------------------------------------
+    /**
+     * Describe the elements of this span in reverse order.
+     * @return BigIntegerSpan
+     */
+    BigIntegerSpan reversed() {
+        return new BigIntegerSpan(last(), step.negate(), lastIndex);
+    }
+
+    /**
+     * Split this span into at most <code>count</code> consecutive spans whose sizes differ by at most one.
+     * @param count the maximum number of parts, positive
+     * @return List of parts, in order
+     */
+    List<BigIntegerSpan> split(int count) {
+        final BigInteger size = size();
+        final BigInteger parts = size.min(BigInteger.valueOf(count));
+        final BigInteger[] division = size.divideAndRemainder(parts);
+        final List<BigIntegerSpan> result = new ArrayList<BigIntegerSpan>(parts.intValue());
+        BigInteger from = BigInteger.ZERO;
+        for (int i = 0; i < parts.intValue(); i++) {
+            // the first parts take one element of the remainder each
+            final BigInteger partSize = BigInteger.valueOf(i).compareTo(division[1]) < 0
+                ? division[0].add(BigInteger.ONE) : division[0];
+            result.add(slice(from, from.add(partSize).subtract(BigInteger.ONE)));
+            from = from.add(partSize);
+        }
+        return result;
+    }
+
+    /**
+     * Describe the elements of <code>span</code> from index <code>fromIndex</code>
+     * (inclusive) to <code>toIndex</code> (exclusive).
+     * @param span span, <code>null</code> if empty
+     * @param fromIndex index of the first element
+     * @param toIndex index after the last element
+     * @return BigIntegerSpan, or <code>null</code> if there are no elements
+     * @throws IndexOutOfBoundsException if <code>fromIndex &lt; 0</code>, <code>fromIndex &gt; toIndex</code>
+     *         or <code>toIndex</code> exceeds the number of elements
+     */
+    static BigIntegerSpan subRange(BigIntegerSpan span, long fromIndex, long toIndex) {
+        final BigInteger size = span == null ? BigInteger.ZERO : span.size();
+        if (fromIndex < 0L || fromIndex > toIndex || BigInteger.valueOf(toIndex).compareTo(size) > 0) {
+            throw new IndexOutOfBoundsException("From index: " + fromIndex + ", to index: " + toIndex + ", size: "
+                + size);
+        }
+        if (fromIndex == toIndex) {
+            return null;
+        }
+        return span.slice(BigInteger.valueOf(fromIndex), BigInteger.valueOf(toIndex - 1L));
+    }
+
+    /**
+     * Describe the elements of <code>span</code> after the first <code>n</code>.
+     * @param span span, <code>null</code> if empty
+     * @param n number of elements to skip, not negative
+     * @return BigIntegerSpan, or <code>null</code> if there are none
+     */
+    static BigIntegerSpan skip(BigIntegerSpan span, long n) {
+        Validate.isTrue(n >= 0L, "Count must not be negative");
+        final BigInteger from = BigInteger.valueOf(n);
+        if (span == null || from.compareTo(span.lastIndex) > 0) {
+            return null;
+        }
+        return span.slice(from, span.lastIndex);
+    }
+
+    /**
+     * Describe at most the first <code>n</code> elements of <code>span</code>.
+     * @param span span, <code>null</code> if empty
+     * @param n number of elements to keep, not negative
+     * @return BigIntegerSpan, or <code>null</code> if there are none
+     */
+    static BigIntegerSpan limit(BigIntegerSpan span, long n) {
+        Validate.isTrue(n >= 0L, "Count must not be negative");
+        if (span == null || n == 0L) {
+            return null;
+        }
+        return span.slice(BigInteger.ZERO, span.lastIndex.min(BigInteger.valueOf(n - 1L)));
+    }
+
+    /**
+     * Describe every <code>k</code>-th element of <code>span</code>, starting with the first.
+     * A single remaining element keeps the step of <code>span</code>.
+     * @param span span, <code>null</code> if empty
+     * @param k distance between the indices of the elements kept, positive
+     * @return BigIntegerSpan, or <code>null</code> if there are none
+     */
+    static BigIntegerSpan stride(BigIntegerSpan span, long k) {
+        Validate.isTrue(k > 0L, "Stride must be positive");
+        if (span == null) {
+            return null;
+        }
+        final BigInteger lastIndex = span.lastIndex.divide(BigInteger.valueOf(k));
+        if (lastIndex.signum() == 0) {
+            return new BigIntegerSpan(span.first, span.step, lastIndex);
+        }
+        return new BigIntegerSpan(span.first, span.step.multiply(BigInteger.valueOf(k)), lastIndex);
+    }
+
+    /**
+     * Describe the elements of this span from <code>fromIndex</code> to <code>toIndex</code>.
+     * @param fromIndex index of the first element (inclusive)
+     * @param toIndex index of the last element (inclusive), not below <code>fromIndex</code>
+     * @return BigIntegerSpan
+     */
+    private BigIntegerSpan slice(BigInteger fromIndex, BigInteger toIndex) {
+        return new BigIntegerSpan(get(fromIndex), step, toIndex.subtract(fromIndex));
+    }
+}
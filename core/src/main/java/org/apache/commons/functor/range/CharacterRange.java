@@ -16,7 +16,14 @@
  */
 package org.apache.commons.functor.range;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 import org.apache.commons.functor.BinaryFunction;
 import org.apache.commons.lang3.Validate;
@@ -26,7 +33,8 @@ import org.apache.commons.lang3.Validate;
  *
  * @since 1.0
  */
-public final class CharacterRange extends AbstractRange<Character, Integer> {
+public final class CharacterRange extends AbstractRange<Character, Integer>
+    implements IndexedRange<Character, Integer> {
 
     /**
      * Calculate default step.
@@ -39,6 +47,16 @@ public final class CharacterRange extends AbstractRange<Character, Integer> {
             }
         };
 
+    /**
+     * The elements of this range, or <code>null</code> if it is empty.
+     */
+    private final IntegralSpan span;
+
+    /**
+     * The boxed elements of this range if it is {@link #cached() cached}, or <code>null</code>.
+     */
+    private final List<Character> elements;
+
     // constructors
     // ---------------------------------------------------------------
     /**
@@ -82,6 +100,18 @@ public final class CharacterRange extends AbstractRange<Character, Integer> {
      * @throws NullPointerException if either {@link Endpoint} is {@code null}
      */
     public CharacterRange(Endpoint<Character> from, Endpoint<Character> to, int step) {
+        this(from, to, step, false);
+    }
+
+    /**
+     * Create a new CharacterRange.
+     *
+     * @param from start
+     * @param to end
+     * @param step increment
+     * @param cache whether to box the elements up front
+     */
+    private CharacterRange(Endpoint<Character> from, Endpoint<Character> to, int step, boolean cache) {
         super(from, to, Integer.valueOf(step), new BinaryFunction<Character, Integer, Character>() {
 
             public Character evaluate(Character left, Integer right) {
@@ -93,6 +123,8 @@ public final class CharacterRange extends AbstractRange<Character, Integer> {
 
         Validate.isTrue(f == t || Integer.signum(step) == Integer.signum(t - f),
             "Will never reach '%s' from '%s' using step %s", t, f, step);
+        this.span = IntegralSpan.of(this);
+        this.elements = cache ? box() : null;
     }
 
     /**
@@ -127,73 +159,297 @@ public final class CharacterRange extends AbstractRange<Character, Integer> {
 
     /**
      * {@inheritDoc}
+     * Membership is computed exactly in integer arithmetic.
      */
+    @Override
     public boolean contains(Character obj) {
-        if (obj == null) {
-            return Boolean.FALSE;
+        return obj != null && contains(obj.charValue());
+    }
+
+    /**
+     * Learn whether a <code>char</code> is an element of this range, without boxing.
+     *
+     * @param value to test
+     * @return boolean
+     */
+    public boolean contains(char value) {
+        return span != null && span.contains(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Computed from the elements, so a range whose first element would overflow a <code>char</code> is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return span == null;
+    }
+
+    /**
+     * Get the number of elements of this range, computed from its endpoints and step.
+     *
+     * @return long
+     */
+    public long size() {
+        return span == null ? 0L : span.size();
+    }
+
+    /**
+     * Get the element at <code>index</code>, in iteration order.
+     *
+     * @param index from <code>0</code>
+     * @return char
+     * @throws IndexOutOfBoundsException if <code>index</code> is negative or not below {@link #size()}
+     */
+    public char get(long index) {
+        if (span == null) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: 0");
         }
-        char leftValue = this.getLeftEndpoint().getValue().charValue();
-        char rightValue = this.getRightEndpoint().getValue().charValue();
-        boolean includeLeft = this.getLeftEndpoint().getBoundType() == BoundType.CLOSED;
-        boolean includeRight = this.getRightEndpoint().getBoundType() == BoundType.CLOSED;
-        int step = this.getStep().intValue();
-        int value = (int) obj.charValue();
-
-        int firstValue = 0;
-        int lastValue = 0;
-
-        if (step < 0.0) {
-            firstValue = includeLeft ? leftValue : leftValue + step;
-            lastValue = includeRight ? rightValue : rightValue + 1;
-            if (value > firstValue || value < lastValue) {
-                return Boolean.FALSE;
-            }
-        } else {
-            firstValue = includeLeft ? leftValue : leftValue + step;
-            lastValue = includeRight ? rightValue : rightValue - 1;
-            if (value < firstValue || value > lastValue) {
-                return Boolean.FALSE;
+        return (char) span.get(index);
+    }
+
+    /**
+     * Get the position of <code>value</code> in iteration order.
+     *
+     * @param value to look up
+     * @return index, or <code>-1</code> if <code>value</code> is not an element
+     */
+    public long indexOf(char value) {
+        return span == null ? -1L : span.indexOf(value);
+    }
+
+    /**
+     * Get the first element of this range.
+     *
+     * @return char
+     * @throws NoSuchElementException if this range is empty
+     */
+    public char first() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return (char) span.first;
+    }
+
+    /**
+     * Get the last element of this range.
+     *
+     * @return char
+     * @throws NoSuchElementException if this range is empty
+     */
+    public char last() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return (char) span.last();
+    }
+
+    /**
+     * Get an unmodifiable, random access {@link List} view of the elements of this range,
+     * in iteration order. Elements are computed on demand, not stored, unless this range is {@link #cached()}.
+     *
+     * @return List
+     * @throws IllegalStateException if this range has more than <code>Integer.MAX_VALUE</code> elements
+     */
+    public List<Character> asList() {
+        if (elements != null) {
+            return elements;
+        }
+        return new IntegralList<Character>(span, Character.class) {
+            @Override
+            Character valueOf(long value) {
+                return Character.valueOf((char) value);
             }
+        };
+    }
+
+    /**
+     * Get a range with the same elements, which boxes them once, up front, into an
+     * immutable array shared by every iteration and {@link #asList()} view of it,
+     * in any thread. Meant for small ranges iterated repeatedly, such as lookup
+     * tables, where boxing each element on each iteration would allocate.
+     * Ranges derived from it are not cached.
+     *
+     * @return CharacterRange, equal to this range
+     * @throws IllegalStateException if this range has more than <code>Integer.MAX_VALUE</code> elements
+     */
+    public CharacterRange cached() {
+        return elements != null ? this : new CharacterRange(leftEndpoint, rightEndpoint, step, true);
+    }
+
+    /**
+     * Learn whether the elements of this range are boxed up front.
+     *
+     * @return boolean
+     * @see #cached()
+     */
+    public boolean isCached() {
+        return elements != null;
+    }
+
+    /**
+     * Box the elements of this range.
+     *
+     * @return an unmodifiable List backed by an array
+     * @throws IllegalStateException if this range has more than <code>Integer.MAX_VALUE</code> elements
+     */
+    private List<Character> box() {
+        final long size = size();
+        Validate.validState(size <= Integer.MAX_VALUE, "Range has too many elements to cache: %s", size);
+        final Character[] result = new Character[(int) size];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Character.valueOf((char) span.get(i));
         }
-        return ((double) (value - firstValue) / step + 1) % 1.0 == 0.0;
+        return Collections.unmodifiableList(Arrays.asList(result));
     }
 
     /**
      * {@inheritDoc}
+     * The parts are closed ranges with the step of this range, whose sizes differ by at most one.
      */
-    protected Iterator<Character> createIterator() {
-        return new Iterator<Character>() {
-            private char currentValue;
+    @Override
+    public List<CharacterRange> split(int count) {
+        Validate.isTrue(count > 0, "Count must be positive");
+        if (span == null) {
+            return Collections.singletonList(this);
+        }
+        final long[] bounds = span.split(count);
+        final List<CharacterRange> result = new ArrayList<CharacterRange>(bounds.length / 2);
+        for (int i = 0; i < bounds.length; i += 2) {
+            result.add(new CharacterRange((char) bounds[i], BoundType.CLOSED, (char) bounds[i + 1], BoundType.CLOSED,
+                (int) span.step));
+        }
+        return result;
+    }
 
-            {
-                currentValue = leftEndpoint.getValue();
+    /**
+     * {@inheritDoc}
+     * The spliterator computes each element from the endpoints and step and
+     * splits into balanced halves.
+     */
+    @Override
+    public Spliterator<Character> spliterator() {
+        if (span == null) {
+            return Spliterators.<Character>emptySpliterator();
+        }
+        return new IntegralSpliterator.Characters(span, 0L, span.lastIndex);
+    }
 
-                if (leftEndpoint.getBoundType() == BoundType.OPEN) {
-                    this.currentValue += step;
-                }
-            }
+    // views
+    // ---------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public CharacterRange stride(long k) {
+        return create(IntegralSpan.stride(span, k));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public CharacterRange skip(long n) {
+        return create(IntegralSpan.skip(span, n));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public CharacterRange limit(long n) {
+        return create(IntegralSpan.limit(span, n));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public CharacterRange subRange(long fromIndex, long toIndex) {
+        return create(IntegralSpan.subRange(span, fromIndex, toIndex));
+    }
+
+    /**
+     * Create a range of the elements described, in the direction of this range.
+     *
+     * @param elements least element, greatest element and unsigned stride, or <code>null</code> if none
+     * @return CharacterRange
+     */
+    private CharacterRange create(long[] elements) {
+        final int s = step.intValue();
+        if (elements == null) {
+            final char value = leftEndpoint.getValue().charValue();
+            return new CharacterRange(value, BoundType.OPEN, value, BoundType.OPEN, s);
+        }
+        final int stride = (int) elements[2];
+        if (s < 0) {
+            return new CharacterRange((char) elements[1], BoundType.CLOSED, (char) elements[0], BoundType.CLOSED,
+                -stride);
+        }
+        return new CharacterRange((char) elements[0], BoundType.CLOSED, (char) elements[1], BoundType.CLOSED, stride);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isReversible() {
+        // a step too large to negate leaves room for a single element only
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The reversed range is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public CharacterRange reversed() {
+        final int s = step.intValue();
+        if (span == null) {
+            final char value = rightEndpoint.getValue().charValue();
+            return new CharacterRange(value, BoundType.OPEN, value, BoundType.OPEN, -s);
+        }
+        return new CharacterRange((char) span.last(), BoundType.CLOSED, (char) span.first, BoundType.CLOSED, -s);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected Iterator<Character> createIterator() {
+        if (elements != null) {
+            return elements.iterator();
+        }
+        if (span == null) {
+            return Collections.<Character>emptySet().iterator();
+        }
+        return new Iterator<Character>() {
+            // by index, so that stepping past the last element cannot wrap around
+            private long index = 0L;
+            private boolean done = false;
 
             public void remove() {
                 throw new UnsupportedOperationException();
             }
 
             public Character next() {
-                final int step = getStep();
-                final char r = currentValue;
-                currentValue += step;
-                return Character.valueOf(r);
+                if (done) {
+                    throw new NoSuchElementException();
+                }
+                final long r = span.first + index * span.step;
+                if (index == span.lastIndex) {
+                    done = true;
+                } else {
+                    index++;
+                }
+                return Character.valueOf((char) r);
             }
 
             public boolean hasNext() {
-                final int cmp = Character.valueOf(currentValue).compareTo(rightEndpoint.getValue());
-
-                if (cmp == 0) {
-                    return rightEndpoint.getBoundType() == BoundType.CLOSED;
-                }
-                if (step > 0) {
-                    return cmp < 0;
-                }
-                return cmp > 0;
+                return !done;
             }
         };
     }
@@ -17,8 +17,12 @@
 package org.apache.commons.functor.range;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.functor.DoubleBinaryFunction;
+import org.apache.commons.functor.DoublePredicate;
+import org.apache.commons.functor.DoubleProcedure;
 import org.apache.commons.lang3.Validate;
 
 /**
@@ -39,6 +43,11 @@ public class DoubleRange extends NumericRange<Double> {
         }
     };
 
+    /**
+     * The elements of this range, computed by index.
+     */
+    private final FloatingPointSpan span;
+
     // constructors
     // ---------------------------------------------------------------
     /**
@@ -129,6 +138,7 @@ public class DoubleRange extends NumericRange<Double> {
 
         Validate.isTrue(f == t || Math.signum(step) == Math.signum(t - f),
             "Will never reach '%s' from '%s' using step %s", t, f, step);
+        this.span = new FloatingPointSpan(this, false);
     }
 
     /**
@@ -146,42 +156,220 @@ public class DoubleRange extends NumericRange<Double> {
         this(new Endpoint<Double>(from, leftBoundType), new Endpoint<Double>(to, rightBoundType), step);
     }
 
+    // range methods
+    // ---------------------------------------------------------------
+
     /**
      * {@inheritDoc}
+     * A value is an element if it equals one of the elements computed by index, exactly.
      */
-    protected Iterator<Double> createIterator() {
-        return new Iterator<Double>() {
-            private double currentValue;
+    @Override
+    public boolean contains(Double obj) {
+        return obj != null && contains(obj.doubleValue());
+    }
+
+    /**
+     * Learn whether a <code>double</code> is an element of this range, without boxing.
+     *
+     * @param value to test
+     * @return boolean
+     */
+    public boolean contains(double value) {
+        return span.indexOf(value) >= 0L;
+    }
 
-            {
-                currentValue = leftEndpoint.getValue();
+    /**
+     * Get the number of elements of this range, computed up front from its endpoints and step.
+     *
+     * @return long, or <code>Long.MAX_VALUE</code> if there are at least as many
+     */
+    public long size() {
+        return span.size;
+    }
 
-                if (leftEndpoint.getBoundType() == BoundType.OPEN) {
-                    this.currentValue += step;
-                }
+    /**
+     * Get the element at <code>index</code>, computed as <code>left + (index + offset) * step</code>,
+     * where <code>offset</code> is <code>1</code> if the left endpoint is open.
+     *
+     * @param index from <code>0</code>
+     * @return double
+     * @throws IndexOutOfBoundsException if <code>index</code> is negative or not below {@link #size()}
+     */
+    public double get(long index) {
+        if (index < 0L || index >= span.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + span.size);
+        }
+        return span.get(index);
+    }
+
+    /**
+     * Get the position of <code>value</code> in iteration order.
+     *
+     * @param value to look up
+     * @return index, or <code>-1</code> if <code>value</code> is not an element
+     */
+    public long indexOf(double value) {
+        return span.indexOf(value);
+    }
+
+    /**
+     * Run <code>procedure</code> on each element of this range, in iteration
+     * order, without boxing.
+     *
+     * @param procedure {@link DoubleProcedure} to run
+     */
+    public void run(DoubleProcedure procedure) {
+        Validate.notNull(procedure, "DoubleProcedure argument was null");
+        final long size = span.size;
+        for (long i = 0L; i < size; i++) {
+            procedure.run(span.get(i));
+        }
+    }
+
+    /**
+     * Fold the elements of this range from left to right, in iteration order,
+     * without boxing.
+     *
+     * @param seed initial left-side argument
+     * @param function {@link DoubleBinaryFunction} to apply to each (seed, next)
+     * @return the result of the fold, or <code>seed</code> if this range is empty
+     */
+    public double foldLeft(double seed, DoubleBinaryFunction function) {
+        Validate.notNull(function, "DoubleBinaryFunction argument was null");
+        double result = seed;
+        final long size = span.size;
+        for (long i = 0L; i < size; i++) {
+            result = function.evaluateAsDouble(result, span.get(i));
+        }
+        return result;
+    }
+
+    // bulk operations
+    // ---------------------------------------------------------------
+
+    /**
+     * Copy the elements of this range into a new array, in iteration order.
+     *
+     * @return double[]
+     * @throws IllegalStateException if this range has more than <code>Integer.MAX_VALUE</code> elements
+     */
+    public double[] toDoubleArray() {
+        final long size = span.size;
+        Validate.validState(size <= Integer.MAX_VALUE, "Too many elements for an array: %s", size);
+        final double[] result = new double[(int) size];
+        fill(result, 0);
+        return result;
+    }
+
+    /**
+     * Copy the elements of this range into <code>dest</code> from <code>offset</code>,
+     * in iteration order.
+     *
+     * @param dest array to fill
+     * @param offset index of <code>dest</code> to write the first element to
+     * @return the number of elements written
+     * @throws IndexOutOfBoundsException if the elements do not fit in <code>dest</code> from <code>offset</code>
+     */
+    public int fill(double[] dest, int offset) {
+        Validate.notNull(dest, "double[] argument was null");
+        final long size = span.size;
+        if (offset < 0 || offset > dest.length || size > dest.length - offset) {
+            throw new IndexOutOfBoundsException("Cannot fit " + size + " elements at " + offset + " of " + dest.length);
+        }
+        final int n = (int) size;
+        for (int i = 0; i < n; i++) {
+            dest[offset + i] = span.get(i);
+        }
+        return n;
+    }
+
+    /**
+     * Get the sum of the elements of this range. The elements are rounded, so
+     * there is no exact closed form; they are added with compensated (Kahan)
+     * summation instead, which keeps the rounding error of the sum independent
+     * of the number of elements.
+     *
+     * @return double, <code>0</code> if this range is empty
+     */
+    public double sum() {
+        double sum = 0d;
+        double compensation = 0d;
+        final long size = span.size;
+        for (long i = 0L; i < size; i++) {
+            final double y = span.get(i) - compensation;
+            final double t = sum + y;
+            compensation = (t - sum) - y;
+            sum = t;
+        }
+        return sum;
+    }
+
+    /**
+     * Get the least element of this range.
+     *
+     * @return double
+     * @throws NoSuchElementException if this range is empty
+     */
+    public double min() {
+        if (span.size == 0L) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return span.get(step.doubleValue() < 0d ? span.size - 1L : 0L);
+    }
+
+    /**
+     * Get the greatest element of this range.
+     *
+     * @return double
+     * @throws NoSuchElementException if this range is empty
+     */
+    public double max() {
+        if (span.size == 0L) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return span.get(step.doubleValue() < 0d ? 0L : span.size - 1L);
+    }
+
+    /**
+     * Count the elements of this range matching <code>predicate</code>, without boxing.
+     *
+     * @param predicate {@link DoublePredicate} to test each element with
+     * @return long
+     */
+    public long count(DoublePredicate predicate) {
+        Validate.notNull(predicate, "DoublePredicate argument was null");
+        long result = 0L;
+        final long size = span.size;
+        for (long i = 0L; i < size; i++) {
+            if (predicate.test(span.get(i))) {
+                result++;
             }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Elements are computed by index rather than by repeatedly adding the step,
+     * so rounding errors do not accumulate.
+     */
+    protected Iterator<Double> createIterator() {
+        return new Iterator<Double>() {
+            private long index;
 
             public void remove() {
                 throw new UnsupportedOperationException();
             }
 
             public Double next() {
-                final double step = getStep();
-                final double r = currentValue;
-                currentValue += step;
-                return Double.valueOf(r);
+                if (index >= span.size) {
+                    throw new NoSuchElementException();
+                }
+                return Double.valueOf(span.get(index++));
             }
 
             public boolean hasNext() {
-                final int cmp = Double.compare(currentValue, rightEndpoint.getValue());
-
-                if (cmp == 0) {
-                    return rightEndpoint.getBoundType() == BoundType.CLOSED;
-                }
-                if (step > 0d) {
-                    return cmp < 0;
-                }
-                return cmp > 0;
+                return index < span.size;
             }
         };
     }
@@ -17,8 +17,11 @@
 package org.apache.commons.functor.range;
 
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.functor.DoubleBinaryFunction;
+import org.apache.commons.functor.DoubleProcedure;
 import org.apache.commons.lang3.Validate;
 
 /**
@@ -41,6 +44,11 @@ public class FloatRange extends NumericRange<Float> {
         }
     };
 
+    /**
+     * The elements of this range, computed by index.
+     */
+    private final FloatingPointSpan span;
+
     // constructors
     // ---------------------------------------------------------------
     /**
@@ -116,6 +124,7 @@ public class FloatRange extends NumericRange<Float> {
 
         Validate.isTrue(f == t || Math.signum(step) == Math.signum(t - f),
             "Will never reach '%s' from '%s' using step %s", t, f, step);
+        this.span = new FloatingPointSpan(this, true);
     }
 
     /**
@@ -147,42 +156,116 @@ public class FloatRange extends NumericRange<Float> {
         this(new Endpoint<Float>(from, leftBoundType), new Endpoint<Float>(to, rightBoundType), step);
     }
 
+    // range methods
+    // ---------------------------------------------------------------
+
     /**
      * {@inheritDoc}
+     * A value is an element if it equals one of the elements computed by index, exactly.
      */
-    protected Iterator<Float> createIterator() {
-        return new Iterator<Float>() {
-            private float currentValue;
+    @Override
+    public boolean contains(Float obj) {
+        return obj != null && contains(obj.floatValue());
+    }
 
-            {
-                currentValue = leftEndpoint.getValue();
+    /**
+     * Learn whether a <code>float</code> is an element of this range, without boxing.
+     *
+     * @param value to test
+     * @return boolean
+     */
+    public boolean contains(float value) {
+        return span.indexOf(value) >= 0L;
+    }
 
-                if (leftEndpoint.getBoundType() == BoundType.OPEN) {
-                    this.currentValue += step;
-                }
-            }
+    /**
+     * Get the number of elements of this range, computed up front from its endpoints and step.
+     *
+     * @return long, or <code>Long.MAX_VALUE</code> if there are at least as many
+     */
+    public long size() {
+        return span.size;
+    }
+
+    /**
+     * Get the element at <code>index</code>, computed as <code>left + (index + offset) * step</code>,
+     * where <code>offset</code> is <code>1</code> if the left endpoint is open.
+     *
+     * @param index from <code>0</code>
+     * @return float
+     * @throws IndexOutOfBoundsException if <code>index</code> is negative or not below {@link #size()}
+     */
+    public float get(long index) {
+        if (index < 0L || index >= span.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + span.size);
+        }
+        return (float) span.get(index);
+    }
+
+    /**
+     * Get the position of <code>value</code> in iteration order.
+     *
+     * @param value to look up
+     * @return index, or <code>-1</code> if <code>value</code> is not an element
+     */
+    public long indexOf(float value) {
+        return span.indexOf(value);
+    }
+
+    /**
+     * Run <code>procedure</code> on each element of this range, in iteration
+     * order, without boxing.
+     *
+     * @param procedure {@link DoubleProcedure} to run
+     */
+    public void run(DoubleProcedure procedure) {
+        Validate.notNull(procedure, "DoubleProcedure argument was null");
+        final long size = span.size;
+        for (long i = 0L; i < size; i++) {
+            procedure.run(span.get(i));
+        }
+    }
+
+    /**
+     * Fold the elements of this range from left to right, in iteration order,
+     * without boxing.
+     *
+     * @param seed initial left-side argument
+     * @param function {@link DoubleBinaryFunction} to apply to each (seed, next)
+     * @return the result of the fold, or <code>seed</code> if this range is empty
+     */
+    public double foldLeft(double seed, DoubleBinaryFunction function) {
+        Validate.notNull(function, "DoubleBinaryFunction argument was null");
+        double result = seed;
+        final long size = span.size;
+        for (long i = 0L; i < size; i++) {
+            result = function.evaluateAsDouble(result, span.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Elements are computed by index rather than by repeatedly adding the step,
+     * so rounding errors do not accumulate.
+     */
+    protected Iterator<Float> createIterator() {
+        return new Iterator<Float>() {
+            private long index;
 
             public void remove() {
                 throw new UnsupportedOperationException();
             }
 
             public Float next() {
-                final float step = getStep();
-                final float r = currentValue;
-                currentValue += step;
-                return Float.valueOf(r);
+                if (index >= span.size) {
+                    throw new NoSuchElementException();
+                }
+                return Float.valueOf((float) span.get(index++));
             }
 
             public boolean hasNext() {
-                final int cmp = Float.compare(currentValue, rightEndpoint.getValue());
-
-                if (cmp == 0) {
-                    return rightEndpoint.getBoundType() == BoundType.CLOSED;
-                }
-                if (step > 0f) {
-                    return cmp < 0;
-                }
-                return cmp > 0;
+                return index < span.size;
             }
         };
     }
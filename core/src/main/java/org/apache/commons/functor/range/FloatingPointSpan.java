@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+/**
+ * The elements of a {@link DoubleRange} or {@link FloatRange} computed by
+ * index, as <code>left + i * step</code>, so that rounding errors do not
+ * accumulate from one element to the next and the number of elements is known
+ * up front.
+ */
+final class FloatingPointSpan {
+    // attributes
+    // ---------------------------------------------------------------
+    /**
+     * The left endpoint value.
+     */
+    private final double left;
+    /**
+     * The step.
+     */
+    private final double step;
+    /**
+     * The index of the first element: <code>1</code> if the left endpoint is open.
+     */
+    private final long offset;
+    /**
+     * Whether elements are rounded to <code>float</code>.
+     */
+    private final boolean narrow;
+    /**
+     * The number of elements, <code>Long.MAX_VALUE</code> if there are at least as many.
+     */
+    final long size;
+
+    // constructor
+    // ---------------------------------------------------------------
+    /**
+     * Create a new FloatingPointSpan.
+     * @param range to describe
+     * @param narrow whether elements are rounded to <code>float</code>
+     */
+    FloatingPointSpan(AbstractRange<? extends Number, ? extends Number> range, boolean narrow) {
+        this.left = range.getLeftEndpoint().getValue().doubleValue();
+        this.step = range.getStep().doubleValue();
+        this.offset = range.getLeftEndpoint().getBoundType() == BoundType.OPEN ? 1L : 0L;
+        this.narrow = narrow;
+        if (range.isEmpty()) {
+            this.size = 0L;
+        } else if (step == 0d || left == range.getRightEndpoint().getValue().doubleValue()) {
+            this.size = 1L;
+        } else {
+            final double right = range.getRightEndpoint().getValue().doubleValue();
+            final boolean closed = range.getRightEndpoint().getBoundType() == BoundType.CLOSED;
+            this.size = count(right, closed);
+        }
+    }
+
+    // methods
+    // ---------------------------------------------------------------
+    /**
+     * Get the element at <code>index</code>, without checking it.
+     * @param index from <code>0</code>
+     * @return double
+     */
+    double get(long index) {
+        final double value = left + (index + offset) * step;
+        return narrow ? (float) value : value;
+    }
+
+    /**
+     * Get the index of <code>value</code>.
+     * @param value to look up
+     * @return index, or <code>-1</code> if <code>value</code> is not an element
+     */
+    long indexOf(double value) {
+        if (size == 0L) {
+            return -1L;
+        }
+        if (size == 1L || step == 0d) {
+            return get(0L) == value ? 0L : -1L;
+        }
+        // the nearest index, give or take the rounding of the elements
+        final double estimate = Math.rint((value - left) / step) - offset;
+        if (!(estimate >= -1d && estimate <= size)) {
+            return -1L;
+        }
+        final long index = (long) estimate;
+        for (long i = Math.max(0L, index - 1L); i <= index + 1L && i < size; i++) {
+            if (get(i) == value) {
+                return i;
+            }
+        }
+        return -1L;
+    }
+
+    /**
+     * Count the elements up to <code>right</code>.
+     * @param right right endpoint value
+     * @param closed whether <code>right</code> is included
+     * @return long
+     */
+    private long count(double right, boolean closed) {
+        final double estimate = Math.floor((right - left) / step) + 1d - offset;
+        if (!(estimate < Long.MAX_VALUE)) {
+            return Long.MAX_VALUE;
+        }
+        long n = estimate > 0d ? (long) estimate : 0L;
+        // correct the estimate for the rounding of the elements
+        while (n > 0L && !isWithin(get(n - 1L), right, closed)) {
+            n--;
+        }
+        while (n < Long.MAX_VALUE && isWithin(get(n), right, closed)) {
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Learn whether <code>value</code> has not passed <code>right</code>.
+     * @param value to test
+     * @param right right endpoint value
+     * @param closed whether <code>right</code> is included
+     * @return boolean
+     */
+    private boolean isWithin(double value, double right, boolean closed) {
+        if (value == right) {
+            return closed;
+        }
+        return step > 0d ? value < right : value > right;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import java.util.List;
+
+/**
+ * A {@link Range} whose elements can be addressed by index, so that reversed,
+ * split, strided and sliced views of it are computed from its endpoints and
+ * step without iterating.
+ *
+ * @param <T> type of element
+ * @param <S> type of step
+ */
+public interface IndexedRange<T extends Comparable<?>, S> extends Range<T, S> {
+
+    /**
+     * Learn whether {@link #reversed()} can represent the reverse of this range,
+     * which it cannot where the negated step does not fit the step type.
+     *
+     * @return boolean
+     */
+    boolean isReversible();
+
+    /**
+     * Get a range holding the elements of this range in reverse order.
+     *
+     * @return IndexedRange
+     * @throws UnsupportedOperationException if this range is not {@link #isReversible() reversible}
+     */
+    IndexedRange<T, S> reversed();
+
+    /**
+     * Split this range into at most <code>count</code> ranges of roughly equal
+     * size which, iterated one after the other, hold exactly the elements of
+     * this range in the same order.
+     *
+     * @param count the maximum number of parts, positive
+     * @return List of parts, never empty
+     * @throws IllegalArgumentException if <code>count</code> is not positive
+     */
+    List<? extends IndexedRange<T, S>> split(int count);
+
+    /**
+     * Get a view of every <code>k</code>-th element of this range, starting with
+     * the first, as a range with a <code>k</code> times larger step.
+     *
+     * @param k distance between the indices of the elements kept, positive
+     * @return IndexedRange
+     * @throws IllegalArgumentException if <code>k</code> is not positive
+     */
+    IndexedRange<T, S> stride(long k);
+
+    /**
+     * Get a view of the elements of this range after the first <code>n</code>.
+     *
+     * @param n number of elements to skip, not negative
+     * @return IndexedRange
+     * @throws IllegalArgumentException if <code>n</code> is negative
+     */
+    IndexedRange<T, S> skip(long n);
+
+    /**
+     * Get a view of at most the first <code>n</code> elements of this range.
+     *
+     * @param n number of elements to keep, not negative
+     * @return IndexedRange
+     * @throws IllegalArgumentException if <code>n</code> is negative
+     */
+    IndexedRange<T, S> limit(long n);
+
+    /**
+     * Get a view of the elements of this range from index <code>fromIndex</code>
+     * (inclusive) to <code>toIndex</code> (exclusive), in iteration order.
+     *
+     * @param fromIndex index of the first element
+     * @param toIndex index after the last element
+     * @return IndexedRange
+     * @throws IndexOutOfBoundsException if <code>fromIndex &lt; 0</code>, <code>fromIndex &gt; toIndex</code>
+     *         or <code>toIndex</code> exceeds the number of elements
+     */
+    IndexedRange<T, S> subRange(long fromIndex, long toIndex);
+}
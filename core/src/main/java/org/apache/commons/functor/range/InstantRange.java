@@ -0,0 +1,341 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A range of <code>Instant</code>s, stepping by a <code>Duration</code>.
+ * Membership, size and indexing are computed exactly in nanoseconds, so they
+ * take the same time however many elements the range has.
+ */
+public final class InstantRange extends AbstractRange<Instant, Duration>
+    implements IndexedRange<Instant, Duration> {
+    // attributes
+    //---------------------------------------------------------------
+
+    /**
+     * Nanoseconds per second.
+     */
+    private static final BigInteger NANOS_PER_SECOND = BigInteger.valueOf(1000000000L);
+
+    /**
+     * The elements of this range in nanoseconds from the epoch, or <code>null</code> if it is empty.
+     */
+    private final BigIntegerSpan span;
+
+    // constructors
+    // ---------------------------------------------------------------
+    /**
+     * Create a new InstantRange.
+     *
+     * @param from start
+     * @param to end
+     * @param step increment
+     */
+    public InstantRange(Instant from, Instant to, Duration step) {
+        this(from, DEFAULT_LEFT_BOUND_TYPE, to, DEFAULT_RIGHT_BOUND_TYPE, step);
+    }
+
+    /**
+     * Create a new InstantRange.
+     *
+     * @param from start
+     * @param leftBoundType type of left bound
+     * @param to end
+     * @param rightBoundType type of right bound
+     * @param step increment
+     * @throws NullPointerException if either {@link BoundType} is {@code null}
+     */
+    public InstantRange(Instant from, BoundType leftBoundType, Instant to, BoundType rightBoundType,
+        Duration step) {
+        this(new Endpoint<Instant>(from, leftBoundType), new Endpoint<Instant>(to, rightBoundType), step);
+    }
+
+    /**
+     * Create a new InstantRange.
+     *
+     * @param from start
+     * @param to end
+     * @param step increment, not zero
+     * @throws NullPointerException if either {@link Endpoint} is {@code null}
+     */
+    public InstantRange(Endpoint<Instant> from, Endpoint<Instant> to, Duration step) {
+        super(from, to, step, new BinaryFunction<Instant, Duration, Instant>() {
+
+            public Instant evaluate(Instant left, Duration right) {
+                return left.plus(right);
+            }
+        });
+
+        final Instant f = from.getValue();
+        final Instant t = to.getValue();
+
+        Validate.isTrue(!step.isZero(), "Step must not be zero");
+        Validate.isTrue(f.equals(t) || step.isNegative() == t.isBefore(f),
+            "Will never reach '%s' from '%s' using step %s", t, f, step);
+        this.span = BigIntegerSpan.of(toNanos(f.getEpochSecond(), f.getNano()), from.getBoundType(),
+            new BigDecimal(toNanos(t.getEpochSecond(), t.getNano())), to.getBoundType(),
+            toNanos(step.getSeconds(), step.getNano()));
+    }
+
+    // range methods
+    // ---------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     * Membership is computed exactly by division.
+     */
+    public boolean contains(Instant obj) {
+        return obj != null && span != null && span.indexOf(toNanos(obj.getEpochSecond(), obj.getNano())).signum() >= 0;
+    }
+
+    /**
+     * Get the number of elements of this range, computed from its endpoints and step.
+     *
+     * @return long, <code>Long.MAX_VALUE</code> if there are at least as many
+     */
+    public long size() {
+        return span == null ? 0L : span.longSize();
+    }
+
+    /**
+     * Get the element at <code>index</code>, in iteration order.
+     *
+     * @param index from <code>0</code>
+     * @return Instant
+     * @throws IndexOutOfBoundsException if <code>index</code> is negative or beyond the last element
+     */
+    public Instant get(long index) {
+        if (span == null) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: 0");
+        }
+        return toInstant(span.get(BigInteger.valueOf(index)));
+    }
+
+    /**
+     * Get the position of <code>value</code> in iteration order.
+     *
+     * @param value to look up
+     * @return index, or <code>-1</code> if <code>value</code> is not an element
+     * @throws ArithmeticException if the index does not fit in a long
+     */
+    public long indexOf(Instant value) {
+        Validate.notNull(value, "Instant argument was null");
+        return span == null ? -1L : span.longIndexOf(toNanos(value.getEpochSecond(), value.getNano()));
+    }
+
+    /**
+     * Get the first element of this range.
+     *
+     * @return Instant
+     * @throws NoSuchElementException if this range is empty
+     */
+    public Instant first() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return toInstant(span.first);
+    }
+
+    /**
+     * Get the last element of this range.
+     *
+     * @return Instant
+     * @throws NoSuchElementException if this range is empty
+     */
+    public Instant last() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return toInstant(span.last());
+    }
+
+    // views
+    // ---------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isReversible() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The reversed range is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public InstantRange reversed() {
+        return create(span == null ? null : span.reversed());
+    }
+
+    /**
+     * {@inheritDoc}
+     * The parts are closed ranges with the step of this range, whose sizes differ by at most one.
+     */
+    @Override
+    public List<InstantRange> split(int count) {
+        Validate.isTrue(count > 0, "Count must be positive");
+        if (span == null) {
+            return Collections.singletonList(this);
+        }
+        final List<InstantRange> result = new ArrayList<InstantRange>();
+        for (BigIntegerSpan part : span.split(count)) {
+            result.add(create(part));
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public InstantRange stride(long k) {
+        return create(BigIntegerSpan.stride(span, k));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public InstantRange skip(long n) {
+        return create(BigIntegerSpan.skip(span, n));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public InstantRange limit(long n) {
+        return create(BigIntegerSpan.limit(span, n));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public InstantRange subRange(long fromIndex, long toIndex) {
+        return create(BigIntegerSpan.subRange(span, fromIndex, toIndex));
+    }
+
+    /**
+     * Create a range holding the elements described by <code>elements</code>, in their order.
+     *
+     * @param elements span, <code>null</code> if there are none
+     * @return InstantRange, closed at both ends, or open at both ends at the right endpoint of this range if empty
+     */
+    private InstantRange create(BigIntegerSpan elements) {
+        if (elements == null) {
+            return new InstantRange(rightEndpoint.getValue(), BoundType.OPEN, rightEndpoint.getValue(),
+                BoundType.OPEN, step);
+        }
+        // a single element keeps the step of this range
+        final Duration s = elements.lastIndex.signum() == 0 ? step : toDuration(elements.step);
+        return new InstantRange(toInstant(elements.first), BoundType.CLOSED, toInstant(elements.last()),
+            BoundType.CLOSED, s);
+    }
+
+    // iterable
+    // ---------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Iterator<Instant> createIterator() {
+        if (span == null) {
+            return Collections.<Instant>emptySet().iterator();
+        }
+        return new Iterator<Instant>() {
+            private BigInteger remaining = span.size();
+            private Instant next = first();
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+
+            public Instant next() {
+                if (remaining.signum() == 0) {
+                    throw new NoSuchElementException();
+                }
+                final Instant result = next;
+                remaining = remaining.subtract(BigInteger.ONE);
+                if (remaining.signum() > 0) {
+                    next = next.plus(step);
+                }
+                return result;
+            }
+
+            public boolean hasNext() {
+                return remaining.signum() > 0;
+            }
+        };
+    }
+
+    // helpers
+    // ---------------------------------------------------------------
+
+    /**
+     * Convert seconds and nanoseconds to nanoseconds.
+     *
+     * @param seconds whole seconds
+     * @param nanos nanoseconds within the second
+     * @return BigInteger
+     */
+    private static BigInteger toNanos(long seconds, int nanos) {
+        return BigInteger.valueOf(seconds).multiply(NANOS_PER_SECOND).add(BigInteger.valueOf(nanos));
+    }
+
+    /**
+     * Convert nanoseconds from the epoch to an Instant.
+     *
+     * @param nanos from the epoch
+     * @return Instant
+     */
+    private static Instant toInstant(BigInteger nanos) {
+        final BigInteger[] division = nanos.divideAndRemainder(NANOS_PER_SECOND);
+        return Instant.ofEpochSecond(division[0].longValue(), division[1].longValue());
+    }
+
+    /**
+     * Convert nanoseconds to a Duration.
+     *
+     * @param nanos length in nanoseconds
+     * @return Duration
+     */
+    private static Duration toDuration(BigInteger nanos) {
+        final BigInteger[] division = nanos.divideAndRemainder(NANOS_PER_SECOND);
+        return Duration.ofSeconds(division[0].longValueExact(), division[1].longValue());
+    }
+
+}
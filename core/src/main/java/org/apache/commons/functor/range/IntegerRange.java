@@ -16,9 +16,19 @@
  */
 package org.apache.commons.functor.range;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.functor.IntBinaryFunction;
+import org.apache.commons.functor.IntPredicate;
+import org.apache.commons.functor.IntProcedure;
 import org.apache.commons.lang3.Validate;
 
 /**
@@ -26,7 +36,7 @@ import org.apache.commons.lang3.Validate;
  *
  * @since 1.0
  */
-public class IntegerRange extends NumericRange<Integer> {
+public class IntegerRange extends NumericRange<Integer> implements IndexedRange<Integer, Integer> {
 
     // attributes
     // ---------------------------------------------------------------
@@ -42,6 +52,16 @@ public class IntegerRange extends NumericRange<Integer> {
             }
         };
 
+    /**
+     * The elements of this range, or <code>null</code> if it is empty.
+     */
+    private final IntegralSpan span;
+
+    /**
+     * The boxed elements of this range if it is {@link #cached() cached}, or <code>null</code>.
+     */
+    private final List<Integer> elements;
+
     // constructors
     // ---------------------------------------------------------------
     /**
@@ -79,7 +99,7 @@ public class IntegerRange extends NumericRange<Integer> {
      *            end
      */
     public IntegerRange(int from, int to) {
-        this(from, to, DEFAULT_STEP.evaluate(from, to).intValue());
+        this(from, to, from > to ? -1 : 1);
     }
 
     /**
@@ -125,7 +145,7 @@ public class IntegerRange extends NumericRange<Integer> {
      *             if either {@link BoundType} is {@code null}
      */
     public IntegerRange(int from, BoundType leftBoundType, int to, BoundType rightBoundType) {
-        this(from, leftBoundType, to, rightBoundType, DEFAULT_STEP.evaluate(from, to));
+        this(from, leftBoundType, to, rightBoundType, from > to ? -1 : 1);
     }
 
     /**
@@ -141,6 +161,18 @@ public class IntegerRange extends NumericRange<Integer> {
      *             if either {@link Endpoint} is {@code null}
      */
     public IntegerRange(Endpoint<Integer> from, Endpoint<Integer> to, int step) {
+        this(from, to, step, false);
+    }
+
+    /**
+     * Create a new IntegerRange.
+     *
+     * @param from start
+     * @param to end
+     * @param step increment
+     * @param cache whether to box the elements up front
+     */
+    private IntegerRange(Endpoint<Integer> from, Endpoint<Integer> to, int step, boolean cache) {
         super(from, to, Integer.valueOf(step), new BinaryFunction<Integer, Integer, Integer>() {
 
             public Integer evaluate(Integer left, Integer right) {
@@ -151,8 +183,10 @@ public class IntegerRange extends NumericRange<Integer> {
         final int f = from.getValue();
         final int t = to.getValue();
 
-        Validate.isTrue(f == t || Integer.signum(step) == Integer.signum(t - f),
+        Validate.isTrue(f == t || Integer.signum(step) == Integer.signum(Integer.compare(t, f)),
             "Will never reach '%s' from '%s' using step %s", t, f, step);
+        this.span = IntegralSpan.of(this);
+        this.elements = cache ? box() : null;
     }
 
     /**
@@ -175,42 +209,544 @@ public class IntegerRange extends NumericRange<Integer> {
         this(new Endpoint<Integer>(from, leftBoundType), new Endpoint<Integer>(to, rightBoundType), step);
     }
 
+    // range methods
+    // ---------------------------------------------------------------
+
     /**
      * {@inheritDoc}
+     * Membership is computed exactly in integer arithmetic.
      */
-    protected Iterator<Integer> createIterator() {
-        return new Iterator<Integer>() {
-            private int currentValue;
+    @Override
+    public boolean contains(Integer obj) {
+        return obj != null && contains(obj.intValue());
+    }
 
-            {
-                currentValue = leftEndpoint.getValue();
+    /**
+     * Learn whether an <code>int</code> is an element of this range, without boxing.
+     *
+     * @param value to test
+     * @return boolean
+     */
+    public boolean contains(int value) {
+        return span != null && span.contains(value);
+    }
 
-                if (leftEndpoint.getBoundType() == BoundType.OPEN) {
-                    this.currentValue += step;
-                }
+    /**
+     * {@inheritDoc}
+     * Computed from the elements, so a range whose first element would overflow an <code>int</code> is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return span == null;
+    }
+
+    /**
+     * Get the number of elements of this range, computed from its endpoints and step.
+     *
+     * @return long
+     */
+    public long size() {
+        return span == null ? 0L : span.size();
+    }
+
+    /**
+     * Get the element at <code>index</code>, in iteration order.
+     *
+     * @param index from <code>0</code>
+     * @return int
+     * @throws IndexOutOfBoundsException if <code>index</code> is negative or not below {@link #size()}
+     */
+    public int get(long index) {
+        if (span == null) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: 0");
+        }
+        return (int) span.get(index);
+    }
+
+    /**
+     * Get the position of <code>value</code> in iteration order.
+     *
+     * @param value to look up
+     * @return index, or <code>-1</code> if <code>value</code> is not an element
+     */
+    public long indexOf(int value) {
+        return span == null ? -1L : span.indexOf(value);
+    }
+
+    /**
+     * Get the first element of this range.
+     *
+     * @return int
+     * @throws NoSuchElementException if this range is empty
+     */
+    public int first() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return (int) span.first;
+    }
+
+    /**
+     * Get the last element of this range.
+     *
+     * @return int
+     * @throws NoSuchElementException if this range is empty
+     */
+    public int last() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return (int) span.last();
+    }
+
+    /**
+     * Get an unmodifiable, random access {@link List} view of the elements of this range,
+     * in iteration order. Elements are computed on demand, not stored, unless this range is {@link #cached()}.
+     *
+     * @return List
+     * @throws IllegalStateException if this range has more than <code>Integer.MAX_VALUE</code> elements
+     */
+    public List<Integer> asList() {
+        if (elements != null) {
+            return elements;
+        }
+        return new IntegralList<Integer>(span, Integer.class) {
+            @Override
+            Integer valueOf(long value) {
+                return Integer.valueOf((int) value);
+            }
+        };
+    }
+
+    /**
+     * Get a range with the same elements, which boxes them once, up front, into an
+     * immutable array shared by every iteration and {@link #asList()} view of it,
+     * in any thread. Meant for small ranges iterated repeatedly, such as lookup
+     * tables, where boxing each element on each iteration would allocate.
+     * Ranges derived from it are not cached.
+     *
+     * @return IntegerRange, equal to this range
+     * @throws IllegalStateException if this range has more than <code>Integer.MAX_VALUE</code> elements
+     */
+    public IntegerRange cached() {
+        return elements != null ? this : new IntegerRange(leftEndpoint, rightEndpoint, step, true);
+    }
+
+    /**
+     * Learn whether the elements of this range are boxed up front.
+     *
+     * @return boolean
+     * @see #cached()
+     */
+    public boolean isCached() {
+        return elements != null;
+    }
+
+    /**
+     * Box the elements of this range.
+     *
+     * @return an unmodifiable List backed by an array
+     * @throws IllegalStateException if this range has more than <code>Integer.MAX_VALUE</code> elements
+     */
+    private List<Integer> box() {
+        final long size = size();
+        Validate.validState(size <= Integer.MAX_VALUE, "Range has too many elements to cache: %s", size);
+        final Integer[] result = new Integer[(int) size];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Integer.valueOf((int) span.get(i));
+        }
+        return Collections.unmodifiableList(Arrays.asList(result));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The parts are closed ranges with the step of this range, whose sizes differ by at most one.
+     */
+    @Override
+    public List<IntegerRange> split(int count) {
+        Validate.isTrue(count > 0, "Count must be positive");
+        if (span == null) {
+            return Collections.singletonList(this);
+        }
+        final long[] bounds = span.split(count);
+        final List<IntegerRange> result = new ArrayList<IntegerRange>(bounds.length / 2);
+        for (int i = 0; i < bounds.length; i += 2) {
+            result.add(new IntegerRange((int) bounds[i], BoundType.CLOSED, (int) bounds[i + 1], BoundType.CLOSED,
+                (int) span.step));
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The spliterator computes each element from the endpoints and step, without boxing, and
+     * splits into balanced halves.
+     */
+    @Override
+    public Spliterator.OfInt spliterator() {
+        if (span == null) {
+            return Spliterators.emptyIntSpliterator();
+        }
+        return new IntegralSpliterator.Ints(span, 0L, span.lastIndex);
+    }
+
+    // views
+    // ---------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     *
+     * @throws ArithmeticException if the new step does not fit in an int
+     */
+    @Override
+    public IntegerRange stride(long k) {
+        return create(IntegralSpan.stride(span, k));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public IntegerRange skip(long n) {
+        return create(IntegralSpan.skip(span, n));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public IntegerRange limit(long n) {
+        return create(IntegralSpan.limit(span, n));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public IntegerRange subRange(long fromIndex, long toIndex) {
+        return create(IntegralSpan.subRange(span, fromIndex, toIndex));
+    }
+
+    // range algebra
+    // ---------------------------------------------------------------
+
+    /**
+     * Get the range of the elements common to this range and <code>that</code>,
+     * in the direction of this range. Stepped ranges are intersected in constant
+     * time by solving the congruences of their elements (Chinese remainder theorem).
+     *
+     * @param that other range
+     * @return IntegerRange, empty if there are no common elements
+     * @throws ArithmeticException if two common elements are further apart than an int step can express
+     */
+    public IntegerRange intersect(IntegerRange that) {
+        Validate.notNull(that, "IntegerRange argument was null");
+        return create(IntegralSpan.intersection(span, that.span));
+    }
+
+    /**
+     * Get the range of the elements of this range and of <code>that</code>, in the
+     * direction of this range.
+     *
+     * @param that other range
+     * @return IntegerRange
+     * @throws IllegalArgumentException if those elements do not form a single range
+     */
+    public IntegerRange union(IntegerRange that) {
+        Validate.notNull(that, "IntegerRange argument was null");
+        return create(IntegralSpan.union(span, that.span));
+    }
+
+    /**
+     * Get the least range of consecutive values holding every element of this
+     * range and of <code>that</code>, in the direction of this range.
+     *
+     * @param that other range
+     * @return IntegerRange, empty if both ranges are empty
+     */
+    public IntegerRange span(IntegerRange that) {
+        Validate.notNull(that, "IntegerRange argument was null");
+        return create(IntegralSpan.span(span, that.span));
+    }
+
+    /**
+     * Get the range of consecutive values lying strictly between this range and
+     * <code>that</code>, in the direction of this range.
+     *
+     * @param that other range
+     * @return IntegerRange, empty if the ranges are adjacent
+     * @throws IllegalArgumentException if either range is empty, or the least intervals holding them overlap
+     */
+    public IntegerRange gap(IntegerRange that) {
+        Validate.notNull(that, "IntegerRange argument was null");
+        return create(IntegralSpan.gap(span, that.span));
+    }
+
+    /**
+     * Learn whether the least intervals holding the elements of this range and of
+     * <code>that</code> overlap or are adjacent, i.e. whether their
+     * {@link #span(IntegerRange) span} holds no value outside both of those intervals.
+     *
+     * @param that other range
+     * @return boolean, <code>false</code> if either range is empty
+     */
+    public boolean isConnected(IntegerRange that) {
+        Validate.notNull(that, "IntegerRange argument was null");
+        return IntegralSpan.isConnected(span, that.span);
+    }
+
+    /**
+     * Learn whether every element of <code>that</code> is an element of this range.
+     *
+     * @param that other range
+     * @return boolean
+     */
+    public boolean encloses(IntegerRange that) {
+        Validate.notNull(that, "IntegerRange argument was null");
+        return that.span == null || span != null && span.encloses(that.span);
+    }
+
+    /**
+     * Create a range of the elements described, in the direction of this range.
+     *
+     * @param elements least element, greatest element and unsigned stride, or <code>null</code> if none
+     * @return IntegerRange
+     * @throws ArithmeticException if the stride does not fit in an int
+     */
+    private IntegerRange create(long[] elements) {
+        final int s = step.intValue();
+        if (elements == null) {
+            final int value = leftEndpoint.getValue().intValue();
+            return new IntegerRange(value, BoundType.OPEN, value, BoundType.OPEN, s);
+        }
+        if (Long.compareUnsigned(elements[2], Integer.MAX_VALUE) > 0) {
+            throw new ArithmeticException("Step does not fit in an int: " + Long.toUnsignedString(elements[2]));
+        }
+        final int stride = (int) elements[2];
+        if (s < 0) {
+            return new IntegerRange((int) elements[1], BoundType.CLOSED, (int) elements[0], BoundType.CLOSED, -stride);
+        }
+        return new IntegerRange((int) elements[0], BoundType.CLOSED, (int) elements[1], BoundType.CLOSED, stride);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isReversible() {
+        // the negated step must fit in an int once there is a second element
+        return step.intValue() != Integer.MIN_VALUE || span == null || span.lastIndex == 0L;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The reversed range is closed at both ends, or open at both ends if empty.
+     * @throws UnsupportedOperationException if the step is <code>Integer.MIN_VALUE</code> and this
+     *         range holds two elements
+     */
+    @Override
+    public IntegerRange reversed() {
+        final int s = step.intValue();
+        if (span == null) {
+            final int value = rightEndpoint.getValue().intValue();
+            return new IntegerRange(value, BoundType.OPEN, value, BoundType.OPEN, -s);
+        }
+        if (s == Integer.MIN_VALUE) {
+            // the reversed step does not fit in an int, which only matters with a second element
+            if (span.lastIndex > 0L) {
+                throw new UnsupportedOperationException("Cannot reverse a step of " + s);
+            }
+            return new IntegerRange((int) span.first, BoundType.CLOSED, (int) span.first, BoundType.CLOSED, s);
+        }
+        return new IntegerRange((int) span.last(), BoundType.CLOSED, (int) span.first, BoundType.CLOSED, -s);
+    }
+
+    /**
+     * Run <code>procedure</code> for each element of this range, in iteration
+     * order, without boxing.
+     *
+     * @param procedure {@link IntProcedure} to run
+     */
+    public void run(IntProcedure procedure) {
+        Validate.notNull(procedure, "IntProcedure argument was null");
+        if (span == null) {
+            return;
+        }
+        final long first = span.first;
+        final long s = span.step;
+        for (long i = 0L;; i++) {
+            procedure.run((int) (first + i * s));
+            if (i == span.lastIndex) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Fold the elements of this range from left to right, in iteration order,
+     * without boxing.
+     *
+     * @param seed initial left-side argument
+     * @param function {@link IntBinaryFunction} to apply to each (seed, next)
+     * @return the result of the fold, or <code>seed</code> if this range is empty
+     */
+    public int foldLeft(int seed, final IntBinaryFunction function) {
+        Validate.notNull(function, "IntBinaryFunction argument was null");
+        final int[] result = new int[] {seed};
+        run(new IntProcedure() {
+            public void run(int value) {
+                result[0] = function.evaluateAsInt(result[0], value);
             }
+        });
+        return result[0];
+    }
+
+    // bulk operations
+    // ---------------------------------------------------------------
+
+    /**
+     * Copy the elements of this range into a new array, in iteration order.
+     *
+     * @return int[]
+     * @throws IllegalStateException if this range has more than <code>Integer.MAX_VALUE</code> elements
+     */
+    public int[] toIntArray() {
+        final long size = size();
+        Validate.validState(size <= Integer.MAX_VALUE, "Too many elements for an array: %s", size);
+        final int[] result = new int[(int) size];
+        fill(result, 0);
+        return result;
+    }
+
+    /**
+     * Copy the elements of this range into <code>dest</code> from <code>offset</code>,
+     * in iteration order.
+     *
+     * @param dest array to fill
+     * @param offset index of <code>dest</code> to write the first element to
+     * @return the number of elements written
+     * @throws IndexOutOfBoundsException if the elements do not fit in <code>dest</code> from <code>offset</code>
+     */
+    public int fill(int[] dest, int offset) {
+        Validate.notNull(dest, "int[] argument was null");
+        final long size = size();
+        if (offset < 0 || offset > dest.length || size > dest.length - offset) {
+            throw new IndexOutOfBoundsException("Cannot fit " + size + " elements at " + offset + " of " + dest.length);
+        }
+        final int n = (int) size;
+        if (n > 0) {
+            final int first = (int) span.first;
+            final int s = (int) span.step;
+            // a counted loop on the element type, so that it can be vectorized
+            for (int i = 0; i < n; i++) {
+                dest[offset + i] = first + i * s;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Get the sum of the elements of this range, computed in closed form as an arithmetic series.
+     *
+     * @return long, <code>0</code> if this range is empty
+     */
+    public long sum() {
+        if (span == null) {
+            return 0L;
+        }
+        // first + last is even whenever the number of elements is odd
+        final long n = span.lastIndex + 1L;
+        final long ends = span.first + span.last();
+        return n % 2L == 0L ? n / 2L * ends : ends / 2L * n;
+    }
+
+    /**
+     * Get the least element of this range.
+     *
+     * @return int
+     * @throws NoSuchElementException if this range is empty
+     */
+    public int min() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return (int) span.low;
+    }
+
+    /**
+     * Get the greatest element of this range.
+     *
+     * @return int
+     * @throws NoSuchElementException if this range is empty
+     */
+    public int max() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return (int) span.high;
+    }
+
+    /**
+     * Count the elements of this range matching <code>predicate</code>, without boxing.
+     *
+     * @param predicate {@link IntPredicate} to test each element with
+     * @return long
+     */
+    public long count(IntPredicate predicate) {
+        Validate.notNull(predicate, "IntPredicate argument was null");
+        if (span == null) {
+            return 0L;
+        }
+        long result = 0L;
+        final long first = span.first;
+        final long s = span.step;
+        for (long i = 0L;; i++) {
+            if (predicate.test((int) (first + i * s))) {
+                result++;
+            }
+            if (i == span.lastIndex) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected Iterator<Integer> createIterator() {
+        if (elements != null) {
+            return elements.iterator();
+        }
+        if (span == null) {
+            return Collections.<Integer>emptySet().iterator();
+        }
+        return new Iterator<Integer>() {
+            // by index, so that stepping past the last element cannot overflow
+            private long index = 0L;
+            private boolean done = false;
 
             public void remove() {
                 throw new UnsupportedOperationException();
             }
 
             public Integer next() {
-                final int step = getStep();
-                final int r = currentValue;
-                currentValue += step;
-                return Integer.valueOf(r);
+                if (done) {
+                    throw new NoSuchElementException();
+                }
+                final long r = span.first + index * span.step;
+                if (index == span.lastIndex) {
+                    done = true;
+                } else {
+                    index++;
+                }
+                return Integer.valueOf((int) r);
             }
 
             public boolean hasNext() {
-                final int cmp = Integer.valueOf(currentValue).compareTo(rightEndpoint.getValue());
-
-                if (cmp == 0) {
-                    return rightEndpoint.getBoundType() == BoundType.CLOSED;
-                }
-                if (step > 0) {
-                    return cmp < 0;
-                }
-                return cmp > 0;
+                return !done;
             }
         };
     }
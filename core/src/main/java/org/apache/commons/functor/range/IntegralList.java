@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * An unmodifiable {@link java.util.List} view of the elements of an integral
+ * range, computing each element and index from the range's
+ * {@link IntegralSpan} rather than storing them.
+ *
+ * @param <T> the element type.
+ */
+abstract class IntegralList<T> extends AbstractList<T> implements RandomAccess {
+    // attributes
+    // ---------------------------------------------------------------
+    /**
+     * The elements, or <code>null</code> if there are none.
+     */
+    private final IntegralSpan span;
+    /**
+     * The element type.
+     */
+    private final Class<T> type;
+    /**
+     * The number of elements.
+     */
+    private final int size;
+
+    // constructor
+    // ---------------------------------------------------------------
+    /**
+     * Create a new IntegralList.
+     * @param span elements, <code>null</code> if there are none
+     * @param type element type
+     * @throws IllegalStateException if there are more than <code>Integer.MAX_VALUE</code> elements
+     */
+    IntegralList(IntegralSpan span, Class<T> type) {
+        this.span = span;
+        this.type = type;
+        final long count = span == null ? 0L : span.size();
+        Validate.validState(count <= Integer.MAX_VALUE, "Too many elements for a List: %s", count);
+        this.size = (int) count;
+    }
+
+    // list methods
+    // ---------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return valueOf(span.get(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int indexOf(Object o) {
+        if (span == null || !type.isInstance(o)) {
+            return -1;
+        }
+        return (int) span.indexOf(IntegralSpan.toLong(o));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        // elements are distinct
+        return indexOf(o);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Box an element.
+     * @param value element
+     * @return T
+     */
+    abstract T valueOf(long value);
+}
@@ -0,0 +1,518 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import java.math.BigInteger;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * The elements of a non-empty integral range ({@link IntegerRange},
+ * {@link LongRange} or {@link CharacterRange}) described in <code>long</code>
+ * arithmetic: the first element, the step, and the smallest interval
+ * <code>[low, high]</code> holding every element.
+ */
+final class IntegralSpan {
+    // attributes
+    // ---------------------------------------------------------------
+    /**
+     * The first element.
+     */
+    final long first;
+    /**
+     * The step.
+     */
+    final long step;
+    /**
+     * The least element.
+     */
+    final long low;
+    /**
+     * The greatest element.
+     */
+    final long high;
+    /**
+     * The unsigned index of the last element.
+     */
+    final long lastIndex;
+
+    // constructor
+    // ---------------------------------------------------------------
+    /**
+     * Create a new IntegralSpan.
+     * @param first first element
+     * @param step step
+     * @param bound limit of the elements in the direction of <code>step</code> (inclusive)
+     */
+    private IntegralSpan(long first, long step, long bound) {
+        this.first = first;
+        this.step = step;
+        // distance and stride are unsigned, as either may exceed Long.MAX_VALUE
+        final long distance = step > 0 ? bound - first : first - bound;
+        final long stride = step > 0 ? step : -step;
+        this.lastIndex = distance == 0L ? 0L : Long.divideUnsigned(distance, stride);
+        final long last = first + lastIndex * step;
+        this.low = step > 0 ? first : last;
+        this.high = step > 0 ? last : first;
+    }
+
+    // methods
+    // ---------------------------------------------------------------
+    /**
+     * Learn whether <code>value</code> is an element.
+     * @param value to test
+     * @return boolean
+     */
+    boolean contains(long value) {
+        if (value < low || value > high) {
+            return false;
+        }
+        if (isContiguous()) {
+            return true;
+        }
+        final long distance = value - low;
+        final long stride = step > 0 ? step : -step;
+        if (distance >= 0L && stride > 0L) {
+            return distance % stride == 0L;
+        }
+        // either exceeds Long.MAX_VALUE
+        return Long.remainderUnsigned(distance, stride) == 0L;
+    }
+
+    /**
+     * Get the number of elements.
+     * @return long, or <code>Long.MAX_VALUE</code> if there are more
+     */
+    long size() {
+        return lastIndex < 0L || lastIndex == Long.MAX_VALUE ? Long.MAX_VALUE : lastIndex + 1L;
+    }
+
+    /**
+     * Get the element at <code>index</code>.
+     * @param index from <code>0</code>
+     * @return long
+     * @throws IndexOutOfBoundsException if there is no such element
+     */
+    long get(long index) {
+        if (index < 0L || Long.compareUnsigned(index, lastIndex) > 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return first + index * step;
+    }
+
+    /**
+     * Get the index of <code>value</code>.
+     * @param value to look up
+     * @return index, or <code>-1</code> if <code>value</code> is not an element
+     * @throws ArithmeticException if the index exceeds <code>Long.MAX_VALUE</code>
+     */
+    long indexOf(long value) {
+        if (value == first) {
+            return 0L;
+        }
+        if (!contains(value)) {
+            return -1L;
+        }
+        final long index = step > 0 ? Long.divideUnsigned(value - first, step)
+            : Long.divideUnsigned(first - value, -step);
+        if (index < 0L) {
+            throw new ArithmeticException("Index of " + value + " exceeds Long.MAX_VALUE");
+        }
+        return index;
+    }
+
+    /**
+     * Get the last element.
+     * @return long
+     */
+    long last() {
+        return step > 0 ? high : low;
+    }
+
+    /**
+     * Divide the elements into at most <code>count</code> runs of consecutive
+     * elements whose sizes differ by at most one.
+     * @param count maximum number of runs, positive
+     * @return first and last element of each run, in order
+     */
+    long[] split(int count) {
+        final long n = Long.compareUnsigned(lastIndex, count - 1L) < 0 ? lastIndex + 1L : count;
+        // lastIndex + 1 elements, as q * n + r without overflow
+        long q = Long.divideUnsigned(lastIndex, n);
+        long r = Long.remainderUnsigned(lastIndex, n) + 1L;
+        if (r == n) {
+            q++;
+            r = 0L;
+        }
+        final long[] result = new long[(int) n * 2];
+        long start = 0L;
+        for (int i = 0; i < n; i++) {
+            final long length = i < r ? q + 1L : q;
+            result[i * 2] = first + start * step;
+            result[i * 2 + 1] = first + (start + length - 1L) * step;
+            start += length;
+        }
+        return result;
+    }
+
+    /**
+     * Learn whether any element lies in <code>[from, to]</code>.
+     * @param from least value (inclusive)
+     * @param to greatest value (inclusive)
+     * @return boolean
+     */
+    boolean intersects(long from, long to) {
+        return intersects(low, high, step > 0 ? step : -step, from, to);
+    }
+
+    /**
+     * Learn whether the elements are all the values in <code>[low, high]</code>.
+     * @return boolean
+     */
+    boolean isContiguous() {
+        return step == 1L || step == -1L || low == high;
+    }
+
+    /**
+     * Describe the elements of <code>range</code>.
+     * @param range an integral range
+     * @return IntegralSpan, or <code>null</code> if <code>range</code> is empty
+     * @throws IllegalArgumentException if <code>range</code> does not hold integral values
+     */
+    static IntegralSpan of(Range<?, ?> range) {
+        Validate.notNull(range, "Range argument was null");
+        final long left = toLong(range.getLeftEndpoint().getValue());
+        final long right = toLong(range.getRightEndpoint().getValue());
+        if (left == right && (range.getLeftEndpoint().getBoundType() == BoundType.OPEN
+            || range.getRightEndpoint().getBoundType() == BoundType.OPEN)) {
+            // a zero step would otherwise admit the endpoint
+            return null;
+        }
+        final long step = toLong(range.getStep());
+        final long first = range.getLeftEndpoint().getBoundType() == BoundType.CLOSED ? left : left + step;
+        long bound = right;
+        if (range.getRightEndpoint().getBoundType() == BoundType.OPEN) {
+            bound = step > 0 ? right - 1L : right + 1L;
+        }
+        // guards against steps that overflow the element type
+        final boolean overflow = step > 0 ? first < left : first > left;
+        if (overflow || (step > 0 ? first > bound : first < bound)) {
+            return null;
+        }
+        return new IntegralSpan(first, step, bound);
+    }
+
+    /**
+     * Learn whether the elements of <code>that</code> are all elements of this span.
+     * @param that other span
+     * @return boolean
+     */
+    boolean encloses(IntegralSpan that) {
+        if (that.low < low || that.high > high) {
+            return false;
+        }
+        if (that.low == that.high || isContiguous()) {
+            return contains(that.low);
+        }
+        return Long.remainderUnsigned(stride(that), stride(this)) == 0L && contains(that.low);
+    }
+
+    // algebra
+    // ---------------------------------------------------------------
+    /**
+     * Describe the elements common to <code>a</code> and <code>b</code>, solving
+     * for stepped spans the congruences of their elements by the Chinese
+     * remainder theorem.
+     * @param a span, <code>null</code> if empty
+     * @param b span, <code>null</code> if empty
+     * @return least element, greatest element and unsigned stride, or <code>null</code> if there are none
+     */
+    static long[] intersection(IntegralSpan a, IntegralSpan b) {
+        if (a == null || b == null) {
+            return null;
+        }
+        final long low = Math.max(a.low, b.low);
+        final long high = Math.min(a.high, b.high);
+        if (low > high) {
+            return null;
+        }
+        if (a.low == a.high || b.low == b.high) {
+            final long value = a.low == a.high ? a.low : b.low;
+            return a.contains(value) && b.contains(value) ? new long[] {value, value, 1L} : null;
+        }
+        final BigInteger m1 = unsigned(stride(a));
+        final BigInteger m2 = unsigned(stride(b));
+        final BigInteger gcd = m1.gcd(m2);
+        final BigInteger difference = BigInteger.valueOf(b.low).subtract(BigInteger.valueOf(a.low));
+        if (difference.mod(gcd).signum() != 0) {
+            return null;
+        }
+        // x = a.low + m1 * k, where m1 / gcd * k = difference / gcd (mod m2 / gcd)
+        final BigInteger modulus = m2.divide(gcd);
+        final BigInteger k = difference.divide(gcd).multiply(m1.divide(gcd).modInverse(modulus)).mod(modulus);
+        final BigInteger lcm = m1.multiply(modulus);
+        final BigInteger solution = BigInteger.valueOf(a.low).add(m1.multiply(k));
+        final BigInteger first = BigInteger.valueOf(low).add(solution.subtract(BigInteger.valueOf(low)).mod(lcm));
+        final BigInteger bound = BigInteger.valueOf(high);
+        if (first.compareTo(bound) > 0) {
+            return null;
+        }
+        final BigInteger last = bound.subtract(bound.subtract(first).mod(lcm));
+        if (first.equals(last)) {
+            return new long[] {first.longValue(), first.longValue(), 1L};
+        }
+        // two elements lie within 2^64 of each other, so the stride fits in an unsigned long
+        return new long[] {first.longValue(), last.longValue(), lcm.longValue()};
+    }
+
+    /**
+     * Describe the least interval holding the elements of <code>a</code> and <code>b</code>.
+     * @param a span, <code>null</code> if empty
+     * @param b span, <code>null</code> if empty
+     * @return least element, greatest element and unsigned stride, or <code>null</code> if both are empty
+     */
+    static long[] span(IntegralSpan a, IntegralSpan b) {
+        if (a == null || b == null) {
+            final IntegralSpan span = a == null ? b : a;
+            return span == null ? null : new long[] {span.low, span.high, 1L};
+        }
+        return new long[] {Math.min(a.low, b.low), Math.max(a.high, b.high), 1L};
+    }
+
+    /**
+     * Describe the elements of <code>a</code> and <code>b</code> together. Their
+     * union is a single progression exactly when it holds as many elements as
+     * the progression from its least to its greatest element whose stride is the
+     * greatest common divisor of all differences between elements.
+     * @param a span, <code>null</code> if empty
+     * @param b span, <code>null</code> if empty
+     * @return least element, greatest element and unsigned stride, or <code>null</code> if both are empty
+     * @throws IllegalArgumentException if the elements do not form a single progression
+     */
+    static long[] union(IntegralSpan a, IntegralSpan b) {
+        if (a == null || b == null) {
+            final IntegralSpan span = a == null ? b : a;
+            return span == null ? null : new long[] {span.low, span.high, span.low == span.high ? 1L : stride(span)};
+        }
+        final long low = Math.min(a.low, b.low);
+        final long high = Math.max(a.high, b.high);
+        final BigInteger stride = unsigned(a.low == a.high ? 0L : stride(a))
+            .gcd(unsigned(b.low == b.high ? 0L : stride(b)))
+            .gcd(BigInteger.valueOf(b.low).subtract(BigInteger.valueOf(a.low)).abs());
+        if (stride.signum() == 0) {
+            // the same single element
+            return new long[] {low, high, 1L};
+        }
+        final BigInteger count = count(a.low, a.high, a.low == a.high ? 1L : stride(a))
+            .add(count(b.low, b.high, b.low == b.high ? 1L : stride(b)))
+            .subtract(count(intersection(a, b)));
+        final BigInteger expected = count(low, high, stride.longValue());
+        Validate.isTrue(count.equals(expected), "Union is not a single range");
+        return new long[] {low, high, stride.longValue()};
+    }
+
+    /**
+     * Describe the values lying strictly between <code>a</code> and <code>b</code>.
+     * @param a span
+     * @param b span
+     * @return least value, greatest value and unit stride, or <code>null</code> if <code>a</code>
+     *         and <code>b</code> are adjacent
+     * @throws IllegalArgumentException if either is empty or they overlap
+     */
+    static long[] gap(IntegralSpan a, IntegralSpan b) {
+        Validate.isTrue(a != null && b != null, "Empty ranges have no gap");
+        final IntegralSpan lower = a.low <= b.low ? a : b;
+        final IntegralSpan upper = lower == a ? b : a;
+        Validate.isTrue(lower.high < upper.low, "Ranges overlap");
+        if (lower.high + 1L == upper.low) {
+            return null;
+        }
+        return new long[] {lower.high + 1L, upper.low - 1L, 1L};
+    }
+
+    /**
+     * Learn whether the least intervals holding <code>a</code> and <code>b</code>
+     * overlap or are adjacent.
+     * @param a span, <code>null</code> if empty
+     * @param b span, <code>null</code> if empty
+     * @return boolean
+     */
+    static boolean isConnected(IntegralSpan a, IntegralSpan b) {
+        if (a == null || b == null) {
+            return false;
+        }
+        final IntegralSpan lower = a.low <= b.low ? a : b;
+        final IntegralSpan upper = lower == a ? b : a;
+        return upper.low <= lower.high || upper.low - lower.high == 1L;
+    }
+
+    /**
+     * Describe the elements of <code>span</code> from <code>fromIndex</code> to <code>toIndex</code>.
+     * @param span span, <code>null</code> if empty
+     * @param fromIndex index of the first element (inclusive)
+     * @param toIndex index after the last element (exclusive)
+     * @return least element, greatest element and unsigned stride, or <code>null</code> if there are none
+     * @throws IndexOutOfBoundsException if the indices are out of order or out of bounds
+     */
+    static long[] subRange(IntegralSpan span, long fromIndex, long toIndex) {
+        final long size = span == null ? 0L : span.size();
+        if (fromIndex < 0L || fromIndex > toIndex || toIndex > size) {
+            throw new IndexOutOfBoundsException("From index: " + fromIndex + ", to index: " + toIndex + ", size: "
+                + size);
+        }
+        return fromIndex == toIndex ? null : elements(span, fromIndex, toIndex - 1L);
+    }
+
+    /**
+     * Describe the elements of <code>span</code> after the first <code>n</code>.
+     * @param span span, <code>null</code> if empty
+     * @param n number of elements to skip, not negative
+     * @return least element, greatest element and unsigned stride, or <code>null</code> if there are none
+     */
+    static long[] skip(IntegralSpan span, long n) {
+        Validate.isTrue(n >= 0L, "Count must not be negative");
+        if (span == null || Long.compareUnsigned(n, span.lastIndex) > 0) {
+            return null;
+        }
+        return elements(span, n, span.lastIndex);
+    }
+
+    /**
+     * Describe at most the first <code>n</code> elements of <code>span</code>.
+     * @param span span, <code>null</code> if empty
+     * @param n number of elements to keep, not negative
+     * @return least element, greatest element and unsigned stride, or <code>null</code> if there are none
+     */
+    static long[] limit(IntegralSpan span, long n) {
+        Validate.isTrue(n >= 0L, "Count must not be negative");
+        if (span == null || n == 0L) {
+            return null;
+        }
+        return elements(span, 0L, Long.compareUnsigned(n - 1L, span.lastIndex) < 0 ? n - 1L : span.lastIndex);
+    }
+
+    /**
+     * Describe every <code>k</code>-th element of <code>span</code>, starting with the first.
+     * @param span span, <code>null</code> if empty
+     * @param k distance between the indices of the elements kept, positive
+     * @return least element, greatest element and unsigned stride, or <code>null</code> if there are none
+     */
+    static long[] stride(IntegralSpan span, long k) {
+        Validate.isTrue(k > 0L, "Stride must be positive");
+        if (span == null) {
+            return null;
+        }
+        final long lastIndex = Long.divideUnsigned(span.lastIndex, k) * k;
+        if (lastIndex == 0L) {
+            return new long[] {span.first, span.first, 1L};
+        }
+        final long last = span.first + lastIndex * span.step;
+        // two elements lie within 2^64 of each other, so the stride cannot overflow
+        return new long[] {Math.min(span.first, last), Math.max(span.first, last), stride(span) * k};
+    }
+
+    /**
+     * Describe the elements of <code>span</code> from <code>fromIndex</code> to <code>toIndex</code>.
+     * @param span span
+     * @param fromIndex unsigned index of the first element (inclusive)
+     * @param toIndex unsigned index of the last element (inclusive)
+     * @return least element, greatest element and unsigned stride
+     */
+    private static long[] elements(IntegralSpan span, long fromIndex, long toIndex) {
+        final long first = span.first + fromIndex * span.step;
+        final long last = span.first + toIndex * span.step;
+        return new long[] {Math.min(first, last), Math.max(first, last), first == last ? 1L : stride(span)};
+    }
+
+    /**
+     * Count the elements of a progression.
+     * @param elements least element, greatest element and unsigned stride, or <code>null</code> if none
+     * @return BigInteger
+     */
+    private static BigInteger count(long[] elements) {
+        return elements == null ? BigInteger.ZERO : count(elements[0], elements[1], elements[2]);
+    }
+
+    /**
+     * Count the elements of a progression.
+     * @param low least element
+     * @param high greatest element
+     * @param stride unsigned distance between elements
+     * @return BigInteger
+     */
+    private static BigInteger count(long low, long high, long stride) {
+        return unsigned(Long.divideUnsigned(high - low, stride)).add(BigInteger.ONE);
+    }
+
+    /**
+     * Get the unsigned distance between the elements of <code>span</code>.
+     * @param span span
+     * @return long
+     */
+    private static long stride(IntegralSpan span) {
+        return span.step > 0 ? span.step : -span.step;
+    }
+
+    /**
+     * Get an unsigned <code>long</code> as a BigInteger.
+     * @param value unsigned
+     * @return BigInteger
+     */
+    private static BigInteger unsigned(long value) {
+        return value >= 0L ? BigInteger.valueOf(value) : BigInteger.valueOf(value).add(BigInteger.ONE.shiftLeft(64));
+    }
+
+    /**
+     * Learn whether any of the elements <code>low, low + stride, ...</code> up to
+     * <code>high</code> lies in <code>[from, to]</code>.
+     * @param low least element
+     * @param high greatest element
+     * @param stride unsigned distance between elements
+     * @param from least value (inclusive)
+     * @param to greatest value (inclusive)
+     * @return boolean
+     */
+    static boolean intersects(long low, long high, long stride, long from, long to) {
+        final long start = Math.max(from, low);
+        final long end = Math.min(to, high);
+        if (start > end) {
+            return false;
+        }
+        if (stride == 1L || low == high) {
+            return true;
+        }
+        // the least element not below start must not pass end
+        final long offset = Long.remainderUnsigned(start - low, stride);
+        return offset == 0L || Long.compareUnsigned(stride - offset, end - start) <= 0;
+    }
+
+    /**
+     * Get the <code>long</code> value of an integral range element or step.
+     * @param value Integer, Long, Short, Byte or Character
+     * @return long
+     * @throws IllegalArgumentException if <code>value</code> is not integral
+     */
+    static long toLong(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Character) {
+            return ((Character) value).charValue();
+        }
+        throw new IllegalArgumentException("Not an integral range value: " + value);
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Base {@link Spliterator} over the elements of a non-empty integral range,
+ * computing each element from the range's {@link IntegralSpan} and splitting
+ * by index, so that parts are balanced and no element is boxed by the
+ * primitive specializations.
+ */
+abstract class IntegralSpliterator {
+    // attributes
+    // ---------------------------------------------------------------
+    /**
+     * The elements.
+     */
+    private final IntegralSpan span;
+    /**
+     * The unsigned index of the next element.
+     */
+    private long index;
+    /**
+     * The unsigned index of the last element (inclusive).
+     */
+    private final long last;
+    /**
+     * Whether the last element has been traversed.
+     */
+    private boolean exhausted;
+
+    // constructor
+    // ---------------------------------------------------------------
+    /**
+     * Create a new IntegralSpliterator.
+     * @param span elements
+     * @param index unsigned index of the first element to traverse
+     * @param last unsigned index of the last element to traverse
+     */
+    IntegralSpliterator(IntegralSpan span, long index, long last) {
+        this.span = span;
+        this.index = index;
+        this.last = last;
+    }
+
+    // spliterator methods
+    // ---------------------------------------------------------------
+    /**
+     * See {@link Spliterator#estimateSize()}.
+     * @return long
+     */
+    public long estimateSize() {
+        if (exhausted) {
+            return 0L;
+        }
+        final long remaining = last - index;
+        return remaining < 0L || remaining == Long.MAX_VALUE ? Long.MAX_VALUE : remaining + 1L;
+    }
+
+    /**
+     * See {@link Spliterator#characteristics()}.
+     * @return int
+     */
+    public int characteristics() {
+        int result = Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        if (span.lastIndex >= 0L && span.lastIndex < Long.MAX_VALUE) {
+            result |= Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+        if (span.step > 0L) {
+            result |= Spliterator.SORTED;
+        }
+        return result;
+    }
+
+    /**
+     * See {@link Spliterator#getComparator()}.
+     * @return <code>null</code>, as ascending elements are in natural order
+     * @throws IllegalStateException if the elements are descending
+     */
+    public Comparator<Object> getComparator() {
+        if (span.step > 0L) {
+            return null;
+        }
+        throw new IllegalStateException("Elements are not sorted");
+    }
+
+    // helpers
+    // ---------------------------------------------------------------
+    /**
+     * Learn whether an element remains.
+     * @return boolean
+     */
+    final boolean hasNext() {
+        return !exhausted;
+    }
+
+    /**
+     * Traverse the next element.
+     * @return long
+     */
+    final long next() {
+        final long result = span.first + index * span.step;
+        if (index == last) {
+            exhausted = true;
+        } else {
+            index++;
+        }
+        return result;
+    }
+
+    /**
+     * Give up the first half of the remaining elements.
+     * @return unsigned first and last index of the prefix, or <code>null</code> if too few remain
+     */
+    final long[] splitPrefix() {
+        if (exhausted || index == last) {
+            return null;
+        }
+        final long start = index;
+        final long mid = index + ((last - index) >>> 1);
+        index = mid + 1L;
+        return new long[] {start, mid};
+    }
+
+    /**
+     * Get the elements.
+     * @return IntegralSpan
+     */
+    final IntegralSpan getSpan() {
+        return span;
+    }
+
+    // specializations
+    // ---------------------------------------------------------------
+    /**
+     * {@link Spliterator.OfInt} over the elements of an {@link IntegerRange}.
+     */
+    static final class Ints extends IntegralSpliterator implements Spliterator.OfInt {
+        /**
+         * Create a new Ints.
+         * @param span elements
+         * @param index unsigned index of the first element to traverse
+         * @param last unsigned index of the last element to traverse
+         */
+        Ints(IntegralSpan span, long index, long last) {
+            super(span, index, last);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean tryAdvance(IntConsumer action) {
+            if (!hasNext()) {
+                return false;
+            }
+            action.accept((int) next());
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            while (hasNext()) {
+                action.accept((int) next());
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Spliterator.OfInt trySplit() {
+            final long[] prefix = splitPrefix();
+            return prefix == null ? null : new Ints(getSpan(), prefix[0], prefix[1]);
+        }
+    }
+
+    /**
+     * {@link Spliterator.OfLong} over the elements of a {@link LongRange}.
+     */
+    static final class Longs extends IntegralSpliterator implements Spliterator.OfLong {
+        /**
+         * Create a new Longs.
+         * @param span elements
+         * @param index unsigned index of the first element to traverse
+         * @param last unsigned index of the last element to traverse
+         */
+        Longs(IntegralSpan span, long index, long last) {
+            super(span, index, last);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean tryAdvance(LongConsumer action) {
+            if (!hasNext()) {
+                return false;
+            }
+            action.accept(next());
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            while (hasNext()) {
+                action.accept(next());
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Spliterator.OfLong trySplit() {
+            final long[] prefix = splitPrefix();
+            return prefix == null ? null : new Longs(getSpan(), prefix[0], prefix[1]);
+        }
+    }
+
+    /**
+     * {@link Spliterator} over the elements of a {@link CharacterRange}.
+     */
+    static final class Characters extends IntegralSpliterator implements Spliterator<Character> {
+        /**
+         * Create a new Characters.
+         * @param span elements
+         * @param index unsigned index of the first element to traverse
+         * @param last unsigned index of the last element to traverse
+         */
+        Characters(IntegralSpan span, long index, long last) {
+            super(span, index, last);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean tryAdvance(Consumer<? super Character> action) {
+            if (!hasNext()) {
+                return false;
+            }
+            action.accept(Character.valueOf((char) next()));
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Spliterator<Character> trySplit() {
+            final long[] prefix = splitPrefix();
+            return prefix == null ? null : new Characters(getSpan(), prefix[0], prefix[1]);
+        }
+    }
+}
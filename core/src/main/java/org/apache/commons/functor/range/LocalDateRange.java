@@ -0,0 +1,262 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A range of <code>LocalDate</code>s, stepping by a <code>Period</code> of
+ * whole days (or weeks) or of whole months (or years). Membership, size and
+ * indexing are computed in the unit of the step, so they take the same time
+ * however many elements the range has.
+ * <p>
+ * The element at index <code>i</code> is the left endpoint plus <code>i</code>
+ * steps (plus one more if the left endpoint is open). Stepping by months keeps
+ * the day of month of the left endpoint where the month is long enough, so
+ * that monthly elements from January 31st fall on February 28th (or 29th),
+ * then March 31st.
+ * </p>
+ */
+public final class LocalDateRange extends AbstractRange<LocalDate, Period> {
+    // attributes
+    //---------------------------------------------------------------
+
+    /**
+     * Whether the step is measured in months rather than days.
+     */
+    private final boolean months;
+
+    /**
+     * The step in days or months, not zero.
+     */
+    private final long units;
+
+    /**
+     * The number of steps from the left endpoint to the first element: <code>1</code> if it is open.
+     */
+    private final long offset;
+
+    /**
+     * The index of the last element, <code>-1</code> if this range is empty.
+     */
+    private final long lastIndex;
+
+    // constructors
+    // ---------------------------------------------------------------
+    /**
+     * Create a new LocalDateRange.
+     *
+     * @param from start
+     * @param to end
+     * @param step increment
+     */
+    public LocalDateRange(LocalDate from, LocalDate to, Period step) {
+        this(from, DEFAULT_LEFT_BOUND_TYPE, to, DEFAULT_RIGHT_BOUND_TYPE, step);
+    }
+
+    /**
+     * Create a new LocalDateRange.
+     *
+     * @param from start
+     * @param leftBoundType type of left bound
+     * @param to end
+     * @param rightBoundType type of right bound
+     * @param step increment
+     * @throws NullPointerException if either {@link BoundType} is {@code null}
+     */
+    public LocalDateRange(LocalDate from, BoundType leftBoundType, LocalDate to, BoundType rightBoundType,
+        Period step) {
+        this(new Endpoint<LocalDate>(from, leftBoundType), new Endpoint<LocalDate>(to, rightBoundType), step);
+    }
+
+    /**
+     * Create a new LocalDateRange.
+     *
+     * @param from start
+     * @param to end
+     * @param step increment, a non-zero number of either days or months
+     * @throws NullPointerException if either {@link Endpoint} is {@code null}
+     * @throws IllegalArgumentException if <code>step</code> mixes days with months or years
+     */
+    public LocalDateRange(Endpoint<LocalDate> from, Endpoint<LocalDate> to, Period step) {
+        super(from, to, step, new BinaryFunction<LocalDate, Period, LocalDate>() {
+
+            public LocalDate evaluate(LocalDate left, Period right) {
+                return left.plus(right);
+            }
+        });
+
+        final LocalDate f = from.getValue();
+        final LocalDate t = to.getValue();
+
+        Validate.isTrue(!step.isZero(), "Step must not be zero");
+        Validate.isTrue(step.getDays() == 0 || step.toTotalMonths() == 0L,
+            "Step must be a number of either days or months: %s", step);
+        this.months = step.getDays() == 0;
+        this.units = months ? step.toTotalMonths() : step.getDays();
+        Validate.isTrue(f.equals(t) || units < 0L == t.isBefore(f),
+            "Will never reach '%s' from '%s' using step %s", t, f, step);
+        this.offset = from.getBoundType() == BoundType.OPEN ? 1L : 0L;
+
+        long steps = Math.floorDiv(position(t) - position(f), units);
+        if (steps >= 0L) {
+            // stepping by months may land beyond the right endpoint within its month
+            final int cmp = element(steps).compareTo(t) * (units < 0L ? -1 : 1);
+            if (cmp > 0 || cmp == 0 && to.getBoundType() == BoundType.OPEN) {
+                steps--;
+            }
+        }
+        this.lastIndex = Math.max(steps - offset, -1L);
+    }
+
+    // range methods
+    // ---------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     * Membership is computed by division in the unit of the step.
+     */
+    public boolean contains(LocalDate obj) {
+        return obj != null && indexOf(obj) >= 0L;
+    }
+
+    /**
+     * Get the number of elements of this range, computed from its endpoints and step.
+     *
+     * @return long
+     */
+    public long size() {
+        return lastIndex + 1L;
+    }
+
+    /**
+     * Get the element at <code>index</code>, in iteration order.
+     *
+     * @param index from <code>0</code>
+     * @return LocalDate
+     * @throws IndexOutOfBoundsException if <code>index</code> is negative or not below {@link #size()}
+     */
+    public LocalDate get(long index) {
+        if (index < 0L || index > lastIndex) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        return element(index + offset);
+    }
+
+    /**
+     * Get the position of <code>value</code> in iteration order.
+     *
+     * @param value to look up
+     * @return index, or <code>-1</code> if <code>value</code> is not an element
+     */
+    public long indexOf(LocalDate value) {
+        Validate.notNull(value, "LocalDate argument was null");
+        final long distance = position(value) - position(leftEndpoint.getValue());
+        if (lastIndex < 0L || distance % units != 0L) {
+            return -1L;
+        }
+        final long index = distance / units - offset;
+        return index >= 0L && index <= lastIndex && element(index + offset).equals(value) ? index : -1L;
+    }
+
+    /**
+     * Get the first element of this range.
+     *
+     * @return LocalDate
+     * @throws NoSuchElementException if this range is empty
+     */
+    public LocalDate first() {
+        if (lastIndex < 0L) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return element(offset);
+    }
+
+    /**
+     * Get the last element of this range.
+     *
+     * @return LocalDate
+     * @throws NoSuchElementException if this range is empty
+     */
+    public LocalDate last() {
+        if (lastIndex < 0L) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return element(lastIndex + offset);
+    }
+
+    // iterable
+    // ---------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     * Elements are computed from the left endpoint rather than from the previous
+     * element, so days of month clipped in short months are not carried forward.
+     */
+    @Override
+    protected Iterator<LocalDate> createIterator() {
+        return new Iterator<LocalDate>() {
+            private long index;
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+
+            public LocalDate next() {
+                if (index > lastIndex) {
+                    throw new NoSuchElementException();
+                }
+                return get(index++);
+            }
+
+            public boolean hasNext() {
+                return index <= lastIndex;
+            }
+        };
+    }
+
+    // helpers
+    // ---------------------------------------------------------------
+
+    /**
+     * Get the date <code>steps</code> steps from the left endpoint.
+     *
+     * @param steps number of steps
+     * @return LocalDate
+     */
+    private LocalDate element(long steps) {
+        final LocalDate left = leftEndpoint.getValue();
+        return months ? left.plusMonths(steps * units) : left.plusDays(steps * units);
+    }
+
+    /**
+     * Get the position of <code>date</code> in the unit of the step.
+     *
+     * @param date to convert
+     * @return months or days from the epoch
+     */
+    private long position(LocalDate date) {
+        return months ? date.getYear() * 12L + date.getMonthValue() - 1L : date.toEpochDay();
+    }
+
+}
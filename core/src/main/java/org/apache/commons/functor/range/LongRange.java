@@ -16,9 +16,20 @@
  */
 package org.apache.commons.functor.range;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.functor.LongBinaryFunction;
+import org.apache.commons.functor.LongPredicate;
+import org.apache.commons.functor.LongProcedure;
 import org.apache.commons.lang3.Validate;
 
 /**
@@ -26,7 +37,7 @@ import org.apache.commons.lang3.Validate;
  *
  * @since 1.0
  */
-public final class LongRange extends NumericRange<Long> {
+public final class LongRange extends NumericRange<Long> implements IndexedRange<Long, Long> {
     // attributes
     //---------------------------------------------------------------
 
@@ -40,6 +51,16 @@ public final class LongRange extends NumericRange<Long> {
         }
     };
 
+    /**
+     * The elements of this range, or <code>null</code> if it is empty.
+     */
+    private final IntegralSpan span;
+
+    /**
+     * The boxed elements of this range if it is {@link #cached() cached}, or <code>null</code>.
+     */
+    private final List<Long> elements;
+
     // constructors
     // ---------------------------------------------------------------
     /**
@@ -70,7 +91,7 @@ public final class LongRange extends NumericRange<Long> {
      * @param to end
      */
     public LongRange(long from, long to) {
-        this(from, to, DEFAULT_STEP.evaluate(from, to).longValue());
+        this(from, to, from > to ? -1L : 1L);
     }
 
     /**
@@ -117,7 +138,7 @@ public final class LongRange extends NumericRange<Long> {
      * @throws NullPointerException if either {@link BoundType} is {@code null}
      */
     public LongRange(long from, BoundType leftBoundType, long to, BoundType rightBoundType) {
-        this(from, leftBoundType, to, rightBoundType, DEFAULT_STEP.evaluate(from, to));
+        this(from, leftBoundType, to, rightBoundType, from > to ? -1L : 1L);
     }
 
     /**
@@ -129,6 +150,18 @@ public final class LongRange extends NumericRange<Long> {
      * @throws NullPointerException if either {@link Endpoint} is {@code null}
      */
     public LongRange(Endpoint<Long> from, Endpoint<Long> to, long step) {
+        this(from, to, step, false);
+    }
+
+    /**
+     * Create a new LongRange.
+     *
+     * @param from start
+     * @param to end
+     * @param step increment
+     * @param cache whether to box the elements up front
+     */
+    private LongRange(Endpoint<Long> from, Endpoint<Long> to, long step, boolean cache) {
         super(from, to, Long.valueOf(step), new BinaryFunction<Long, Long, Long>() {
 
             public Long evaluate(Long left, Long right) {
@@ -139,8 +172,10 @@ public final class LongRange extends NumericRange<Long> {
         final long f = from.getValue();
         final long t = to.getValue();
 
-        Validate.isTrue(f == t || Long.signum(step) == Long.signum(t - f),
+        Validate.isTrue(f == t || Long.signum(step) == Integer.signum(Long.compare(t, f)),
             "Will never reach '%s' from '%s' using step %s", t, f, step);
+        this.span = IntegralSpan.of(this);
+        this.elements = cache ? box() : null;
     }
 
     /**
@@ -158,45 +193,548 @@ public final class LongRange extends NumericRange<Long> {
         this(new Endpoint<Long>(from, leftBoundType), new Endpoint<Long>(to, rightBoundType), step);
     }
 
+    // range methods
+    // ---------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     * Membership is computed exactly in integer arithmetic.
+     */
+    @Override
+    public boolean contains(Long obj) {
+        return obj != null && contains(obj.longValue());
+    }
+
+    /**
+     * Learn whether a <code>long</code> is an element of this range, without boxing.
+     *
+     * @param value to test
+     * @return boolean
+     */
+    public boolean contains(long value) {
+        return span != null && span.contains(value);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Computed from the elements, so a range whose first element would overflow a <code>long</code> is empty.
+     */
+    @Override
+    public boolean isEmpty() {
+        return span == null;
+    }
+
+    /**
+     * Get the number of elements of this range, computed from its endpoints and step.
+     *
+     * @return long
+     */
+    public long size() {
+        return span == null ? 0L : span.size();
+    }
+
+    /**
+     * Get the element at <code>index</code>, in iteration order.
+     *
+     * @param index from <code>0</code>
+     * @return long
+     * @throws IndexOutOfBoundsException if <code>index</code> is negative or not below {@link #size()}
+     */
+    public long get(long index) {
+        if (span == null) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: 0");
+        }
+        return span.get(index);
+    }
+
+    /**
+     * Get the position of <code>value</code> in iteration order.
+     *
+     * @param value to look up
+     * @return index, or <code>-1</code> if <code>value</code> is not an element
+     */
+    public long indexOf(long value) {
+        return span == null ? -1L : span.indexOf(value);
+    }
+
+    /**
+     * Get the first element of this range.
+     *
+     * @return long
+     * @throws NoSuchElementException if this range is empty
+     */
+    public long first() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return span.first;
+    }
+
+    /**
+     * Get the last element of this range.
+     *
+     * @return long
+     * @throws NoSuchElementException if this range is empty
+     */
+    public long last() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return span.last();
+    }
+
+    /**
+     * Get an unmodifiable, random access {@link List} view of the elements of this range,
+     * in iteration order. Elements are computed on demand, not stored, unless this range is {@link #cached()}.
+     *
+     * @return List
+     * @throws IllegalStateException if this range has more than <code>Integer.MAX_VALUE</code> elements
+     */
+    public List<Long> asList() {
+        if (elements != null) {
+            return elements;
+        }
+        return new IntegralList<Long>(span, Long.class) {
+            @Override
+            Long valueOf(long value) {
+                return Long.valueOf(value);
+            }
+        };
+    }
+
+    /**
+     * Get a range with the same elements, which boxes them once, up front, into an
+     * immutable array shared by every iteration and {@link #asList()} view of it,
+     * in any thread. Meant for small ranges iterated repeatedly, such as lookup
+     * tables, where boxing each element on each iteration would allocate.
+     * Ranges derived from it are not cached.
+     *
+     * @return LongRange, equal to this range
+     * @throws IllegalStateException if this range has more than <code>Integer.MAX_VALUE</code> elements
+     */
+    public LongRange cached() {
+        return elements != null ? this : new LongRange(leftEndpoint, rightEndpoint, step, true);
+    }
+
+    /**
+     * Learn whether the elements of this range are boxed up front.
+     *
+     * @return boolean
+     * @see #cached()
+     */
+    public boolean isCached() {
+        return elements != null;
+    }
+
+    /**
+     * Box the elements of this range.
+     *
+     * @return an unmodifiable List backed by an array
+     * @throws IllegalStateException if this range has more than <code>Integer.MAX_VALUE</code> elements
+     */
+    private List<Long> box() {
+        final long size = size();
+        Validate.validState(size <= Integer.MAX_VALUE, "Range has too many elements to cache: %s", size);
+        final Long[] result = new Long[(int) size];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = Long.valueOf(span.get(i));
+        }
+        return Collections.unmodifiableList(Arrays.asList(result));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The parts are closed ranges with the step of this range, whose sizes differ by at most one.
+     */
+    @Override
+    public List<LongRange> split(int count) {
+        Validate.isTrue(count > 0, "Count must be positive");
+        if (span == null) {
+            return Collections.singletonList(this);
+        }
+        final long[] bounds = span.split(count);
+        final List<LongRange> result = new ArrayList<LongRange>(bounds.length / 2);
+        for (int i = 0; i < bounds.length; i += 2) {
+            result.add(new LongRange(bounds[i], BoundType.CLOSED, bounds[i + 1], BoundType.CLOSED,
+                span.step));
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The spliterator computes each element from the endpoints and step, without boxing, and
+     * splits into balanced halves.
+     */
+    @Override
+    public Spliterator.OfLong spliterator() {
+        if (span == null) {
+            return Spliterators.emptyLongSpliterator();
+        }
+        return new IntegralSpliterator.Longs(span, 0L, span.lastIndex);
+    }
+
+    // views
+    // ---------------------------------------------------------------
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     *
+     * @throws ArithmeticException if the new step does not fit in a long
+     */
+    @Override
+    public LongRange stride(long k) {
+        return create(IntegralSpan.stride(span, k));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public LongRange skip(long n) {
+        return create(IntegralSpan.skip(span, n));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public LongRange limit(long n) {
+        return create(IntegralSpan.limit(span, n));
+    }
+
+    /**
+     * {@inheritDoc}
+     * The view is closed at both ends, or open at both ends if empty.
+     */
+    @Override
+    public LongRange subRange(long fromIndex, long toIndex) {
+        return create(IntegralSpan.subRange(span, fromIndex, toIndex));
+    }
+
+    // range algebra
+    // ---------------------------------------------------------------
+
+    /**
+     * Get the range of the elements common to this range and <code>that</code>,
+     * in the direction of this range. Stepped ranges are intersected in constant
+     * time by solving the congruences of their elements (Chinese remainder theorem).
+     *
+     * @param that other range
+     * @return LongRange, empty if there are no common elements
+     * @throws ArithmeticException if two common elements are further apart than a long step can express
+     */
+    public LongRange intersect(LongRange that) {
+        Validate.notNull(that, "LongRange argument was null");
+        return create(IntegralSpan.intersection(span, that.span));
+    }
+
+    /**
+     * Get the range of the elements of this range and of <code>that</code>, in the
+     * direction of this range.
+     *
+     * @param that other range
+     * @return LongRange
+     * @throws IllegalArgumentException if those elements do not form a single range
+     */
+    public LongRange union(LongRange that) {
+        Validate.notNull(that, "LongRange argument was null");
+        return create(IntegralSpan.union(span, that.span));
+    }
+
+    /**
+     * Get the least range of consecutive values holding every element of this
+     * range and of <code>that</code>, in the direction of this range.
+     *
+     * @param that other range
+     * @return LongRange, empty if both ranges are empty
+     */
+    public LongRange span(LongRange that) {
+        Validate.notNull(that, "LongRange argument was null");
+        return create(IntegralSpan.span(span, that.span));
+    }
+
+    /**
+     * Get the range of consecutive values lying strictly between this range and
+     * <code>that</code>, in the direction of this range.
+     *
+     * @param that other range
+     * @return LongRange, empty if the ranges are adjacent
+     * @throws IllegalArgumentException if either range is empty, or the least intervals holding them overlap
+     */
+    public LongRange gap(LongRange that) {
+        Validate.notNull(that, "LongRange argument was null");
+        return create(IntegralSpan.gap(span, that.span));
+    }
+
+    /**
+     * Learn whether the least intervals holding the elements of this range and of
+     * <code>that</code> overlap or are adjacent, i.e. whether their
+     * {@link #span(LongRange) span} holds no value outside both of those intervals.
+     *
+     * @param that other range
+     * @return boolean, <code>false</code> if either range is empty
+     */
+    public boolean isConnected(LongRange that) {
+        Validate.notNull(that, "LongRange argument was null");
+        return IntegralSpan.isConnected(span, that.span);
+    }
+
+    /**
+     * Learn whether every element of <code>that</code> is an element of this range.
+     *
+     * @param that other range
+     * @return boolean
+     */
+    public boolean encloses(LongRange that) {
+        Validate.notNull(that, "LongRange argument was null");
+        return that.span == null || span != null && span.encloses(that.span);
+    }
+
+    /**
+     * Create a range of the elements described, in the direction of this range.
+     *
+     * @param elements least element, greatest element and unsigned stride, or <code>null</code> if none
+     * @return LongRange
+     * @throws ArithmeticException if the stride does not fit in a long
+     */
+    private LongRange create(long[] elements) {
+        final long s = step.longValue();
+        if (elements == null) {
+            final long value = leftEndpoint.getValue().longValue();
+            return new LongRange(value, BoundType.OPEN, value, BoundType.OPEN, s);
+        }
+        if (Long.compareUnsigned(elements[2], Long.MAX_VALUE) > 0) {
+            throw new ArithmeticException("Step does not fit in a long: " + Long.toUnsignedString(elements[2]));
+        }
+        final long stride = elements[2];
+        if (s < 0) {
+            return new LongRange(elements[1], BoundType.CLOSED, elements[0], BoundType.CLOSED, -stride);
+        }
+        return new LongRange(elements[0], BoundType.CLOSED, elements[1], BoundType.CLOSED, stride);
+    }
+
     // iterable
     // ---------------------------------------------------------------
 
     /**
      * {@inheritDoc}
      */
-    protected Iterator<Long> createIterator() {
-        return new Iterator<Long>() {
-            private long currentValue;
+    public boolean isReversible() {
+        // the negated step must fit in a long once there is a second element
+        return step.longValue() != Long.MIN_VALUE || span == null || span.lastIndex == 0L;
+    }
 
-            {
-                currentValue = leftEndpoint.getValue();
+    /**
+     * {@inheritDoc}
+     * The reversed range is closed at both ends, or open at both ends if empty.
+     * @throws UnsupportedOperationException if the step is <code>Long.MIN_VALUE</code> and this
+     *         range holds two elements
+     */
+    @Override
+    public LongRange reversed() {
+        final long s = step.longValue();
+        if (span == null) {
+            final long value = rightEndpoint.getValue().longValue();
+            return new LongRange(value, BoundType.OPEN, value, BoundType.OPEN, -s);
+        }
+        if (s == Long.MIN_VALUE) {
+            // the reversed step does not fit in a long, which only matters with a second element
+            if (span.lastIndex != 0L) {
+                throw new UnsupportedOperationException("Cannot reverse a step of " + s);
+            }
+            return new LongRange(span.first, BoundType.CLOSED, span.first, BoundType.CLOSED, s);
+        }
+        return new LongRange(span.last(), BoundType.CLOSED, span.first, BoundType.CLOSED, -s);
+    }
 
-                if (leftEndpoint.getBoundType() == BoundType.OPEN) {
-                    this.currentValue += step;
-                }
+    /**
+     * Run <code>procedure</code> for each element of this range, in iteration
+     * order, without boxing.
+     *
+     * @param procedure {@link LongProcedure} to run
+     */
+    public void run(LongProcedure procedure) {
+        Validate.notNull(procedure, "LongProcedure argument was null");
+        if (span == null) {
+            return;
+        }
+        final long first = span.first;
+        final long s = span.step;
+        for (long i = 0L;; i++) {
+            procedure.run(first + i * s);
+            if (i == span.lastIndex) {
+                return;
             }
+        }
+    }
+
+    /**
+     * Fold the elements of this range from left to right, in iteration order,
+     * without boxing.
+     *
+     * @param seed initial left-side argument
+     * @param function {@link LongBinaryFunction} to apply to each (seed, next)
+     * @return the result of the fold, or <code>seed</code> if this range is empty
+     */
+    public long foldLeft(long seed, final LongBinaryFunction function) {
+        Validate.notNull(function, "LongBinaryFunction argument was null");
+        final long[] result = new long[] {seed};
+        run(new LongProcedure() {
+            public void run(long value) {
+                result[0] = function.evaluateAsLong(result[0], value);
+            }
+        });
+        return result[0];
+    }
+
+    // bulk operations
+    // ---------------------------------------------------------------
+
+    /**
+     * Copy the elements of this range into a new array, in iteration order.
+     *
+     * @return long[]
+     * @throws IllegalStateException if this range has more than <code>Integer.MAX_VALUE</code> elements
+     */
+    public long[] toLongArray() {
+        final long size = size();
+        Validate.validState(size <= Integer.MAX_VALUE, "Too many elements for an array: %s", size);
+        final long[] result = new long[(int) size];
+        fill(result, 0);
+        return result;
+    }
+
+    /**
+     * Copy the elements of this range into <code>dest</code> from <code>offset</code>,
+     * in iteration order.
+     *
+     * @param dest array to fill
+     * @param offset index of <code>dest</code> to write the first element to
+     * @return the number of elements written
+     * @throws IndexOutOfBoundsException if the elements do not fit in <code>dest</code> from <code>offset</code>
+     */
+    public int fill(long[] dest, int offset) {
+        Validate.notNull(dest, "long[] argument was null");
+        final long size = size();
+        if (offset < 0 || offset > dest.length || size > dest.length - offset) {
+            throw new IndexOutOfBoundsException("Cannot fit " + size + " elements at " + offset + " of " + dest.length);
+        }
+        final int n = (int) size;
+        if (n > 0) {
+            final long first = span.first;
+            final long s = span.step;
+            // a counted loop on the element type, so that it can be vectorized
+            for (int i = 0; i < n; i++) {
+                dest[offset + i] = first + i * s;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Get the sum of the elements of this range, computed in closed form as an arithmetic series.
+     *
+     * @return long, <code>0</code> if this range is empty
+     * @throws ArithmeticException if the sum does not fit in a <code>long</code>
+     */
+    public long sum() {
+        if (span == null) {
+            return 0L;
+        }
+        // the number of elements, and the intermediate products, may exceed Long.MAX_VALUE
+        final BigInteger n = new BigInteger(Long.toUnsignedString(span.lastIndex)).add(BigInteger.ONE);
+        return BigInteger.valueOf(span.first).add(BigInteger.valueOf(span.last())).multiply(n).shiftRight(1)
+            .longValueExact();
+    }
+
+    /**
+     * Get the least element of this range.
+     *
+     * @return long
+     * @throws NoSuchElementException if this range is empty
+     */
+    public long min() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return span.low;
+    }
+
+    /**
+     * Get the greatest element of this range.
+     *
+     * @return long
+     * @throws NoSuchElementException if this range is empty
+     */
+    public long max() {
+        if (span == null) {
+            throw new NoSuchElementException("Empty range: " + this);
+        }
+        return span.high;
+    }
+
+    /**
+     * Count the elements of this range matching <code>predicate</code>, without boxing.
+     *
+     * @param predicate {@link LongPredicate} to test each element with
+     * @return long
+     */
+    public long count(LongPredicate predicate) {
+        Validate.notNull(predicate, "LongPredicate argument was null");
+        if (span == null) {
+            return 0L;
+        }
+        long result = 0L;
+        final long first = span.first;
+        final long s = span.step;
+        for (long i = 0L;; i++) {
+            if (predicate.test(first + i * s)) {
+                result++;
+            }
+            if (i == span.lastIndex) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    protected Iterator<Long> createIterator() {
+        if (elements != null) {
+            return elements.iterator();
+        }
+        if (span == null) {
+            return Collections.<Long>emptySet().iterator();
+        }
+        return new Iterator<Long>() {
+            // by index, so that stepping past the last element cannot overflow
+            private long index = 0L;
+            private boolean done = false;
 
             public void remove() {
                 throw new UnsupportedOperationException();
             }
 
             public Long next() {
-                final long step = getStep();
-                final long r = currentValue;
-                currentValue += step;
+                if (done) {
+                    throw new NoSuchElementException();
+                }
+                final long r = span.first + index * span.step;
+                if (index == span.lastIndex) {
+                    done = true;
+                } else {
+                    index++;
+                }
                 return Long.valueOf(r);
             }
 
             public boolean hasNext() {
-                final int cmp = Long.valueOf(currentValue).compareTo(rightEndpoint.getValue());
-
-                if (cmp == 0) {
-                    return rightEndpoint.getBoundType() == BoundType.CLOSED;
-                }
-                if (step > 0L) {
-                    return cmp < 0;
-                }
-                return cmp > 0;
+                return !done;
             }
         };
     }
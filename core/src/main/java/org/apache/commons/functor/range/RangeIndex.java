@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * An immutable interval index over {@link IntegerRange}s, {@link LongRange}s
+ * and {@link CharacterRange}s answering which of them hold a given value, or
+ * any value of a given interval, in <code>O(log n + k)</code> time for
+ * <code>k</code> matches.
+ * <p>
+ * The ranges are sorted by their least element into parallel
+ * <code>long[]</code>s, which are read as an implicit balanced search tree
+ * whose nodes also record the greatest element of their subtree; this prunes
+ * every subtree that lies entirely below the query. Stepped ranges match only
+ * their elements, not the values between them. Empty ranges are not indexed.
+ * </p>
+ *
+ * @param <R> the range type.
+ */
+public final class RangeIndex<R extends Range<?, ?>> {
+    // attributes
+    // ---------------------------------------------------------------
+    /**
+     * The indexed ranges, sorted by least element.
+     */
+    private final List<R> ranges;
+    /**
+     * The least element of each range.
+     */
+    private final long[] lows;
+    /**
+     * The greatest element of each range.
+     */
+    private final long[] highs;
+    /**
+     * The unsigned distance between the elements of each range.
+     */
+    private final long[] strides;
+    /**
+     * The greatest element in the subtree rooted at each node.
+     */
+    private final long[] maxHighs;
+
+    // constructor
+    // ---------------------------------------------------------------
+    /**
+     * Create a new RangeIndex.
+     * @param ranges non-empty ranges
+     * @param spans spans of <code>ranges</code>
+     */
+    private RangeIndex(List<R> ranges, List<IntegralSpan> spans) {
+        this.ranges = Collections.unmodifiableList(ranges);
+        final int size = ranges.size();
+        this.lows = new long[size];
+        this.highs = new long[size];
+        this.strides = new long[size];
+        this.maxHighs = new long[size];
+        for (int i = 0; i < size; i++) {
+            final IntegralSpan span = spans.get(i);
+            lows[i] = span.low;
+            highs[i] = span.high;
+            strides[i] = span.step > 0 ? span.step : -span.step;
+        }
+        buildMaxHighs(0, size);
+    }
+
+    /**
+     * Create a RangeIndex over <code>ranges</code>.
+     * @param <R> the range type.
+     * @param ranges integral ranges to index
+     * @return RangeIndex
+     * @throws IllegalArgumentException if a range is not integral
+     */
+    public static <R extends Range<?, ?>> RangeIndex<R> of(Iterable<? extends R> ranges) {
+        Validate.notNull(ranges, "Range Iterable argument was null");
+        final List<Object[]> entries = new ArrayList<Object[]>();
+        for (R range : ranges) {
+            final IntegralSpan span = IntegralSpan.of(range);
+            if (span != null) {
+                entries.add(new Object[] {range, span});
+            }
+        }
+        Collections.sort(entries, new Comparator<Object[]>() {
+            public int compare(Object[] o1, Object[] o2) {
+                return Long.compare(((IntegralSpan) o1[1]).low, ((IntegralSpan) o2[1]).low);
+            }
+        });
+        final List<R> sorted = new ArrayList<R>(entries.size());
+        final List<IntegralSpan> spans = new ArrayList<IntegralSpan>(entries.size());
+        for (Object[] entry : entries) {
+            @SuppressWarnings("unchecked")
+            final R range = (R) entry[0];
+            sorted.add(range);
+            spans.add((IntegralSpan) entry[1]);
+        }
+        return new RangeIndex<R>(sorted, spans);
+    }
+
+    // queries
+    // ---------------------------------------------------------------
+    /**
+     * Get the indexed ranges holding <code>value</code>, by ascending least element.
+     * @param value to look up
+     * @return List
+     */
+    public List<R> rangesContaining(long value) {
+        return rangesIntersecting(value, value);
+    }
+
+    /**
+     * Get the indexed ranges holding any value from <code>from</code> to <code>to</code>,
+     * by ascending least element.
+     * @param from least value (inclusive)
+     * @param to greatest value (inclusive)
+     * @return List
+     */
+    public List<R> rangesIntersecting(long from, long to) {
+        final List<R> result = new ArrayList<R>();
+        if (from <= to) {
+            collect(0, ranges.size(), from, to, result);
+        }
+        return result;
+    }
+
+    /**
+     * Learn whether any indexed range holds <code>value</code>.
+     * @param value to look up
+     * @return boolean
+     */
+    public boolean containsAny(long value) {
+        return find(0, ranges.size(), value);
+    }
+
+    /**
+     * Get the indexed ranges, by ascending least element.
+     * @return List
+     */
+    public List<R> getRanges() {
+        return ranges;
+    }
+
+    // object methods
+    // ---------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof RangeIndex<?>)) {
+            return false;
+        }
+        RangeIndex<?> that = (RangeIndex<?>) obj;
+        return this.ranges.equals(that.ranges);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = "RangeIndex".hashCode();
+        hash ^= ranges.hashCode();
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "RangeIndex<" + ranges + ">";
+    }
+
+    // helpers
+    // ---------------------------------------------------------------
+    /**
+     * Record the greatest element of the subtree over <code>[lo, hi)</code> at its root.
+     * @param lo first node (inclusive)
+     * @param hi last node (exclusive)
+     * @return greatest element of the subtree, or <code>Long.MIN_VALUE</code> if empty
+     */
+    private long buildMaxHighs(int lo, int hi) {
+        if (lo >= hi) {
+            return Long.MIN_VALUE;
+        }
+        final int mid = (lo + hi) >>> 1;
+        final long max = Math.max(highs[mid], Math.max(buildMaxHighs(lo, mid), buildMaxHighs(mid + 1, hi)));
+        maxHighs[mid] = max;
+        return max;
+    }
+
+    /**
+     * Add the ranges of the subtree over <code>[lo, hi)</code> holding a value in
+     * <code>[from, to]</code> to <code>result</code>, in order.
+     * @param lo first node (inclusive)
+     * @param hi last node (exclusive)
+     * @param from least value (inclusive)
+     * @param to greatest value (inclusive)
+     * @param result to add to
+     */
+    private void collect(int lo, int hi, long from, long to, List<R> result) {
+        if (lo >= hi) {
+            return;
+        }
+        final int mid = (lo + hi) >>> 1;
+        if (maxHighs[mid] < from) {
+            return;
+        }
+        collect(lo, mid, from, to, result);
+        if (lows[mid] <= to) {
+            if (IntegralSpan.intersects(lows[mid], highs[mid], strides[mid], from, to)) {
+                result.add(ranges.get(mid));
+            }
+            collect(mid + 1, hi, from, to, result);
+        }
+    }
+
+    /**
+     * Learn whether a range of the subtree over <code>[lo, hi)</code> holds <code>value</code>.
+     * @param lo first node (inclusive)
+     * @param hi last node (exclusive)
+     * @param value to look up
+     * @return boolean
+     */
+    private boolean find(int lo, int hi, long value) {
+        if (lo >= hi) {
+            return false;
+        }
+        final int mid = (lo + hi) >>> 1;
+        if (maxHighs[mid] < value) {
+            return false;
+        }
+        if (find(lo, mid, value)) {
+            return true;
+        }
+        return lows[mid] <= value
+            && (IntegralSpan.intersects(lows[mid], highs[mid], strides[mid], value, value)
+                || find(mid + 1, hi, value));
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * An immutable set of integral values, held as the sorted, disjoint and
+ * coalesced intervals of the {@link IntegerRange}s, {@link LongRange}s and
+ * {@link CharacterRange}s it was built from. Adjacent or overlapping ranges are
+ * merged into one interval, and the intervals are stored in a single
+ * <code>long[]</code>, so that {@link #contains(long) membership} is a binary
+ * search and union, intersection and complement are linear merges.
+ * <p>
+ * Only ranges with a step of <code>1</code> or <code>-1</code> (or holding a
+ * single element) describe intervals; for stepped ranges see
+ * {@link RangeIndex}.
+ * </p>
+ */
+public final class RangeSet {
+    // static attributes
+    // ---------------------------------------------------------------
+    /**
+     * The empty set.
+     */
+    public static final RangeSet EMPTY = new RangeSet(new long[0]);
+
+    /**
+     * The set of all <code>long</code> values.
+     */
+    public static final RangeSet ALL = new RangeSet(new long[] {Long.MIN_VALUE, Long.MAX_VALUE});
+
+    // attributes
+    // ---------------------------------------------------------------
+    /**
+     * Interval limits (inclusive), low and high for each interval in ascending order.
+     */
+    private final long[] bounds;
+
+    // constructor
+    // ---------------------------------------------------------------
+    /**
+     * Create a new RangeSet.
+     * @param bounds sorted, disjoint and coalesced interval limits, not copied
+     */
+    private RangeSet(long[] bounds) {
+        this.bounds = bounds;
+    }
+
+    // factories
+    // ---------------------------------------------------------------
+    /**
+     * Create a RangeSet holding the elements of <code>ranges</code>.
+     * @param ranges integral ranges, each with a step of <code>1</code> or <code>-1</code>
+     * @return RangeSet
+     * @throws IllegalArgumentException if a range is not integral or not contiguous
+     */
+    public static RangeSet of(Range<?, ?>... ranges) {
+        Validate.notNull(ranges, "Range array argument was null");
+        return of(Arrays.asList(ranges));
+    }
+
+    /**
+     * Create a RangeSet holding the elements of <code>ranges</code>.
+     * @param ranges integral ranges, each with a step of <code>1</code> or <code>-1</code>
+     * @return RangeSet
+     * @throws IllegalArgumentException if a range is not integral or not contiguous
+     */
+    public static RangeSet of(Iterable<? extends Range<?, ?>> ranges) {
+        Validate.notNull(ranges, "Range Iterable argument was null");
+        final List<long[]> intervals = new ArrayList<long[]>();
+        for (Range<?, ?> range : ranges) {
+            final IntegralSpan span = IntegralSpan.of(range);
+            if (span != null) {
+                Validate.isTrue(span.isContiguous(), "Range does not describe an interval: %s", range);
+                intervals.add(new long[] {span.low, span.high});
+            }
+        }
+        Collections.sort(intervals, new Comparator<long[]>() {
+            public int compare(long[] o1, long[] o2) {
+                return Long.compare(o1[0], o2[0]);
+            }
+        });
+        final long[] bounds = new long[intervals.size() * 2];
+        int size = 0;
+        for (long[] interval : intervals) {
+            size = append(bounds, size, interval[0], interval[1]);
+        }
+        return create(bounds, size);
+    }
+
+    /**
+     * Create a RangeSet holding the values from <code>low</code> to <code>high</code>.
+     * @param low least value (inclusive)
+     * @param high greatest value (inclusive)
+     * @return RangeSet
+     * @throws IllegalArgumentException if <code>low &gt; high</code>
+     */
+    public static RangeSet closed(long low, long high) {
+        Validate.isTrue(low <= high, "Invalid interval: [%s, %s]", low, high);
+        return new RangeSet(new long[] {low, high});
+    }
+
+    // queries
+    // ---------------------------------------------------------------
+    /**
+     * Learn whether this set holds <code>value</code>.
+     * @param value to test
+     * @return boolean
+     */
+    public boolean contains(long value) {
+        final int index = indexOf(value);
+        return index >= 0 && bounds[index * 2 + 1] >= value;
+    }
+
+    /**
+     * Learn whether this set holds every element of <code>range</code>.
+     * @param range integral range
+     * @return boolean
+     */
+    public boolean encloses(Range<?, ?> range) {
+        final IntegralSpan span = IntegralSpan.of(range);
+        if (span == null) {
+            return true;
+        }
+        final int index = indexOf(span.low);
+        if (index >= 0 && bounds[index * 2 + 1] >= span.high) {
+            return true;
+        }
+        if (span.isContiguous()) {
+            return false;
+        }
+        // a stepped range is enclosed when none of its elements falls between the intervals
+        long gapLow = index >= 0 ? bounds[index * 2 + 1] + 1L : Long.MIN_VALUE;
+        for (int i = index + 1;; i++) {
+            final long gapHigh = i * 2 < bounds.length ? bounds[i * 2] - 1L : Long.MAX_VALUE;
+            if (span.intersects(gapLow, gapHigh)) {
+                return false;
+            }
+            if (i * 2 >= bounds.length || bounds[i * 2 + 1] >= span.high) {
+                return true;
+            }
+            gapLow = bounds[i * 2 + 1] + 1L;
+        }
+    }
+
+    /**
+     * Learn whether this set holds any element of <code>range</code>.
+     * @param range integral range
+     * @return boolean
+     */
+    public boolean intersects(Range<?, ?> range) {
+        final IntegralSpan span = IntegralSpan.of(range);
+        if (span == null) {
+            return false;
+        }
+        for (int i = Math.max(indexOf(span.low), 0); i * 2 < bounds.length && bounds[i * 2] <= span.high; i++) {
+            if (span.intersects(bounds[i * 2], bounds[i * 2 + 1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Learn whether this set is empty.
+     * @return boolean
+     */
+    public boolean isEmpty() {
+        return bounds.length == 0;
+    }
+
+    /**
+     * Get the number of disjoint intervals in this set.
+     * @return int
+     */
+    public int getIntervalCount() {
+        return bounds.length / 2;
+    }
+
+    /**
+     * Get the disjoint intervals of this set as closed {@link LongRange}s, in ascending order.
+     * @return List
+     */
+    public List<LongRange> asRanges() {
+        final List<LongRange> result = new ArrayList<LongRange>(bounds.length / 2);
+        for (int i = 0; i < bounds.length; i += 2) {
+            result.add(new LongRange(bounds[i], BoundType.CLOSED, bounds[i + 1], BoundType.CLOSED, 1L));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    // set operations
+    // ---------------------------------------------------------------
+    /**
+     * Get the set of values in this set or in <code>that</code>.
+     * @param that other set
+     * @return RangeSet
+     */
+    public RangeSet union(RangeSet that) {
+        Validate.notNull(that, "RangeSet argument was null");
+        final long[] result = new long[bounds.length + that.bounds.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < bounds.length || j < that.bounds.length) {
+            if (j == that.bounds.length || i < bounds.length && bounds[i] <= that.bounds[j]) {
+                size = append(result, size, bounds[i], bounds[i + 1]);
+                i += 2;
+            } else {
+                size = append(result, size, that.bounds[j], that.bounds[j + 1]);
+                j += 2;
+            }
+        }
+        return create(result, size);
+    }
+
+    /**
+     * Get the set of values in both this set and <code>that</code>.
+     * @param that other set
+     * @return RangeSet
+     */
+    public RangeSet intersection(RangeSet that) {
+        Validate.notNull(that, "RangeSet argument was null");
+        final long[] result = new long[bounds.length + that.bounds.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < bounds.length && j < that.bounds.length) {
+            final long low = Math.max(bounds[i], that.bounds[j]);
+            final long high = Math.min(bounds[i + 1], that.bounds[j + 1]);
+            if (low <= high) {
+                result[size++] = low;
+                result[size++] = high;
+            }
+            if (bounds[i + 1] < that.bounds[j + 1]) {
+                i += 2;
+            } else {
+                j += 2;
+            }
+        }
+        return create(result, size);
+    }
+
+    /**
+     * Get the set of <code>long</code> values not in this set.
+     * @return RangeSet
+     */
+    public RangeSet complement() {
+        final long[] result = new long[bounds.length + 2];
+        int size = 0;
+        long next = Long.MIN_VALUE;
+        for (int i = 0; i < bounds.length; i += 2) {
+            if (bounds[i] > next) {
+                result[size++] = next;
+                result[size++] = bounds[i] - 1L;
+            }
+            if (bounds[i + 1] == Long.MAX_VALUE) {
+                return create(result, size);
+            }
+            next = bounds[i + 1] + 1L;
+        }
+        result[size++] = next;
+        result[size++] = Long.MAX_VALUE;
+        return create(result, size);
+    }
+
+    /**
+     * Get the set of values in this set but not in <code>that</code>.
+     * @param that other set
+     * @return RangeSet
+     */
+    public RangeSet difference(RangeSet that) {
+        Validate.notNull(that, "RangeSet argument was null");
+        return intersection(that.complement());
+    }
+
+    // object methods
+    // ---------------------------------------------------------------
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof RangeSet)) {
+            return false;
+        }
+        return Arrays.equals(bounds, ((RangeSet) obj).bounds);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        int hash = "RangeSet".hashCode();
+        hash ^= Arrays.hashCode(bounds);
+        return hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        final StringBuilder buf = new StringBuilder("RangeSet<");
+        for (int i = 0; i < bounds.length; i += 2) {
+            if (i > 0) {
+                buf.append(", ");
+            }
+            buf.append('[').append(bounds[i]).append(", ").append(bounds[i + 1]).append(']');
+        }
+        return buf.append('>').toString();
+    }
+
+    // helpers
+    // ---------------------------------------------------------------
+    /**
+     * Find the interval with the greatest low limit not above <code>value</code>.
+     * @param value to look up
+     * @return interval index, or <code>-1</code> if every interval lies above <code>value</code>
+     */
+    private int indexOf(long value) {
+        int lo = 0;
+        int hi = bounds.length / 2 - 1;
+        while (lo <= hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (bounds[mid * 2] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return hi;
+    }
+
+    /**
+     * Append the interval <code>[low, high]</code> to <code>bounds</code>, coalescing
+     * it with the last interval where they overlap or are adjacent.
+     * @param bounds interval limits sorted by low limit
+     * @param size number of limits in use
+     * @param low least value (inclusive)
+     * @param high greatest value (inclusive)
+     * @return the new number of limits in use
+     */
+    private static int append(long[] bounds, int size, long low, long high) {
+        if (size > 0 && (bounds[size - 1] == Long.MAX_VALUE || low <= bounds[size - 1] + 1L)) {
+            bounds[size - 1] = Math.max(bounds[size - 1], high);
+            return size;
+        }
+        bounds[size] = low;
+        bounds[size + 1] = high;
+        return size + 2;
+    }
+
+    /**
+     * Create a RangeSet from the first <code>size</code> limits of <code>bounds</code>.
+     * @param bounds sorted, disjoint and coalesced interval limits
+     * @param size number of limits in use
+     * @return RangeSet
+     */
+    private static RangeSet create(long[] bounds, int size) {
+        if (size == 0) {
+            return EMPTY;
+        }
+        return new RangeSet(size == bounds.length ? bounds : Arrays.copyOf(bounds, size));
+    }
+}
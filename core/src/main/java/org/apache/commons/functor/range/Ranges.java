@@ -16,6 +16,13 @@
  */
 package org.apache.commons.functor.range;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+
 /**
  * Range factory.
  *
@@ -464,4 +471,206 @@ public final class Ranges {
                                                 int step) {
         return new CharacterRange(leftEndpoint, rightEndpoint, step);
     }
+
+    // BigInteger ranges
+    /**
+     * Create a new BigIntegerRange.
+     *
+     * @param from start
+     * @param to end
+     * @return BigIntegerRange
+     */
+    public static BigIntegerRange bigIntegerRange(BigInteger from, BigInteger to) {
+        return new BigIntegerRange(from, to);
+    }
+
+    /**
+     * Create a new BigIntegerRange.
+     *
+     * @param from start
+     * @param to end
+     * @param step increment
+     * @return BigIntegerRange
+     */
+    public static BigIntegerRange bigIntegerRange(BigInteger from, BigInteger to, BigInteger step) {
+        return new BigIntegerRange(from, to, step);
+    }
+
+    /**
+     * Create a new BigIntegerRange.
+     *
+     * @param from start
+     * @param leftBoundType type of left bound
+     * @param to end
+     * @param rightBoundType type of right bound
+     * @param step increment
+     * @return BigIntegerRange
+     */
+    public static BigIntegerRange bigIntegerRange(BigInteger from,
+                                                  BoundType leftBoundType,
+                                                  BigInteger to,
+                                                  BoundType rightBoundType,
+                                                  BigInteger step) {
+        return new BigIntegerRange(from, leftBoundType, to, rightBoundType, step);
+    }
+
+    /**
+     * Create a new BigIntegerRange.
+     *
+     * @param leftEndpoint start
+     * @param rightEndpoint end
+     * @param step increment
+     * @return BigIntegerRange
+     */
+    public static BigIntegerRange bigIntegerRange(Endpoint<BigInteger> leftEndpoint,
+                                                  Endpoint<BigInteger> rightEndpoint,
+                                                  BigInteger step) {
+        return new BigIntegerRange(leftEndpoint, rightEndpoint, step);
+    }
+
+    // BigDecimal ranges
+    /**
+     * Create a new BigDecimalRange.
+     *
+     * @param from start
+     * @param to end
+     * @return BigDecimalRange
+     */
+    public static BigDecimalRange bigDecimalRange(BigDecimal from, BigDecimal to) {
+        return new BigDecimalRange(from, to);
+    }
+
+    /**
+     * Create a new BigDecimalRange.
+     *
+     * @param from start
+     * @param to end
+     * @param step increment
+     * @return BigDecimalRange
+     */
+    public static BigDecimalRange bigDecimalRange(BigDecimal from, BigDecimal to, BigDecimal step) {
+        return new BigDecimalRange(from, to, step);
+    }
+
+    /**
+     * Create a new BigDecimalRange.
+     *
+     * @param from start
+     * @param leftBoundType type of left bound
+     * @param to end
+     * @param rightBoundType type of right bound
+     * @param step increment
+     * @return BigDecimalRange
+     */
+    public static BigDecimalRange bigDecimalRange(BigDecimal from,
+                                                  BoundType leftBoundType,
+                                                  BigDecimal to,
+                                                  BoundType rightBoundType,
+                                                  BigDecimal step) {
+        return new BigDecimalRange(from, leftBoundType, to, rightBoundType, step);
+    }
+
+    /**
+     * Create a new BigDecimalRange.
+     *
+     * @param leftEndpoint start
+     * @param rightEndpoint end
+     * @param step increment
+     * @return BigDecimalRange
+     */
+    public static BigDecimalRange bigDecimalRange(Endpoint<BigDecimal> leftEndpoint,
+                                                  Endpoint<BigDecimal> rightEndpoint,
+                                                  BigDecimal step) {
+        return new BigDecimalRange(leftEndpoint, rightEndpoint, step);
+    }
+
+    // Instant ranges
+    /**
+     * Create a new InstantRange.
+     *
+     * @param from start
+     * @param to end
+     * @param step increment
+     * @return InstantRange
+     */
+    public static InstantRange instantRange(Instant from, Instant to, Duration step) {
+        return new InstantRange(from, to, step);
+    }
+
+    /**
+     * Create a new InstantRange.
+     *
+     * @param from start
+     * @param leftBoundType type of left bound
+     * @param to end
+     * @param rightBoundType type of right bound
+     * @param step increment
+     * @return InstantRange
+     */
+    public static InstantRange instantRange(Instant from,
+                                            BoundType leftBoundType,
+                                            Instant to,
+                                            BoundType rightBoundType,
+                                            Duration step) {
+        return new InstantRange(from, leftBoundType, to, rightBoundType, step);
+    }
+
+    /**
+     * Create a new InstantRange.
+     *
+     * @param leftEndpoint start
+     * @param rightEndpoint end
+     * @param step increment
+     * @return InstantRange
+     */
+    public static InstantRange instantRange(Endpoint<Instant> leftEndpoint,
+                                            Endpoint<Instant> rightEndpoint,
+                                            Duration step) {
+        return new InstantRange(leftEndpoint, rightEndpoint, step);
+    }
+
+    // LocalDate ranges
+    /**
+     * Create a new LocalDateRange.
+     *
+     * @param from start
+     * @param to end
+     * @param step increment
+     * @return LocalDateRange
+     */
+    public static LocalDateRange localDateRange(LocalDate from, LocalDate to, Period step) {
+        return new LocalDateRange(from, to, step);
+    }
+
+    /**
+     * Create a new LocalDateRange.
+     *
+     * @param from start
+     * @param leftBoundType type of left bound
+     * @param to end
+     * @param rightBoundType type of right bound
+     * @param step increment
+     * @return LocalDateRange
+     */
+    public static LocalDateRange localDateRange(LocalDate from,
+                                                BoundType leftBoundType,
+                                                LocalDate to,
+                                                BoundType rightBoundType,
+                                                Period step) {
+        return new LocalDateRange(from, leftBoundType, to, rightBoundType, step);
+    }
+
+    /**
+     * Create a new LocalDateRange.
+     *
+     * @param leftEndpoint start
+     * @param rightEndpoint end
+     * @param step increment
+     * @return LocalDateRange
+     */
+    public static LocalDateRange localDateRange(Endpoint<LocalDate> leftEndpoint,
+                                                Endpoint<LocalDate> rightEndpoint,
+                                                Period step) {
+        return new LocalDateRange(leftEndpoint, rightEndpoint, step);
+    }
 }
@@ -0,0 +1,311 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.adapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.functor.BinaryPredicate;
+import org.apache.commons.functor.BinaryProcedure;
+import org.apache.commons.functor.Function;
+import org.apache.commons.functor.IntBinaryFunction;
+import org.apache.commons.functor.IntPredicate;
+import org.apache.commons.functor.IntProcedure;
+import org.apache.commons.functor.IntUnaryFunction;
+import org.apache.commons.functor.NullaryFunction;
+import org.apache.commons.functor.NullaryPredicate;
+import org.apache.commons.functor.NullaryProcedure;
+import org.apache.commons.functor.Predicate;
+import org.apache.commons.functor.Procedure;
+import org.apache.commons.functor.ToIntFunction;
+import org.apache.commons.functor.aggregator.functions.IntegerSumAggregatorBinaryFunction;
+import org.apache.commons.functor.core.Constant;
+import org.apache.commons.functor.core.Identity;
+import org.apache.commons.functor.core.IsEqual;
+import org.apache.commons.functor.core.IsNull;
+import org.apache.commons.functor.core.NoOp;
+import org.apache.commons.functor.core.composite.Not;
+import org.junit.Test;
+
+/**
+ * Tests the Functors class.
+ */
+public class TestFunctors {
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testFunction() {
+        Function<String, Integer> length = new Length();
+        java.util.function.Function<String, Integer> jdk = Functors.asJavaFunction(length);
+        assertEquals(Integer.valueOf(3), jdk.apply("abc"));
+        assertSame(length, Functors.asFunction(jdk));
+
+        java.util.function.Function<String, Integer> lambda = new java.util.function.Function<String, Integer>() {
+            public Integer apply(String t) {
+                return t.length() * 2;
+            }
+        };
+        Function<String, Integer> functor = Functors.asFunction(lambda);
+        assertEquals(Integer.valueOf(6), functor.evaluate("abc"));
+        assertSame(lambda, Functors.asJavaFunction(functor));
+    }
+
+    @Test
+    public void testPredicate() {
+        Predicate<Object> isNull = new Not<Object>(IsNull.instance());
+        java.util.function.Predicate<Object> jdk = Functors.asJavaPredicate(isNull);
+        assertTrue(jdk.test("x"));
+        assertFalse(jdk.test(null));
+        assertSame(isNull, Functors.asPredicate(jdk));
+
+        java.util.function.Predicate<String> empty = new java.util.function.Predicate<String>() {
+            public boolean test(String t) {
+                return t.isEmpty();
+            }
+        };
+        assertTrue(Functors.asPredicate(empty).test(""));
+        assertSame(empty, Functors.asJavaPredicate(Functors.asPredicate(empty)));
+    }
+
+    @Test
+    public void testNullaryFunction() {
+        NullaryFunction<String> constant = Constant.of("x");
+        Supplier<String> supplier = Functors.asSupplier(constant);
+        assertEquals("x", supplier.get());
+        assertSame(constant, Functors.asNullaryFunction(supplier));
+        assertEquals("x", Functors.asNullaryFunction(new Supplier<String>() {
+            public String get() {
+                return "x";
+            }
+        }).evaluate());
+    }
+
+    @Test
+    public void testNullaryPredicate() {
+        NullaryPredicate predicate = new Constant<Boolean>(true);
+        BooleanSupplier supplier = Functors.asBooleanSupplier(predicate);
+        assertTrue(supplier.getAsBoolean());
+        assertSame(predicate, Functors.asNullaryPredicate(supplier));
+    }
+
+    @Test
+    public void testNullaryProcedure() {
+        final List<String> log = new ArrayList<String>();
+        Runnable runnable = new Runnable() {
+            public void run() {
+                log.add("run");
+            }
+        };
+        NullaryProcedure procedure = Functors.asNullaryProcedure(runnable);
+        procedure.run();
+        assertEquals(1, log.size());
+        assertSame(runnable, Functors.asRunnable(procedure));
+    }
+
+    @Test
+    public void testProcedure() {
+        final List<Object> log = new ArrayList<Object>();
+        Procedure<Object> procedure = new Procedure<Object>() {
+            public void run(Object obj) {
+                log.add(obj);
+            }
+        };
+        Consumer<Object> consumer = Functors.asConsumer(procedure);
+        consumer.accept("a");
+        assertEquals("a", log.get(0));
+        assertSame(procedure, Functors.asProcedure(consumer));
+    }
+
+    @Test
+    public void testBinaryFunctors() {
+        BinaryFunction<Integer, Integer, Integer> sum = new IntegerSumAggregatorBinaryFunction();
+        BiFunction<Integer, Integer, Integer> biFunction = Functors.asBiFunction(sum);
+        assertEquals(Integer.valueOf(5), biFunction.apply(2, 3));
+        assertSame(sum, Functors.asBinaryFunction(biFunction));
+
+        BinaryPredicate<Object, Object> equal = IsEqual.instance();
+        BiPredicate<Object, Object> biPredicate = Functors.asBiPredicate(equal);
+        assertTrue(biPredicate.test("a", "a"));
+        assertFalse(biPredicate.test("a", "b"));
+        assertEquals(equal, Functors.asBinaryPredicate(biPredicate));
+
+        final List<Object> log = new ArrayList<Object>();
+        BinaryProcedure<Object, Object> add = new BinaryProcedure<Object, Object>() {
+            public void run(Object left, Object right) {
+                log.add(left);
+                log.add(right);
+            }
+        };
+        BiConsumer<Object, Object> biConsumer = Functors.asBiConsumer(add);
+        biConsumer.accept("l", "r");
+        assertEquals(2, log.size());
+        assertSame(add, Functors.asBinaryProcedure(biConsumer));
+    }
+
+    @Test
+    public void testIntFunctors() {
+        IntPredicate even = new IntPredicate() {
+            public boolean test(int value) {
+                return (value & 1) == 0;
+            }
+        };
+        java.util.function.IntPredicate jdkEven = Functors.asJavaIntPredicate(even);
+        assertTrue(jdkEven.test(2));
+        assertFalse(jdkEven.test(3));
+        assertSame(even, Functors.asIntPredicate(jdkEven));
+
+        IntUnaryFunction negate = new IntUnaryFunction() {
+            public int evaluateAsInt(int value) {
+                return -value;
+            }
+        };
+        IntUnaryOperator operator = Functors.asIntUnaryOperator(negate);
+        assertEquals(-4, operator.applyAsInt(4));
+        assertSame(negate, Functors.asIntUnaryFunction(operator));
+
+        IntBinaryFunction sum = new IntegerSumAggregatorBinaryFunction();
+        IntBinaryOperator binaryOperator = Functors.asIntBinaryOperator(sum);
+        assertEquals(7, binaryOperator.applyAsInt(3, 4));
+        assertSame(sum, Functors.asIntBinaryFunction(binaryOperator));
+
+        final int[] total = new int[1];
+        IntProcedure add = new IntProcedure() {
+            public void run(int value) {
+                total[0] += value;
+            }
+        };
+        IntConsumer consumer = Functors.asIntConsumer(add);
+        consumer.accept(5);
+        assertEquals(5, total[0]);
+        assertSame(add, Functors.asIntProcedure(consumer));
+
+        ToIntFunction<String> length = new Length();
+        java.util.function.ToIntFunction<String> jdkLength = Functors.asJavaToIntFunction(length);
+        assertEquals(3, jdkLength.applyAsInt("abc"));
+        assertSame(length, Functors.asToIntFunction(jdkLength));
+    }
+
+    @Test
+    public void testIdentity() {
+        java.util.function.Function<Object, Object> identity = Functors.asJavaFunction(Identity.instance());
+        assertSame(java.util.function.Function.identity(), identity);
+        assertSame(identity, Functors.asJavaFunction(new Identity<Object>()));
+        assertSame(Identity.INSTANCE, Functors.asFunction(java.util.function.Function.identity()));
+    }
+
+    @Test
+    public void testSingletonsAreShared() {
+        assertSame(Functors.asJavaPredicate(Constant.TRUE), Functors.asJavaPredicate(Constant.TRUE));
+        assertSame(Functors.asSupplier(Constant.FALSE), Functors.asSupplier(Constant.FALSE));
+        assertSame(Functors.asJavaPredicate(IsNull.instance()), Functors.asJavaPredicate(IsNull.instance()));
+        assertSame(Functors.asRunnable(NoOp.instance()), Functors.asRunnable(NoOp.instance()));
+        assertSame(Functors.asConsumer(NoOp.instance()), Functors.asConsumer(NoOp.instance()));
+        assertSame(Functors.asBiPredicate(IsEqual.instance()), Functors.asBiPredicate(IsEqual.instance()));
+        assertSame(Constant.TRUE, Functors.asPredicate(Functors.asJavaPredicate(Constant.TRUE)));
+        assertNotSame(Functors.asJavaFunction(Constant.of("x")), Functors.asJavaFunction(Constant.of("x")));
+        assertTrue(Functors.asJavaPredicate(Constant.TRUE).test(null));
+        assertFalse(Functors.asBooleanSupplier(Constant.FALSE).getAsBoolean());
+    }
+
+    @Test
+    public void testEquals() {
+        Length length = new Length();
+        assertEquals(Functors.asJavaFunction(length), Functors.asJavaFunction(length));
+        assertEquals(Functors.asJavaFunction(length).hashCode(), Functors.asJavaFunction(length).hashCode());
+        assertFalse(Functors.asJavaFunction(length).equals(Functors.asJavaToIntFunction(length)));
+        assertEquals("FunctionJavaFunction<Length>", Functors.asJavaFunction(length).toString());
+    }
+
+    @Test
+    public void testNull() {
+        assertNull(Functors.asJavaFunction(null));
+        assertNull(Functors.asFunction(null));
+        assertNull(Functors.asJavaPredicate(null));
+        assertNull(Functors.asPredicate(null));
+        assertNull(Functors.asSupplier(null));
+        assertNull(Functors.asNullaryFunction(null));
+        assertNull(Functors.asBooleanSupplier(null));
+        assertNull(Functors.asNullaryPredicate(null));
+        assertNull(Functors.asRunnable(null));
+        assertNull(Functors.asNullaryProcedure(null));
+        assertNull(Functors.asConsumer(null));
+        assertNull(Functors.asProcedure(null));
+        assertNull(Functors.asBiFunction(null));
+        assertNull(Functors.asBinaryFunction(null));
+        assertNull(Functors.asBiPredicate(null));
+        assertNull(Functors.asBinaryPredicate(null));
+        assertNull(Functors.asBiConsumer(null));
+        assertNull(Functors.asBinaryProcedure(null));
+        assertNull(Functors.asJavaIntPredicate(null));
+        assertNull(Functors.asIntPredicate(null));
+        assertNull(Functors.asIntUnaryOperator(null));
+        assertNull(Functors.asIntUnaryFunction(null));
+        assertNull(Functors.asIntBinaryOperator(null));
+        assertNull(Functors.asIntBinaryFunction(null));
+        assertNull(Functors.asIntConsumer(null));
+        assertNull(Functors.asIntProcedure(null));
+        assertNull(Functors.asJavaToIntFunction(null));
+        assertNull(Functors.asToIntFunction(null));
+    }
+
+    // Classes
+    // ------------------------------------------------------------------------
+
+    static final class Length implements Function<String, Integer>, ToIntFunction<String> {
+        public Integer evaluate(String obj) {
+            return obj.length();
+        }
+
+        public int evaluateAsInt(String obj) {
+            return obj.length();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Length;
+        }
+
+        @Override
+        public int hashCode() {
+            return "Length".hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return "Length";
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.adapter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.IntPredicate;
+import org.apache.commons.functor.Predicate;
+import org.junit.Test;
+
+/**
+ */
+public class TestIntPredicatePredicate extends BaseFunctorTest {
+
+    // Functor Testing Framework
+    // ------------------------------------------------------------------------
+
+    @Override
+    protected Object makeFunctor() {
+        return new IntPredicatePredicate(IsEven.INSTANCE);
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testTest() throws Exception {
+        Predicate<Integer> p = new IntPredicatePredicate(IsEven.INSTANCE);
+        assertTrue(p.test(4));
+        assertFalse(p.test(-3));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testTestNull() throws Exception {
+        new IntPredicatePredicate(IsEven.INSTANCE).test(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullPredicate() throws Exception {
+        new IntPredicatePredicate(null);
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        Predicate<Integer> p = new IntPredicatePredicate(IsEven.INSTANCE);
+        assertEquals(p, p);
+        assertObjectsAreEqual(p, new IntPredicatePredicate(IsEven.INSTANCE));
+        assertObjectsAreNotEqual(p, new IntPredicatePredicate(new IntPredicate() {
+            public boolean test(int value) {
+                return false;
+            }
+        }));
+        assertTrue(!p.equals(null));
+    }
+
+    @Test
+    public void testAdaptNull() throws Exception {
+        assertNull(IntPredicatePredicate.adapt(null));
+    }
+
+    @Test
+    public void testAdapt() throws Exception {
+        assertNotNull(IntPredicatePredicate.adapt(IsEven.INSTANCE));
+    }
+
+    // Classes
+    // ------------------------------------------------------------------------
+
+    static final class IsEven implements IntPredicate {
+        static final IsEven INSTANCE = new IsEven();
+
+        public boolean test(int value) {
+            return (value & 1) == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "IsEven";
+        }
+    }
+}
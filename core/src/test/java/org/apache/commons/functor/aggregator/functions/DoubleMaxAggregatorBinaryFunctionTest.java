@@ -66,4 +66,10 @@ public class DoubleMaxAggregatorBinaryFunctionTest extends BaseFunctorTest {
         }
     }
 
+    @Test
+    public void testEvaluateAsDouble() throws Exception {
+        DoubleMaxAggregatorBinaryFunction fct = (DoubleMaxAggregatorBinaryFunction) makeFunctor();
+        assertEquals(3.5, fct.evaluateAsDouble(2.0, 3.5), 0.0);
+        assertEquals(2.0, fct.evaluateAsDouble(2.0, -3.0), 0.0);
+    }
 }
@@ -61,4 +61,11 @@ public class DoubleSumAggregatorBinaryFunctionTest extends BaseFunctorTest {
             assertEquals( result, total, DELTA );
         }
     }
+
+    @Test
+    public void testEvaluateAsDouble() throws Exception {
+        DoubleSumAggregatorBinaryFunction fct = (DoubleSumAggregatorBinaryFunction) makeFunctor();
+        assertEquals(5.5, fct.evaluateAsDouble(2.0, 3.5), 0.0);
+        assertEquals(-1.0, fct.evaluateAsDouble(2.0, -3.0), 0.0);
+    }
 }
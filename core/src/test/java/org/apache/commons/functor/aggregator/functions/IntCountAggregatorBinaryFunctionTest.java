@@ -55,4 +55,11 @@ public class IntCountAggregatorBinaryFunctionTest extends BaseFunctorTest {
             assertEquals( i, count );
         }
     }
+
+    @Test
+    public void testEvaluateAsInt() throws Exception {
+        IntegerCountAggregatorBinaryFunction fct = (IntegerCountAggregatorBinaryFunction) makeFunctor();
+        assertEquals(3, fct.evaluateAsInt(2, 7));
+        assertEquals(fct.evaluate(2, 7).intValue(), fct.evaluateAsInt(2, 7));
+    }
 }
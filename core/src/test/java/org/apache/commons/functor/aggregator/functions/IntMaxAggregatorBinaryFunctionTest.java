@@ -62,4 +62,11 @@ public class IntMaxAggregatorBinaryFunctionTest extends BaseFunctorTest {
             assertEquals(result, max);
         }
     }
+
+    @Test
+    public void testEvaluateAsInt() throws Exception {
+        IntegerMaxAggregatorBinaryFunction fct = (IntegerMaxAggregatorBinaryFunction) makeFunctor();
+        assertEquals(3, fct.evaluateAsInt(2, 3));
+        assertEquals(2, fct.evaluateAsInt(2, -3));
+    }
 }
@@ -59,4 +59,11 @@ public class IntSumAggregatorBinaryFunctionTest extends BaseFunctorTest {
             assertEquals(result, total);
         }
     }
+
+    @Test
+    public void testEvaluateAsInt() throws Exception {
+        IntegerSumAggregatorBinaryFunction fct = (IntegerSumAggregatorBinaryFunction) makeFunctor();
+        assertEquals(5, fct.evaluateAsInt(2, 3));
+        assertEquals(-1, fct.evaluateAsInt(2, -3));
+    }
 }
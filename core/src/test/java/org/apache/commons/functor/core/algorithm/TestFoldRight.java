@@ -25,6 +25,11 @@ import java.util.List;
 import org.apache.commons.functor.BaseFunctorTest;
 import org.apache.commons.functor.BinaryFunction;
 import org.apache.commons.functor.generator.loop.IteratorToGeneratorAdapter;
+import org.apache.commons.functor.generator.loop.ListGenerator;
+import org.apache.commons.functor.generator.loop.RangeGenerator;
+import org.apache.commons.functor.range.BoundType;
+import org.apache.commons.functor.range.DoubleRange;
+import org.apache.commons.functor.range.IntegerRange;
 import org.junit.Test;
 
 /**
@@ -50,6 +55,56 @@ public class TestFoldRight extends BaseFunctorTest {
         assertEquals("x", foldRight.evaluate(IteratorToGeneratorAdapter.adapt(new ArrayList<Object>().iterator()), "x").toString());
     }
 
+    @Test
+    public void testFoldRightList() {
+        FoldRight<Object> foldRight = new FoldRight<Object>(new StringConcatenator());
+        assertEquals("0123456789", foldRight.evaluate(ListGenerator.of(list)).toString());
+        assertEquals("0123456789x", foldRight.evaluate(ListGenerator.of(list), "x").toString());
+        assertEquals("x", foldRight.evaluate(ListGenerator.of(new ArrayList<Object>()), "x").toString());
+        assertEquals(null, foldRight.evaluate(ListGenerator.of(new ArrayList<Object>())));
+    }
+
+    @Test
+    public void testFoldRightLargeInput() {
+        List<Object> large = new ArrayList<Object>();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            large.add(Integer.valueOf(i % 10));
+            expected.append(i % 10);
+        }
+        FoldRight<Object> foldRight = new FoldRight<Object>(new StringConcatenator());
+        assertEquals(expected.toString(), foldRight.evaluate(IteratorToGeneratorAdapter.adapt(large.iterator())).toString());
+        assertEquals(expected.toString(), foldRight.evaluate(ListGenerator.of(large)).toString());
+    }
+
+    @Test
+    public void testFoldRightRange() {
+        FoldRight<Object> concat = new FoldRight<Object>(new StringConcatenator());
+        FoldRight<Integer> subtract = new FoldRight<Integer>(new BinaryFunction<Integer, Integer, Integer>() {
+            public Integer evaluate(Integer left, Integer right) {
+                return Integer.valueOf(left.intValue() - right.intValue());
+            }
+        });
+        // 0 - (1 - (2 - (3 - 4)))
+        assertEquals(Integer.valueOf(2), subtract.evaluate(RangeGenerator.of(new IntegerRange(0, 5))));
+        assertEquals(Integer.valueOf(2), subtract.evaluate(IteratorToGeneratorAdapter.adapt(new IntegerRange(0, 5))));
+        assertEquals(Integer.valueOf(-3), subtract.evaluate(RangeGenerator.of(new IntegerRange(0, 5)), Integer.valueOf(5)));
+        assertEquals(Integer.valueOf(-3), subtract.evaluate(IteratorToGeneratorAdapter.adapt(new IntegerRange(0, 5)), Integer.valueOf(5)));
+        // 9 - (7 - (5 - (3 - 1)))
+        assertEquals(Integer.valueOf(5), subtract.evaluate(RangeGenerator.of(new IntegerRange(9, 0, -2))));
+        // a single element with a zero step
+        assertEquals(Integer.valueOf(7), subtract.evaluate(RangeGenerator.of(
+            new IntegerRange(7, BoundType.CLOSED, 7, BoundType.CLOSED, 0))));
+        // not reversible in constant time, buffered instead
+        FoldRight<Double> subtractDouble = new FoldRight<Double>(new BinaryFunction<Double, Double, Double>() {
+            public Double evaluate(Double left, Double right) {
+                return Double.valueOf(left.doubleValue() - right.doubleValue());
+            }
+        });
+        assertEquals(Double.valueOf(2.0), subtractDouble.evaluate(RangeGenerator.of(new DoubleRange(0, 5))));
+        assertEquals(null, concat.evaluate(ListGenerator.of(new ArrayList<Object>())));
+    }
+
     // Attributes
     // ------------------------------------------------------------------------
     private List<Object> list = Arrays.<Object>asList(0,1,2,3,4,5,6,7,8,9);
@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.algorithm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.functor.core.comparator.Max;
+import org.apache.commons.functor.generator.loop.IteratorToGeneratorAdapter;
+import org.apache.commons.functor.generator.loop.ListGenerator;
+import org.apache.commons.functor.generator.loop.RangeGenerator;
+import org.apache.commons.functor.range.CharacterRange;
+import org.apache.commons.functor.range.IntegerRange;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link ParallelFoldLeft} algorithm.
+ */
+public class TestParallelFoldLeft extends BaseFunctorTest {
+
+    @Override
+    protected Object makeFunctor() throws Exception {
+        return new ParallelFoldLeft<Integer>(new TestFoldLeft.Sum());
+    }
+
+    // Lifecycle
+    // ------------------------------------------------------------------------
+
+    private ForkJoinPool pool = null;
+    private List<Integer> list = null;
+
+    @Before
+    public void setUp() throws Exception {
+        pool = new ForkJoinPool(4);
+        list = new ArrayList<Integer>();
+        for (int i = 0; i < 10000; i++) {
+            list.add(Integer.valueOf(i % 97));
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        pool.shutdown();
+        pool = null;
+        list = null;
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testSum() {
+        ParallelFoldLeft<Integer> fold = new ParallelFoldLeft<Integer>(new TestFoldLeft.Sum(), null, pool);
+        Integer expected = new FoldLeft<Integer>(new TestFoldLeft.Sum()).evaluate(ListGenerator.of(list));
+        assertEquals(expected, fold.evaluate(ListGenerator.of(list)));
+        assertEquals(Integer.valueOf(expected + 5), fold.evaluate(ListGenerator.of(list), Integer.valueOf(5)));
+    }
+
+    @Test
+    public void testMax() {
+        ParallelFoldLeft<Integer> fold = new ParallelFoldLeft<Integer>(Max.<Integer>instance(), null, pool);
+        assertEquals(Integer.valueOf(96), fold.evaluate(ListGenerator.of(list)));
+    }
+
+    @Test
+    public void testPreservesOrder() {
+        // string concatenation is associative but not commutative
+        List<String> letters = new ArrayList<String>();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            String letter = String.valueOf((char) ('a' + i % 26));
+            letters.add(letter);
+            expected.append(letter);
+        }
+        ParallelFoldLeft<String> fold = new ParallelFoldLeft<String>(new Concat(), "", pool);
+        assertEquals(expected.toString(), fold.evaluate(ListGenerator.of(letters)));
+        assertEquals(">" + expected, fold.evaluate(ListGenerator.of(letters), ">"));
+        for (int size = 0; size < 40; size++) {
+            assertEquals(expected.substring(0, size),
+                fold.evaluate(ListGenerator.of(letters.subList(0, size))));
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        ParallelFoldLeft<Integer> fold = new ParallelFoldLeft<Integer>(new TestFoldLeft.Sum(), null, pool);
+        assertNull(fold.evaluate(ListGenerator.of(new ArrayList<Integer>())));
+        assertEquals(Integer.valueOf(3), fold.evaluate(ListGenerator.of(new ArrayList<Integer>()), Integer.valueOf(3)));
+        fold = new ParallelFoldLeft<Integer>(new TestFoldLeft.Sum(), Integer.valueOf(0), pool);
+        assertEquals(Integer.valueOf(0), fold.evaluate(ListGenerator.of(new ArrayList<Integer>())));
+    }
+
+    @Test
+    public void testRange() {
+        ParallelFoldLeft<Integer> fold = new ParallelFoldLeft<Integer>(new TestFoldLeft.Sum(), null, pool);
+        assertEquals(Integer.valueOf(4950), fold.evaluate(RangeGenerator.of(new IntegerRange(0, 100))));
+        // keeping the left argument is associative, and yields the first element
+        BinaryFunction<Character, Character, Character> left = new BinaryFunction<Character, Character, Character>() {
+            public Character evaluate(Character left, Character right) {
+                return left;
+            }
+        };
+        ParallelFoldLeft<Character> first = new ParallelFoldLeft<Character>(left, null, pool);
+        assertEquals(Character.valueOf('z'), first.evaluate(RangeGenerator.of(new CharacterRange('z', 'a'))));
+    }
+
+    @Test
+    public void testNonSplittable() {
+        ParallelFoldLeft<Integer> fold = new ParallelFoldLeft<Integer>(new TestFoldLeft.Sum(), null, pool);
+        Integer expected = new FoldLeft<Integer>(new TestFoldLeft.Sum()).evaluate(ListGenerator.of(list));
+        assertEquals(expected, fold.evaluate(IteratorToGeneratorAdapter.adapt(list.iterator())));
+        assertEquals(Integer.valueOf(0),
+            fold.evaluate(IteratorToGeneratorAdapter.adapt(new ArrayList<Integer>().iterator()), Integer.valueOf(0)));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullFunction() {
+        new ParallelFoldLeft<Integer>(null);
+    }
+
+    @Test
+    public void testEquals() {
+        ParallelFoldLeft<Integer> fold = new ParallelFoldLeft<Integer>(new TestFoldLeft.Sum());
+        assertObjectsAreEqual(fold, new ParallelFoldLeft<Integer>(new TestFoldLeft.Sum()));
+        assertObjectsAreNotEqual(fold, new ParallelFoldLeft<Integer>(new TestFoldLeft.Sum(), Integer.valueOf(0)));
+    }
+
+    // Classes
+    // ------------------------------------------------------------------------
+
+    static class Concat implements BinaryFunction<String, String, String> {
+        public String evaluate(String left, String right) {
+            return left + right;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.algorithm;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.Procedure;
+import org.apache.commons.functor.core.NoOp;
+import org.apache.commons.functor.generator.loop.IteratorToGeneratorAdapter;
+import org.apache.commons.functor.generator.loop.ListGenerator;
+import org.apache.commons.functor.generator.loop.RangeGenerator;
+import org.apache.commons.functor.range.BoundType;
+import org.apache.commons.functor.range.LongRange;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link ParallelForEach} algorithm.
+ */
+public class TestParallelForEach extends BaseFunctorTest {
+
+    @Override
+    protected Object makeFunctor() throws Exception {
+        return new ParallelForEach<Object>(NoOp.instance());
+    }
+
+    // Lifecycle
+    // ------------------------------------------------------------------------
+
+    private ForkJoinPool pool = null;
+
+    @Before
+    public void setUp() throws Exception {
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        pool.shutdown();
+        pool = null;
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testRange() {
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong count = new AtomicLong();
+        new ParallelForEach<Long>(new Procedure<Long>() {
+            public void run(Long obj) {
+                sum.addAndGet(obj.longValue());
+                count.incrementAndGet();
+            }
+        }, pool).run(RangeGenerator.of(new LongRange(1L, BoundType.CLOSED, 100000L, BoundType.CLOSED, 3L)));
+        assertEquals(33334L, count.get());
+        assertEquals(33334L * (1L + 100000L) / 2, sum.get());
+    }
+
+    @Test
+    public void testVisitsEachElementOnce() {
+        List<Integer> list = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(Integer.valueOf(i));
+        }
+        final List<Integer> visited = Collections.synchronizedList(new ArrayList<Integer>());
+        Procedure<Integer> collect = new Procedure<Integer>() {
+            public void run(Integer obj) {
+                visited.add(obj);
+            }
+        };
+        new ParallelForEach<Integer>(collect, pool).run(ListGenerator.of(list));
+        Collections.sort(visited);
+        assertEquals(list, visited);
+        visited.clear();
+        new ParallelForEach<Integer>(collect, pool).run(IteratorToGeneratorAdapter.adapt(list.iterator()));
+        assertEquals(list, visited);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullProcedure() {
+        new ParallelForEach<Integer>(null);
+    }
+
+    @Test
+    public void testEquals() {
+        ParallelForEach<Object> each = new ParallelForEach<Object>(NoOp.instance());
+        assertObjectsAreEqual(each, new ParallelForEach<Object>(NoOp.instance()));
+        assertObjectsAreNotEqual(each, new ParallelForEach<Object>(new Procedure<Object>() {
+            public void run(Object obj) {
+            }
+        }));
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.algorithm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.IntProcedure;
+import org.apache.commons.functor.LongProcedure;
+import org.apache.commons.functor.range.BoundType;
+import org.apache.commons.functor.range.IntegerRange;
+import org.apache.commons.functor.range.LongRange;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link ParallelRangeLoop}.
+ */
+public class TestParallelRangeLoop extends BaseFunctorTest {
+
+    @Override
+    protected Object makeFunctor() throws Exception {
+        return new ParallelRangeLoop();
+    }
+
+    // Lifecycle
+    // ------------------------------------------------------------------------
+
+    private ForkJoinPool pool = null;
+    private ExecutorService executor = null;
+
+    @Before
+    public void setUp() throws Exception {
+        pool = new ForkJoinPool(4);
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        pool.shutdown();
+        pool = null;
+        executor.shutdown();
+        executor = null;
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testVisitsEachElementOnce() {
+        for (ParallelRangeLoop loop : loops()) {
+            final AtomicLongArray visits = new AtomicLongArray(300001);
+            loop.run(new LongRange(300000L, BoundType.CLOSED, 0L, BoundType.CLOSED, -3L), new LongProcedure() {
+                public void run(long value) {
+                    visits.incrementAndGet((int) value);
+                }
+            });
+            for (int i = 0; i < visits.length(); i++) {
+                assertEquals(loop + " " + i, i % 3 == 0 ? 1L : 0L, visits.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testIntegerRange() {
+        for (ParallelRangeLoop loop : loops()) {
+            final AtomicLong sum = new AtomicLong();
+            loop.run(new IntegerRange(-50000, BoundType.OPEN, 50000, BoundType.CLOSED, 7), new IntProcedure() {
+                public void run(int value) {
+                    sum.addAndGet(value);
+                }
+            });
+            long expected = 0L;
+            for (int i = -50000 + 7; i <= 50000; i += 7) {
+                expected += i;
+            }
+            assertEquals(expected, sum.get());
+        }
+    }
+
+    @Test
+    public void testAtLimits() {
+        final AtomicLong count = new AtomicLong();
+        new ParallelRangeLoop(pool).run(new LongRange(Long.MIN_VALUE, BoundType.CLOSED, Long.MAX_VALUE,
+            BoundType.CLOSED, Long.MAX_VALUE / 1000), new LongProcedure() {
+                public void run(long value) {
+                    count.incrementAndGet();
+                }
+            });
+        assertEquals(2001L, count.get());
+    }
+
+    @Test
+    public void testProgress() throws Exception {
+        for (ParallelRangeLoop loop : loops()) {
+            ParallelRangeLoop.Execution execution = loop.start(new LongRange(0L, 100000L), new LongProcedure() {
+                public void run(long value) {
+                }
+            });
+            execution.get();
+            assertTrue(execution.isDone());
+            assertEquals(100000L, execution.getSize());
+            assertEquals(100000L, execution.getCompletedCount());
+        }
+    }
+
+    @Test
+    public void testEmptyRange() throws Exception {
+        ParallelRangeLoop.Execution execution = new ParallelRangeLoop(pool).start(new LongRange(5L, 5L),
+            new LongProcedure() {
+                public void run(long value) {
+                    fail("Empty range");
+                }
+            });
+        assertTrue(execution.isDone());
+        assertEquals(0L, execution.getCompletedCount());
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        for (ParallelRangeLoop loop : loops()) {
+            final ParallelRangeLoop.Execution[] execution = new ParallelRangeLoop.Execution[1];
+            synchronized (execution) {
+                execution[0] = loop.start(new LongRange(0L, 1000000000L), new LongProcedure() {
+                    public void run(long value) {
+                        if (value == 5000L) {
+                            synchronized (execution) {
+                                execution[0].cancel(false);
+                            }
+                        }
+                    }
+                });
+            }
+            try {
+                execution[0].get();
+                fail("Expected CancellationException");
+            } catch (CancellationException e) {
+                // expected
+            }
+            assertTrue(execution[0].isCancelled());
+            assertTrue(execution[0].getCompletedCount() < 1000000000L);
+        }
+    }
+
+    @Test
+    public void testFailure() throws Exception {
+        for (ParallelRangeLoop loop : loops()) {
+            LongProcedure failing = new LongProcedure() {
+                public void run(long value) {
+                    if (value == 12345L) {
+                        throw new IllegalStateException("failed at " + value);
+                    }
+                }
+            };
+            try {
+                loop.run(new LongRange(0L, 1000000000L), failing);
+                fail("Expected IllegalStateException");
+            } catch (IllegalStateException e) {
+                assertEquals("failed at 12345", e.getMessage());
+            }
+            try {
+                loop.start(new LongRange(0L, 100000L), failing).get();
+                fail("Expected ExecutionException");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveParallelism() {
+        new ParallelRangeLoop(executor, 0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullProcedure() {
+        new ParallelRangeLoop(pool).run(new LongRange(0L, 10L), null);
+    }
+
+    // Utils
+    // ------------------------------------------------------------------------
+
+    private ParallelRangeLoop[] loops() {
+        return new ParallelRangeLoop[] {new ParallelRangeLoop(pool), new ParallelRangeLoop(executor, 8),
+            new ParallelRangeLoop(executor, 1)};
+    }
+}
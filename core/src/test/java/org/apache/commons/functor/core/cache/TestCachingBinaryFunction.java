@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.functor.core.LeftIdentity;
+import org.apache.commons.functor.core.RightIdentity;
+import org.junit.Test;
+
+/**
+ * Tests the CachingBinaryFunction class.
+ */
+public class TestCachingBinaryFunction extends BaseFunctorTest {
+
+    // Functor Testing Framework
+    // ------------------------------------------------------------------------
+
+    @Override
+    protected Object makeFunctor() {
+        return new CachingBinaryFunction<Object, Object, Object>(LeftIdentity.function());
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testComputesOncePerPair() {
+        final AtomicInteger calls = new AtomicInteger();
+        CachingBinaryFunction<String, Integer, String> f = new CachingBinaryFunction<String, Integer, String>(
+            new BinaryFunction<String, Integer, String>() {
+                public String evaluate(String left, Integer right) {
+                    calls.incrementAndGet();
+                    return left + right;
+                }
+            });
+        assertEquals("a1", f.evaluate("a", 1));
+        assertEquals("a1", f.evaluate("a", 1));
+        assertEquals("a2", f.evaluate("a", 2));
+        assertEquals("b1", f.evaluate("b", 1));
+        assertEquals("null1", f.evaluate(null, 1));
+        assertEquals("nullnull", f.evaluate(null, null));
+        assertEquals("nullnull", f.evaluate(null, null));
+        assertEquals(5, calls.get());
+        assertEquals(new CacheStats(2, 5, 0), f.getStats());
+        f.invalidate("a", 1);
+        assertEquals(4, f.size());
+        f.invalidateAll();
+        assertEquals(0, f.size());
+    }
+
+    @Test
+    public void testMaximumSize() {
+        CachingBinaryFunction<Object, Object, Object> f =
+            new CachingBinaryFunction<Object, Object, Object>(LeftIdentity.function(), 4);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, f.evaluate(i, i));
+        }
+        assertEquals(4, f.size());
+        assertEquals(16, f.getStats().getEvictionCount());
+    }
+
+    @Test
+    public void testEquals() {
+        CachingBinaryFunction<Object, Object, Object> f =
+            new CachingBinaryFunction<Object, Object, Object>(LeftIdentity.function());
+        assertObjectsAreEqual(f, new CachingBinaryFunction<Object, Object, Object>(LeftIdentity.function()));
+        assertObjectsAreNotEqual(f, new CachingBinaryFunction<Object, Object, Object>(RightIdentity.function()));
+        assertObjectsAreNotEqual(f, new CachingBinaryFunction<Object, Object, Object>(LeftIdentity.function(), 2));
+    }
+
+    @Test
+    public void testMemoize() {
+        assertNull(CachingBinaryFunction.memoize(null));
+        assertEquals(makeFunctor(), CachingBinaryFunction.memoize(LeftIdentity.function()));
+    }
+}
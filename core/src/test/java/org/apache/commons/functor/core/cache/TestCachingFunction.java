@@ -0,0 +1,372 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.Function;
+import org.apache.commons.functor.core.Identity;
+import org.apache.commons.functor.core.collection.Size;
+import org.junit.Test;
+
+/**
+ * Tests the CachingFunction class.
+ */
+public class TestCachingFunction extends BaseFunctorTest {
+
+    // Functor Testing Framework
+    // ------------------------------------------------------------------------
+
+    @Override
+    protected Object makeFunctor() {
+        return new CachingFunction<Object, Object>(Identity.instance());
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testComputesOnce() {
+        Counting counting = new Counting();
+        CachingFunction<String, String> f = new CachingFunction<String, String>(counting);
+        assertEquals("a!", f.evaluate("a"));
+        assertEquals("a!", f.evaluate("a"));
+        assertEquals("b!", f.evaluate("b"));
+        assertEquals(2, counting.calls.get());
+        assertEquals(2, f.size());
+        assertEquals(new CacheStats(1, 2, 0), f.getStats());
+        assertEquals(1.0 / 3, f.getStats().getHitRate(), 0.0);
+    }
+
+    @Test
+    public void testNullArgumentAndResult() {
+        final AtomicInteger calls = new AtomicInteger();
+        CachingFunction<Object, Object> f = new CachingFunction<Object, Object>(new Function<Object, Object>() {
+            public Object evaluate(Object obj) {
+                calls.incrementAndGet();
+                return null;
+            }
+        });
+        assertNull(f.evaluate(null));
+        assertNull(f.evaluate(null));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testMaximumSize() {
+        Counting counting = new Counting();
+        CachingFunction<String, String> f = new CachingFunction<String, String>(counting, 3);
+        for (int i = 0; i < 10; i++) {
+            f.evaluate(String.valueOf(i));
+        }
+        assertEquals(3, f.size());
+        assertEquals(7, f.getStats().getEvictionCount());
+    }
+
+    @Test
+    public void testRecentlyUsedSurvives() {
+        Counting counting = new Counting();
+        CachingFunction<String, String> f = new CachingFunction<String, String>(counting, 3);
+        f.evaluate("a");
+        f.evaluate("b");
+        f.evaluate("c");
+        f.evaluate("a");
+        f.evaluate("d");
+        assertEquals(4, counting.calls.get());
+        f.evaluate("a");
+        assertEquals(4, counting.calls.get());
+        f.evaluate("b");
+        assertEquals(5, counting.calls.get());
+    }
+
+    @Test
+    public void testExpiry() {
+        final AtomicLong now = new AtomicLong();
+        Counting counting = new Counting();
+        CachingFunction<String, String> f = new CachingFunction<String, String>(counting, Long.MAX_VALUE, 100L,
+            new LongSupplier() {
+                public long getAsLong() {
+                    return now.get();
+                }
+            });
+        f.evaluate("a");
+        now.set(99L);
+        f.evaluate("a");
+        assertEquals(1, counting.calls.get());
+        now.set(100L);
+        f.evaluate("a");
+        assertEquals(2, counting.calls.get());
+        now.set(150L);
+        f.evaluate("a");
+        assertEquals(2, counting.calls.get());
+        assertEquals(new CacheStats(2, 2, 0), f.getStats());
+    }
+
+    @Test
+    public void testExpiryWithMaximumSize() {
+        final AtomicLong now = new AtomicLong();
+        Counting counting = new Counting();
+        CachingFunction<String, String> f = new CachingFunction<String, String>(counting, 2, 1L,
+            new LongSupplier() {
+                public long getAsLong() {
+                    return now.get();
+                }
+            });
+        for (int i = 0; i < 100; i++) {
+            now.incrementAndGet();
+            assertEquals("a!", f.evaluate("a"));
+        }
+        assertEquals(100, counting.calls.get());
+        assertEquals(1, f.size());
+        assertEquals(0, f.getStats().getEvictionCount());
+    }
+
+    @Test
+    public void testFailureIsNotRemembered() {
+        final AtomicInteger calls = new AtomicInteger();
+        CachingFunction<String, String> f = new CachingFunction<String, String>(new Function<String, String>() {
+            public String evaluate(String obj) {
+                if (calls.incrementAndGet() == 1) {
+                    throw new IllegalStateException("first");
+                }
+                return obj;
+            }
+        });
+        try {
+            f.evaluate("a");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertEquals("first", e.getMessage());
+        }
+        assertEquals(0, f.size());
+        assertEquals("a", f.evaluate("a"));
+        assertEquals("a", f.evaluate("a"));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testJoiningAFailureIsAMiss() throws Exception {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CachingFunction<String, String> f = new CachingFunction<String, String>(new Function<String, String>() {
+            public String evaluate(String obj) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                throw new IllegalStateException("failed");
+            }
+        });
+        final AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 2; i++) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        f.evaluate("a");
+                    } catch (IllegalStateException e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            };
+            threads.add(thread);
+        }
+        threads.get(0).start();
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        threads.get(1).start();
+        // wait until the second caller blocks on the pending entry
+        while (threads.get(1).getState() != Thread.State.WAITING) {
+            Thread.sleep(1L);
+        }
+        release.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(2, failures.get());
+        assertEquals(new CacheStats(0, 2, 0), f.getStats());
+    }
+
+    @Test
+    public void testRecursiveEvaluation() {
+        final AtomicReference<Function<String, String>> self = new AtomicReference<Function<String, String>>();
+        CachingFunction<String, String> f = new CachingFunction<String, String>(new Function<String, String>() {
+            public String evaluate(String obj) {
+                return self.get().evaluate(obj);
+            }
+        });
+        self.set(f);
+        try {
+            f.evaluate("a");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertEquals(0, f.size());
+    }
+
+    @Test
+    public void testConcurrentCallersComputeOnce() throws Exception {
+        final Counting counting = new Counting();
+        counting.delay = 50L;
+        final CachingFunction<String, String> f = new CachingFunction<String, String>(counting);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<String> results = new ArrayList<String>();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    String result = f.evaluate("a");
+                    synchronized (results) {
+                        results.add(result);
+                    }
+                }
+            };
+            threads.add(thread);
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, counting.calls.get());
+        assertEquals(8, results.size());
+        for (String result : results) {
+            assertSame(results.get(0), result);
+        }
+    }
+
+    @Test
+    public void testSlowKeyDoesNotBlockOthers() throws Exception {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CachingFunction<String, String> f = new CachingFunction<String, String>(new Function<String, String>() {
+            public String evaluate(String obj) {
+                if ("slow".equals(obj)) {
+                    entered.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return obj;
+            }
+        });
+        Thread slow = new Thread() {
+            @Override
+            public void run() {
+                f.evaluate("slow");
+            }
+        };
+        slow.start();
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        assertEquals("fast", f.evaluate("fast"));
+        release.countDown();
+        slow.join();
+        assertEquals("slow", f.evaluate("slow"));
+        assertEquals(new CacheStats(1, 2, 0), f.getStats());
+    }
+
+    @Test
+    public void testInvalidate() {
+        Counting counting = new Counting();
+        CachingFunction<String, String> f = new CachingFunction<String, String>(counting, 10);
+        f.evaluate("a");
+        f.evaluate("b");
+        f.invalidate("a");
+        assertEquals(1, f.size());
+        f.evaluate("a");
+        f.evaluate("b");
+        assertEquals(3, counting.calls.get());
+        f.invalidateAll();
+        assertEquals(0, f.size());
+    }
+
+    @Test
+    public void testEquals() {
+        CachingFunction<Object, Object> f = new CachingFunction<Object, Object>(Identity.instance());
+        assertObjectsAreEqual(f, new CachingFunction<Object, Object>(Identity.instance()));
+        assertObjectsAreNotEqual(f, new CachingFunction<Object, Object>(Size.instance()));
+        assertObjectsAreNotEqual(f, new CachingFunction<Object, Object>(Identity.instance(), 10));
+        assertObjectsAreNotEqual(f,
+            new CachingFunction<Object, Object>(Identity.instance(), Long.MAX_VALUE, 1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testMemoize() {
+        assertNull(CachingFunction.memoize(null));
+        assertEquals(makeFunctor(), CachingFunction.memoize(Identity.instance()));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullFunction() {
+        new CachingFunction<Object, Object>(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveMaximumSize() {
+        new CachingFunction<Object, Object>(Identity.instance(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveExpiry() {
+        new CachingFunction<Object, Object>(Identity.instance(), 10, 0, TimeUnit.SECONDS);
+    }
+
+    // Classes
+    // ------------------------------------------------------------------------
+
+    static class Counting implements Function<String, String> {
+        final AtomicInteger calls = new AtomicInteger();
+        long delay = 0L;
+
+        public String evaluate(String obj) {
+            calls.incrementAndGet();
+            if (delay > 0L) {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return new String(obj + "!");
+        }
+    }
+}
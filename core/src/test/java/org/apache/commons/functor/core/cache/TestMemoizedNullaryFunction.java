@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.NullaryFunction;
+import org.apache.commons.functor.core.Constant;
+import org.junit.Test;
+
+/**
+ * Tests the MemoizedNullaryFunction class.
+ */
+public class TestMemoizedNullaryFunction extends BaseFunctorTest {
+
+    // Functor Testing Framework
+    // ------------------------------------------------------------------------
+
+    @Override
+    protected Object makeFunctor() {
+        return new MemoizedNullaryFunction<Object>(Constant.of("xyzzy"));
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testEvaluatesOnce() {
+        final AtomicInteger calls = new AtomicInteger();
+        MemoizedNullaryFunction<Object> f = new MemoizedNullaryFunction<Object>(new NullaryFunction<Object>() {
+            public Object evaluate() {
+                calls.incrementAndGet();
+                return new Object();
+            }
+        });
+        assertFalse(f.isEvaluated());
+        Object first = f.evaluate();
+        assertTrue(f.isEvaluated());
+        assertSame(first, f.evaluate());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testNullResult() {
+        final AtomicInteger calls = new AtomicInteger();
+        MemoizedNullaryFunction<Object> f = new MemoizedNullaryFunction<Object>(new NullaryFunction<Object>() {
+            public Object evaluate() {
+                calls.incrementAndGet();
+                return null;
+            }
+        });
+        assertNull(f.evaluate());
+        assertNull(f.evaluate());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testFailureIsRetried() {
+        final AtomicInteger calls = new AtomicInteger();
+        MemoizedNullaryFunction<String> f = new MemoizedNullaryFunction<String>(new NullaryFunction<String>() {
+            public String evaluate() {
+                if (calls.incrementAndGet() == 1) {
+                    throw new IllegalStateException();
+                }
+                return "ok";
+            }
+        });
+        try {
+            f.evaluate();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertFalse(f.isEvaluated());
+        assertEquals("ok", f.evaluate());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testConcurrentEvaluation() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final MemoizedNullaryFunction<Object> f = new MemoizedNullaryFunction<Object>(new NullaryFunction<Object>() {
+            public Object evaluate() {
+                calls.incrementAndGet();
+                return new Object();
+            }
+        });
+        final List<Object> results = new ArrayList<Object>();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    Object result = f.evaluate();
+                    synchronized (results) {
+                        results.add(result);
+                    }
+                }
+            };
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, calls.get());
+        for (Object result : results) {
+            assertSame(results.get(0), result);
+        }
+    }
+
+    @Test
+    public void testEquals() {
+        MemoizedNullaryFunction<Object> f = new MemoizedNullaryFunction<Object>(Constant.of("xyzzy"));
+        assertObjectsAreEqual(f, new MemoizedNullaryFunction<Object>(Constant.of("xyzzy")));
+        assertObjectsAreNotEqual(f, new MemoizedNullaryFunction<Object>(Constant.of("abc")));
+        assertObjectsAreNotEqual(f, Constant.of("xyzzy"));
+    }
+
+    @Test
+    public void testMemoize() {
+        assertNull(MemoizedNullaryFunction.memoize(null));
+        assertEquals(makeFunctor(), MemoizedNullaryFunction.memoize(Constant.of("xyzzy")));
+    }
+}
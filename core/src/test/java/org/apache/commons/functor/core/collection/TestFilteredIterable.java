@@ -30,9 +30,12 @@ import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.BinaryFunction;
+import org.apache.commons.functor.Function;
 import org.apache.commons.functor.Predicate;
 import org.apache.commons.functor.core.Constant;
 import org.apache.commons.functor.core.IsEqual;
+import org.apache.commons.functor.core.composite.Not;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -245,6 +248,18 @@ public class TestFilteredIterable extends BaseFunctorTest {
         assertFalse(iterator.hasNext());
     }
 
+    @Test
+    public void testRetainTypeFollowsLaterRetains() {
+        FilteredIterable<Object> objects = FilteredIterable.of(Arrays.asList((Object) "a", "bb", 1, "ccc"));
+        FilteredIterable<String> strings = objects.retain(String.class);
+        objects.retain(new Not<Object>(IsEqual.to("bb")));
+        List<String> result = new ArrayList<String>();
+        for (String s : strings) {
+            result.add(s);
+        }
+        assertEquals(Arrays.asList("a", "ccc"), result);
+    }
+
     @Test
     public void testMultipleLevels() {
         Iterable<Object> objects = Arrays.asList((Object) "foo", "bar", "baz", 2L, BigInteger.ZERO);
@@ -276,4 +291,148 @@ public class TestFilteredIterable extends BaseFunctorTest {
     public void testRetainNullPredicate() {
         FilteredIterable.of(Collections.singleton("foo")).retain((Predicate<String>) null);
     }
+
+    @Test
+    public void testMap() {
+        assertEquals(Arrays.asList(0, 4, 8, 12, 16), collect(FilteredIterable.of(list).retain(isEven).map(twice)));
+    }
+
+    @Test
+    public void testFlatMap() {
+        FilteredIterable<Integer> repeated = FilteredIterable.of(Arrays.asList(0, 1, 2, 3)).flatMap(repeat);
+        assertEquals(Arrays.asList(1, 2, 2, 3, 3, 3), collect(repeated));
+        assertEquals(Arrays.asList(4, 4, 4, 4, 6), collect(repeated.flatMap(repeat).skip(1L).limit(5L).map(twice)));
+        assertEquals(Arrays.asList(1, 3, 3, 3), collect(repeated.retain(Not.not(isEven))));
+    }
+
+    @Test
+    public void testLimitAndSkip() {
+        assertEquals(Arrays.asList(4, 6), collect(FilteredIterable.of(list).retain(isEven).skip(2L).limit(2L)));
+        assertEquals(Arrays.asList(), collect(FilteredIterable.of(list).limit(0L)));
+        assertEquals(Arrays.asList(), collect(FilteredIterable.of(list).skip(20L)));
+        assertEquals(list, collect(FilteredIterable.of(list).limit(Long.MAX_VALUE)));
+        assertEquals(Arrays.asList(1, 2, 2),
+            collect(FilteredIterable.of(Arrays.asList(1, 2, 3)).limit(2L).flatMap(repeat)));
+    }
+
+    @Test
+    public void testLimitStopsReading() {
+        Iterator<Integer> source = list.iterator();
+        final Iterator<Integer> limited = FilteredIterable.of(list).limit(3L).iterator();
+        while (limited.hasNext()) {
+            assertEquals(source.next(), limited.next());
+        }
+        limited.remove();
+        assertEquals(Arrays.asList(0, 1, 3, 4), list.subList(0, 4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeLimit() {
+        FilteredIterable.of(list).limit(-1L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeSkip() {
+        FilteredIterable.of(list).skip(-1L);
+    }
+
+    @Test
+    public void testDistinct() {
+        FilteredIterable<Integer> halves = FilteredIterable.of(list).map(half).distinct();
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), collect(halves));
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), collect(halves));
+    }
+
+    @Test
+    public void testSorted() {
+        List<Integer> shuffled = Arrays.asList(3, 1, 4, 1, 5, 9, 2, 6);
+        assertEquals(Arrays.asList(1, 1, 2, 3, 4, 5, 6, 9), collect(FilteredIterable.of(shuffled).sorted()));
+        assertEquals(Arrays.asList(6, 4, 2), collect(FilteredIterable.of(shuffled).retain(isEven)
+            .sorted(Collections.reverseOrder()).limit(3L)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSortedRemove() {
+        Iterator<Integer> iterator = FilteredIterable.of(list).sorted().iterator();
+        iterator.next();
+        iterator.remove();
+    }
+
+    @Test
+    public void testReduce() {
+        BinaryFunction<Integer, Integer, Integer> sum = new BinaryFunction<Integer, Integer, Integer>() {
+            public Integer evaluate(Integer left, Integer right) {
+                return left + right;
+            }
+        };
+        assertEquals(Integer.valueOf(20), FilteredIterable.of(list).retain(isEven).reduce(0, sum));
+        assertEquals(Integer.valueOf(7), FilteredIterable.of(list).limit(0L).reduce(7, sum));
+    }
+
+    @Test
+    public void testStagesAreSnapshots() {
+        FilteredIterable<Integer> filter = FilteredIterable.of(list);
+        FilteredIterable<Integer> doubled = filter.map(twice);
+        FilteredIterable<Integer> numbers = filter.retain(Integer.class);
+        filter.retain(isEven);
+        assertEquals(evens, collect(filter));
+        assertEquals(10, collect(doubled).size());
+        // retaining a type follows later retains instead
+        assertEquals(evens, collect(numbers));
+        doubled.retain(IsEqual.to(4));
+        assertEquals(Arrays.asList(4), collect(doubled));
+        assertEquals(evens, collect(filter));
+    }
+
+    @Test
+    public void testRetainIsFused() {
+        FilteredIterable<Integer> filter = FilteredIterable.of(list).retain(isEven).retain(Not.not(IsEqual.to(4)));
+        assertEquals(Arrays.asList(0, 2, 6, 8), collect(filter));
+        filter.retain(Not.not(IsEqual.to(0))).retain(Not.not(IsEqual.to(8)));
+        assertEquals(Arrays.asList(2, 6), collect(filter));
+    }
+
+    @Test
+    public void testRemoveThroughMap() {
+        Iterator<Integer> testing = FilteredIterable.of(list).retain(isEven).map(twice).iterator();
+        while (testing.hasNext()) {
+            testing.next();
+            testing.remove();
+        }
+        assertTrue(Collections.disjoint(list, evens));
+    }
+
+    @Test(expected=NullPointerException.class)
+    public void testMapNull() {
+        FilteredIterable.of(list).map(null);
+    }
+
+    // Utils
+    // ------------------------------------------------------------------------
+
+    private static final Function<Integer, Integer> twice = new Function<Integer, Integer>() {
+        public Integer evaluate(Integer obj) {
+            return obj * 2;
+        }
+    };
+
+    private static final Function<Integer, Integer> half = new Function<Integer, Integer>() {
+        public Integer evaluate(Integer obj) {
+            return obj / 2;
+        }
+    };
+
+    private static final Function<Integer, List<Integer>> repeat = new Function<Integer, List<Integer>>() {
+        public List<Integer> evaluate(Integer obj) {
+            return Collections.nCopies(obj, obj);
+        }
+    };
+
+    private static <T> List<T> collect(Iterable<T> iterable) {
+        List<T> result = new ArrayList<T>();
+        for (T obj : iterable) {
+            result.add(obj);
+        }
+        return result;
+    }
 }
@@ -16,13 +16,18 @@
  */
 package org.apache.commons.functor.core.collection;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.apache.commons.functor.BaseFunctorTest;
 import org.apache.commons.functor.Predicate;
@@ -74,6 +79,69 @@ public class TestIsElementOf extends BaseFunctorTest {
         assertTrue(!p.test(Integer.valueOf(11)));
     }
 
+    @Test
+    public void testTestPrimitiveArrays() throws Exception {
+        Object[] arrays = {new int[] {5, -3, 5, 1000000, 7}, new long[] {Long.MIN_VALUE, 0L, Long.MAX_VALUE},
+            new short[] {3, 1, 2}, new byte[] {-128, 127}, new char[] {'z', 'a'}, new boolean[] {true},
+            new double[] {0.5, Double.NaN, -0.0}, new float[] {1.5f, 0.0f}};
+        Object[] probes = {Integer.valueOf(5), Integer.valueOf(-3), Integer.valueOf(1000000), Integer.valueOf(6),
+            Long.valueOf(5L), Long.valueOf(Long.MIN_VALUE), Long.valueOf(Long.MAX_VALUE), Long.valueOf(1L),
+            Short.valueOf((short) 2), Short.valueOf((short) 4), Byte.valueOf((byte) -128), Byte.valueOf((byte) 0),
+            Character.valueOf('a'), Character.valueOf('b'), Boolean.TRUE, Boolean.FALSE, Double.valueOf(0.5),
+            Double.valueOf(Double.NaN), Double.valueOf(-0.0), Double.valueOf(0.0), Float.valueOf(1.5f),
+            Float.valueOf(-0.0f), Float.valueOf(0.0f), null, "5"};
+        for (Object array : arrays) {
+            Predicate<Object> p = IsElementOf.instance(array);
+            for (Object probe : probes) {
+                assertEquals(array + " " + probe, IsElementOf.instance().test(probe, array), p.test(probe));
+            }
+        }
+    }
+
+    @Test
+    public void testDenseAndSparseKeys() throws Exception {
+        int[] dense = new int[1000];
+        int[] sparse = new int[1000];
+        for (int i = 0; i < dense.length; i++) {
+            dense[i] = i * 3 - 1500;
+            sparse[i] = i * 1000003;
+        }
+        Predicate<Integer> p = IsElementOf.instance(dense);
+        Predicate<Integer> q = IsElementOf.instance(sparse);
+        for (int i = -2000; i < 2000; i++) {
+            assertEquals(i % 3 == 0 && i >= -1500 && i < 1500, p.test(Integer.valueOf(i)));
+        }
+        assertTrue(q.test(Integer.valueOf(999 * 1000003)));
+        assertFalse(q.test(Integer.valueOf(999 * 1000003 + 1)));
+        assertFalse(q.test(Integer.valueOf(Integer.MIN_VALUE)));
+        assertObjectsAreEqual(p, IsElementOf.instance(dense.clone()));
+        assertObjectsAreNotEqual(p, q);
+        assertFalse(IsElementOf.instance(new int[0]).test(Integer.valueOf(0)));
+    }
+
+    @Test
+    public void testCopiesCollection() throws Exception {
+        List<String> list = new ArrayList<String>(Arrays.asList("a", null, "b"));
+        Predicate<String> p = IsElementOf.instance(list);
+        list.add("c");
+        assertTrue(p.test("a"));
+        assertTrue(p.test(null));
+        assertFalse(p.test("c"));
+        Predicate<String> q = IsElementOf.instance(new String[] {"a", "b"});
+        assertTrue(q.test("b"));
+        assertFalse(q.test("c"));
+    }
+
+    @Test
+    public void testUsesSet() throws Exception {
+        Set<String> set = new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
+        set.add("Alpha");
+        Predicate<String> p = IsElementOf.instance(set);
+        assertTrue(p.test("ALPHA"));
+        set.add("beta");
+        assertTrue(p.test("Beta"));
+    }
+
     @Test
     public void testTestArrayWithNull() throws Exception {
         assertTrue(! IsElementOf.instance().test(null,new int[] { 5, 10, 15 }));
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -29,6 +30,7 @@ import java.util.Set;
 
 import org.apache.commons.functor.BaseFunctorTest;
 import org.apache.commons.functor.Function;
+import org.apache.commons.functor.Predicate;
 import org.apache.commons.functor.core.Constant;
 import org.junit.Test;
 
@@ -108,4 +110,56 @@ public class TestSize extends BaseFunctorTest {
         assertTrue(!f.equals((Size<?>) null));
     }
 
+    @Test
+    public void testEvaluateAsInt() throws Exception {
+        assertEquals(3, Size.instance().evaluateAsInt(Arrays.asList("a", "b", "c")));
+        assertEquals(4, Size.instance().evaluateAsInt(new long[4]));
+        assertEquals(5, Size.instance().evaluateAsInt("xyzzy"));
+    }
+
+    @Test
+    public void testOf() throws Exception {
+        assertEquals(2, Size.of(List.class).evaluateAsInt(Arrays.asList("a", "b")));
+        assertEquals(5, Size.of(String.class).evaluateAsInt("xyzzy"));
+        assertEquals(5, Size.of(StringBuilder.class).evaluateAsInt(new StringBuilder("xyzzy")));
+        assertEquals(7, Size.of(String[].class).evaluateAsInt(new String[7]));
+        assertEquals(1, Size.of(boolean[].class).evaluateAsInt(new boolean[1]));
+        assertEquals(2, Size.of(byte[].class).evaluateAsInt(new byte[2]));
+        assertEquals(3, Size.of(char[].class).evaluateAsInt(new char[3]));
+        assertEquals(4, Size.of(short[].class).evaluateAsInt(new short[4]));
+        assertEquals(5, Size.of(int[].class).evaluateAsInt(new int[5]));
+        assertEquals(6, Size.of(long[].class).evaluateAsInt(new long[6]));
+        assertEquals(7, Size.of(float[].class).evaluateAsInt(new float[7]));
+        assertEquals(8, Size.of(double[].class).evaluateAsInt(new double[8]));
+        assertEquals(9, Size.of(int[][].class).evaluateAsInt(new int[9][]));
+        assertSame(Size.instance(), Size.of(Object.class));
+        assertSame(Size.of(List.class), Size.of(Set.class));
+        assertEquals("Size<int[]>", Size.of(int[].class).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfNonCollection() throws Exception {
+        Size.of(Integer.class);
+    }
+
+    @Test
+    public void testBetween() throws Exception {
+        Predicate<String> p = Size.between(String.class, 2, 3);
+        assertTrue(!p.test("a"));
+        assertTrue(p.test("ab"));
+        assertTrue(p.test("abc"));
+        assertTrue(!p.test("abcd"));
+        Predicate<int[]> q = Size.between(int[].class, 0, 0);
+        assertTrue(q.test(new int[0]));
+        assertTrue(!q.test(new int[1]));
+        assertObjectsAreEqual(p, Size.between(String.class, 2, 3));
+        assertObjectsAreNotEqual(p, Size.between(String.class, 2, 4));
+        assertObjectsAreNotEqual(p, Size.between(CharSequence.class, 1, 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBetweenInvalidBounds() throws Exception {
+        Size.between(String.class, 3, 2);
+    }
+
 }
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.Predicate;
+import org.apache.commons.functor.core.Constant;
+import org.junit.Test;
+
+/**
+ * Tests the AdaptiveAnd class.
+ */
+@SuppressWarnings("unchecked")
+public class TestAdaptiveAnd extends BaseFunctorTest {
+
+    // Functor Testing Framework
+    // ------------------------------------------------------------------------
+
+    @Override
+    protected Object makeFunctor() {
+        return new AdaptiveAnd<Object>(Constant.TRUE, Constant.FALSE);
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testEmpty() throws Exception {
+        assertEquals(true, new AdaptiveAnd<Object>().test("xyzzy"));
+    }
+
+    @Test
+    public void testSameResultAsAnd() throws Exception {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            List<Predicate<? super Integer>> predicates = new ArrayList<Predicate<? super Integer>>();
+            for (int i = 0; i < 5; i++) {
+                predicates.add(new Divides(1 + random.nextInt(6)));
+            }
+            And<Integer> plain = new And<Integer>(predicates);
+            AdaptiveAnd<Integer> adaptive = new AdaptiveAnd<Integer>(1 + random.nextInt(3), 4, predicates);
+            for (int i = 0; i < 200; i++) {
+                assertEquals(plain.test(i), adaptive.test(i));
+            }
+            assertEquals(5, adaptive.getEvaluationOrder().size());
+            assertTrue(adaptive.getEvaluationOrder().containsAll(predicates));
+        }
+    }
+
+    @Test
+    public void testDecidingChildMovesFirst() throws Exception {
+        Counting never = new Counting(Constant.TRUE);
+        Counting always = new Counting(Constant.FALSE);
+        AdaptiveAnd<Object> p = new AdaptiveAnd<Object>(1, 8,
+            Arrays.<Predicate<? super Object>>asList(never, always));
+        for (int i = 0; i < 8; i++) {
+            assertEquals(false, p.test("xyzzy"));
+        }
+        assertEquals(8, never.count);
+        assertEquals(Arrays.asList(always, never), p.getEvaluationOrder());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(false, p.test("xyzzy"));
+        }
+        assertEquals(8, never.count);
+    }
+
+    @Test
+    public void testUnmeasuredChildIsTried() throws Exception {
+        Counting first = new Counting(Constant.FALSE);
+        Counting second = new Counting(Constant.FALSE);
+        AdaptiveAnd<Object> p = new AdaptiveAnd<Object>(1, 4,
+            Arrays.<Predicate<? super Object>>asList(first, second));
+        for (int i = 0; i < 4; i++) {
+            p.test("xyzzy");
+        }
+        assertEquals(Arrays.asList(second, first), p.getEvaluationOrder());
+        assertEquals(0, second.count);
+    }
+
+    @Test
+    public void testAddResetsOrder() throws Exception {
+        Counting never = new Counting(Constant.TRUE);
+        Counting always = new Counting(Constant.FALSE);
+        AdaptiveAnd<Object> p = new AdaptiveAnd<Object>(1, 2,
+            Arrays.<Predicate<? super Object>>asList(never, always));
+        p.test("xyzzy");
+        p.test("xyzzy");
+        assertEquals(Arrays.asList(always, never), p.getEvaluationOrder());
+        p.and(Constant.TRUE);
+        assertEquals(Arrays.asList(never, always, Constant.TRUE), p.getEvaluationOrder());
+        assertEquals(false, p.test("xyzzy"));
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        AdaptiveAnd<Object> p = new AdaptiveAnd<Object>();
+        assertEquals(p, p);
+        AdaptiveAnd<Object> q = new AdaptiveAnd<Object>();
+        assertObjectsAreEqual(p, q);
+        p.and(Constant.TRUE);
+        assertObjectsAreNotEqual(p, q);
+        q.and(Constant.TRUE);
+        assertObjectsAreEqual(p, q);
+        assertObjectsAreNotEqual(p, new And<Object>(Constant.TRUE));
+        assertObjectsAreNotEqual(p, new AdaptiveOr<Object>(Constant.TRUE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveSampleRate() throws Exception {
+        new AdaptiveAnd<Object>(0, 1, null);
+    }
+
+    // Classes
+    // ------------------------------------------------------------------------
+
+    static class Counting implements Predicate<Object> {
+        private final Predicate<Object> predicate;
+        int count = 0;
+
+        Counting(Predicate<Object> predicate) {
+            this.predicate = predicate;
+        }
+
+        public boolean test(Object obj) {
+            count++;
+            return predicate.test(obj);
+        }
+    }
+
+    static class Divides implements Predicate<Integer> {
+        private final int divisor;
+
+        Divides(int divisor) {
+            this.divisor = divisor;
+        }
+
+        public boolean test(Integer obj) {
+            return obj.intValue() % divisor == 0;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.Predicate;
+import org.apache.commons.functor.core.Constant;
+import org.junit.Test;
+
+/**
+ * Tests the And3 class.
+ */
+public class TestAnd3 extends BaseFunctorTest {
+
+    // Functor Testing Framework
+    // ------------------------------------------------------------------------
+
+    @Override
+    protected Object makeFunctor() {
+        return new And3<Object>(Constant.TRUE, Constant.FALSE, Constant.TRUE);
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testTest() throws Exception {
+        assertEquals(true, new And3<Object>(Constant.TRUE, Constant.TRUE, Constant.TRUE).test("xyzzy"));
+        assertEquals(false, new And3<Object>(Constant.TRUE, Constant.TRUE, Constant.FALSE).test("xyzzy"));
+        assertEquals(false, new And3<Object>(Constant.TRUE, Constant.FALSE, Constant.TRUE).test("xyzzy"));
+        assertEquals(false, new And3<Object>(Constant.TRUE, Constant.FALSE, Constant.FALSE).test("xyzzy"));
+        assertEquals(false, new And3<Object>(Constant.FALSE, Constant.TRUE, Constant.TRUE).test("xyzzy"));
+        assertEquals(false, new And3<Object>(Constant.FALSE, Constant.TRUE, Constant.FALSE).test("xyzzy"));
+        assertEquals(false, new And3<Object>(Constant.FALSE, Constant.FALSE, Constant.TRUE).test("xyzzy"));
+        assertEquals(false, new And3<Object>(Constant.FALSE, Constant.FALSE, Constant.FALSE).test("xyzzy"));
+    }
+
+    @Test
+    public void testShortCircuit() throws Exception {
+        Predicate<Object> fail = new Predicate<Object>() {
+            public boolean test(Object obj) {
+                throw new IllegalStateException();
+            }
+        };
+        assertEquals(false, new And3<Object>(Constant.FALSE, fail, fail).test("xyzzy"));
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        And3<Object> p = new And3<Object>(Constant.TRUE, Constant.FALSE, Constant.TRUE);
+        assertEquals(p, p);
+        assertObjectsAreEqual(p, new And3<Object>(Constant.TRUE, Constant.FALSE, Constant.TRUE));
+        assertObjectsAreNotEqual(p, new And3<Object>(Constant.FALSE, Constant.FALSE, Constant.FALSE));
+        assertObjectsAreNotEqual(p, new FrozenAnd<Object>(Constant.TRUE, Constant.FALSE, Constant.TRUE));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullChild() throws Exception {
+        new And3<Object>(Constant.TRUE, Constant.TRUE, null);
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.Function;
+import org.apache.commons.functor.Predicate;
+import org.apache.commons.functor.core.Constant;
+import org.apache.commons.functor.core.IsNull;
+import org.apache.commons.functor.core.collection.Size;
+import org.junit.Test;
+
+/**
+ * Tests the CompiledPredicate class.
+ */
+@SuppressWarnings("unchecked")
+public class TestCompiledPredicate extends BaseFunctorTest {
+
+    // Functor Testing Framework
+    // ------------------------------------------------------------------------
+
+    @Override
+    protected Object makeFunctor() {
+        return new CompiledPredicate<Object>(new And<Object>(Constant.TRUE, new Not<Object>(Constant.FALSE)));
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testConstants() throws Exception {
+        assertTrue(new CompiledPredicate<Object>(Constant.TRUE).test("xyzzy"));
+        assertFalse(new CompiledPredicate<Object>(Constant.FALSE).test("xyzzy"));
+        assertTrue(new CompiledPredicate<Object>(new And<Object>()).test("xyzzy"));
+        assertFalse(new CompiledPredicate<Object>(new Or<Object>()).test("xyzzy"));
+        assertFalse(new CompiledPredicate<Object>(new Not<Object>(Constant.TRUE)).test("xyzzy"));
+    }
+
+    @Test
+    public void testSameResultAsInterpreted() throws Exception {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            Predicate<? super Integer> tree = randomTree(random, 5);
+            CompiledPredicate<Integer> compiled = new CompiledPredicate<Integer>(tree);
+            for (int i = 0; i < 60; i++) {
+                assertEquals(tree.toString(), tree.test(i), compiled.test(i));
+            }
+        }
+    }
+
+    @Test
+    public void testFrozen() throws Exception {
+        Predicate<Integer> p = new FrozenAnd<Integer>(new Divides(2), new FrozenOr<Integer>(new Divides(3),
+            new Not<Integer>(new Divides(5))));
+        CompiledPredicate<Integer> compiled = new CompiledPredicate<Integer>(p);
+        for (int i = 0; i < 60; i++) {
+            assertEquals(p.test(i), compiled.test(i));
+        }
+    }
+
+    @Test
+    public void testShortCircuit() throws Exception {
+        Predicate<Object> fail = new Predicate<Object>() {
+            public boolean test(Object obj) {
+                throw new IllegalStateException();
+            }
+        };
+        assertFalse(new CompiledPredicate<Object>(new And<Object>(Constant.FALSE, fail)).test("xyzzy"));
+        assertTrue(new CompiledPredicate<Object>(new Or<Object>(Constant.TRUE, fail)).test("xyzzy"));
+        assertTrue(new CompiledPredicate<Object>(
+            new ConditionalPredicate<Object>(Constant.TRUE, Constant.TRUE, fail)).test("xyzzy"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testExceptionPropagates() throws Exception {
+        new CompiledPredicate<Object>(new And<Object>(Constant.TRUE, new Predicate<Object>() {
+            public boolean test(Object obj) {
+                throw new IllegalStateException();
+            }
+        })).test("xyzzy");
+    }
+
+    @Test
+    public void testComposite() throws Exception {
+        Function<String, Integer> length = new Function<String, Integer>() {
+            public Integer evaluate(String obj) {
+                return obj.length();
+            }
+        };
+        Function<Integer, String> repeat = new Function<Integer, String>() {
+            public String evaluate(Integer obj) {
+                StringBuilder buf = new StringBuilder();
+                for (int i = 0; i < obj.intValue(); i++) {
+                    buf.append('x');
+                }
+                return buf.toString();
+            }
+        };
+        CompositePredicate<Integer> p = new CompositePredicate<Integer>(new Divides(3)).of(length).of(repeat);
+        CompiledPredicate<Integer> compiled = new CompiledPredicate<Integer>(p);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(p.test(i), compiled.test(i));
+        }
+        CompiledPredicate<Object> isEmpty = new CompiledPredicate<Object>(
+            new CompositePredicate<Integer>(new IsEqualToZero()).<Object>of(Size.instance()));
+        assertTrue(isEmpty.test(""));
+        assertFalse(isEmpty.test("a"));
+    }
+
+    @Test
+    public void testNested() throws Exception {
+        CompiledPredicate<Object> inner = new CompiledPredicate<Object>(IsNull.instance());
+        CompiledPredicate<Object> outer = new CompiledPredicate<Object>(new Not<Object>(inner));
+        assertTrue(outer.test("xyzzy"));
+        assertFalse(outer.test(null));
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        CompiledPredicate<Object> p = new CompiledPredicate<Object>(Constant.TRUE);
+        assertEquals(p, p);
+        assertObjectsAreEqual(p, new CompiledPredicate<Object>(Constant.TRUE));
+        assertObjectsAreNotEqual(p, new CompiledPredicate<Object>(Constant.FALSE));
+        assertObjectsAreNotEqual(p, Constant.TRUE);
+    }
+
+    @Test
+    public void testOf() throws Exception {
+        assertNull(CompiledPredicate.of(null));
+        assertEquals(new CompiledPredicate<Object>(Constant.TRUE), CompiledPredicate.of(Constant.TRUE));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullPredicate() throws Exception {
+        new CompiledPredicate<Object>(null);
+    }
+
+    // Utils
+    // ------------------------------------------------------------------------
+
+    private static Predicate<? super Integer> randomTree(Random random, int depth) {
+        int kind = depth == 0 ? 0 : random.nextInt(7);
+        switch (kind) {
+        case 1:
+            And<Integer> and = new And<Integer>();
+            for (int i = random.nextInt(4); i > 0; i--) {
+                and.and(randomTree(random, depth - 1));
+            }
+            return and;
+        case 2:
+            Or<Integer> or = new Or<Integer>();
+            for (int i = random.nextInt(4); i > 0; i--) {
+                or.or(randomTree(random, depth - 1));
+            }
+            return or;
+        case 3:
+            return new Not<Integer>(randomTree(random, depth - 1));
+        case 4:
+            return new ConditionalPredicate<Integer>(randomTree(random, depth - 1), randomTree(random, depth - 1),
+                randomTree(random, depth - 1));
+        case 5:
+            return random.nextBoolean() ? Constant.TRUE : Constant.FALSE;
+        default:
+            return new Divides(1 + random.nextInt(5));
+        }
+    }
+
+    // Classes
+    // ------------------------------------------------------------------------
+
+    static class Divides implements Predicate<Integer> {
+        private final int divisor;
+
+        Divides(int divisor) {
+            this.divisor = divisor;
+        }
+
+        public boolean test(Integer obj) {
+            return obj.intValue() % divisor == 0;
+        }
+
+        @Override
+        public String toString() {
+            return "Divides<" + divisor + ">";
+        }
+    }
+
+    static class IsEqualToZero implements Predicate<Integer> {
+        public boolean test(Integer obj) {
+            return obj.intValue() == 0;
+        }
+    }
+}
@@ -67,6 +67,56 @@ public class TestCompositeFunction extends BaseFunctorTest {
         }
     }
 
+    @Test
+    public void testAndThen() throws Exception {
+        CompositeFunction<Object, Integer> f = new CompositeFunction<Object, Integer>(Constant.of(3));
+        CompositeFunction<Object, Integer> g = f.andThen(new Successor());
+        assertEquals(Integer.valueOf(4), g.evaluate(null));
+        assertEquals(Integer.valueOf(5), g.andThen(new Successor()).evaluate(null));
+        assertEquals(new CompositeFunction<Integer, Integer>(new Successor()).of(Constant.of(3)), g);
+        assertEquals(Integer.valueOf(3), f.evaluate(null));
+    }
+
+    @Test
+    public void testBranches() throws Exception {
+        CompositeFunction<Integer, Integer> base = new CompositeFunction<Integer, Integer>(new Successor());
+        CompositeFunction<Integer, Integer> a = base.of(new Successor());
+        CompositeFunction<Integer, Integer> b = base.of(new Doubler());
+        CompositeFunction<Integer, Integer> c = base.andThen(new Doubler());
+        CompositeFunction<Integer, Integer> d = base.andThen(new Successor());
+        assertEquals(Integer.valueOf(2), base.evaluate(1));
+        assertEquals(Integer.valueOf(3), a.evaluate(1));
+        assertEquals(Integer.valueOf(3), b.evaluate(1));
+        assertEquals(Integer.valueOf(4), c.evaluate(1));
+        assertEquals(Integer.valueOf(3), d.evaluate(1));
+        assertEquals(Integer.valueOf(7), a.of(new Doubler()).andThen(new Successor()).evaluate(2));
+        assertEquals(Integer.valueOf(10), b.of(new Successor()).andThen(new Doubler()).evaluate(1));
+    }
+
+    @Test
+    public void testNestedCompositionsAreExpanded() throws Exception {
+        Function<Integer, Integer> s = new Successor();
+        Function<Integer, Integer> d = new Doubler();
+        CompositeFunction<Integer, Integer> flat = new CompositeFunction<Integer, Integer>(s).of(d).of(s);
+        CompositeFunction<Integer, Integer> nested = new CompositeFunction<Integer, Integer>(s)
+            .of(new CompositeFunction<Integer, Integer>(d).of(s));
+        assertObjectsAreEqual(flat, nested);
+        assertEquals(3, nested.size());
+        assertEquals(flat.evaluate(5), nested.evaluate(5));
+        assertEquals(nested, new CompositeFunction<Integer, Integer>(nested));
+    }
+
+    @Test
+    public void testLongChain() throws Exception {
+        CompositeFunction<Integer, Integer> f = new CompositeFunction<Integer, Integer>(new Successor());
+        for (int i = 1; i < 100000; i++) {
+            f = i % 2 == 0 ? f.of(new Successor()) : f.andThen(new Successor());
+        }
+        assertEquals(100000, f.size());
+        assertEquals(Integer.valueOf(100000), f.evaluate(0));
+        assertEquals(f.hashCode(), f.hashCode());
+    }
+
     @Test
     public void testEquals() throws Exception {
         CompositeFunction<Object, String> f = new CompositeFunction<Object, String>(Constant.of("x"));
@@ -92,4 +142,38 @@ public class TestCompositeFunction extends BaseFunctorTest {
         assertTrue(!f.equals(null));
     }
 
+    // Classes
+    // ------------------------------------------------------------------------
+
+    static class Successor implements Function<Integer, Integer> {
+        public Integer evaluate(Integer obj) {
+            return obj.intValue() + 1;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Successor;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+
+    static class Doubler implements Function<Integer, Integer> {
+        public Integer evaluate(Integer obj) {
+            return obj.intValue() * 2;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Doubler;
+        }
+
+        @Override
+        public int hashCode() {
+            return 2;
+        }
+    }
 }
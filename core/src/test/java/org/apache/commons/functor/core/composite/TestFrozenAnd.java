@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.Predicate;
+import org.apache.commons.functor.core.Constant;
+import org.junit.Test;
+
+/**
+ * Tests the FrozenAnd class.
+ */
+@SuppressWarnings("unchecked")
+public class TestFrozenAnd extends BaseFunctorTest {
+
+    // Functor Testing Framework
+    // ------------------------------------------------------------------------
+
+    @Override
+    protected Object makeFunctor() {
+        return new FrozenAnd<Object>(Constant.TRUE, Constant.FALSE, Constant.TRUE);
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testTest() throws Exception {
+        assertEquals(true, new FrozenAnd<Object>().test("xyzzy"));
+        assertEquals(true, new FrozenAnd<Object>(Constant.TRUE).test("xyzzy"));
+        assertEquals(false, new FrozenAnd<Object>(Constant.FALSE).test("xyzzy"));
+        assertEquals(true, new FrozenAnd<Object>(Constant.TRUE, Constant.TRUE, Constant.TRUE, Constant.TRUE)
+            .test("xyzzy"));
+        assertEquals(false, new FrozenAnd<Object>(Constant.TRUE, Constant.TRUE, Constant.TRUE, Constant.FALSE)
+            .test("xyzzy"));
+    }
+
+    @Test
+    public void testShortCircuit() throws Exception {
+        Predicate<Object> fail = new Predicate<Object>() {
+            public boolean test(Object obj) {
+                throw new IllegalStateException();
+            }
+        };
+        assertEquals(false, new FrozenAnd<Object>(Constant.FALSE, fail).test("xyzzy"));
+    }
+
+    @Test
+    public void testNullsSkipped() throws Exception {
+        assertObjectsAreEqual(new FrozenAnd<Object>(Constant.TRUE),
+            new FrozenAnd<Object>(null, Constant.TRUE, null));
+        assertObjectsAreEqual(new FrozenAnd<Object>(),
+            new FrozenAnd<Object>((Iterable<Predicate<Object>>) null));
+    }
+
+    @Test
+    public void testIsImmutable() throws Exception {
+        And<Object> source = new And<Object>(Constant.TRUE);
+        Predicate<Object> frozen = new FrozenAnd<Object>(Arrays.<Predicate<Object>>asList(Constant.TRUE));
+        source.and(Constant.FALSE);
+        assertEquals(false, source.test("xyzzy"));
+        assertEquals(true, frozen.test("xyzzy"));
+    }
+
+    @Test
+    public void testFreeze() throws Exception {
+        And<Object> p = new And<Object>();
+        assertEquals(new FrozenAnd<Object>(), p.freeze());
+        p.and(Constant.TRUE);
+        assertEquals(new FrozenAnd<Object>(Constant.TRUE), p.freeze());
+        p.and(Constant.FALSE);
+        assertEquals(new And2<Object>(Constant.TRUE, Constant.FALSE), p.freeze());
+        p.and(Constant.TRUE);
+        assertEquals(new And3<Object>(Constant.TRUE, Constant.FALSE, Constant.TRUE), p.freeze());
+        p.and(Constant.FALSE);
+        assertEquals(new FrozenAnd<Object>(Constant.TRUE, Constant.FALSE, Constant.TRUE, Constant.FALSE),
+            p.freeze());
+        assertEquals(p.test("xyzzy"), p.freeze().test("xyzzy"));
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        FrozenAnd<Object> p = new FrozenAnd<Object>(Constant.TRUE, Constant.FALSE);
+        assertEquals(p, p);
+        assertObjectsAreEqual(p, new FrozenAnd<Object>(Constant.TRUE, Constant.FALSE));
+        assertObjectsAreNotEqual(p, new FrozenAnd<Object>(Constant.FALSE, Constant.TRUE));
+        assertObjectsAreNotEqual(p, new FrozenAnd<Object>(Constant.TRUE));
+        assertObjectsAreNotEqual(p, new And<Object>(Constant.TRUE, Constant.FALSE));
+        assertObjectsAreNotEqual(p, new FrozenOr<Object>(Constant.TRUE, Constant.FALSE));
+        assertTrue(p.hashCode() == new FrozenAnd<Object>(Constant.TRUE, Constant.FALSE).hashCode());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.BinaryPredicate;
+import org.apache.commons.functor.core.Constant;
+import org.junit.Test;
+
+/**
+ * Tests the FrozenBinaryAnd class.
+ */
+@SuppressWarnings("unchecked")
+public class TestFrozenBinaryAnd extends BaseFunctorTest {
+
+    // Functor Testing Framework
+    // ------------------------------------------------------------------------
+
+    @Override
+    protected Object makeFunctor() {
+        return new FrozenBinaryAnd<Object, Object>(Constant.TRUE, Constant.FALSE);
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testTest() throws Exception {
+        assertEquals(true, new FrozenBinaryAnd<Object, Object>().test("xyzzy", 3));
+        assertEquals(true, new FrozenBinaryAnd<Object, Object>(Constant.TRUE, Constant.TRUE).test("xyzzy", 3));
+        assertEquals(false, new FrozenBinaryAnd<Object, Object>(Constant.TRUE, Constant.FALSE).test("xyzzy", 3));
+        BinaryPredicate<Object, Object> fail = new BinaryPredicate<Object, Object>() {
+            public boolean test(Object left, Object right) {
+                throw new IllegalStateException();
+            }
+        };
+        assertEquals(false, new FrozenBinaryAnd<Object, Object>(Constant.FALSE, fail).test("xyzzy", 3));
+    }
+
+    @Test
+    public void testFreeze() throws Exception {
+        BinaryAnd<Object, Object> p = new BinaryAnd<Object, Object>(Constant.TRUE, Constant.FALSE);
+        FrozenBinaryAnd<Object, Object> frozen = p.freeze();
+        assertEquals(new FrozenBinaryAnd<Object, Object>(Constant.TRUE, Constant.FALSE), frozen);
+        p.and(Constant.TRUE);
+        assertEquals(new FrozenBinaryAnd<Object, Object>(Constant.TRUE, Constant.FALSE), frozen);
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        FrozenBinaryAnd<Object, Object> p = new FrozenBinaryAnd<Object, Object>(Constant.TRUE);
+        assertEquals(p, p);
+        assertObjectsAreEqual(p, new FrozenBinaryAnd<Object, Object>(Constant.TRUE));
+        assertObjectsAreNotEqual(p, new FrozenBinaryAnd<Object, Object>(Constant.FALSE));
+        assertObjectsAreNotEqual(p, new BinaryAnd<Object, Object>(Constant.TRUE));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.Predicate;
+import org.apache.commons.functor.core.Constant;
+import org.junit.Test;
+
+/**
+ * Tests the FrozenOr class.
+ */
+@SuppressWarnings("unchecked")
+public class TestFrozenOr extends BaseFunctorTest {
+
+    // Functor Testing Framework
+    // ------------------------------------------------------------------------
+
+    @Override
+    protected Object makeFunctor() {
+        return new FrozenOr<Object>(Constant.TRUE, Constant.FALSE, Constant.TRUE);
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testTest() throws Exception {
+        assertEquals(false, new FrozenOr<Object>().test("xyzzy"));
+        assertEquals(false, new FrozenOr<Object>(Constant.FALSE).test("xyzzy"));
+        assertEquals(true, new FrozenOr<Object>(Constant.TRUE).test("xyzzy"));
+        assertEquals(false, new FrozenOr<Object>(Constant.FALSE, Constant.FALSE, Constant.FALSE, Constant.FALSE)
+            .test("xyzzy"));
+        assertEquals(true, new FrozenOr<Object>(Constant.FALSE, Constant.FALSE, Constant.FALSE, Constant.TRUE)
+            .test("xyzzy"));
+    }
+
+    @Test
+    public void testShortCircuit() throws Exception {
+        Predicate<Object> fail = new Predicate<Object>() {
+            public boolean test(Object obj) {
+                throw new IllegalStateException();
+            }
+        };
+        assertEquals(true, new FrozenOr<Object>(Constant.TRUE, fail).test("xyzzy"));
+    }
+
+    @Test
+    public void testNullsSkipped() throws Exception {
+        assertObjectsAreEqual(new FrozenOr<Object>(Constant.TRUE),
+            new FrozenOr<Object>(null, Constant.TRUE, null));
+        assertObjectsAreEqual(new FrozenOr<Object>(),
+            new FrozenOr<Object>((Iterable<Predicate<Object>>) null));
+    }
+
+    @Test
+    public void testIsImmutable() throws Exception {
+        Or<Object> source = new Or<Object>(Constant.FALSE);
+        Predicate<Object> frozen = new FrozenOr<Object>(Arrays.<Predicate<Object>>asList(Constant.FALSE));
+        source.or(Constant.TRUE);
+        assertEquals(true, source.test("xyzzy"));
+        assertEquals(false, frozen.test("xyzzy"));
+    }
+
+    @Test
+    public void testFreeze() throws Exception {
+        Or<Object> p = new Or<Object>();
+        assertEquals(new FrozenOr<Object>(), p.freeze());
+        p.or(Constant.TRUE);
+        assertEquals(new FrozenOr<Object>(Constant.TRUE), p.freeze());
+        p.or(Constant.FALSE);
+        assertEquals(new Or2<Object>(Constant.TRUE, Constant.FALSE), p.freeze());
+        p.or(Constant.TRUE);
+        assertEquals(new Or3<Object>(Constant.TRUE, Constant.FALSE, Constant.TRUE), p.freeze());
+        p.or(Constant.FALSE);
+        assertEquals(new FrozenOr<Object>(Constant.TRUE, Constant.FALSE, Constant.TRUE, Constant.FALSE),
+            p.freeze());
+        assertEquals(p.test("xyzzy"), p.freeze().test("xyzzy"));
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        FrozenOr<Object> p = new FrozenOr<Object>(Constant.TRUE, Constant.FALSE);
+        assertEquals(p, p);
+        assertObjectsAreEqual(p, new FrozenOr<Object>(Constant.TRUE, Constant.FALSE));
+        assertObjectsAreNotEqual(p, new FrozenOr<Object>(Constant.FALSE, Constant.TRUE));
+        assertObjectsAreNotEqual(p, new FrozenOr<Object>(Constant.TRUE));
+        assertObjectsAreNotEqual(p, new Or<Object>(Constant.TRUE, Constant.FALSE));
+        assertObjectsAreNotEqual(p, new FrozenAnd<Object>(Constant.TRUE, Constant.FALSE));
+        assertTrue(p.hashCode() == new FrozenOr<Object>(Constant.TRUE, Constant.FALSE).hashCode());
+    }
+}
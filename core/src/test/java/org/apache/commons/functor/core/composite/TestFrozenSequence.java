@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.Procedure;
+import org.apache.commons.functor.core.NoOp;
+import org.junit.Test;
+
+/**
+ * Tests the FrozenSequence class.
+ */
+@SuppressWarnings("unchecked")
+public class TestFrozenSequence extends BaseFunctorTest {
+
+    // Functor Testing Framework
+    // ------------------------------------------------------------------------
+
+    @Override
+    protected Object makeFunctor() {
+        return new FrozenSequence<Object>(new NoOp(), new NoOp());
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testRunInOrder() throws Exception {
+        final List<String> log = new ArrayList<String>();
+        new FrozenSequence<Object>(new Recorder("a", log), null, new Recorder("b", log), new Recorder("a", log))
+            .run(null);
+        assertEquals("[a, b, a]", log.toString());
+        new FrozenSequence<Object>().run(null);
+        assertEquals(3, log.size());
+    }
+
+    @Test
+    public void testFreeze() throws Exception {
+        final List<String> log = new ArrayList<String>();
+        Sequence<Object> seq = new Sequence<Object>(new Recorder("a", log));
+        FrozenSequence<Object> frozen = seq.freeze();
+        seq.then(new Recorder("b", log));
+        frozen.run(null);
+        assertEquals("[a]", log.toString());
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        FrozenSequence<Object> p = new FrozenSequence<Object>(NoOp.INSTANCE);
+        assertEquals(p, p);
+        assertObjectsAreEqual(p, new FrozenSequence<Object>(NoOp.INSTANCE));
+        assertObjectsAreEqual(new FrozenSequence<Object>(), new FrozenSequence<Object>((Procedure<Object>) null));
+        assertObjectsAreNotEqual(p, new FrozenSequence<Object>(NoOp.INSTANCE, NoOp.INSTANCE));
+        assertObjectsAreNotEqual(p, new Sequence<Object>(NoOp.INSTANCE));
+    }
+
+    // Classes
+    // ------------------------------------------------------------------------
+
+    static class Recorder implements Procedure<Object> {
+        private final String name;
+        private final List<String> log;
+
+        Recorder(String name, List<String> log) {
+            this.name = name;
+            this.log = log;
+        }
+
+        public void run(Object obj) {
+            log.add(name);
+        }
+    }
+}
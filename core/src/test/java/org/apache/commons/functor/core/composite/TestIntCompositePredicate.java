@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.IntPredicate;
+import org.apache.commons.functor.Predicate;
+import org.apache.commons.functor.ToIntFunction;
+import org.junit.Test;
+
+/**
+ */
+public class TestIntCompositePredicate extends BaseFunctorTest {
+
+    // Functor Testing Framework
+    // ------------------------------------------------------------------------
+
+    @Override
+    protected Object makeFunctor() {
+        return new IntCompositePredicate<String>(new IsAtLeast(3), Length.INSTANCE);
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testTest() throws Exception {
+        Predicate<String> p = new IntCompositePredicate<String>(new IsAtLeast(3), Length.INSTANCE);
+        assertTrue(p.test("abc"));
+        assertTrue(p.test("abcd"));
+        assertFalse(p.test("ab"));
+    }
+
+    @Test
+    public void testComposite() throws Exception {
+        Predicate<String> p = Composite.intPredicate(new IsAtLeast(1), Length.INSTANCE);
+        assertTrue(p.test("a"));
+        assertFalse(p.test(""));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullPredicate() throws Exception {
+        new IntCompositePredicate<String>(null, Length.INSTANCE);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullFunction() throws Exception {
+        new IntCompositePredicate<String>(new IsAtLeast(3), null);
+    }
+
+    @Test
+    public void testEquals() throws Exception {
+        Predicate<String> p = new IntCompositePredicate<String>(new IsAtLeast(3), Length.INSTANCE);
+        assertEquals(p, p);
+        assertObjectsAreEqual(p, new IntCompositePredicate<String>(new IsAtLeast(3), Length.INSTANCE));
+        assertObjectsAreNotEqual(p, new IntCompositePredicate<String>(new IsAtLeast(4), Length.INSTANCE));
+        assertTrue(!p.equals(null));
+    }
+
+    // Classes
+    // ------------------------------------------------------------------------
+
+    static final class Length implements ToIntFunction<String> {
+        static final Length INSTANCE = new Length();
+
+        public int evaluateAsInt(String obj) {
+            return obj.length();
+        }
+
+        @Override
+        public String toString() {
+            return "Length";
+        }
+    }
+
+    static final class IsAtLeast implements IntPredicate {
+        private final int min;
+
+        IsAtLeast(int min) {
+            this.min = min;
+        }
+
+        public boolean test(int value) {
+            return value >= min;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof IsAtLeast && ((IsAtLeast) obj).min == min;
+        }
+
+        @Override
+        public int hashCode() {
+            return min;
+        }
+
+        @Override
+        public String toString() {
+            return "IsAtLeast<" + min + ">";
+        }
+    }
+}
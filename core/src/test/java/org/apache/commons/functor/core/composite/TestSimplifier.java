@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.core.composite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.functor.Function;
+import org.apache.commons.functor.Predicate;
+import org.apache.commons.functor.Procedure;
+import org.apache.commons.functor.core.Constant;
+import org.apache.commons.functor.core.Identity;
+import org.apache.commons.functor.core.IsNull;
+import org.apache.commons.functor.core.NoOp;
+import org.junit.Test;
+
+/**
+ * Tests the Simplifier class.
+ */
+@SuppressWarnings("unchecked")
+public class TestSimplifier {
+
+    private static final Predicate<Object> P = IsNull.instance();
+    private static final Predicate<Object> Q = new Not<Object>(new Not<Object>(new Not<Object>(P)));
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testNull() {
+        assertNull(Simplifier.simplifyPredicate((Predicate<Object>) null));
+        assertNull(Simplifier.simplifyFunction((Function<Object, Object>) null));
+        assertNull(Simplifier.simplifyProcedure((Procedure<Object>) null));
+    }
+
+    @Test
+    public void testFunctorsOfSeveralKinds() {
+        assertSame(Constant.TRUE, Simplifier.simplifyPredicate(Constant.TRUE));
+        assertSame(Constant.TRUE, Simplifier.simplifyFunction(Constant.TRUE));
+        assertEquals(Identity.instance(), Simplifier.simplifyPredicate(Identity.instance()));
+        assertEquals(Identity.instance(), Simplifier.simplifyFunction(Identity.instance()));
+    }
+
+    @Test
+    public void testAnd() {
+        assertEquals(P, Simplifier.simplifyPredicate(new And<Object>(Constant.TRUE, new Not<Object>(new Not<Object>(P)),
+            new Or<Object>(Constant.FALSE, P))));
+        assertEquals(Constant.FALSE, Simplifier.simplifyPredicate(new And<Object>(P, Constant.FALSE, Q)));
+        assertEquals(Constant.TRUE, Simplifier.simplifyPredicate(new And<Object>(Constant.TRUE, new And<Object>())));
+        assertEquals(new And<Object>(P, new Not<Object>(P)),
+            Simplifier.simplifyPredicate(new And<Object>(P, new And<Object>(Q, new And<Object>(P)), Q)));
+    }
+
+    @Test
+    public void testOr() {
+        assertEquals(Constant.TRUE, Simplifier.simplifyPredicate(new Or<Object>(P, new Or<Object>(Constant.TRUE))));
+        assertEquals(Constant.FALSE, Simplifier.simplifyPredicate(new Or<Object>()));
+        assertEquals(new Or<Object>(P, new Not<Object>(P), new And<Object>(P, new Not<Object>(P))),
+            Simplifier.simplifyPredicate(new Or<Object>(P, new Or<Object>(Q, P, Constant.FALSE),
+                new And<Object>(P, Q))));
+    }
+
+    @Test
+    public void testNot() {
+        assertEquals(new Not<Object>(P), Simplifier.simplifyPredicate(Q));
+        assertEquals(Constant.FALSE, Simplifier.simplifyPredicate(new Not<Object>(Constant.TRUE)));
+        assertEquals(Constant.FALSE, Simplifier.simplifyPredicate(new Not<Object>(new And<Object>())));
+        Predicate<Object> unchanged = new Not<Object>(P);
+        assertSame(unchanged, Simplifier.simplifyPredicate(unchanged));
+    }
+
+    @Test
+    public void testConditionalPredicate() {
+        assertEquals(P, Simplifier.simplifyPredicate(new ConditionalPredicate<Object>(Constant.TRUE, P, Q)));
+        assertEquals(new Not<Object>(P), Simplifier.simplifyPredicate(new ConditionalPredicate<Object>(
+            new Not<Object>(Constant.TRUE), P, Q)));
+        assertEquals(P, Simplifier.simplifyPredicate(new ConditionalPredicate<Object>(Q, P, new And<Object>(P, P))));
+        assertEquals(new Not<Object>(P),
+            Simplifier.simplifyPredicate(new ConditionalPredicate<Object>(Q, Constant.TRUE, Constant.FALSE)));
+        assertEquals(P,
+            Simplifier.simplifyPredicate(new ConditionalPredicate<Object>(Q, Constant.FALSE, Constant.TRUE)));
+        Predicate<Object> unchanged = new ConditionalPredicate<Object>(P, Constant.TRUE, new Not<Object>(P));
+        assertSame(unchanged, Simplifier.simplifyPredicate(unchanged));
+    }
+
+    @Test
+    public void testCompositePredicate() {
+        Function<Object, Object> f = new Successor();
+        CompositePredicate<Object> p = new CompositePredicate<Object>(P).of(Identity.instance()).of(f)
+            .of(Identity.instance());
+        Predicate<Object> simplified = Simplifier.simplifyPredicate(p);
+        assertEquals(new CompositePredicate<Object>(P).of(f), simplified);
+        assertEquals(p.test(1), simplified.test(1));
+        Predicate<Object> unchanged = new CompositePredicate<Object>(P).of(f);
+        assertSame(unchanged, Simplifier.simplifyPredicate(unchanged));
+    }
+
+    @Test
+    public void testCompositeFunction() {
+        Function<Object, Object> f = new Successor();
+        assertSame(f,
+            Simplifier.simplifyFunction(Composite.function(Identity.instance()).of(f).of(Identity.instance())));
+        assertEquals(Identity.instance(),
+            Simplifier.simplifyFunction(Composite.function(Identity.instance()).of(Identity.instance())));
+        assertEquals(new CompositeFunction<Object, Object>(f).of(f).of(f),
+            Simplifier.simplifyFunction(new CompositeFunction<Object, Object>(f).of(
+                new CompositeFunction<Object, Object>(Identity.instance()).of(f)).of(f)));
+        assertEquals(new CompositeFunction<Object, Object>(f).of(Constant.of(3)),
+            Simplifier.simplifyFunction(new CompositeFunction<Object, Object>(f).of(Constant.of(3)).of(f).of(f)));
+    }
+
+    @Test
+    public void testConditionalFunction() {
+        Function<Object, Object> f = new Successor();
+        assertSame(f, Simplifier.simplifyFunction(new ConditionalFunction<Object, Object>(new Or<Object>(Constant.TRUE),
+            f, Identity.instance())));
+        assertSame(f, Simplifier.simplifyFunction(new ConditionalFunction<Object, Object>(P, f,
+            Composite.function(f).of(Identity.instance()))));
+        assertEquals(new ConditionalFunction<Object, Object>(P, f, Identity.instance()),
+            Simplifier.simplifyFunction(new ConditionalFunction<Object, Object>(new Not<Object>(new Not<Object>(P)), f,
+                Identity.instance())));
+    }
+
+    @Test
+    public void testSequence() {
+        Recorder a = new Recorder("a");
+        Recorder b = new Recorder("b");
+        assertEquals(NoOp.INSTANCE,
+            Simplifier.simplifyProcedure(new Sequence<Object>(NoOp.INSTANCE, new Sequence<Object>())));
+        assertSame(a, Simplifier.simplifyProcedure(new Sequence<Object>(NoOp.INSTANCE, new Sequence<Object>(a))));
+        assertEquals(new Sequence<Object>(a, b, a, a),
+            Simplifier.simplifyProcedure(new Sequence<Object>(a,
+                new Sequence<Object>(b, NoOp.INSTANCE, new Sequence<Object>(a)), a)));
+    }
+
+    @Test
+    public void testConditionalProcedure() {
+        Recorder a = new Recorder("a");
+        assertEquals(NoOp.INSTANCE, Simplifier.simplifyProcedure(new ConditionalProcedure<Object>(Constant.FALSE, a)));
+        assertSame(a, Simplifier.simplifyProcedure(new ConditionalProcedure<Object>(new And<Object>(), a)));
+        assertEquals(NoOp.INSTANCE,
+            Simplifier.simplifyProcedure(new ConditionalProcedure<Object>(P, new Sequence<Object>())));
+        Procedure<Object> unchanged = new ConditionalProcedure<Object>(P, a);
+        assertSame(unchanged, Simplifier.simplifyProcedure(unchanged));
+    }
+
+    @Test
+    public void testEquivalence() {
+        Random random = new Random(11);
+        for (int round = 0; round < 500; round++) {
+            Predicate<? super Integer> tree = randomTree(random, 4);
+            Predicate<? super Integer> simplified = Simplifier.simplifyPredicate(tree);
+            for (int i = 0; i < 30; i++) {
+                assertEquals(tree + " / " + simplified, tree.test(i), simplified.test(i));
+            }
+        }
+    }
+
+    @Test
+    public void testSequenceOrderKept() {
+        final List<String> log = new ArrayList<String>();
+        Procedure<Object> p = new Sequence<Object>(new Recorder("a", log),
+            new Sequence<Object>(new Recorder("b", log), new Recorder("a", log)), NoOp.INSTANCE);
+        Simplifier.simplifyProcedure(p).run(null);
+        assertEquals("[a, b, a]", log.toString());
+    }
+
+    // Utils
+    // ------------------------------------------------------------------------
+
+    private static Predicate<? super Integer> randomTree(Random random, int depth) {
+        int kind = depth == 0 ? 0 : random.nextInt(7);
+        switch (kind) {
+        case 1:
+            And<Integer> and = new And<Integer>();
+            for (int i = random.nextInt(4); i > 0; i--) {
+                and.and(randomTree(random, depth - 1));
+            }
+            return and;
+        case 2:
+            Or<Integer> or = new Or<Integer>();
+            for (int i = random.nextInt(4); i > 0; i--) {
+                or.or(randomTree(random, depth - 1));
+            }
+            return or;
+        case 3:
+            return new Not<Integer>(randomTree(random, depth - 1));
+        case 4:
+            return new ConditionalPredicate<Integer>(randomTree(random, depth - 1), randomTree(random, depth - 1),
+                randomTree(random, depth - 1));
+        case 5:
+            return random.nextBoolean() ? Constant.TRUE : Constant.FALSE;
+        default:
+            return new Divides(1 + random.nextInt(3));
+        }
+    }
+
+    // Classes
+    // ------------------------------------------------------------------------
+
+    static class Successor implements Function<Object, Object> {
+        public Object evaluate(Object obj) {
+            return obj == null ? null : ((Integer) obj).intValue() + 1;
+        }
+    }
+
+    static class Recorder implements Procedure<Object> {
+        private final String name;
+        private final List<String> log;
+
+        Recorder(String name) {
+            this(name, new ArrayList<String>());
+        }
+
+        Recorder(String name, List<String> log) {
+            this.name = name;
+            this.log = log;
+        }
+
+        public void run(Object obj) {
+            log.add(name);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    static class Divides implements Predicate<Integer> {
+        private final int divisor;
+
+        Divides(int divisor) {
+            this.divisor = divisor;
+        }
+
+        public boolean test(Integer obj) {
+            return obj.intValue() % divisor == 0;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Divides && ((Divides) obj).divisor == divisor;
+        }
+
+        @Override
+        public int hashCode() {
+            return divisor;
+        }
+
+        @Override
+        public String toString() {
+            return "Divides<" + divisor + ">";
+        }
+    }
+}
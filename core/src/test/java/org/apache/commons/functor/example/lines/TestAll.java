@@ -31,6 +31,7 @@ public class TestAll extends TestCase {
         TestSuite suite = new TestSuite();
 
         suite.addTest(TestLines.suite());
+        suite.addTest(TestMappedFile.suite());
 
         return suite;
     }
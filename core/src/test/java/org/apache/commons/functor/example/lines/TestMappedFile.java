@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.example.lines;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+import org.apache.commons.functor.adapter.NullaryProcedureProcedure;
+import org.apache.commons.functor.core.algorithm.FoldLeft;
+import org.apache.commons.functor.core.collection.Size;
+import org.apache.commons.functor.core.composite.Not;
+import org.apache.commons.functor.generator.FilteredGenerator;
+import org.apache.commons.functor.generator.loop.MappedLines;
+import org.apache.commons.functor.generator.loop.TransformedGenerator;
+
+/**
+ * The {@link TestLines} examples, run over a memory-mapped file.
+ */
+public class TestMappedFile extends TestCase {
+
+    public TestMappedFile(String testName) {
+        super(testName);
+    }
+
+    public static Test suite() {
+        return new TestSuite(TestMappedFile.class);
+    }
+
+    private File file = null;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        file = write(StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        super.tearDown();
+        file.delete();
+        file = null;
+    }
+
+    public void testCountCharacters() throws Exception {
+        assertEquals("Expected 990 characters", Integer.valueOf(990), countCharacters(lines()));
+    }
+
+    public void testCountWords() throws Exception {
+        assertEquals("Expected 157 words", Integer.valueOf(157), countWords(lines()));
+    }
+
+    public void testCountLines() throws Exception {
+        assertEquals("Expected 16 lines", 16, countLines(lines()));
+    }
+
+    public void testCountWordsExcludingComments() throws Exception {
+        Object result = new FoldLeft<Integer>(Sum.instance()).evaluate(new TransformedGenerator<CharSequence, Integer>(
+                new FilteredGenerator<CharSequence>(lines(), Not.not(new StartsWith<CharSequence>("#"))),
+                WordCount.instance()));
+
+        assertEquals("Expected 90 words", Integer.valueOf(90), result);
+    }
+
+    public void testCountSplit() throws Exception {
+        int lines = 0;
+        int words = 0;
+        for (MappedLines part : lines().split(7)) {
+            lines += countLines(part);
+            words += countWords(part).intValue();
+        }
+        assertEquals("Expected 16 lines", 16, lines);
+        assertEquals("Expected 157 words", 157, words);
+    }
+
+    public void testCountUtf8() throws Exception {
+        MappedLines lines = MappedLines.from(file, StandardCharsets.UTF_8);
+        assertEquals("Expected 990 characters", Integer.valueOf(990), countCharacters(lines));
+        assertEquals("Expected 157 words", Integer.valueOf(157), countWords(lines));
+    }
+
+    private MappedLines lines() {
+        return MappedLines.from(file, StandardCharsets.ISO_8859_1);
+    }
+
+    private static Integer countCharacters(MappedLines lines) {
+        return new FoldLeft<Integer>(Sum.instance()).evaluate(
+                new TransformedGenerator<CharSequence, Integer>(lines, new Size<CharSequence>()));
+    }
+
+    private static Integer countWords(MappedLines lines) {
+        return new FoldLeft<Integer>(Sum.instance()).evaluate(
+                new TransformedGenerator<CharSequence, Integer>(lines, WordCount.instance()));
+    }
+
+    private static int countLines(MappedLines lines) {
+        Count count = new Count();
+        lines.run(NullaryProcedureProcedure.<CharSequence>adapt(count));
+        return count.getCount();
+    }
+
+    private static File write(Charset charset) throws Exception {
+        File file = File.createTempFile("functor-lines", ".txt");
+        file.deleteOnExit();
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(DOCUMENT.getBytes(charset));
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    private static final String DOCUMENT =
+        "# Lorem ipsum dolor sit amet, consectetuer adipiscing elit. \n" +
+        "# Aliquam erat volutpat. Donec nec eros. Etiam eget tortor eu \n" +
+        "tortor rutrum cursus. Pellentesque ornare pretium risus. Nulla \n" +
+        "libero pede, blandit nec, rutrum ut, sodales eu, enim. Duis leo. \n" +
+        "Nunc non est. Nunc consequat lobortis nisl. Vivamus et tortor in \n" +
+        "# nunc euismod elementum. Ut ut dui. Morbi semper, pede eu cursus \n" +
+        "# tristique, diam nunc luctus nibh, id tempor justo metus eget lorem.\n" +
+        "\n" +
+        "Quisque pharetra hendrerit odio. Etiam consequat ante et dui. Etiam \n" +
+        "accumsan elit ac augue. Mauris porta pulvinar tellus. Nulla ac enim ac \n"+
+        "augue ornare pharetra. Nunc dignissim eros et nibh. Sed justo dolor, \n" +
+        "# ullamcorper non, posuere eget, tempus non, ipsum. Praesent at velit. \n" +
+        "# Mauris tempor nisl sed tortor. Vestibulum ante ipsum primis in faucibus \n" +
+        "orci luctus et ultrices posuere cubilia Curae; Integer mollis malesuada \n" +
+        "dolor. Vestibulum cursus, mi in dictum blandit, eros enim convallis wisi, \n" +
+        "id ullamcorper metus tortor interdum dui.\n";
+}
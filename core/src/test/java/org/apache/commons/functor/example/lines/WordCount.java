@@ -16,15 +16,33 @@
  */
 package org.apache.commons.functor.example.lines;
 
-import java.util.StringTokenizer;
-
 import org.apache.commons.functor.Function;
 
 /**
+ * Counts the whitespace separated words of a line, the way
+ * {@link java.util.StringTokenizer} would, without allocating.
  */
-public class WordCount implements Function<String, Integer> {
-    public Integer evaluate(String obj) {
-        return new StringTokenizer(obj).countTokens();
+public class WordCount implements Function<CharSequence, Integer> {
+    public Integer evaluate(CharSequence obj) {
+        int count = 0;
+        boolean inWord = false;
+        for (int i = 0, n = obj.length(); i < n; i++) {
+            switch (obj.charAt(i)) {
+            case ' ':
+            case '\t':
+            case '\n':
+            case '\r':
+            case '\f':
+                inWord = false;
+                break;
+            default:
+                if (!inWord) {
+                    count++;
+                    inWord = true;
+                }
+            }
+        }
+        return count;
     }
 
     public static WordCount instance() {
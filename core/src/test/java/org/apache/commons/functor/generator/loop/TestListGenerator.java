@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.generator.loop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.Procedure;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the ListGenerator class.
+ */
+public class TestListGenerator extends BaseFunctorTest {
+
+    @Override
+    public Object makeFunctor() {
+        return ListGenerator.of("1", "two", "c");
+    }
+
+    // Lifecycle
+    // ------------------------------------------------------------------------
+
+    private List<Integer> list = null;
+
+    @Before
+    public void setUp() throws Exception {
+        list = new ArrayList<Integer>();
+        for (int i = 0; i < 10; i++) {
+            list.add(Integer.valueOf(i));
+        }
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testGenerate() {
+        ListGenerator<Integer> gen = ListGenerator.of(list);
+        assertEquals(list, gen.toCollection());
+        // can be run again
+        assertEquals(list, gen.toCollection());
+        assertEquals(Arrays.asList(3, 4), new ListGenerator<Integer>(list, 3, 5).toCollection());
+    }
+
+    @Test
+    public void testRunReverse() {
+        final List<Integer> result = new ArrayList<Integer>();
+        new ListGenerator<Integer>(list, 2, 6).runReverse(new Procedure<Integer>() {
+            public void run(Integer obj) {
+                result.add(obj);
+            }
+        });
+        assertEquals(Arrays.asList(5, 4, 3, 2), result);
+    }
+
+    @Test
+    public void testSplit() {
+        for (int count = 1; count < 14; count++) {
+            List<ListGenerator<Integer>> parts = ListGenerator.of(list).split(count);
+            assertEquals(Math.min(count, list.size()), parts.size());
+            List<Integer> result = new ArrayList<Integer>();
+            int min = Integer.MAX_VALUE;
+            int max = 0;
+            for (ListGenerator<Integer> part : parts) {
+                part.to(result);
+                min = Math.min(min, part.size());
+                max = Math.max(max, part.size());
+            }
+            assertEquals(list, result);
+            assertEquals(true, max - min <= 1);
+        }
+        assertEquals(1, ListGenerator.of(new ArrayList<Integer>()).split(3).size());
+    }
+
+    @Test
+    public void testStop() {
+        final ListGenerator<Integer> gen = ListGenerator.of(list);
+        final List<Integer> result = new ArrayList<Integer>();
+        gen.run(new Procedure<Integer>() {
+            public void run(Integer obj) {
+                result.add(obj);
+                if (obj.intValue() == 2) {
+                    gen.stop();
+                }
+            }
+        });
+        assertEquals(Arrays.asList(0, 1, 2), result);
+    }
+
+    @Test
+    public void testOfNull() {
+        assertNull(ListGenerator.of((List<?>) null));
+        assertNull(ListGenerator.of((Object[]) null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotRandomAccess() {
+        new ListGenerator<Integer>(new LinkedList<Integer>(list));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalRange() {
+        new ListGenerator<Integer>(list, 5, 11);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSplit() {
+        ListGenerator.of(list).split(0);
+    }
+
+    @Test
+    public void testEquals() {
+        ListGenerator<Integer> gen = ListGenerator.of(list);
+        assertObjectsAreEqual(gen, ListGenerator.of(new ArrayList<Integer>(list)));
+        assertObjectsAreNotEqual(gen, new ListGenerator<Integer>(list, 1, 10));
+    }
+}
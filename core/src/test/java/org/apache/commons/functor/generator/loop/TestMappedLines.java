@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.generator.loop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.Procedure;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the MappedLines class.
+ */
+public class TestMappedLines extends BaseFunctorTest {
+
+    private static final String TEXT = "alpha\nbeta\r\n\ngamma delta\r\n\u00e9psilon\nlast";
+
+    private File file = null;
+
+    @Override
+    public Object makeFunctor() throws Exception {
+        return MappedLines.from(new File("lines.txt"), StandardCharsets.UTF_8);
+    }
+
+    // Lifecycle
+    // ------------------------------------------------------------------------
+
+    @Before
+    public void setUp() throws Exception {
+        file = write(TEXT, StandardCharsets.UTF_8);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        file.delete();
+        file = null;
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testGenerate() {
+        assertEquals(expected(TEXT), collect(MappedLines.from(file, StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testGenerateSingleByte() throws Exception {
+        File latin = write(TEXT, StandardCharsets.ISO_8859_1);
+        try {
+            assertEquals(expected(TEXT), collect(MappedLines.from(latin, StandardCharsets.ISO_8859_1)));
+        } finally {
+            latin.delete();
+        }
+    }
+
+    @Test
+    public void testTrailingNewline() throws Exception {
+        File other = write("a\nb\n", StandardCharsets.UTF_8);
+        try {
+            assertEquals(Arrays.asList("a", "b"), collect(MappedLines.from(other, StandardCharsets.UTF_8)));
+        } finally {
+            other.delete();
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws Exception {
+        File other = write("", StandardCharsets.UTF_8);
+        try {
+            assertTrue(collect(MappedLines.from(other, StandardCharsets.UTF_8)).isEmpty());
+            assertEquals(1, MappedLines.from(other, StandardCharsets.UTF_8).split(4).size());
+        } finally {
+            other.delete();
+        }
+    }
+
+    @Test
+    public void testSmallWindow() {
+        for (int window = 13; window < 40; window++) {
+            assertEquals(expected(TEXT),
+                collect(new MappedLines(file, StandardCharsets.UTF_8, 0L, Long.MAX_VALUE, window)));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testLineLongerThanWindow() {
+        collect(new MappedLines(file, StandardCharsets.UTF_8, 0L, Long.MAX_VALUE, 4));
+    }
+
+    @Test
+    public void testSplit() {
+        final int size = (int) file.length();
+        for (int count = 1; count <= size + 2; count++) {
+            List<MappedLines> parts = MappedLines.from(file, StandardCharsets.UTF_8).split(count);
+            assertTrue(parts.size() <= count);
+            List<String> lines = new ArrayList<String>();
+            for (MappedLines part : parts) {
+                lines.addAll(collect(part));
+            }
+            assertEquals("split " + count, expected(TEXT), lines);
+        }
+    }
+
+    @Test
+    public void testEveryByteRange() {
+        final int size = (int) file.length();
+        for (int from = 0; from <= size; from++) {
+            for (int window = 16; window < 20; window++) {
+                List<String> lines = new ArrayList<String>();
+                lines.addAll(collect(new MappedLines(file, StandardCharsets.UTF_8, 0L, from, window)));
+                lines.addAll(collect(new MappedLines(file, StandardCharsets.UTF_8, from, Long.MAX_VALUE, window)));
+                assertEquals("from " + from, expected(TEXT), lines);
+            }
+        }
+    }
+
+    @Test
+    public void testStop() {
+        final MappedLines lines = MappedLines.from(file, StandardCharsets.UTF_8);
+        final List<String> result = new ArrayList<String>();
+        lines.run(new Procedure<CharSequence>() {
+            public void run(CharSequence obj) {
+                result.add(obj.toString());
+                lines.stop();
+            }
+        });
+        assertEquals(Arrays.asList("alpha"), result);
+    }
+
+    @Test
+    public void testCharSequenceView() throws Exception {
+        File latin = write("hello world\n", StandardCharsets.US_ASCII);
+        try {
+            MappedLines.from(latin, StandardCharsets.US_ASCII).run(new Procedure<CharSequence>() {
+                public void run(CharSequence obj) {
+                    assertEquals(11, obj.length());
+                    assertEquals('w', obj.charAt(6));
+                    assertEquals("world", obj.subSequence(6, 11).toString());
+                    try {
+                        obj.charAt(11);
+                        fail("Expected IndexOutOfBoundsException");
+                    } catch (IndexOutOfBoundsException e) {
+                        // expected
+                    }
+                }
+            });
+        } finally {
+            latin.delete();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultiByteNewlineCharset() {
+        MappedLines.from(file, StandardCharsets.UTF_16);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullFile() {
+        MappedLines.from(null, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testEquals() {
+        MappedLines lines = MappedLines.from(file, StandardCharsets.UTF_8);
+        assertObjectsAreEqual(lines, MappedLines.from(file, StandardCharsets.UTF_8));
+        assertObjectsAreNotEqual(lines, MappedLines.from(file, StandardCharsets.ISO_8859_1));
+        assertObjectsAreNotEqual(lines, new MappedLines(file, StandardCharsets.UTF_8, 1L, Long.MAX_VALUE));
+        assertFalse(lines.equals(lines.split(2).get(0)));
+    }
+
+    // Utils
+    // ------------------------------------------------------------------------
+
+    private static List<String> collect(MappedLines lines) {
+        final List<String> result = new ArrayList<String>();
+        lines.run(new Procedure<CharSequence>() {
+            public void run(CharSequence obj) {
+                result.add(obj.toString());
+            }
+        });
+        return result;
+    }
+
+    private static List<String> expected(String text) {
+        List<String> result = new ArrayList<String>();
+        for (String line : text.split("\n", -1)) {
+            result.add(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+        }
+        if (text.endsWith("\n")) {
+            result.remove(result.size() - 1);
+        }
+        return result;
+    }
+
+    private static File write(String text, Charset charset) throws Exception {
+        File file = File.createTempFile("functor-mapped", ".txt");
+        file.deleteOnExit();
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(text.getBytes(charset));
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.generator.loop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.Procedure;
+import org.apache.commons.functor.range.BoundType;
+import org.apache.commons.functor.range.DoubleRange;
+import org.apache.commons.functor.range.IntegerRange;
+import org.apache.commons.functor.range.LongRange;
+import org.junit.Test;
+
+/**
+ * Tests the RangeGenerator class.
+ */
+public class TestRangeGenerator extends BaseFunctorTest {
+
+    @Override
+    public Object makeFunctor() {
+        return RangeGenerator.of(new IntegerRange(0, 10));
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testGenerate() {
+        RangeGenerator<Integer> gen = RangeGenerator.of(new IntegerRange(0, 10, 3));
+        assertEquals(Arrays.asList(0, 3, 6, 9), gen.toCollection());
+        // can be run again
+        assertEquals(Arrays.asList(0, 3, 6, 9), gen.toCollection());
+    }
+
+    @Test
+    public void testRunReverse() {
+        assertEquals(Arrays.asList(9, 6, 3, 0), reverse(RangeGenerator.of(new IntegerRange(0, 10, 3))));
+        assertEquals(Arrays.asList(1L, 2L, 3L), reverse(RangeGenerator.of(new LongRange(3, 0))));
+        assertEquals(Arrays.asList(2.0, 1.0, 0.0), reverse(RangeGenerator.of(new DoubleRange(0, 3))));
+        assertEquals(Arrays.asList(), reverse(RangeGenerator.of(new IntegerRange(3, 3))));
+        assertEquals(Arrays.asList(Integer.MIN_VALUE, 0), reverse(RangeGenerator.of(
+            new IntegerRange(0, BoundType.CLOSED, Integer.MIN_VALUE, BoundType.CLOSED, Integer.MIN_VALUE))));
+        assertEquals(Arrays.asList(Long.MIN_VALUE, 0L), reverse(RangeGenerator.of(
+            new LongRange(0L, BoundType.CLOSED, Long.MIN_VALUE, BoundType.CLOSED, Long.MIN_VALUE))));
+    }
+
+    @Test
+    public void testOverflowingOpenLeft() {
+        // the first element would lie past MAX_VALUE
+        RangeGenerator<Integer> ints = RangeGenerator.of(
+            new IntegerRange(Integer.MAX_VALUE - 1, BoundType.OPEN, Integer.MAX_VALUE, BoundType.CLOSED, 2));
+        assertEquals(Arrays.asList(), ints.toCollection());
+        assertEquals(Arrays.asList(), reverse(ints));
+        RangeGenerator<Long> longs = RangeGenerator.of(
+            new LongRange(Long.MAX_VALUE - 1L, BoundType.OPEN, Long.MAX_VALUE, BoundType.CLOSED, 2L));
+        assertEquals(Arrays.asList(), longs.toCollection());
+        assertEquals(Arrays.asList(), reverse(longs));
+    }
+
+    @Test
+    public void testSplit() {
+        RangeGenerator<Integer> gen = RangeGenerator.of(new IntegerRange(0, 10, 3));
+        List<RangeGenerator<Integer>> parts = gen.split(3);
+        assertEquals(3, parts.size());
+        List<Integer> elements = new ArrayList<Integer>();
+        for (RangeGenerator<Integer> part : parts) {
+            elements.addAll(part.toCollection());
+        }
+        assertEquals(Arrays.asList(0, 3, 6, 9), elements);
+        // ranges that cannot be split are not divided
+        RangeGenerator<Double> doubles = RangeGenerator.of(new DoubleRange(0, 3));
+        assertEquals(Arrays.asList(doubles), doubles.split(4));
+    }
+
+    @Test
+    public void testStop() {
+        final RangeGenerator<Integer> gen = RangeGenerator.of(new IntegerRange(0, 10));
+        final List<Integer> result = new ArrayList<Integer>();
+        gen.runReverse(new Procedure<Integer>() {
+            public void run(Integer obj) {
+                result.add(obj);
+                if (obj.intValue() == 8) {
+                    gen.stop();
+                }
+            }
+        });
+        assertEquals(Arrays.asList(9, 8), result);
+    }
+
+    @Test
+    public void testOfNull() {
+        assertNull(RangeGenerator.of((IntegerRange) null));
+    }
+
+    @Test
+    public void testEquals() {
+        RangeGenerator<Integer> gen = RangeGenerator.of(new IntegerRange(0, 10));
+        assertObjectsAreEqual(gen, RangeGenerator.of(new IntegerRange(0, 10)));
+        assertObjectsAreNotEqual(gen, RangeGenerator.of(new IntegerRange(0, 11)));
+    }
+
+    // Utils
+    // ------------------------------------------------------------------------
+
+    private static <E extends Comparable<E>> List<E> reverse(RangeGenerator<E> gen) {
+        final List<E> result = new ArrayList<E>();
+        gen.runReverse(new Procedure<E>() {
+            public void run(E obj) {
+                result.add(obj);
+            }
+        });
+        return result;
+    }
+}
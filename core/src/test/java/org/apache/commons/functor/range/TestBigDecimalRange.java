@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.junit.Test;
+
+/**
+ * Tests the BigDecimalRange class.
+ */
+public class TestBigDecimalRange extends BaseFunctorTest {
+
+    @Override
+    protected Object makeFunctor() throws Exception {
+        return Ranges.bigDecimalRange(new BigDecimal("0.00"), new BigDecimal("1.00"), new BigDecimal("0.25"));
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testIterate() {
+        BigDecimalRange range = Ranges.bigDecimalRange(dec("1"), BoundType.OPEN, dec("2"), BoundType.CLOSED,
+            dec("0.25"));
+        assertEquals(Arrays.asList(dec("1.25"), dec("1.50"), dec("1.75"), dec("2.00")), collect(range));
+        assertEquals(BigInteger.valueOf(4), range.size());
+        assertEquals(dec("1.25"), range.first());
+        assertEquals(dec("2.00"), range.last());
+        assertEquals(dec("1.75"), range.get(BigInteger.valueOf(2)));
+    }
+
+    @Test
+    public void testContainsByValue() {
+        BigDecimalRange range = Ranges.bigDecimalRange(dec("0.1"), dec("1.0"), dec("0.1"));
+        assertTrue(range.contains(dec("0.3")));
+        assertTrue(range.contains(dec("0.30000")));
+        assertEquals(BigInteger.valueOf(2), range.indexOf(dec("0.300")));
+        assertFalse(range.contains(dec("0.35")));
+        assertFalse(range.contains(dec("1.0")));
+        assertFalse(range.contains(dec("0")));
+        assertEquals(BigInteger.ONE.negate(), range.indexOf(dec("0.31")));
+    }
+
+    @Test
+    public void testRightEndpointBetweenElements() {
+        BigDecimalRange range = Ranges.bigDecimalRange(dec("10"), BoundType.CLOSED, dec("-0.5"), BoundType.OPEN,
+            dec("-2.5"));
+        assertEquals(Arrays.asList(dec("10.0"), dec("7.5"), dec("5.0"), dec("2.5"), dec("0.0")), collect(range));
+        assertEquals(BigInteger.valueOf(5), range.size());
+        assertEquals(BigInteger.valueOf(4), range.indexOf(BigDecimal.ZERO));
+    }
+
+    @Test
+    public void testNegativeScale() {
+        BigDecimalRange range = Ranges.bigDecimalRange(new BigDecimal("1E+3"), BoundType.CLOSED,
+            new BigDecimal("2E+3"), BoundType.CLOSED, new BigDecimal("5E+2"));
+        assertEquals(BigInteger.valueOf(3), range.size());
+        assertTrue(range.contains(dec("1500")));
+        assertFalse(range.contains(dec("1500.5")));
+    }
+
+    @Test
+    public void testIndexMatchesElements() {
+        BigDecimal[] steps = {dec("0.5"), dec("0.25"), dec("1.5")};
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (int from = -4; from <= 4; from++) {
+                    for (int to = -4; to <= 4; to++) {
+                        for (BigDecimal step : steps) {
+                            BigDecimalRange range = Ranges.bigDecimalRange(BigDecimal.valueOf(from), left,
+                                BigDecimal.valueOf(to), right, from > to ? step.negate() : step);
+                            List<BigDecimal> elements = collect(range);
+                            assertEquals(range.toString(), BigInteger.valueOf(elements.size()), range.size());
+                            for (int i = 0; i < elements.size(); i++) {
+                                assertEquals(0, elements.get(i).compareTo(range.get(BigInteger.valueOf(i))));
+                                assertEquals(BigInteger.valueOf(i), range.indexOf(elements.get(i)));
+                            }
+                            for (int value = -20; value <= 20; value++) {
+                                BigDecimal v = BigDecimal.valueOf(value, 1);
+                                boolean expected = false;
+                                for (BigDecimal element : elements) {
+                                    expected |= element.compareTo(v) == 0;
+                                }
+                                assertEquals(range + " " + v, expected, range.contains(v));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroStep() {
+        Ranges.bigDecimalRange(dec("0"), dec("1"), dec("0.00"));
+    }
+
+    @Test
+    public void testViewsMatchElements() {
+        BigDecimal[] steps = {dec("0.5"), dec("1"), dec("1.5")};
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (int from = -4; from <= 4; from++) {
+                    for (int to = -4; to <= 4; to++) {
+                        for (BigDecimal step : steps) {
+                            BigDecimalRange range = Ranges.bigDecimalRange(dec(from + ".0"), left,
+                                dec(to + ".0"), right, from > to ? step.negate() : step);
+                            assertViews(range);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSubRangeOutOfBounds() {
+        BigDecimalRange range = Ranges.bigDecimalRange(dec("0.0"), BoundType.CLOSED, dec("1.0"), BoundType.OPEN,
+            dec("0.2"));
+        long[][] indices = {{-1L, 2L}, {3L, 2L}, {0L, 6L}};
+        for (long[] index : indices) {
+            try {
+                range.subRange(index[0], index[1]);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStrideNonPositive() {
+        Ranges.bigDecimalRange(dec("0.0"), dec("1.0"), dec("0.1")).stride(0L);
+    }
+
+    // Utils
+    // ------------------------------------------------------------------------
+
+    private static BigDecimal dec(String value) {
+        return new BigDecimal(value);
+    }
+
+    private static void assertViews(BigDecimalRange range) {
+        List<BigDecimal> elements = collect(range);
+        int size = elements.size();
+        List<BigDecimal> reversed = new ArrayList<BigDecimal>(elements);
+        Collections.reverse(reversed);
+        assertEquals(range + " reversed", reversed, collect(range.reversed()));
+        for (int count = 1; count <= 4; count++) {
+            List<BigDecimalRange> parts = range.split(count);
+            assertTrue(parts.size() <= count);
+            List<BigDecimal> actual = new ArrayList<BigDecimal>();
+            for (BigDecimalRange part : parts) {
+                actual.addAll(collect(part));
+            }
+            assertEquals(range + " split " + count, elements, actual);
+        }
+        for (int from = 0; from <= size; from++) {
+            for (int to = from; to <= size; to++) {
+                assertEquals(range + " from " + from + " to " + to, elements.subList(from, to),
+                    collect(range.subRange(from, to)));
+            }
+        }
+        for (int k = 1; k <= 4; k++) {
+            List<BigDecimal> expected = new ArrayList<BigDecimal>();
+            for (int i = 0; i < size; i += k) {
+                expected.add(elements.get(i));
+            }
+            assertEquals(range + " stride " + k, expected, collect(range.stride(k)));
+        }
+        for (int count = 0; count <= size + 1; count++) {
+            assertEquals(elements.subList(Math.min(count, size), size), collect(range.skip(count)));
+            assertEquals(elements.subList(0, Math.min(count, size)), collect(range.limit(count)));
+        }
+    }
+
+    private static List<BigDecimal> collect(BigDecimalRange range) {
+        List<BigDecimal> result = new ArrayList<BigDecimal>();
+        for (BigDecimal value : range) {
+            result.add(value);
+        }
+        return result;
+    }
+}
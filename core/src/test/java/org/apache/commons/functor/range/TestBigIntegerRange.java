@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.junit.Test;
+
+/**
+ * Tests the BigIntegerRange class.
+ */
+public class TestBigIntegerRange extends BaseFunctorTest {
+
+    @Override
+    protected Object makeFunctor() throws Exception {
+        return Ranges.bigIntegerRange(BigInteger.ZERO, BigInteger.TEN);
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testIterate() {
+        assertEquals(Arrays.asList(big(0), big(1), big(2)), collect(Ranges.bigIntegerRange(big(0), big(3))));
+        assertEquals(Arrays.asList(big(10), big(7), big(4)), collect(Ranges.bigIntegerRange(big(10), big(1),
+            big(-3))));
+        assertTrue(collect(Ranges.bigIntegerRange(big(5), BoundType.OPEN, big(5), BoundType.CLOSED, big(1)))
+            .isEmpty());
+    }
+
+    @Test
+    public void testIndexMatchesElements() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (int from = -6; from <= 6; from++) {
+                    for (int to = -6; to <= 6; to++) {
+                        for (int step = 1; step <= 3; step++) {
+                            BigIntegerRange range = Ranges.bigIntegerRange(big(from), left, big(to), right,
+                                big(from > to ? -step : step));
+                            List<BigInteger> elements = collect(range);
+                            assertEquals(range.toString(), big(elements.size()), range.size());
+                            for (int i = 0; i < elements.size(); i++) {
+                                assertEquals(elements.get(i), range.get(big(i)));
+                            }
+                            for (int value = -8; value <= 8; value++) {
+                                assertEquals(range + " " + value, elements.contains(big(value)),
+                                    range.contains(big(value)));
+                                assertEquals(big(elements.indexOf(big(value))), range.indexOf(big(value)));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testHugeRange() {
+        BigInteger from = BigInteger.TEN.pow(40).negate();
+        BigInteger to = BigInteger.TEN.pow(40);
+        BigIntegerRange range = Ranges.bigIntegerRange(from, BoundType.CLOSED, to, BoundType.CLOSED, big(7));
+        BigInteger size = to.subtract(from).divide(big(7)).add(BigInteger.ONE);
+        assertEquals(size, range.size());
+        assertEquals(from.add(size.subtract(BigInteger.ONE).multiply(big(7))), range.last());
+        assertTrue(range.contains(from.add(big(7).pow(30))));
+        assertFalse(range.contains(from.add(big(7).pow(30)).add(BigInteger.ONE)));
+        assertEquals(big(7).pow(29), range.indexOf(from.add(big(7).pow(30))));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetBeyondLast() {
+        Ranges.bigIntegerRange(big(0), big(3)).get(big(3));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testFirstOfEmpty() {
+        Ranges.bigIntegerRange(big(3), big(3)).first();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroStep() {
+        Ranges.bigIntegerRange(big(0), big(3), BigInteger.ZERO);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongDirection() {
+        Ranges.bigIntegerRange(big(0), big(3), big(-1));
+    }
+
+    @Test
+    public void testEquals() {
+        BigIntegerRange range = Ranges.bigIntegerRange(big(0), big(10));
+        assertObjectsAreEqual(range, Ranges.bigIntegerRange(big(0), BoundType.CLOSED, big(10), BoundType.OPEN,
+            big(1)));
+        assertObjectsAreNotEqual(range, Ranges.bigIntegerRange(big(0), big(10), big(2)));
+    }
+
+    @Test
+    public void testViewsMatchElements() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (int from = -4; from <= 4; from++) {
+                    for (int to = -4; to <= 4; to++) {
+                        for (int step = 1; step <= 3; step++) {
+                            BigIntegerRange range = Ranges.bigIntegerRange(big(from), left, big(to), right,
+                                big(from > to ? -step : step));
+                            assertViews(range);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSubRangeOutOfBounds() {
+        BigIntegerRange range = Ranges.bigIntegerRange(big(0), BoundType.CLOSED, big(10), BoundType.OPEN, big(2));
+        long[][] indices = {{-1L, 2L}, {3L, 2L}, {0L, 6L}};
+        for (long[] index : indices) {
+            try {
+                range.subRange(index[0], index[1]);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStrideNonPositive() {
+        Ranges.bigIntegerRange(big(0), big(10)).stride(0L);
+    }
+
+    // Utils
+    // ------------------------------------------------------------------------
+
+    private static BigInteger big(long value) {
+        return BigInteger.valueOf(value);
+    }
+
+    private static void assertViews(BigIntegerRange range) {
+        List<BigInteger> elements = collect(range);
+        int size = elements.size();
+        List<BigInteger> reversed = new ArrayList<BigInteger>(elements);
+        Collections.reverse(reversed);
+        assertEquals(range + " reversed", reversed, collect(range.reversed()));
+        for (int count = 1; count <= 4; count++) {
+            List<BigIntegerRange> parts = range.split(count);
+            assertTrue(parts.size() <= count);
+            List<BigInteger> actual = new ArrayList<BigInteger>();
+            for (BigIntegerRange part : parts) {
+                actual.addAll(collect(part));
+            }
+            assertEquals(range + " split " + count, elements, actual);
+        }
+        for (int from = 0; from <= size; from++) {
+            for (int to = from; to <= size; to++) {
+                assertEquals(range + " from " + from + " to " + to, elements.subList(from, to),
+                    collect(range.subRange(from, to)));
+            }
+        }
+        for (int k = 1; k <= 4; k++) {
+            List<BigInteger> expected = new ArrayList<BigInteger>();
+            for (int i = 0; i < size; i += k) {
+                expected.add(elements.get(i));
+            }
+            assertEquals(range + " stride " + k, expected, collect(range.stride(k)));
+        }
+        for (int count = 0; count <= size + 1; count++) {
+            assertEquals(elements.subList(Math.min(count, size), size), collect(range.skip(count)));
+            assertEquals(elements.subList(0, Math.min(count, size)), collect(range.limit(count)));
+        }
+    }
+
+    private static List<BigInteger> collect(BigIntegerRange range) {
+        List<BigInteger> result = new ArrayList<BigInteger>();
+        for (BigInteger value : range) {
+            result.add(value);
+        }
+        return result;
+    }
+}
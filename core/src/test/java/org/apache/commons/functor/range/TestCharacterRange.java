@@ -18,6 +18,7 @@ package org.apache.commons.functor.range;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -25,7 +26,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.functor.BaseFunctorTest;
 import org.apache.commons.functor.Function;
@@ -726,4 +733,258 @@ public class TestCharacterRange extends BaseFunctorTest {
                      CharacterRange.DEFAULT_STEP.evaluate('a', 'c'));
     }
 
+    @Test
+    public void testContainsMatchesElements() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (char from = 'a'; from <= 'h'; from++) {
+                    for (char to = 'a'; to <= 'h'; to++) {
+                        for (int step = 1; step <= 3; step++) {
+                            int s = from > to ? -step : step;
+                            CharacterRange range = Ranges.characterRange(from, left, to, right, s);
+                            List<Character> elements = new ArrayList<Character>();
+                            for (Character c : range) {
+                                elements.add(c);
+                            }
+                            for (char value = '_'; value <= 'j'; value++) {
+                                assertEquals(range + " contains " + value, elements.contains(value),
+                                    range.contains(value));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testContainsAtLimits() {
+        CharacterRange up = Ranges.characterRange('\ufff0', BoundType.CLOSED, Character.MAX_VALUE, BoundType.OPEN, 5);
+        assertTrue(up.contains('\ufffa'));
+        assertFalse(up.contains(Character.MAX_VALUE));
+        assertFalse(up.contains('\ufffb'));
+        CharacterRange down = Ranges.characterRange('\u0005', BoundType.OPEN, Character.MIN_VALUE, BoundType.CLOSED,
+            -5);
+        assertTrue(down.contains(Character.MIN_VALUE));
+        assertFalse(down.contains('\u0005'));
+        assertFalse(down.contains((Character) null));
+    }
+
+    @Test
+    public void testRandomAccessMatchesIteration() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (char from = 'a'; from <= 'h'; from++) {
+                    for (char to = 'a'; to <= 'h'; to++) {
+                        for (int step = 1; step <= 3; step++) {
+                            int s = from > to ? -step : step;
+                            CharacterRange range = Ranges.characterRange(from, left, to, right, s);
+                            List<Character> elements = new ArrayList<Character>();
+                            for (Character e : range) {
+                                elements.add(e);
+                            }
+                            assertEquals(range.toString(), elements.size(), range.size());
+                            assertEquals(range.toString(), elements, range.asList());
+                            for (int i = 0; i < elements.size(); i++) {
+                                assertEquals(elements.get(i).charValue(), range.get(i));
+                                assertEquals(i, range.indexOf(elements.get(i).charValue()));
+                                assertEquals(i, range.asList().indexOf(elements.get(i)));
+                            }
+                            for (char value = '_'; value <= 'j'; value++) {
+                                if (!elements.contains(value)) {
+                                    assertEquals(-1L, range.indexOf(value));
+                                    assertFalse(range.asList().contains(value));
+                                }
+                            }
+                            if (!elements.isEmpty()) {
+                                assertEquals(elements.get(0).charValue(), range.first());
+                                assertEquals(elements.get(elements.size() - 1).charValue(), range.last());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRandomAccessEmpty() {
+        CharacterRange empty = Ranges.characterRange('a', BoundType.OPEN, 'a', BoundType.OPEN, 1);
+        assertEquals(0L, empty.size());
+        assertEquals(-1L, empty.indexOf('a'));
+        assertTrue(empty.asList().isEmpty());
+        try {
+            empty.first();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+        try {
+            empty.last();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+        try {
+            empty.get(0);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRandomAccessAtLimits() {
+        CharacterRange all = Ranges.characterRange(Character.MIN_VALUE, Character.MAX_VALUE);
+        assertEquals(65536L, all.size());
+        assertEquals(65536, all.asList().size());
+        assertEquals(Character.MAX_VALUE, all.get(65535L));
+        assertEquals(65535L, all.indexOf(Character.MAX_VALUE));
+        assertEquals(Character.valueOf('z'), all.asList().get('z'));
+    }
+
+    @Test
+    public void testSplit() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (char from = 'a'; from <= 'h'; from++) {
+                    for (char to = 'a'; to <= 'h'; to++) {
+                        for (int step = 1; step <= 3; step++) {
+                            int s = from > to ? -step : step;
+                            CharacterRange range = Ranges.characterRange(from, left, to, right, s);
+                            List<Character> elements = new ArrayList<Character>();
+                            for (Character e : range) {
+                                elements.add(e);
+                            }
+                            for (int count = 1; count <= 5; count++) {
+                                List<CharacterRange> parts = range.split(count);
+                                assertEquals(range.toString(), Math.max(1, Math.min(count, elements.size())),
+                                    parts.size());
+                                List<Character> actual = new ArrayList<Character>();
+                                for (CharacterRange part : parts) {
+                                    assertTrue(part.size() >= elements.size() / count);
+                                    assertTrue(part.size() <= (elements.size() + count - 1) / count);
+                                    for (Character e : part) {
+                                        actual.add(e);
+                                    }
+                                }
+                                assertEquals(range + " split " + count, elements, actual);
+                            }
+                            assertEquals(range.toString(), elements,
+                                StreamSupport.stream(range.spliterator(), false).collect(Collectors.toList()));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSplitNonPositive() {
+        Ranges.characterRange('a', 'h').split(0);
+    }
+
+    @Test
+    public void testSpliterator() {
+        CharacterRange range = Ranges.characterRange('z', 'a');
+        assertEquals(Arrays.asList('z', 'y', 'x', 'w', 'v', 'u', 't', 's', 'r', 'q', 'p', 'o', 'n', 'm', 'l', 'k', 'j',
+            'i', 'h', 'g', 'f', 'e', 'd', 'c', 'b', 'a'),
+            StreamSupport.stream(range.spliterator(), true).collect(Collectors.toList()));
+        assertEquals(26L, range.spliterator().getExactSizeIfKnown());
+        assertFalse(range.spliterator().hasCharacteristics(Spliterator.SORTED));
+    }
+
+    @Test
+    public void testViews() {
+        CharacterRange range = Ranges.characterRange('z', BoundType.CLOSED, 'a', BoundType.OPEN, -2);
+        assertEquals(Ranges.characterRange('x', BoundType.CLOSED, 'r', BoundType.CLOSED, -2), range.subRange(1L, 5L));
+        assertEquals(Ranges.characterRange('z', BoundType.CLOSED, 'b', BoundType.CLOSED, -6), range.stride(3L));
+        assertEquals(Ranges.characterRange('d', BoundType.CLOSED, 'b', BoundType.CLOSED, -2), range.skip(11L));
+        assertEquals(Ranges.characterRange('z', BoundType.CLOSED, 'x', BoundType.CLOSED, -2), range.limit(2L));
+        assertTrue(range.skip(13L).isEmpty());
+        assertTrue(range.limit(0L).isEmpty());
+        assertEquals(Ranges.characterRange('z', BoundType.CLOSED, 'b', BoundType.CLOSED, -2), range.limit(100L));
+    }
+
+    @Test
+    public void testCached() {
+        CharacterRange range = Ranges.characterRange('\u0100', BoundType.CLOSED, '\u0300', BoundType.OPEN, 3);
+        CharacterRange cached = range.cached();
+        assertTrue(cached.isCached());
+        assertFalse(range.isCached());
+        assertSame(cached, cached.cached());
+        assertObjectsAreEqual(range, cached);
+        List<Character> expected = new ArrayList<Character>();
+        for (Character value : range) {
+            expected.add(value);
+        }
+        List<Character> first = new ArrayList<Character>();
+        for (Character value : cached) {
+            first.add(value);
+        }
+        assertEquals(expected, first);
+        Iterator<Character> again = cached.iterator();
+        for (Character value : first) {
+            assertSame(value, again.next());
+        }
+        assertFalse(again.hasNext());
+        assertSame(cached.asList(), cached.asList());
+        assertEquals(expected, cached.asList());
+        assertTrue(cached.asList() instanceof RandomAccess);
+        try {
+            cached.asList().set(0, Character.valueOf('a'));
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        assertFalse(Ranges.characterRange('a', BoundType.OPEN, 'a', BoundType.OPEN).cached().iterator().hasNext());
+    }
+
+    @Test
+    public void testOverflowingOpenLeft() {
+        // the first element would lie past Character.MAX_VALUE
+        CharacterRange range = new CharacterRange((char) 0xFFFE, BoundType.OPEN, (char) 0xFFFF, BoundType.CLOSED, 2);
+        assertTrue(range.isEmpty());
+        assertEquals(0L, range.size());
+        assertFalse(range.contains('\u0000'));
+        assertFalse(range.iterator().hasNext());
+        range = new CharacterRange((char) 1, BoundType.OPEN, (char) 0, BoundType.CLOSED, -2);
+        assertTrue(range.isEmpty());
+        assertFalse(range.iterator().hasNext());
+    }
+
+    @Test
+    public void testReversedZeroStep() {
+        assertEquals(Ranges.characterRange('x', BoundType.CLOSED, 'x', BoundType.CLOSED, 0),
+            Ranges.characterRange('x', BoundType.CLOSED, 'x', BoundType.CLOSED, 0).reversed());
+        assertTrue(Ranges.characterRange('x', BoundType.OPEN, 'x', BoundType.CLOSED, 0).reversed().isEmpty());
+        assertTrue(Ranges.characterRange('x', BoundType.CLOSED, 'x', BoundType.OPEN, 0).reversed().isEmpty());
+    }
+
+    @Test
+    public void testReversed() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (char from = 'a'; from <= 'h'; from++) {
+                    for (char to = 'a'; to <= 'h'; to++) {
+                        for (int step = 1; step <= 3; step++) {
+                            int s = from > to ? -step : step;
+                            CharacterRange range = Ranges.characterRange(from, left, to, right, s);
+                            List<Character> expected = new ArrayList<Character>();
+                            for (Character c : range) {
+                                expected.add(c);
+                            }
+                            Collections.reverse(expected);
+                            List<Character> actual = new ArrayList<Character>();
+                            for (Character c : range.reversed()) {
+                                actual.add(c);
+                            }
+                            assertEquals(range.toString(), expected, actual);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
 }
@@ -27,8 +27,12 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.DoubleBinaryFunction;
+import org.apache.commons.functor.DoublePredicate;
+import org.apache.commons.functor.DoubleProcedure;
 import org.apache.commons.functor.Function;
 import org.apache.commons.functor.generator.Generator;
 import org.apache.commons.functor.generator.loop.IteratorToGeneratorAdapter;
@@ -765,4 +769,137 @@ public class TestDoubleRange extends BaseFunctorTest {
                      DoubleRange.DEFAULT_STEP.evaluate(1.0d, 10.0d));
     }
 
+    @Test
+    public void testIndexBasedElements() {
+        DoubleRange range = Ranges.doubleRange(0.0d, BoundType.CLOSED, 1.0d, BoundType.CLOSED, 0.1d);
+        assertEquals(11L, range.size());
+        List<Double> elements = new ArrayList<Double>();
+        for (Double d : range) {
+            elements.add(d);
+        }
+        assertEquals(11, elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            assertEquals(i * 0.1d, elements.get(i).doubleValue(), 0.0d);
+            assertEquals(i * 0.1d, range.get(i), 0.0d);
+            assertEquals(i, range.indexOf(i * 0.1d));
+            assertTrue(range.contains(elements.get(i)));
+        }
+        // repeatedly adding the step would have ended at 0.9999999999999999
+        assertEquals(1.0d, range.get(10), 0.0d);
+        assertFalse(range.contains(0.05d));
+        assertEquals(-1L, range.indexOf(1.1d));
+        assertFalse(range.contains((Double) null));
+    }
+
+    @Test
+    public void testManyElements() {
+        DoubleRange range = Ranges.doubleRange(0.0d, BoundType.CLOSED, 1.0d, BoundType.OPEN, 1e-6d);
+        assertEquals(1000000L, range.size());
+        final double[] state = new double[2];
+        range.run(new DoubleProcedure() {
+            public void run(double value) {
+                assertEquals(state[0] * 1e-6d, value, 0.0d);
+                state[0]++;
+                state[1] = value;
+            }
+        });
+        assertEquals(1000000.0d, state[0], 0.0d);
+        assertEquals(999999 * 1e-6d, state[1], 0.0d);
+        assertTrue(range.contains(999999 * 1e-6d));
+        assertFalse(range.contains(1.0d));
+    }
+
+    @Test
+    public void testSizeAndBounds() {
+        assertEquals(0L, Ranges.doubleRange(1.0d, BoundType.OPEN, 1.0d, BoundType.CLOSED, 1.0d).size());
+        assertEquals(1L, Ranges.doubleRange(1.0d, BoundType.CLOSED, 1.0d, BoundType.CLOSED, 1.0d).size());
+        assertEquals(0L, Ranges.doubleRange(0.0d, BoundType.OPEN, 1.0d, BoundType.CLOSED, 5.0d).size());
+        assertEquals(2L, Ranges.doubleRange(5.0d, BoundType.OPEN, -4.0d, BoundType.OPEN, -3.0d).size());
+        assertEquals(Long.MAX_VALUE,
+            Ranges.doubleRange(0.0d, BoundType.CLOSED, Double.POSITIVE_INFINITY, BoundType.CLOSED, 1.0d).size());
+        DoubleRange range = Ranges.doubleRange(0.0d, 3.0d);
+        try {
+            range.get(3L);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            range.get(-1L);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testFoldLeft() {
+        DoubleBinaryFunction sum = new DoubleBinaryFunction() {
+            public double evaluateAsDouble(double left, double right) {
+                return left + right;
+            }
+        };
+        assertEquals(45.0d, Ranges.doubleRange(0.0d, 10.0d).foldLeft(0.0d, sum), 0.0d);
+        assertEquals(7.0d, Ranges.doubleRange(3.0d, 3.0d).foldLeft(7.0d, sum), 0.0d);
+    }
+
+    @Test
+    public void testBulkOperations() {
+        DoubleRange range = Ranges.doubleRange(0.0d, BoundType.CLOSED, 1.0d, BoundType.CLOSED, 0.1d);
+        double[] array = range.toDoubleArray();
+        assertEquals(11, array.length);
+        for (int i = 0; i < array.length; i++) {
+            assertEquals(range.get(i), array[i], 0.0d);
+        }
+        assertEquals(5.5d, range.sum(), 1e-15d);
+        assertEquals(0.0d, range.min(), 0.0d);
+        assertEquals(1.0d, range.max(), 0.0d);
+        assertEquals(6L, range.count(new DoublePredicate() {
+            public boolean test(double value) {
+                return value >= 0.5d;
+            }
+        }));
+        DoubleRange desc = Ranges.doubleRange(10.0d, 0.0d);
+        assertEquals(1.0d, desc.min(), 0.0d);
+        assertEquals(10.0d, desc.max(), 0.0d);
+        assertEquals(55.0d, desc.sum(), 0.0d);
+        assertEquals(0.0d, Ranges.doubleRange(3.0d, 3.0d).sum(), 0.0d);
+    }
+
+    @Test
+    public void testCompensatedSum() {
+        DoubleRange range = Ranges.doubleRange(0.0d, BoundType.CLOSED, 1.0d, BoundType.OPEN, 1e-6d);
+        double naive = 0.0d;
+        for (double d : range.toDoubleArray()) {
+            naive += d;
+        }
+        final double exact = 999999L * 1000000L / 2 * 1e-6d;
+        assertTrue(Math.abs(range.sum() - exact) <= Math.abs(naive - exact));
+        assertEquals(exact, range.sum(), 1e-9d);
+    }
+
+    @Test
+    public void testFill() {
+        double[] dest = new double[5];
+        assertEquals(3, Ranges.doubleRange(0.0d, 3.0d).fill(dest, 2));
+        assertEquals(0.0d, dest[1], 0.0d);
+        assertEquals(2.0d, dest[4], 0.0d);
+        try {
+            Ranges.doubleRange(0.0d, 3.0d).fill(dest, 3);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testMaxOfEmpty() {
+        Ranges.doubleRange(3.0d, 3.0d).max();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testRunNullDoubleProcedure() {
+        ascDoubleRange.run((DoubleProcedure) null);
+    }
+
 }
@@ -29,6 +29,8 @@ import java.util.Collections;
 import java.util.List;
 
 import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.DoubleBinaryFunction;
+import org.apache.commons.functor.DoubleProcedure;
 import org.apache.commons.functor.Function;
 import org.apache.commons.functor.generator.Generator;
 import org.apache.commons.functor.generator.loop.IteratorToGeneratorAdapter;
@@ -753,4 +755,48 @@ public class TestFloatRange extends BaseFunctorTest {
                      FloatRange.DEFAULT_STEP.evaluate(1.0f, 10.0f));
     }
 
+    @Test
+    public void testIndexBasedElements() {
+        FloatRange range = Ranges.floatRange(0.0f, BoundType.CLOSED, 1.0f, BoundType.CLOSED, 0.1f);
+        assertEquals(11L, range.size());
+        List<Float> elements = new ArrayList<Float>();
+        for (Float f : range) {
+            elements.add(f);
+        }
+        assertEquals(11, elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            assertEquals((float) (i * (double) 0.1f), elements.get(i).floatValue(), 0.0f);
+            assertEquals(elements.get(i).floatValue(), range.get(i), 0.0f);
+            assertEquals(i, range.indexOf(elements.get(i).floatValue()));
+            assertTrue(range.contains(elements.get(i)));
+        }
+        assertEquals(1.0f, range.get(10), 0.0f);
+        assertFalse(range.contains(0.05f));
+        assertFalse(range.contains((Float) null));
+    }
+
+    @Test
+    public void testRun() {
+        FloatRange range = Ranges.floatRange(0.0f, BoundType.CLOSED, 1.0f, BoundType.OPEN, 0.001f);
+        assertEquals(1000L, range.size());
+        final List<Float> elements = new ArrayList<Float>();
+        range.run(new DoubleProcedure() {
+            public void run(double value) {
+                elements.add(Float.valueOf((float) value));
+            }
+        });
+        List<Float> expected = new ArrayList<Float>();
+        for (Float f : range) {
+            expected.add(f);
+        }
+        assertEquals(expected, elements);
+        assertEquals(range.get(999), elements.get(999).floatValue(), 0.0f);
+        DoubleBinaryFunction count = new DoubleBinaryFunction() {
+            public double evaluateAsDouble(double left, double right) {
+                return left + 1;
+            }
+        };
+        assertEquals(1000.0d, range.foldLeft(0.0d, count), 0.0d);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.junit.Test;
+
+/**
+ * Tests the InstantRange class.
+ */
+public class TestInstantRange extends BaseFunctorTest {
+
+    private static final Instant EPOCH = Instant.EPOCH;
+
+    @Override
+    protected Object makeFunctor() throws Exception {
+        return Ranges.instantRange(EPOCH, EPOCH.plusSeconds(60L), Duration.ofSeconds(10L));
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testIterate() {
+        InstantRange range = Ranges.instantRange(EPOCH, BoundType.OPEN, EPOCH.plusSeconds(2L), BoundType.CLOSED,
+            Duration.ofMillis(500L));
+        assertEquals(Arrays.asList(EPOCH.plusMillis(500L), EPOCH.plusMillis(1000L), EPOCH.plusMillis(1500L),
+            EPOCH.plusMillis(2000L)), collect(range));
+        assertEquals(4L, range.size());
+        assertEquals(EPOCH.plusMillis(2000L), range.last());
+    }
+
+    @Test
+    public void testIndexMatchesElements() {
+        Duration[] steps = {Duration.ofNanos(700000000L), Duration.ofSeconds(1L, 300000000L), Duration.ofSeconds(2L)};
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (int from = -4; from <= 4; from++) {
+                    for (int to = -4; to <= 4; to++) {
+                        for (Duration step : steps) {
+                            InstantRange range = Ranges.instantRange(EPOCH.plusSeconds(from), left,
+                                EPOCH.plusSeconds(to), right, from > to ? step.negated() : step);
+                            List<Instant> elements = collect(range);
+                            assertEquals(range.toString(), elements.size(), range.size());
+                            for (int i = 0; i < elements.size(); i++) {
+                                assertEquals(elements.get(i), range.get(i));
+                            }
+                            for (int millis = -5000; millis <= 5000; millis += 100) {
+                                Instant value = EPOCH.plusMillis(millis);
+                                assertEquals(range + " " + value, elements.contains(value), range.contains(value));
+                                assertEquals(elements.indexOf(value), range.indexOf(value));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testManyYearsOfMinutes() {
+        Instant from = Instant.parse("2000-01-01T00:00:00Z");
+        Instant to = Instant.parse("2100-01-01T00:00:00Z");
+        InstantRange range = Ranges.instantRange(from, to, Duration.ofMinutes(1L));
+        long minutes = Duration.between(from, to).toMinutes();
+        assertEquals(minutes, range.size());
+        assertEquals(to.minusSeconds(60L), range.last());
+        Instant noon = Instant.parse("2050-06-15T12:00:00Z");
+        assertTrue(range.contains(noon));
+        assertFalse(range.contains(noon.plusSeconds(1L)));
+        assertEquals(Duration.between(from, noon).toMinutes(), range.indexOf(noon));
+        assertEquals(noon, range.get(range.indexOf(noon)));
+    }
+
+    @Test
+    public void testNanosecondsBeyondLong() {
+        InstantRange range = Ranges.instantRange(Instant.MIN, BoundType.CLOSED, Instant.MAX, BoundType.CLOSED,
+            Duration.ofNanos(1L));
+        assertEquals(Long.MAX_VALUE, range.size());
+        assertEquals(Instant.MAX, range.last());
+        assertTrue(range.contains(EPOCH));
+        assertEquals(Instant.MIN.plusNanos(12345L), range.get(12345L));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testIndexBeyondLong() {
+        Ranges.instantRange(Instant.MIN, BoundType.CLOSED, Instant.MAX, BoundType.CLOSED, Duration.ofNanos(1L))
+            .indexOf(EPOCH);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroStep() {
+        Ranges.instantRange(EPOCH, EPOCH.plusSeconds(1L), Duration.ZERO);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongDirection() {
+        Ranges.instantRange(EPOCH, EPOCH.plusSeconds(1L), Duration.ofSeconds(-1L));
+    }
+
+    @Test
+    public void testViewsMatchElements() {
+        Duration[] steps = {Duration.ofMillis(500L), Duration.ofSeconds(1L), Duration.ofMillis(1500L)};
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (int from = -4; from <= 4; from++) {
+                    for (int to = -4; to <= 4; to++) {
+                        for (Duration step : steps) {
+                            InstantRange range = Ranges.instantRange(EPOCH.plusSeconds(from), left,
+                                EPOCH.plusSeconds(to), right, from > to ? step.negated() : step);
+                            assertViews(range);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSubRangeOutOfBounds() {
+        InstantRange range = Ranges.instantRange(EPOCH, BoundType.CLOSED, EPOCH.plusSeconds(5L), BoundType.OPEN,
+            Duration.ofSeconds(1L));
+        long[][] indices = {{-1L, 2L}, {3L, 2L}, {0L, 6L}};
+        for (long[] index : indices) {
+            try {
+                range.subRange(index[0], index[1]);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStrideNonPositive() {
+        Ranges.instantRange(EPOCH, EPOCH.plusSeconds(10L), Duration.ofSeconds(1L)).stride(0L);
+    }
+
+    // Utils
+    // ------------------------------------------------------------------------
+
+    private static void assertViews(InstantRange range) {
+        List<Instant> elements = collect(range);
+        int size = elements.size();
+        List<Instant> reversed = new ArrayList<Instant>(elements);
+        Collections.reverse(reversed);
+        assertEquals(range + " reversed", reversed, collect(range.reversed()));
+        for (int count = 1; count <= 4; count++) {
+            List<InstantRange> parts = range.split(count);
+            assertTrue(parts.size() <= count);
+            List<Instant> actual = new ArrayList<Instant>();
+            for (InstantRange part : parts) {
+                actual.addAll(collect(part));
+            }
+            assertEquals(range + " split " + count, elements, actual);
+        }
+        for (int from = 0; from <= size; from++) {
+            for (int to = from; to <= size; to++) {
+                assertEquals(range + " from " + from + " to " + to, elements.subList(from, to),
+                    collect(range.subRange(from, to)));
+            }
+        }
+        for (int k = 1; k <= 4; k++) {
+            List<Instant> expected = new ArrayList<Instant>();
+            for (int i = 0; i < size; i += k) {
+                expected.add(elements.get(i));
+            }
+            assertEquals(range + " stride " + k, expected, collect(range.stride(k)));
+        }
+        for (int count = 0; count <= size + 1; count++) {
+            assertEquals(elements.subList(Math.min(count, size), size), collect(range.skip(count)));
+            assertEquals(elements.subList(0, Math.min(count, size)), collect(range.limit(count)));
+        }
+    }
+
+    private static List<Instant> collect(InstantRange range) {
+        List<Instant> result = new ArrayList<Instant>();
+        for (Instant value : range) {
+            result.add(value);
+        }
+        return result;
+    }
+}
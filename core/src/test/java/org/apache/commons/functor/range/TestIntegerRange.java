@@ -18,6 +18,8 @@ package org.apache.commons.functor.range;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -25,10 +27,21 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.function.IntConsumer;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.functor.BaseFunctorTest;
 import org.apache.commons.functor.Function;
+import org.apache.commons.functor.IntBinaryFunction;
+import org.apache.commons.functor.IntPredicate;
+import org.apache.commons.functor.IntProcedure;
 import org.apache.commons.functor.generator.Generator;
 import org.apache.commons.functor.generator.loop.IteratorToGeneratorAdapter;
 import org.junit.After;
@@ -743,4 +756,642 @@ public class TestIntegerRange extends BaseFunctorTest {
                      IntegerRange.DEFAULT_STEP.evaluate(1, 10));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testCached() {
+        IntegerRange range = Ranges.integerRange(1000, BoundType.OPEN, -1000, BoundType.CLOSED, -7);
+        IntegerRange cached = range.cached();
+        assertTrue(cached.isCached());
+        assertFalse(range.isCached());
+        assertSame(cached, cached.cached());
+        assertObjectsAreEqual(range, cached);
+        List<Integer> expected = new ArrayList<Integer>();
+        for (Integer value : range) {
+            expected.add(value);
+        }
+        List<Integer> first = new ArrayList<Integer>();
+        for (Integer value : cached) {
+            first.add(value);
+        }
+        assertEquals(expected, first);
+        Iterator<Integer> again = cached.iterator();
+        for (Integer value : first) {
+            assertSame(value, again.next());
+        }
+        assertFalse(again.hasNext());
+        assertSame(cached.asList(), cached.asList());
+        assertEquals(expected, cached.asList());
+        assertTrue(cached.asList() instanceof RandomAccess);
+        try {
+            cached.asList().set(0, Integer.valueOf(0));
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        assertFalse(Ranges.integerRange(5, 5).cached().iterator().hasNext());
+    }
+
+    @Test
+    public void testReversedZeroStep() {
+        assertEquals(Ranges.integerRange(7, BoundType.CLOSED, 7, BoundType.CLOSED, 0),
+            Ranges.integerRange(7, BoundType.CLOSED, 7, BoundType.CLOSED, 0).reversed());
+        assertTrue(Ranges.integerRange(7, BoundType.OPEN, 7, BoundType.CLOSED, 0).reversed().isEmpty());
+        assertTrue(Ranges.integerRange(7, BoundType.CLOSED, 7, BoundType.OPEN, 0).reversed().isEmpty());
+    }
+
+    @Test
+    public void testReversed() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (int from = -6; from <= 6; from++) {
+                    for (int to = -6; to <= 6; to++) {
+                        for (int step = 1; step <= 4; step++) {
+                            int s = from > to ? -step : step;
+                            IntegerRange range = Ranges.integerRange(from, left, to, right, s);
+                            List<Integer> expected = new ArrayList<Integer>();
+                            for (Integer i : range) {
+                                expected.add(i);
+                            }
+                            Collections.reverse(expected);
+                            List<Integer> actual = new ArrayList<Integer>();
+                            for (Integer i : range.reversed()) {
+                                actual.add(i);
+                            }
+                            assertEquals(range.toString(), expected, actual);
+                        }
+                    }
+                }
+            }
+        }
+        assertEquals(Ranges.integerRange(9, BoundType.CLOSED, 0, BoundType.CLOSED, -3),
+            Ranges.integerRange(0, 10, 3).reversed());
+        assertEquals(Ranges.integerRange(Integer.MAX_VALUE - 1, BoundType.CLOSED, Integer.MAX_VALUE - 7,
+            BoundType.CLOSED, -3), Ranges.integerRange(Integer.MAX_VALUE - 7, Integer.MAX_VALUE, 3).reversed());
+    }
+
+    @Test
+    public void testIterateOverflowingOpenLeft() {
+        IntegerRange range = new IntegerRange(Integer.MAX_VALUE - 1, BoundType.OPEN, Integer.MAX_VALUE,
+            BoundType.CLOSED, 2);
+        assertTrue(range.isEmpty());
+        assertFalse(range.iterator().hasNext());
+        assertEquals(0L, range.size());
+        range = new IntegerRange(Integer.MIN_VALUE + 1, BoundType.OPEN, Integer.MIN_VALUE, BoundType.CLOSED, -2);
+        assertTrue(range.isEmpty());
+        assertFalse(range.iterator().hasNext());
+        assertEquals(0L, range.size());
+    }
+
+    @Test
+    public void testReversedMinValueStep() {
+        IntegerRange single = Ranges.integerRange(0, BoundType.CLOSED, Integer.MIN_VALUE, BoundType.OPEN,
+            Integer.MIN_VALUE);
+        assertEquals(Ranges.integerRange(0, BoundType.CLOSED, 0, BoundType.CLOSED, Integer.MIN_VALUE),
+            single.reversed());
+        assertTrue(Ranges.integerRange(0, BoundType.OPEN, Integer.MIN_VALUE, BoundType.OPEN, Integer.MIN_VALUE)
+            .reversed().isEmpty());
+    }
+
+    @Test
+    public void testIsReversible() {
+        assertTrue(ascIntRange.isReversible());
+        assertTrue(Ranges.integerRange(0, BoundType.CLOSED, Integer.MIN_VALUE, BoundType.OPEN, Integer.MIN_VALUE)
+            .isReversible());
+        assertFalse(Ranges.integerRange(0, BoundType.CLOSED, Integer.MIN_VALUE, BoundType.CLOSED, Integer.MIN_VALUE)
+            .isReversible());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReversedMinValueStepTwoElements() {
+        Ranges.integerRange(0, BoundType.CLOSED, Integer.MIN_VALUE, BoundType.CLOSED, Integer.MIN_VALUE).reversed();
+    }
+
+    @Test
+    public void testRunIntProcedure() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (int from = -6; from <= 6; from++) {
+                    for (int to = -6; to <= 6; to++) {
+                        for (int step = 1; step <= 4; step++) {
+                            int s = from > to ? -step : step;
+                            IntegerRange range = Ranges.integerRange(from, left, to, right, s);
+                            List<Integer> expected = new ArrayList<Integer>();
+                            for (Integer i : range) {
+                                expected.add(i);
+                            }
+                            assertEquals(range.toString(), expected, collect(range));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRunIntProcedureAtLimits() {
+        assertEquals(Arrays.asList(Integer.MAX_VALUE - 1, Integer.MAX_VALUE),
+            collect(Ranges.integerRange(Integer.MAX_VALUE - 1, BoundType.CLOSED,
+                Integer.MAX_VALUE, BoundType.CLOSED, 1)));
+        assertEquals(Arrays.asList(Integer.MIN_VALUE + 1, Integer.MIN_VALUE),
+            collect(Ranges.integerRange(Integer.MIN_VALUE + 1, BoundType.CLOSED,
+                Integer.MIN_VALUE, BoundType.CLOSED, -1)));
+        assertEquals(Arrays.asList(Integer.MAX_VALUE - 1),
+            collect(Ranges.integerRange(Integer.MAX_VALUE - 1, BoundType.CLOSED,
+                Integer.MAX_VALUE, BoundType.CLOSED, 3)));
+        IntegerRange openPastEnd = Ranges.integerRange(Integer.MAX_VALUE - 1, BoundType.OPEN,
+            Integer.MAX_VALUE, BoundType.CLOSED, 5);
+        assertEquals(0L, openPastEnd.size());
+        assertEquals(Collections.<Integer>emptyList(), collect(openPastEnd));
+        assertEquals(Collections.<Integer>emptyList(), collect(Ranges.integerRange(Integer.MIN_VALUE + 1,
+            BoundType.OPEN, Integer.MIN_VALUE, BoundType.CLOSED, -5)));
+    }
+
+    @Test
+    public void testRunIntProcedureZeroStep() {
+        assertEquals(Collections.<Integer>emptyList(),
+            collect(Ranges.integerRange(3, BoundType.OPEN, 3, BoundType.CLOSED, 0)));
+        assertEquals(Collections.<Integer>emptyList(),
+            collect(Ranges.integerRange(3, BoundType.CLOSED, 3, BoundType.OPEN, 0)));
+        assertEquals(Arrays.asList(3), collect(Ranges.integerRange(3, BoundType.CLOSED, 3, BoundType.CLOSED, 0)));
+        IntBinaryFunction sum = new IntBinaryFunction() {
+            public int evaluateAsInt(int left, int right) {
+                return left + right;
+            }
+        };
+        assertEquals(7, Ranges.integerRange(3, BoundType.OPEN, 3, BoundType.CLOSED, 0).foldLeft(7, sum));
+    }
+
+    @Test
+    public void testFoldLeft() {
+        IntBinaryFunction sum = new IntBinaryFunction() {
+            public int evaluateAsInt(int left, int right) {
+                return left + right;
+            }
+        };
+        assertEquals(45, ascIntRange.foldLeft(0, sum));
+        assertEquals(7, Ranges.integerRange(3, 3).foldLeft(7, sum));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testRunNullIntProcedure() {
+        ascIntRange.run((IntProcedure) null);
+    }
+
+    @Test
+    public void testContainsMatchesElements() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (int from = -6; from <= 6; from++) {
+                    for (int to = -6; to <= 6; to++) {
+                        for (int step = 1; step <= 4; step++) {
+                            int s = from > to ? -step : step;
+                            IntegerRange range = Ranges.integerRange(from, left, to, right, s);
+                            List<Integer> elements = collect(range);
+                            for (int value = -8; value <= 8; value++) {
+                                assertEquals(range + " contains " + value, elements.contains(value),
+                                    range.contains(value));
+                                assertEquals(range.contains(value), range.contains(Integer.valueOf(value)));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testContainsAtLimits() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (int step = 1; step <= 4; step++) {
+                    IntegerRange up = Ranges.integerRange(Integer.MAX_VALUE - 9, left, Integer.MAX_VALUE, right, step);
+                    IntegerRange down = Ranges.integerRange(Integer.MIN_VALUE + 9, left, Integer.MIN_VALUE, right,
+                        -step);
+                    List<Integer> upElements = collect(up);
+                    List<Integer> downElements = collect(down);
+                    for (int i = 0; i <= 10; i++) {
+                        assertEquals(up.toString(), upElements.contains(Integer.MAX_VALUE - i),
+                            up.contains(Integer.MAX_VALUE - i));
+                        assertEquals(down.toString(), downElements.contains(Integer.MIN_VALUE + i),
+                            down.contains(Integer.MIN_VALUE + i));
+                    }
+                }
+            }
+        }
+        IntegerRange open = Ranges.integerRange(0, BoundType.CLOSED, 2, BoundType.OPEN, 1);
+        assertTrue(open.contains(1));
+        assertFalse(open.contains(2));
+        assertFalse(open.contains((Integer) null));
+    }
+
+    @Test
+    public void testRandomAccessMatchesIteration() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (int from = -6; from <= 6; from++) {
+                    for (int to = -6; to <= 6; to++) {
+                        for (int step = 1; step <= 4; step++) {
+                            int s = from > to ? -step : step;
+                            IntegerRange range = Ranges.integerRange(from, left, to, right, s);
+                            List<Integer> elements = new ArrayList<Integer>();
+                            for (Integer e : range) {
+                                elements.add(e);
+                            }
+                            assertEquals(range.toString(), elements.size(), range.size());
+                            assertEquals(range.toString(), elements, range.asList());
+                            for (int i = 0; i < elements.size(); i++) {
+                                assertEquals(elements.get(i).intValue(), range.get(i));
+                                assertEquals(i, range.indexOf(elements.get(i).intValue()));
+                                assertEquals(i, range.asList().indexOf(elements.get(i)));
+                            }
+                            for (int value = -8; value <= 8; value++) {
+                                if (!elements.contains(value)) {
+                                    assertEquals(-1L, range.indexOf(value));
+                                    assertFalse(range.asList().contains(value));
+                                }
+                            }
+                            if (!elements.isEmpty()) {
+                                assertEquals(elements.get(0).intValue(), range.first());
+                                assertEquals(elements.get(elements.size() - 1).intValue(), range.last());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRandomAccessEmpty() {
+        IntegerRange empty = Ranges.integerRange(-6, BoundType.OPEN, -6, BoundType.OPEN, 1);
+        assertEquals(0L, empty.size());
+        assertEquals(-1L, empty.indexOf(-6));
+        assertTrue(empty.asList().isEmpty());
+        try {
+            empty.first();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+        try {
+            empty.last();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+        try {
+            empty.get(0);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRandomAccessAtLimits() {
+        IntegerRange all = Ranges.integerRange(Integer.MIN_VALUE, BoundType.CLOSED, Integer.MAX_VALUE,
+            BoundType.CLOSED, 1);
+        assertEquals(1L << 32, all.size());
+        assertEquals(Integer.MAX_VALUE, all.get((1L << 32) - 1));
+        assertEquals((1L << 32) - 1, all.indexOf(Integer.MAX_VALUE));
+        assertEquals(Integer.MAX_VALUE, all.last());
+        IntegerRange down = Ranges.integerRange(Integer.MAX_VALUE, BoundType.CLOSED, Integer.MIN_VALUE,
+            BoundType.CLOSED, -3);
+        assertEquals(Integer.MIN_VALUE, down.last());
+        assertEquals(down.size() - 1, down.indexOf(Integer.MIN_VALUE));
+        try {
+            all.get(1L << 32);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            all.asList();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAsListIsUnmodifiable() {
+        ascIntRange.asList().add(Integer.valueOf(10));
+    }
+
+    @Test
+    public void testSplit() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (int from = -6; from <= 6; from++) {
+                    for (int to = -6; to <= 6; to++) {
+                        for (int step = 1; step <= 4; step++) {
+                            int s = from > to ? -step : step;
+                            IntegerRange range = Ranges.integerRange(from, left, to, right, s);
+                            List<Integer> elements = new ArrayList<Integer>();
+                            for (Integer e : range) {
+                                elements.add(e);
+                            }
+                            for (int count = 1; count <= 5; count++) {
+                                List<IntegerRange> parts = range.split(count);
+                                assertEquals(range.toString(), Math.max(1, Math.min(count, elements.size())),
+                                    parts.size());
+                                List<Integer> actual = new ArrayList<Integer>();
+                                for (IntegerRange part : parts) {
+                                    assertTrue(part.size() >= elements.size() / count);
+                                    assertTrue(part.size() <= (elements.size() + count - 1) / count);
+                                    for (Integer e : part) {
+                                        actual.add(e);
+                                    }
+                                }
+                                assertEquals(range + " split " + count, elements, actual);
+                            }
+                            assertEquals(range.toString(), elements, traverse(range.spliterator()));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSplitNonPositive() {
+        Ranges.integerRange(-6, 6).split(0);
+    }
+
+    @Test
+    public void testSpliterator() {
+        IntegerRange range = Ranges.integerRange(0, 10000);
+        assertEquals(49995000L, StreamSupport.intStream(range.spliterator(), true).asLongStream().sum());
+        Spliterator.OfInt whole = range.spliterator();
+        assertEquals(10000L, whole.getExactSizeIfKnown());
+        assertTrue(whole.hasCharacteristics(Spliterator.SORTED | Spliterator.SUBSIZED));
+        Spliterator.OfInt prefix = whole.trySplit();
+        assertEquals(5000L, prefix.estimateSize());
+        assertEquals(5000L, whole.estimateSize());
+        assertEquals(Integer.valueOf(0), traverse(prefix).get(0));
+        assertEquals(Integer.valueOf(5000), traverse(whole).get(0));
+        assertFalse(Ranges.integerRange(3, 0).spliterator().hasCharacteristics(Spliterator.SORTED));
+        assertEquals(0L, Ranges.integerRange(3, 3).spliterator().estimateSize());
+        Spliterator.OfInt single = Ranges.integerRange(3, BoundType.CLOSED, 3, BoundType.CLOSED, 1).spliterator();
+        assertNull(single.trySplit());
+        assertEquals(1L, single.estimateSize());
+    }
+
+    @Test
+    public void testBulkOperations() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (int from = -6; from <= 6; from++) {
+                    for (int to = -6; to <= 6; to++) {
+                        for (int step = 1; step <= 4; step++) {
+                            int s = from > to ? -step : step;
+                            IntegerRange range = Ranges.integerRange(from, left, to, right, s);
+                            List<Integer> elements = collect(range);
+                            int[] array = range.toIntArray();
+                            assertEquals(elements.size(), array.length);
+                            long sum = 0L;
+                            long even = 0L;
+                            for (int i = 0; i < array.length; i++) {
+                                assertEquals(elements.get(i).intValue(), array[i]);
+                                sum += array[i];
+                                if (array[i] % 2 == 0) {
+                                    even++;
+                                }
+                            }
+                            assertEquals(range.toString(), sum, range.sum());
+                            assertEquals(even, range.count(new IntPredicate() {
+                                public boolean test(int value) {
+                                    return value % 2 == 0;
+                                }
+                            }));
+                            if (!elements.isEmpty()) {
+                                assertEquals(Collections.min(elements).intValue(), range.min());
+                                assertEquals(Collections.max(elements).intValue(), range.max());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFill() {
+        int[] dest = new int[12];
+        assertEquals(10, Ranges.integerRange(0, 10).fill(dest, 1));
+        assertEquals(0, dest[0]);
+        assertEquals(9, dest[10]);
+        assertEquals(0, dest[11]);
+        assertEquals(0, Ranges.integerRange(3, 3).fill(dest, 12));
+        try {
+            Ranges.integerRange(0, 10).fill(dest, 3);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            Ranges.integerRange(0, 10).fill(dest, -1);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testMinOfEmpty() {
+        Ranges.integerRange(3, 3).min();
+    }
+
+    @Test
+    public void testSumAtLimits() {
+        assertEquals(Integer.MIN_VALUE, Ranges.integerRange(Integer.MIN_VALUE, BoundType.CLOSED, Integer.MAX_VALUE,
+            BoundType.CLOSED, 1).sum());
+        assertEquals((long) Integer.MAX_VALUE * (Integer.MAX_VALUE + 1L) / 2, Ranges.integerRange(0,
+            BoundType.CLOSED, Integer.MAX_VALUE, BoundType.CLOSED, 1).sum());
+    }
+
+    @Test
+    public void testAlgebraMatchesElements() {
+        Random random = new Random(43);
+        for (int n = 0; n < 20000; n++) {
+            IntegerRange a = randomRange(random);
+            IntegerRange b = randomRange(random);
+            String message = a + " and " + b;
+            List<Integer> left = collect(a);
+            List<Integer> right = collect(b);
+            TreeSet<Integer> common = new TreeSet<Integer>(left);
+            common.retainAll(right);
+            assertEquals(message, new ArrayList<Integer>(common), sorted(collect(a.intersect(b))));
+            assertDirection(a, a.intersect(b));
+            assertEquals(message, left.containsAll(right), a.encloses(b));
+            TreeSet<Integer> all = new TreeSet<Integer>(left);
+            all.addAll(right);
+            if (isProgression(new ArrayList<Integer>(all))) {
+                assertEquals(message, new ArrayList<Integer>(all), sorted(collect(a.union(b))));
+                assertDirection(a, a.union(b));
+            } else {
+                try {
+                    a.union(b);
+                    fail("Expected IllegalArgumentException for " + message);
+                } catch (IllegalArgumentException e) {
+                    // expected
+                }
+            }
+            if (left.isEmpty() || right.isEmpty()) {
+                assertFalse(message, a.isConnected(b));
+                continue;
+            }
+            int low = Collections.max(Arrays.asList(Collections.min(left), Collections.min(right)));
+            int high = Collections.min(Arrays.asList(Collections.max(left), Collections.max(right)));
+            assertEquals(message, low <= high + 1, a.isConnected(b));
+            List<Integer> span = sorted(collect(a.span(b)));
+            assertEquals(message, Collections.min(all), span.get(0));
+            assertEquals(message, Collections.max(all), span.get(span.size() - 1));
+            assertEquals(message, span.get(span.size() - 1) - span.get(0) + 1, span.size());
+            if (low > high) {
+                List<Integer> gap = sorted(collect(a.gap(b)));
+                assertEquals(message, low - high - 1, gap.size());
+                if (!gap.isEmpty()) {
+                    assertEquals(message, high + 1, gap.get(0).intValue());
+                }
+            } else {
+                try {
+                    a.gap(b);
+                    fail("Expected IllegalArgumentException for " + message);
+                } catch (IllegalArgumentException e) {
+                    // expected
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIntersectSteppedRanges() {
+        IntegerRange threes = Ranges.integerRange(0, BoundType.CLOSED, 100, BoundType.CLOSED, 3);
+        IntegerRange fives = Ranges.integerRange(1, BoundType.CLOSED, 100, BoundType.CLOSED, 5);
+        assertEquals(Ranges.integerRange(6, BoundType.CLOSED, 96, BoundType.CLOSED, 15), threes.intersect(fives));
+        assertEquals(Ranges.integerRange(96, BoundType.CLOSED, 6, BoundType.CLOSED, -15),
+            threes.reversed().intersect(fives));
+        assertTrue(threes.intersect(Ranges.integerRange(1, BoundType.CLOSED, 100, BoundType.CLOSED, 3)).isEmpty());
+        assertTrue(threes.encloses(Ranges.integerRange(6, BoundType.CLOSED, 60, BoundType.CLOSED, 6)));
+        assertFalse(threes.encloses(Ranges.integerRange(6, BoundType.CLOSED, 60, BoundType.CLOSED, 4)));
+        IntegerRange low = Ranges.integerRange(0, BoundType.CLOSED, 3, BoundType.CLOSED, 3);
+        IntegerRange high = Ranges.integerRange(6, BoundType.CLOSED, 9, BoundType.CLOSED, 3);
+        assertEquals(Ranges.integerRange(0, BoundType.CLOSED, 9, BoundType.CLOSED, 3), low.union(high));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testIntersectStepOverflow() {
+        // the common elements MIN_VALUE and 2^16 are further apart than an int step can express
+        IntegerRange a = Ranges.integerRange(Integer.MIN_VALUE, BoundType.CLOSED, Integer.MAX_VALUE, BoundType.CLOSED,
+            65536);
+        IntegerRange b = Ranges.integerRange(Integer.MIN_VALUE, BoundType.CLOSED, Integer.MAX_VALUE, BoundType.CLOSED,
+            32769);
+        a.intersect(b);
+    }
+
+    @Test
+    public void testViewsMatchElements() {
+        Random random = new Random(44);
+        for (int n = 0; n < 2000; n++) {
+            IntegerRange range = randomRange(random);
+            List<Integer> elements = collect(range);
+            int size = elements.size();
+            for (int from = 0; from <= size; from++) {
+                for (int to = from; to <= size; to++) {
+                    IntegerRange view = range.subRange(from, to);
+                    assertEquals(range + " from " + from + " to " + to, elements.subList(from, to), collect(view));
+                    assertDirection(range, view);
+                }
+            }
+            for (int k = 1; k <= 4; k++) {
+                List<Integer> expected = new ArrayList<Integer>();
+                for (int i = 0; i < size; i += k) {
+                    expected.add(elements.get(i));
+                }
+                assertEquals(range + " stride " + k, expected, collect(range.stride(k)));
+                assertDirection(range, range.stride(k));
+            }
+            for (int count = 0; count <= size + 1; count++) {
+                assertEquals(elements.subList(Math.min(count, size), size), collect(range.skip(count)));
+                assertEquals(elements.subList(0, Math.min(count, size)), collect(range.limit(count)));
+            }
+        }
+    }
+
+    @Test
+    public void testSubRangeOutOfBounds() {
+        IntegerRange range = Ranges.integerRange(0, BoundType.CLOSED, 10, BoundType.OPEN, 2);
+        long[][] indices = {{-1L, 2L}, {3L, 2L}, {0L, 6L}};
+        for (long[] index : indices) {
+            try {
+                range.subRange(index[0], index[1]);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStrideNonPositive() {
+        Ranges.integerRange(0, 10).stride(0L);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void testStrideOverflow() {
+        Ranges.integerRange(Integer.MIN_VALUE, BoundType.CLOSED, Integer.MAX_VALUE, BoundType.CLOSED, 1)
+            .stride(Integer.MAX_VALUE + 1L);
+    }
+
+    private static IntegerRange randomRange(Random random) {
+        int from = random.nextInt(17) - 8;
+        int to = random.nextInt(17) - 8;
+        int step = random.nextInt(4) + 1;
+        BoundType left = random.nextBoolean() ? BoundType.OPEN : BoundType.CLOSED;
+        BoundType right = random.nextBoolean() ? BoundType.OPEN : BoundType.CLOSED;
+        return Ranges.integerRange(from, left, to, right, from > to ? -step : step);
+    }
+
+    private static List<Integer> sorted(List<Integer> elements) {
+        List<Integer> result = new ArrayList<Integer>(elements);
+        Collections.sort(result);
+        return result;
+    }
+
+    private static boolean isProgression(List<Integer> sorted) {
+        for (int i = 2; i < sorted.size(); i++) {
+            if (sorted.get(i) - sorted.get(i - 1) != sorted.get(1) - sorted.get(0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void assertDirection(IntegerRange range, IntegerRange result) {
+        List<Integer> elements = collect(result);
+        if (range.getStep() < 0) {
+            Collections.reverse(elements);
+        }
+        assertEquals(sorted(elements), elements);
+    }
+
+    private static List<Integer> traverse(Spliterator.OfInt spliterator) {
+        final List<Integer> result = new ArrayList<Integer>();
+        spliterator.forEachRemaining(new IntConsumer() {
+            public void accept(int value) {
+                result.add(value);
+            }
+        });
+        return result;
+    }
+
+    private static List<Integer> collect(IntegerRange range) {
+        final List<Integer> result = new ArrayList<Integer>();
+        range.run(new IntProcedure() {
+            public void run(int value) {
+                result.add(value);
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.apache.commons.functor.generator.loop.RangeGenerator;
+import org.junit.Test;
+
+/**
+ * Tests the LocalDateRange class.
+ */
+public class TestLocalDateRange extends BaseFunctorTest {
+
+    @Override
+    protected Object makeFunctor() throws Exception {
+        return Ranges.localDateRange(LocalDate.of(2020, 1, 1), LocalDate.of(2021, 1, 1), Period.ofMonths(1));
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testDays() {
+        LocalDateRange range = Ranges.localDateRange(LocalDate.of(2020, 2, 27), BoundType.CLOSED,
+            LocalDate.of(2020, 3, 2), BoundType.CLOSED, Period.ofDays(1));
+        assertEquals(Arrays.asList(LocalDate.of(2020, 2, 27), LocalDate.of(2020, 2, 28), LocalDate.of(2020, 2, 29),
+            LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 2)), collect(range));
+        assertEquals(5L, range.size());
+        assertEquals(2L, range.indexOf(LocalDate.of(2020, 2, 29)));
+    }
+
+    @Test
+    public void testMonthsKeepDayOfMonth() {
+        LocalDateRange range = Ranges.localDateRange(LocalDate.of(2021, 1, 31), BoundType.CLOSED,
+            LocalDate.of(2021, 4, 30), BoundType.CLOSED, Period.ofMonths(1));
+        assertEquals(Arrays.asList(LocalDate.of(2021, 1, 31), LocalDate.of(2021, 2, 28), LocalDate.of(2021, 3, 31),
+            LocalDate.of(2021, 4, 30)), collect(range));
+        assertTrue(range.contains(LocalDate.of(2021, 3, 31)));
+        assertFalse(range.contains(LocalDate.of(2021, 3, 28)));
+        assertEquals(LocalDate.of(2021, 4, 30), range.last());
+        LocalDateRange shorter = Ranges.localDateRange(LocalDate.of(2021, 1, 31), BoundType.CLOSED,
+            LocalDate.of(2021, 3, 30), BoundType.CLOSED, Period.ofMonths(1));
+        assertEquals(2L, shorter.size());
+    }
+
+    @Test
+    public void testIndexMatchesElements() {
+        Period[] steps = {Period.ofDays(3), Period.ofWeeks(1), Period.ofMonths(1), Period.ofMonths(5),
+            Period.ofYears(1)};
+        LocalDate base = LocalDate.of(2020, 1, 31);
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (int from = -40; from <= 40; from += 9) {
+                    for (int to = -400; to <= 400; to += 37) {
+                        for (Period step : steps) {
+                            LocalDate f = base.plusDays(from);
+                            LocalDate t = base.plusDays(to);
+                            LocalDateRange range = Ranges.localDateRange(f, left, t, right,
+                                t.isBefore(f) ? step.negated() : step);
+                            List<LocalDate> elements = naive(range);
+                            assertEquals(range.toString(), elements, collect(range));
+                            assertEquals(range.toString(), elements.size(), range.size());
+                            for (int day = -420; day <= 420; day++) {
+                                LocalDate value = base.plusDays(day);
+                                assertEquals(range + " " + value, elements.contains(value), range.contains(value));
+                                assertEquals(elements.indexOf(value), range.indexOf(value));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGenerator() {
+        LocalDateRange range = Ranges.localDateRange(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 4),
+            Period.ofDays(1));
+        assertEquals(collect(range), RangeGenerator.of(range).toCollection());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMixedStep() {
+        Ranges.localDateRange(LocalDate.of(2020, 1, 1), LocalDate.of(2021, 1, 1), Period.of(0, 1, 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroStep() {
+        Ranges.localDateRange(LocalDate.of(2020, 1, 1), LocalDate.of(2021, 1, 1), Period.ZERO);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongDirection() {
+        Ranges.localDateRange(LocalDate.of(2020, 1, 1), LocalDate.of(2021, 1, 1), Period.ofDays(-1));
+    }
+
+    // Utils
+    // ------------------------------------------------------------------------
+
+    private static List<LocalDate> naive(LocalDateRange range) {
+        LocalDate left = range.getLeftEndpoint().getValue();
+        LocalDate right = range.getRightEndpoint().getValue();
+        Period step = range.getStep();
+        boolean descending = step.isNegative();
+        List<LocalDate> result = new ArrayList<LocalDate>();
+        for (int i = range.getLeftEndpoint().getBoundType() == BoundType.OPEN ? 1 : 0;; i++) {
+            LocalDate value = left.plus(step.multipliedBy(i));
+            int cmp = descending ? right.compareTo(value) : value.compareTo(right);
+            if (cmp > 0 || cmp == 0 && range.getRightEndpoint().getBoundType() == BoundType.OPEN) {
+                return result;
+            }
+            result.add(value);
+        }
+    }
+
+    private static List<LocalDate> collect(LocalDateRange range) {
+        List<LocalDate> result = new ArrayList<LocalDate>();
+        for (LocalDate value : range) {
+            result.add(value);
+        }
+        return result;
+    }
+}
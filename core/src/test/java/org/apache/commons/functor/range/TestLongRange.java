@@ -18,6 +18,7 @@ package org.apache.commons.functor.range;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -27,9 +28,19 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.function.LongConsumer;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.functor.BaseFunctorTest;
 import org.apache.commons.functor.Function;
+import org.apache.commons.functor.LongBinaryFunction;
+import org.apache.commons.functor.LongPredicate;
+import org.apache.commons.functor.LongProcedure;
 import org.apache.commons.functor.generator.Generator;
 import org.apache.commons.functor.generator.loop.IteratorToGeneratorAdapter;
 import org.junit.After;
@@ -739,4 +750,698 @@ public class TestLongRange extends BaseFunctorTest {
                      LongRange.DEFAULT_STEP.evaluate(1L, 10L));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testCached() {
+        LongRange range = Ranges.longRange(1000L, BoundType.OPEN, -1000L, BoundType.CLOSED, -7L);
+        LongRange cached = range.cached();
+        assertTrue(cached.isCached());
+        assertFalse(range.isCached());
+        assertSame(cached, cached.cached());
+        assertObjectsAreEqual(range, cached);
+        List<Long> expected = new ArrayList<Long>();
+        for (Long value : range) {
+            expected.add(value);
+        }
+        List<Long> first = new ArrayList<Long>();
+        for (Long value : cached) {
+            first.add(value);
+        }
+        assertEquals(expected, first);
+        Iterator<Long> again = cached.iterator();
+        for (Long value : first) {
+            assertSame(value, again.next());
+        }
+        assertFalse(again.hasNext());
+        assertSame(cached.asList(), cached.asList());
+        assertEquals(expected, cached.asList());
+        assertTrue(cached.asList() instanceof RandomAccess);
+        try {
+            cached.asList().set(0, Long.valueOf(0L));
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+        assertFalse(Ranges.longRange(5L, 5L).cached().iterator().hasNext());
+    }
+
+    @Test
+    public void testReversedZeroStep() {
+        assertEquals(Ranges.longRange(7L, BoundType.CLOSED, 7L, BoundType.CLOSED, 0L),
+            Ranges.longRange(7L, BoundType.CLOSED, 7L, BoundType.CLOSED, 0L).reversed());
+        assertTrue(Ranges.longRange(7L, BoundType.OPEN, 7L, BoundType.CLOSED, 0L).reversed().isEmpty());
+        assertTrue(Ranges.longRange(7L, BoundType.CLOSED, 7L, BoundType.OPEN, 0L).reversed().isEmpty());
+    }
+
+    @Test
+    public void testReversed() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (long from = -6; from <= 6; from++) {
+                    for (long to = -6; to <= 6; to++) {
+                        for (long step = 1; step <= 4; step++) {
+                            long s = from > to ? -step : step;
+                            LongRange range = Ranges.longRange(from, left, to, right, s);
+                            List<Long> expected = new ArrayList<Long>();
+                            for (Long l : range) {
+                                expected.add(l);
+                            }
+                            Collections.reverse(expected);
+                            List<Long> actual = new ArrayList<Long>();
+                            for (Long l : range.reversed()) {
+                                actual.add(l);
+                            }
+                            assertEquals(range.toString(), expected, actual);
+                        }
+                    }
+                }
+            }
+        }
+        assertEquals(Ranges.longRange(Long.MAX_VALUE - 3, BoundType.CLOSED, Long.MIN_VALUE, BoundType.CLOSED,
+            -(Long.MAX_VALUE / 2)), Ranges.longRange(Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE / 2).reversed());
+        assertEquals(Ranges.longRange(Long.MIN_VALUE + 3, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED,
+            Long.MAX_VALUE / 2), Ranges.longRange(Long.MAX_VALUE, BoundType.CLOSED, Long.MIN_VALUE, BoundType.CLOSED,
+            -(Long.MAX_VALUE / 2)).reversed());
+    }
+
+    @Test
+    public void testIterateOverflowingOpenLeft() {
+        LongRange range = new LongRange(Long.MAX_VALUE - 1L, BoundType.OPEN, Long.MAX_VALUE, BoundType.CLOSED, 2L);
+        assertTrue(range.isEmpty());
+        assertFalse(range.iterator().hasNext());
+        assertEquals(0L, range.size());
+        range = new LongRange(Long.MIN_VALUE + 1L, BoundType.OPEN, Long.MIN_VALUE, BoundType.CLOSED, -2L);
+        assertTrue(range.isEmpty());
+        assertFalse(range.iterator().hasNext());
+        assertEquals(0L, range.size());
+    }
+
+    @Test
+    public void testReversedMinValueStep() {
+        LongRange single = Ranges.longRange(0L, BoundType.CLOSED, Long.MIN_VALUE, BoundType.OPEN, Long.MIN_VALUE);
+        assertEquals(Ranges.longRange(0L, BoundType.CLOSED, 0L, BoundType.CLOSED, Long.MIN_VALUE), single.reversed());
+        assertTrue(Ranges.longRange(0L, BoundType.OPEN, Long.MIN_VALUE, BoundType.OPEN, Long.MIN_VALUE)
+            .reversed().isEmpty());
+    }
+
+    @Test
+    public void testIsReversible() {
+        assertTrue(ascLongRange.isReversible());
+        assertTrue(Ranges.longRange(0L, BoundType.CLOSED, Long.MIN_VALUE, BoundType.OPEN, Long.MIN_VALUE)
+            .isReversible());
+        assertFalse(Ranges.longRange(0L, BoundType.CLOSED, Long.MIN_VALUE, BoundType.CLOSED, Long.MIN_VALUE)
+            .isReversible());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testReversedMinValueStepTwoElements() {
+        Ranges.longRange(0L, BoundType.CLOSED, Long.MIN_VALUE, BoundType.CLOSED, Long.MIN_VALUE).reversed();
+    }
+
+    @Test
+    public void testRunLongProcedure() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (long from = -6; from <= 6; from++) {
+                    for (long to = -6; to <= 6; to++) {
+                        for (long step = 1; step <= 4; step++) {
+                            long s = from > to ? -step : step;
+                            LongRange range = Ranges.longRange(from, left, to, right, s);
+                            List<Long> expected = new ArrayList<Long>();
+                            for (Long i : range) {
+                                expected.add(i);
+                            }
+                            assertEquals(range.toString(), expected, collect(range));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRunLongProcedureAtLimits() {
+        assertEquals(Arrays.asList(Long.MAX_VALUE - 1, Long.MAX_VALUE),
+            collect(Ranges.longRange(Long.MAX_VALUE - 1, BoundType.CLOSED,
+                Long.MAX_VALUE, BoundType.CLOSED, 1L)));
+        assertEquals(Arrays.asList(Long.MIN_VALUE + 1, Long.MIN_VALUE),
+            collect(Ranges.longRange(Long.MIN_VALUE + 1, BoundType.CLOSED,
+                Long.MIN_VALUE, BoundType.CLOSED, -1L)));
+        assertEquals(Arrays.asList(Long.MAX_VALUE - 1),
+            collect(Ranges.longRange(Long.MAX_VALUE - 1, BoundType.CLOSED,
+                Long.MAX_VALUE, BoundType.CLOSED, 3L)));
+        LongRange openPastEnd = Ranges.longRange(Long.MAX_VALUE - 1, BoundType.OPEN,
+            Long.MAX_VALUE, BoundType.CLOSED, 5L);
+        assertEquals(0L, openPastEnd.size());
+        assertEquals(Collections.<Long>emptyList(), collect(openPastEnd));
+        assertEquals(Collections.<Long>emptyList(), collect(Ranges.longRange(Long.MIN_VALUE + 1, BoundType.OPEN,
+            Long.MIN_VALUE, BoundType.CLOSED, -5L)));
+    }
+
+    @Test
+    public void testFoldLeft() {
+        LongBinaryFunction sum = new LongBinaryFunction() {
+            public long evaluateAsLong(long left, long right) {
+                return left + right;
+            }
+        };
+        assertEquals(45L, ascLongRange.foldLeft(0L, sum));
+        assertEquals(7L, Ranges.longRange(3, 3).foldLeft(7L, sum));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testRunNullLongProcedure() {
+        ascLongRange.run((LongProcedure) null);
+    }
+
+    @Test
+    public void testContainsMatchesElements() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (long from = -6; from <= 6; from++) {
+                    for (long to = -6; to <= 6; to++) {
+                        for (long step = 1; step <= 4; step++) {
+                            long s = from > to ? -step : step;
+                            LongRange range = Ranges.longRange(from, left, to, right, s);
+                            List<Long> elements = collect(range);
+                            for (long value = -8; value <= 8; value++) {
+                                assertEquals(range + " contains " + value, elements.contains(value),
+                                    range.contains(value));
+                                assertEquals(range.contains(value), range.contains(Long.valueOf(value)));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testContainsAtLimits() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (long step = 1; step <= 4; step++) {
+                    LongRange up = Ranges.longRange(Long.MAX_VALUE - 9, left, Long.MAX_VALUE, right, step);
+                    LongRange down = Ranges.longRange(Long.MIN_VALUE + 9, left, Long.MIN_VALUE, right, -step);
+                    List<Long> upElements = collect(up);
+                    List<Long> downElements = collect(down);
+                    for (long i = 0; i <= 10; i++) {
+                        assertEquals(up.toString(), upElements.contains(Long.MAX_VALUE - i),
+                            up.contains(Long.MAX_VALUE - i));
+                        assertEquals(down.toString(), downElements.contains(Long.MIN_VALUE + i),
+                            down.contains(Long.MIN_VALUE + i));
+                    }
+                }
+            }
+        }
+        LongRange all = Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED,
+            Long.MAX_VALUE);
+        assertTrue(all.contains(Long.MIN_VALUE));
+        assertTrue(all.contains(-1L));
+        assertTrue(all.contains(Long.MAX_VALUE - 1));
+        assertFalse(all.contains(Long.MAX_VALUE));
+        assertFalse(all.contains(0L));
+        // the step overflows past the right endpoint
+        assertFalse(Ranges.longRange(Long.MAX_VALUE - 1, BoundType.OPEN, Long.MAX_VALUE, BoundType.CLOSED, 3L)
+            .contains(Long.MIN_VALUE + 1));
+    }
+
+    @Test
+    public void testContainsBeyondDoublePrecision() {
+        final long base = 1L << 60;
+        LongRange range = Ranges.longRange(base, BoundType.CLOSED, base + 10, BoundType.OPEN, 3L);
+        assertTrue(range.contains(base));
+        assertFalse(range.contains(base + 1));
+        assertFalse(range.contains(base + 2));
+        assertTrue(range.contains(base + 3));
+        assertTrue(range.contains(base + 9));
+        assertFalse(range.contains(base + 10));
+        LongRange open = Ranges.longRange(base, BoundType.CLOSED, base + 2, BoundType.OPEN, 1L);
+        assertTrue(open.contains(base + 1));
+        assertFalse(open.contains(base + 2));
+        assertFalse(open.contains((Long) null));
+    }
+
+    @Test
+    public void testRandomAccessMatchesIteration() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (long from = -6; from <= 6; from++) {
+                    for (long to = -6; to <= 6; to++) {
+                        for (long step = 1; step <= 4; step++) {
+                            long s = from > to ? -step : step;
+                            LongRange range = Ranges.longRange(from, left, to, right, s);
+                            List<Long> elements = new ArrayList<Long>();
+                            for (Long e : range) {
+                                elements.add(e);
+                            }
+                            assertEquals(range.toString(), elements.size(), range.size());
+                            assertEquals(range.toString(), elements, range.asList());
+                            for (int i = 0; i < elements.size(); i++) {
+                                assertEquals(elements.get(i).longValue(), range.get(i));
+                                assertEquals(i, range.indexOf(elements.get(i).longValue()));
+                                assertEquals(i, range.asList().indexOf(elements.get(i)));
+                            }
+                            for (long value = -8; value <= 8; value++) {
+                                if (!elements.contains(value)) {
+                                    assertEquals(-1L, range.indexOf(value));
+                                    assertFalse(range.asList().contains(value));
+                                }
+                            }
+                            if (!elements.isEmpty()) {
+                                assertEquals(elements.get(0).longValue(), range.first());
+                                assertEquals(elements.get(elements.size() - 1).longValue(), range.last());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRandomAccessEmpty() {
+        LongRange empty = Ranges.longRange(-6, BoundType.OPEN, -6, BoundType.OPEN, 1);
+        assertEquals(0L, empty.size());
+        assertEquals(-1L, empty.indexOf(-6));
+        assertTrue(empty.asList().isEmpty());
+        try {
+            empty.first();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+        try {
+            empty.last();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException e) {
+            // expected
+        }
+        try {
+            empty.get(0);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRandomAccessAtLimits() {
+        LongRange all = Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED, 1L);
+        // more than Long.MAX_VALUE elements
+        assertEquals(Long.MAX_VALUE, all.size());
+        assertEquals(-1L, all.get(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, all.indexOf(-1L));
+        assertEquals(Long.MAX_VALUE, all.last());
+        try {
+            all.indexOf(Long.MAX_VALUE);
+            fail("Expected ArithmeticException");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+        LongRange half = Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, Long.MAX_VALUE, BoundType.OPEN, 2L);
+        assertEquals(Long.MAX_VALUE, half.size());
+        assertEquals(Long.MAX_VALUE - 1, half.get(Long.MAX_VALUE));
+        assertEquals(Long.MAX_VALUE, half.indexOf(Long.MAX_VALUE - 1));
+        assertEquals(-1L, half.indexOf(Long.MAX_VALUE));
+        LongRange third = Ranges.longRange(Long.MAX_VALUE, BoundType.CLOSED, Long.MIN_VALUE, BoundType.CLOSED, -3L);
+        assertEquals(Long.MIN_VALUE, third.last());
+        assertEquals(third.size() - 1, third.indexOf(Long.MIN_VALUE));
+        try {
+            third.get(third.size());
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            all.asList();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSplit() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (long from = -6; from <= 6; from++) {
+                    for (long to = -6; to <= 6; to++) {
+                        for (long step = 1; step <= 4; step++) {
+                            long s = from > to ? -step : step;
+                            LongRange range = Ranges.longRange(from, left, to, right, s);
+                            List<Long> elements = new ArrayList<Long>();
+                            for (Long e : range) {
+                                elements.add(e);
+                            }
+                            for (int count = 1; count <= 5; count++) {
+                                List<LongRange> parts = range.split(count);
+                                assertEquals(range.toString(), Math.max(1, Math.min(count, elements.size())),
+                                    parts.size());
+                                List<Long> actual = new ArrayList<Long>();
+                                for (LongRange part : parts) {
+                                    assertTrue(part.size() >= elements.size() / count);
+                                    assertTrue(part.size() <= (elements.size() + count - 1) / count);
+                                    for (Long e : part) {
+                                        actual.add(e);
+                                    }
+                                }
+                                assertEquals(range + " split " + count, elements, actual);
+                            }
+                            assertEquals(range.toString(), elements, traverse(range.spliterator()));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSplitNonPositive() {
+        Ranges.longRange(-6, 6).split(0);
+    }
+
+    @Test
+    public void testSplitAtLimits() {
+        LongRange all = Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED, 1L);
+        List<LongRange> parts = all.split(4);
+        assertEquals(4, parts.size());
+        assertEquals(Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, -(1L << 62) - 1, BoundType.CLOSED, 1L),
+            parts.get(0));
+        assertEquals(Ranges.longRange(1L << 62, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED, 1L),
+            parts.get(3));
+        LongRange down = Ranges.longRange(Long.MAX_VALUE, BoundType.CLOSED, Long.MIN_VALUE, BoundType.OPEN, -3L);
+        long elements = 0L;
+        long previous = Long.MAX_VALUE + 3L;
+        for (LongRange part : down.split(7)) {
+            assertEquals(previous - 3L, part.first());
+            previous = part.last();
+            elements += part.size();
+        }
+        assertEquals(down.size(), elements);
+        assertEquals(down.last(), previous);
+    }
+
+    @Test
+    public void testSpliterator() {
+        LongRange range = Ranges.longRange(0L, 100000L);
+        assertEquals(4999950000L, StreamSupport.longStream(range.spliterator(), true).sum());
+        LongRange all = Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED, 1L);
+        Spliterator.OfLong whole = all.spliterator();
+        assertEquals(Long.MAX_VALUE, whole.estimateSize());
+        assertFalse(whole.hasCharacteristics(Spliterator.SIZED));
+        Spliterator.OfLong prefix = whole.trySplit();
+        assertEquals(Long.MAX_VALUE, prefix.estimateSize());
+        final long[] next = new long[1];
+        LongConsumer record = new LongConsumer() {
+            public void accept(long value) {
+                next[0] = value;
+            }
+        };
+        assertTrue(prefix.tryAdvance(record));
+        assertEquals(Long.MIN_VALUE, next[0]);
+        assertTrue(whole.tryAdvance(record));
+        assertEquals(0L, next[0]);
+    }
+
+    @Test
+    public void testBulkOperations() {
+        for (BoundType left : BoundType.values()) {
+            for (BoundType right : BoundType.values()) {
+                for (long from = -6; from <= 6; from++) {
+                    for (long to = -6; to <= 6; to++) {
+                        for (long step = 1; step <= 4; step++) {
+                            long s = from > to ? -step : step;
+                            LongRange range = Ranges.longRange(from, left, to, right, s);
+                            List<Long> elements = collect(range);
+                            long[] array = range.toLongArray();
+                            assertEquals(elements.size(), array.length);
+                            long sum = 0L;
+                            long even = 0L;
+                            for (int i = 0; i < array.length; i++) {
+                                assertEquals(elements.get(i).longValue(), array[i]);
+                                sum += array[i];
+                                if (array[i] % 2 == 0) {
+                                    even++;
+                                }
+                            }
+                            assertEquals(range.toString(), sum, range.sum());
+                            assertEquals(even, range.count(new LongPredicate() {
+                                public boolean test(long value) {
+                                    return value % 2 == 0;
+                                }
+                            }));
+                            if (!elements.isEmpty()) {
+                                assertEquals(Collections.min(elements).longValue(), range.min());
+                                assertEquals(Collections.max(elements).longValue(), range.max());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFill() {
+        long[] dest = new long[12];
+        assertEquals(10, Ranges.longRange(0, 10).fill(dest, 1));
+        assertEquals(0L, dest[0]);
+        assertEquals(9L, dest[10]);
+        assertEquals(0L, dest[11]);
+        assertEquals(0, Ranges.longRange(3, 3).fill(dest, 12));
+        try {
+            Ranges.longRange(0, 10).fill(dest, 3);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            Ranges.longRange(0, 10).fill(dest, -1);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testMinOfEmpty() {
+        Ranges.longRange(3, 3).min();
+    }
+
+    @Test
+    public void testSumAtLimits() {
+        assertEquals(Long.MIN_VALUE, Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, Long.MAX_VALUE,
+            BoundType.CLOSED, 1L).sum());
+        assertEquals(Long.MAX_VALUE, Ranges.longRange(Long.MAX_VALUE, BoundType.CLOSED, Long.MAX_VALUE,
+            BoundType.CLOSED, 1L).sum());
+        try {
+            Ranges.longRange(Long.MAX_VALUE - 1, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED, 1L).sum();
+            fail("Expected ArithmeticException");
+        } catch (ArithmeticException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testAlgebraMatchesElements() {
+        Random random = new Random(43);
+        for (int n = 0; n < 20000; n++) {
+            LongRange a = randomRange(random);
+            LongRange b = randomRange(random);
+            String message = a + " and " + b;
+            List<Long> left = collect(a);
+            List<Long> right = collect(b);
+            TreeSet<Long> common = new TreeSet<Long>(left);
+            common.retainAll(right);
+            assertEquals(message, new ArrayList<Long>(common), sorted(collect(a.intersect(b))));
+            assertDirection(a, a.intersect(b));
+            assertEquals(message, left.containsAll(right), a.encloses(b));
+            TreeSet<Long> all = new TreeSet<Long>(left);
+            all.addAll(right);
+            if (isProgression(new ArrayList<Long>(all))) {
+                assertEquals(message, new ArrayList<Long>(all), sorted(collect(a.union(b))));
+                assertDirection(a, a.union(b));
+            } else {
+                try {
+                    a.union(b);
+                    fail("Expected IllegalArgumentException for " + message);
+                } catch (IllegalArgumentException e) {
+                    // expected
+                }
+            }
+            if (left.isEmpty() || right.isEmpty()) {
+                assertFalse(message, a.isConnected(b));
+                continue;
+            }
+            long low = Collections.max(Arrays.asList(Collections.min(left), Collections.min(right)));
+            long high = Collections.min(Arrays.asList(Collections.max(left), Collections.max(right)));
+            assertEquals(message, low <= high + 1, a.isConnected(b));
+            List<Long> span = sorted(collect(a.span(b)));
+            assertEquals(message, Collections.min(all), span.get(0));
+            assertEquals(message, Collections.max(all), span.get(span.size() - 1));
+            assertEquals(message, span.get(span.size() - 1) - span.get(0) + 1, span.size());
+            if (low > high) {
+                List<Long> gap = sorted(collect(a.gap(b)));
+                assertEquals(message, low - high - 1, gap.size());
+                if (!gap.isEmpty()) {
+                    assertEquals(message, high + 1, gap.get(0).longValue());
+                }
+            } else {
+                try {
+                    a.gap(b);
+                    fail("Expected IllegalArgumentException for " + message);
+                } catch (IllegalArgumentException e) {
+                    // expected
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testIntersectSteppedRanges() {
+        LongRange threes = Ranges.longRange(0, BoundType.CLOSED, 100, BoundType.CLOSED, 3);
+        LongRange fives = Ranges.longRange(1, BoundType.CLOSED, 100, BoundType.CLOSED, 5);
+        assertEquals(Ranges.longRange(6, BoundType.CLOSED, 96, BoundType.CLOSED, 15), threes.intersect(fives));
+        assertEquals(Ranges.longRange(96, BoundType.CLOSED, 6, BoundType.CLOSED, -15),
+            threes.reversed().intersect(fives));
+        assertTrue(threes.intersect(Ranges.longRange(1, BoundType.CLOSED, 100, BoundType.CLOSED, 3)).isEmpty());
+        assertTrue(threes.encloses(Ranges.longRange(6, BoundType.CLOSED, 60, BoundType.CLOSED, 6)));
+        assertFalse(threes.encloses(Ranges.longRange(6, BoundType.CLOSED, 60, BoundType.CLOSED, 4)));
+        LongRange low = Ranges.longRange(0, BoundType.CLOSED, 3, BoundType.CLOSED, 3);
+        LongRange high = Ranges.longRange(6, BoundType.CLOSED, 9, BoundType.CLOSED, 3);
+        assertEquals(Ranges.longRange(0, BoundType.CLOSED, 9, BoundType.CLOSED, 3), low.union(high));
+    }
+
+    @Test
+    public void testAlgebraAtLimits() {
+        LongRange all = Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED, 1L);
+        LongRange odd = Ranges.longRange(Long.MIN_VALUE + 1, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED, 2L);
+        assertEquals(odd, all.intersect(odd));
+        assertTrue(all.encloses(odd));
+        assertFalse(odd.encloses(all));
+        LongRange big = Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED,
+            Long.MAX_VALUE);
+        // elements MIN_VALUE, -1 and MAX_VALUE - 1, of which only -1 is odd
+        assertEquals(Ranges.longRange(-1L, BoundType.CLOSED, -1L, BoundType.CLOSED, 1L), big.intersect(odd));
+        assertEquals(all, Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, -1L, BoundType.CLOSED, 1L)
+            .union(Ranges.longRange(0L, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED, 1L)));
+        assertTrue(Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, -1L, BoundType.CLOSED, 1L)
+            .gap(Ranges.longRange(0L, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED, 1L)).isEmpty());
+    }
+
+    @Test
+    public void testViewsMatchElements() {
+        Random random = new Random(44);
+        for (int n = 0; n < 2000; n++) {
+            LongRange range = randomRange(random);
+            List<Long> elements = collect(range);
+            int size = elements.size();
+            for (int from = 0; from <= size; from++) {
+                for (int to = from; to <= size; to++) {
+                    LongRange view = range.subRange(from, to);
+                    assertEquals(range + " from " + from + " to " + to, elements.subList(from, to), collect(view));
+                    assertDirection(range, view);
+                }
+            }
+            for (int k = 1; k <= 4; k++) {
+                List<Long> expected = new ArrayList<Long>();
+                for (int i = 0; i < size; i += k) {
+                    expected.add(elements.get(i));
+                }
+                assertEquals(range + " stride " + k, expected, collect(range.stride(k)));
+                assertDirection(range, range.stride(k));
+            }
+            for (int count = 0; count <= size + 1; count++) {
+                assertEquals(elements.subList(Math.min(count, size), size), collect(range.skip(count)));
+                assertEquals(elements.subList(0, Math.min(count, size)), collect(range.limit(count)));
+            }
+        }
+    }
+
+    @Test
+    public void testSubRangeOutOfBounds() {
+        LongRange range = Ranges.longRange(0L, BoundType.CLOSED, 10L, BoundType.OPEN, 2L);
+        long[][] indices = {{-1L, 2L}, {3L, 2L}, {0L, 6L}};
+        for (long[] index : indices) {
+            try {
+                range.subRange(index[0], index[1]);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStrideNonPositive() {
+        Ranges.longRange(0L, 10L).stride(0L);
+    }
+
+    @Test
+    public void testViewsAtLimits() {
+        LongRange all = Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED, 1L);
+        assertEquals(Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, Long.MAX_VALUE - 1, BoundType.CLOSED,
+            Long.MAX_VALUE), all.stride(Long.MAX_VALUE));
+        assertEquals(Ranges.longRange(-1L, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED, 1L),
+            all.skip(Long.MAX_VALUE));
+        assertEquals(all, all.limit(Long.MAX_VALUE).union(all.skip(Long.MAX_VALUE)));
+        assertEquals(Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, Long.MIN_VALUE + 2, BoundType.CLOSED, 1L),
+            all.limit(3L));
+        LongRange down = Ranges.longRange(Long.MAX_VALUE, BoundType.CLOSED, Long.MIN_VALUE, BoundType.CLOSED,
+            Long.MIN_VALUE);
+        assertEquals(Ranges.longRange(-1L, BoundType.CLOSED, -1L, BoundType.CLOSED, -1L), down.skip(1L));
+        assertEquals(Arrays.asList(Long.MAX_VALUE), collect(down.stride(2L)));
+    }
+
+    private static LongRange randomRange(Random random) {
+        long from = random.nextInt(17) - 8;
+        long to = random.nextInt(17) - 8;
+        long step = random.nextInt(4) + 1;
+        BoundType left = random.nextBoolean() ? BoundType.OPEN : BoundType.CLOSED;
+        BoundType right = random.nextBoolean() ? BoundType.OPEN : BoundType.CLOSED;
+        return Ranges.longRange(from, left, to, right, from > to ? -step : step);
+    }
+
+    private static List<Long> sorted(List<Long> elements) {
+        List<Long> result = new ArrayList<Long>(elements);
+        Collections.sort(result);
+        return result;
+    }
+
+    private static boolean isProgression(List<Long> sorted) {
+        for (int i = 2; i < sorted.size(); i++) {
+            if (sorted.get(i) - sorted.get(i - 1) != sorted.get(1) - sorted.get(0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void assertDirection(LongRange range, LongRange result) {
+        List<Long> elements = collect(result);
+        if (range.getStep() < 0) {
+            Collections.reverse(elements);
+        }
+        assertEquals(sorted(elements), elements);
+    }
+
+    private static List<Long> traverse(Spliterator.OfLong spliterator) {
+        final List<Long> result = new ArrayList<Long>();
+        spliterator.forEachRemaining(new LongConsumer() {
+            public void accept(long value) {
+                result.add(value);
+            }
+        });
+        return result;
+    }
+
+    private static List<Long> collect(LongRange range) {
+        final List<Long> result = new ArrayList<Long>();
+        range.run(new LongProcedure() {
+            public void run(long value) {
+                result.add(value);
+            }
+        });
+        return result;
+    }
+}
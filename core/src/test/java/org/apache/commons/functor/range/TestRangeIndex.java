@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.junit.Test;
+
+/**
+ * Tests the RangeIndex class.
+ */
+public class TestRangeIndex extends BaseFunctorTest {
+
+    @Override
+    protected Object makeFunctor() throws Exception {
+        return RangeIndex.of(Arrays.asList(Ranges.integerRange(0, 10), Ranges.integerRange(5, 20, 5)));
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testRangesContaining() {
+        IntegerRange a = Ranges.integerRange(0, 10);
+        IntegerRange b = Ranges.integerRange(5, 20, 5);
+        IntegerRange c = Ranges.integerRange(30, 15, -3);
+        RangeIndex<IntegerRange> index = RangeIndex.of(Arrays.asList(c, b, a));
+        assertEquals(Arrays.asList(a, b), index.rangesContaining(5));
+        assertEquals(Arrays.asList(a), index.rangesContaining(6));
+        assertEquals(Arrays.asList(c), index.rangesContaining(18));
+        assertEquals(Arrays.asList(b), index.rangesContaining(15));
+        assertEquals(Arrays.asList(c), index.rangesContaining(30));
+        assertEquals(Collections.emptyList(), index.rangesContaining(16));
+        assertTrue(index.containsAny(21));
+        assertFalse(index.containsAny(17));
+        assertEquals(Arrays.asList(a, b, c), index.getRanges());
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(11);
+        for (int n = 0; n < 100; n++) {
+            List<IntegerRange> ranges = new ArrayList<IntegerRange>();
+            int count = random.nextInt(40);
+            for (int i = 0; i < count; i++) {
+                int from = random.nextInt(101) - 50;
+                int to = random.nextInt(101) - 50;
+                int step = random.nextInt(4) + 1;
+                ranges.add(Ranges.integerRange(from, random.nextBoolean() ? BoundType.OPEN : BoundType.CLOSED, to,
+                    random.nextBoolean() ? BoundType.OPEN : BoundType.CLOSED, from > to ? -step : step));
+            }
+            RangeIndex<IntegerRange> index = RangeIndex.of(ranges);
+            for (int x = -55; x <= 55; x++) {
+                List<IntegerRange> expected = new ArrayList<IntegerRange>();
+                for (IntegerRange range : index.getRanges()) {
+                    for (Integer i : range) {
+                        if (i.intValue() == x) {
+                            expected.add(range);
+                            break;
+                        }
+                    }
+                }
+                assertEquals(expected, index.rangesContaining(x));
+                assertEquals(!expected.isEmpty(), index.containsAny(x));
+            }
+            int from = random.nextInt(101) - 50;
+            int to = from + random.nextInt(10);
+            List<IntegerRange> expected = new ArrayList<IntegerRange>();
+            for (IntegerRange range : index.getRanges()) {
+                for (Integer i : range) {
+                    if (i >= from && i <= to) {
+                        expected.add(range);
+                        break;
+                    }
+                }
+            }
+            assertEquals(expected, index.rangesIntersecting(from, to));
+        }
+    }
+
+    @Test
+    public void testLimits() {
+        LongRange all = Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED, 4L);
+        LongRange top = Ranges.longRange(Long.MAX_VALUE, BoundType.CLOSED, Long.MAX_VALUE - 10, BoundType.OPEN, -2L);
+        RangeIndex<LongRange> index = RangeIndex.of(Arrays.asList(all, top));
+        assertEquals(Arrays.asList(all), index.rangesContaining(Long.MIN_VALUE));
+        assertEquals(Arrays.asList(all), index.rangesContaining(Long.MIN_VALUE + 4));
+        assertEquals(Collections.emptyList(), index.rangesContaining(Long.MIN_VALUE + 1));
+        assertEquals(Arrays.asList(top), index.rangesContaining(Long.MAX_VALUE));
+        assertEquals(Arrays.asList(all), index.rangesContaining(Long.MAX_VALUE - 3));
+        assertEquals(Arrays.asList(top), index.rangesContaining(Long.MAX_VALUE - 2));
+        assertEquals(Arrays.asList(all, top), index.rangesIntersecting(Long.MAX_VALUE - 3, Long.MAX_VALUE - 2));
+        assertEquals(Collections.emptyList(), index.rangesContaining(Long.MAX_VALUE - 10));
+    }
+
+    @Test
+    public void testEmptyRangesAreNotIndexed() {
+        RangeIndex<IntegerRange> index = RangeIndex.of(Arrays.asList(Ranges.integerRange(3, 3)));
+        assertTrue(index.getRanges().isEmpty());
+        assertEquals(Collections.emptyList(), index.rangesIntersecting(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonIntegralRange() {
+        RangeIndex.of(Arrays.asList(Ranges.doubleRange(0.0, 1.0)));
+    }
+
+    @Test
+    public void testEquals() {
+        RangeIndex<IntegerRange> index = RangeIndex.of(Arrays.asList(Ranges.integerRange(0, 10)));
+        assertObjectsAreEqual(index, RangeIndex.of(Arrays.asList(Ranges.integerRange(0, 10))));
+        assertObjectsAreNotEqual(index, RangeIndex.of(Arrays.asList(Ranges.integerRange(0, 11))));
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.functor.range;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.functor.BaseFunctorTest;
+import org.junit.Test;
+
+/**
+ * Tests the RangeSet class.
+ */
+public class TestRangeSet extends BaseFunctorTest {
+
+    @Override
+    protected Object makeFunctor() throws Exception {
+        return RangeSet.of(Ranges.integerRange(0, 10), Ranges.longRange(20L, 30L));
+    }
+
+    // Tests
+    // ------------------------------------------------------------------------
+
+    @Test
+    public void testCoalesce() {
+        RangeSet set = RangeSet.of(Ranges.integerRange(0, 5), Ranges.integerRange(5, 10), Ranges.integerRange(12, 15),
+            Ranges.integerRange(14, 9), Ranges.integerRange(3, 4), Ranges.integerRange(20, 30));
+        assertEquals(2, set.getIntervalCount());
+        assertEquals(Arrays.asList(Ranges.longRange(0L, BoundType.CLOSED, 14L, BoundType.CLOSED, 1L),
+            Ranges.longRange(20L, BoundType.CLOSED, 29L, BoundType.CLOSED, 1L)), set.asRanges());
+        assertEquals("RangeSet<[0, 14], [20, 29]>", set.toString());
+    }
+
+    @Test
+    public void testCharacterRanges() {
+        RangeSet set = RangeSet.of(Ranges.characterRange('a', 'z'), Ranges.characterRange('A', 'Z'));
+        assertTrue(set.contains('q'));
+        assertTrue(set.contains('Q'));
+        assertFalse(set.contains('_'));
+        assertEquals(2, set.getIntervalCount());
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(37);
+        for (int n = 0; n < 200; n++) {
+            List<IntegerRange> left = randomRanges(random);
+            List<IntegerRange> right = randomRanges(random);
+            RangeSet a = RangeSet.of(left);
+            RangeSet b = RangeSet.of(right);
+            RangeSet union = a.union(b);
+            RangeSet intersection = a.intersection(b);
+            RangeSet complement = a.complement();
+            RangeSet difference = a.difference(b);
+            for (int x = -30; x <= 30; x++) {
+                boolean inA = containedByAny(left, x);
+                boolean inB = containedByAny(right, x);
+                assertEquals(inA, a.contains(x));
+                assertEquals(inA || inB, union.contains(x));
+                assertEquals(inA && inB, intersection.contains(x));
+                assertEquals(!inA, complement.contains(x));
+                assertEquals(inA && !inB, difference.contains(x));
+            }
+            assertEquals(a, complement.complement());
+            assertEquals(union, b.union(a));
+            assertEquals(intersection, b.intersection(a));
+            assertEquals(RangeSet.of(union.asRanges()), union);
+            for (IntegerRange range : randomSteppedRanges(random)) {
+                boolean all = true;
+                boolean any = false;
+                for (Integer i : range) {
+                    all &= a.contains(i);
+                    any |= a.contains(i);
+                }
+                assertEquals(range.toString(), all, a.encloses(range));
+                assertEquals(range.toString(), any, a.intersects(range));
+            }
+        }
+    }
+
+    @Test
+    public void testLimits() {
+        RangeSet set = RangeSet.of(Ranges.longRange(Long.MAX_VALUE - 2, BoundType.CLOSED, Long.MAX_VALUE,
+            BoundType.CLOSED, 1L));
+        assertTrue(set.contains(Long.MAX_VALUE));
+        assertFalse(set.contains(Long.MAX_VALUE - 3));
+        assertEquals(RangeSet.closed(Long.MIN_VALUE, Long.MAX_VALUE - 3), set.complement());
+        assertEquals(RangeSet.ALL, set.union(set.complement()));
+        assertEquals(RangeSet.EMPTY, set.intersection(set.complement()));
+        assertEquals(RangeSet.EMPTY, RangeSet.ALL.complement());
+        assertEquals(RangeSet.ALL, RangeSet.EMPTY.complement());
+        assertEquals(RangeSet.ALL, RangeSet.closed(Long.MIN_VALUE, 0L).union(RangeSet.closed(1L, Long.MAX_VALUE)));
+        assertTrue(RangeSet.ALL.encloses(Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, Long.MAX_VALUE,
+            BoundType.CLOSED, Long.MAX_VALUE)));
+        RangeSet nonZero = RangeSet.closed(Long.MIN_VALUE, -1L).union(RangeSet.closed(1L, Long.MAX_VALUE));
+        assertTrue(nonZero.encloses(
+            Ranges.longRange(Long.MIN_VALUE + 1, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED, 2L)));
+        assertFalse(nonZero.encloses(
+            Ranges.longRange(Long.MIN_VALUE, BoundType.CLOSED, Long.MAX_VALUE, BoundType.CLOSED, 2L)));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertTrue(RangeSet.of().isEmpty());
+        assertTrue(RangeSet.of(Ranges.integerRange(3, 3)).isEmpty());
+        assertTrue(RangeSet.EMPTY.encloses(Ranges.integerRange(3, 3)));
+        assertFalse(RangeSet.EMPTY.intersects(Ranges.integerRange(3, 4)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSteppedRange() {
+        RangeSet.of(Ranges.integerRange(0, 10, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonIntegralRange() {
+        RangeSet.of(Ranges.doubleRange(0.0, 1.0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidInterval() {
+        RangeSet.closed(2L, 1L);
+    }
+
+    @Test
+    public void testEquals() {
+        RangeSet set = RangeSet.of(Ranges.integerRange(0, 10));
+        assertObjectsAreEqual(set, RangeSet.of(Ranges.longRange(0L, 5L), Ranges.longRange(5L, 10L)));
+        assertObjectsAreNotEqual(set, RangeSet.of(Ranges.integerRange(0, 11)));
+    }
+
+    // Utils
+    // ------------------------------------------------------------------------
+
+    private static List<IntegerRange> randomRanges(Random random) {
+        List<IntegerRange> result = new ArrayList<IntegerRange>();
+        int count = random.nextInt(5);
+        for (int i = 0; i < count; i++) {
+            int from = random.nextInt(41) - 20;
+            int to = random.nextInt(41) - 20;
+            result.add(Ranges.integerRange(from, randomBoundType(random), to, randomBoundType(random),
+                from > to ? -1 : 1));
+        }
+        Collections.shuffle(result, random);
+        return result;
+    }
+
+    private static List<IntegerRange> randomSteppedRanges(Random random) {
+        List<IntegerRange> result = new ArrayList<IntegerRange>();
+        for (int i = 0; i < 10; i++) {
+            int from = random.nextInt(41) - 20;
+            int to = random.nextInt(41) - 20;
+            int step = random.nextInt(6) + 1;
+            result.add(Ranges.integerRange(from, randomBoundType(random), to, randomBoundType(random),
+                from > to ? -step : step));
+        }
+        return result;
+    }
+
+    private static BoundType randomBoundType(Random random) {
+        return random.nextBoolean() ? BoundType.OPEN : BoundType.CLOSED;
+    }
+
+    private static boolean containedByAny(List<IntegerRange> ranges, int value) {
+        for (IntegerRange range : ranges) {
+            for (Integer i : range) {
+                if (i.intValue() == value) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}